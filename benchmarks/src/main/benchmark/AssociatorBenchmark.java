@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.association.ExerciseAssociator;
+import model.association.MetricsContext;
+import model.equipment.strength.Barbell;
+import model.exercise.Exercise;
+
+/**
+ * Benchmarks ExerciseAssociator registration and aggregation against an associator that already holds
+ * librarySize registrations (in the default MetricsContext, as the application uses it).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AssociatorBenchmark {
+    @Param({"10", "100", "1000"})
+    public int librarySize;
+
+    private ExerciseAssociator associator;
+    private Map<String, Double> extraInfo;
+
+    @Setup
+    public void setUp() {
+        associator = new Barbell();
+        List<Exercise> exercises = LibraryFixture.createExercises(librarySize + 1);
+        for (Exercise exercise : exercises.subList(0, librarySize)) {
+            associator.registerExercise(exercise.getName(), "Monday", exercise.convertInfoToAssociatorFormat());
+        }
+        extraInfo = exercises.get(librarySize).convertInfoToAssociatorFormat();
+    }
+
+    @TearDown
+    public void tearDown() {
+        MetricsContext.getDefault().clear(associator);
+    }
+
+    // Registers then unregisters one more exercise, so every invocation sees the same librarySize registrations
+    @Benchmark
+    public void registerExercise(Blackhole blackhole) {
+        blackhole.consume(associator.registerExercise("Benchmark Exercise", "Sunday", extraInfo));
+        blackhole.consume(associator.unregisterExercise("Benchmark Exercise", "Sunday"));
+    }
+
+    @Benchmark
+    public Map<String, Double> getAggregatedExerciseMetrics() {
+        return associator.getAggregatedExerciseMetrics();
+    }
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.equipment.Equipment;
+import model.exercise.EnduranceExercise;
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.exercise.IntervalExercise;
+import model.exercise.StrengthExercise;
+import model.log.EventLog;
+import model.muscle.MuscleGroup;
+import model.workout.Workout;
+import model.workout.WorkoutLibrary;
+import utility.PredefinedData;
+
+/**
+ * REPRESENTS: synthetic exercise and workout libraries for the benchmarks
+ *
+ * PURPOSE: Build reproducible model data of a given library size, spread over every predefined Equipment and
+ *          MuscleGroup (mostly strength exercises, with every fifth endurance and every seventh interval), so each
+ *          benchmark measures the same inputs from run to run
+ */
+public final class LibraryFixture {
+    public static final int EXERCISES_PER_WORKOUT = 8;
+
+    private LibraryFixture() {
+    }
+
+    // EFFECTS: Return count distinct exercises named "Exercise 0" .. "Exercise <count - 1>"
+    public static List<Exercise> createExercises(int count) {
+        PredefinedData predefinedData = new PredefinedData();
+        List<Equipment> equipment = new ArrayList<Equipment>(predefinedData.getAllEquipment().values());
+        List<MuscleGroup> groups = new ArrayList<MuscleGroup>(predefinedData.getAllMuscleGroups().values());
+        List<Exercise> exercises = new ArrayList<Exercise>(count);
+        for (int i = 0; i < count; i++) {
+            String name = "Exercise " + i;
+            Equipment used = equipment.get(i % equipment.size());
+            MuscleGroup targeted = groups.get(i % groups.size());
+            if (i % 5 == 4) {
+                exercises.add(new EnduranceExercise(name, 10.0 + i % 20, used, targeted));
+            } else if (i % 7 == 6) {
+                exercises.add(new IntervalExercise(name, 30.0, 15.0, 4 + i % 6, used, targeted));
+            } else {
+                exercises.add(new StrengthExercise(name, 3 + i % 3, 6 + i % 7, 2.0 + i % 2, 1.5, used, targeted));
+            }
+        }
+        EventLog.getInstance().clear();
+        return exercises;
+    }
+
+    // EFFECTS: Return an exercise library holding exercises
+    public static ExerciseLibrary createExerciseLibrary(List<Exercise> exercises) {
+        ExerciseLibrary library = new ExerciseLibrary();
+        for (Exercise exercise : exercises) {
+            library.addExercise(exercise);
+        }
+        EventLog.getInstance().clear();
+        return library;
+    }
+
+    // EFFECTS: Return workouts of EXERCISES_PER_WORKOUT consecutive exercises each (the last may be shorter),
+    //          covering every exercise once; at least one workout is returned if exercises is non-empty
+    public static List<Workout> createWorkouts(List<Exercise> exercises) {
+        List<Workout> workouts = new ArrayList<Workout>();
+        for (int start = 0; start < exercises.size(); start += EXERCISES_PER_WORKOUT) {
+            int end = Math.min(start + EXERCISES_PER_WORKOUT, exercises.size());
+            workouts.add(new Workout("Workout " + workouts.size(),
+                    new ArrayList<Exercise>(exercises.subList(start, end))));
+        }
+        EventLog.getInstance().clear();
+        return workouts;
+    }
+
+    // EFFECTS: Return a workout library holding workouts
+    public static WorkoutLibrary createWorkoutLibrary(List<Workout> workouts) {
+        WorkoutLibrary library = new WorkoutLibrary();
+        for (Workout workout : workouts) {
+            library.addWorkout(workout);
+        }
+        EventLog.getInstance().clear();
+        return library;
+    }
+}
@@ -0,0 +1,60 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.association.MetricsContext;
+import model.exercise.Exercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import utility.PredefinedData;
+
+/**
+ * Benchmarks MuscleGroup.getGroupMetrics over a group of every predefined muscle, each registered with
+ * librarySize exercises' metrics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MuscleGroupBenchmark {
+    @Param({"10", "100", "1000"})
+    public int librarySize;
+
+    private MuscleGroup group;
+
+    @Setup
+    public void setUp() {
+        group = new MuscleGroup("Every Muscle",
+                new ArrayList<Muscle>(new PredefinedData().getAllMuscles().values()));
+        for (Exercise exercise : LibraryFixture.createExercises(librarySize)) {
+            group.registerMusclesForMetrics(exercise.getName(), "Monday", exercise.convertInfoToAssociatorFormat());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        MetricsContext.getDefault().clear();
+    }
+
+    @Benchmark
+    public Map<String, Double> getGroupMetrics() {
+        return group.getGroupMetrics();
+    }
+}
@@ -0,0 +1,117 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.association.MetricsContext;
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.log.EventLog;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import model.workout.WorkoutLibrary;
+import persistence.JsonManager;
+import utility.PredefinedData;
+
+/**
+ * Benchmarks a full save (toJson and JsonManager.saveData) and load (JsonManager.loadData and fromJson, in the
+ * order the application loads) of librarySize exercises, their workouts, and a scheduled week, to a temporary
+ * file, plain or compressed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceBenchmark {
+    @Param({"10", "100", "1000"})
+    public int librarySize;
+
+    @Param({"false", "true"})
+    public boolean compressed;
+
+    private PredefinedData predefinedData;
+    private ExerciseLibrary exerciseLibrary;
+    private WorkoutLibrary workoutLibrary;
+    private WeeklySchedule weeklySchedule;
+    private File directory;
+    private String savePath;
+    private String loadPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        predefinedData = new PredefinedData();
+        List<Exercise> exercises = LibraryFixture.createExercises(librarySize);
+        exerciseLibrary = LibraryFixture.createExerciseLibrary(exercises);
+        List<Workout> workouts = LibraryFixture.createWorkouts(exercises);
+        workoutLibrary = LibraryFixture.createWorkoutLibrary(workouts);
+        weeklySchedule = new WeeklySchedule(new MetricsContext());
+        for (int day = 0; day < 7; day++) {
+            weeklySchedule.setScheduleForDay(day, workouts.get(day % workouts.size()));
+        }
+        directory = Files.createTempDirectory("workout-benchmark").toFile();
+        savePath = new File(directory, "save.json").getPath();
+        loadPath = new File(directory, "load.json").getPath();
+        JsonManager.saveData(components(), loadPath, compressed);
+        EventLog.getInstance().clear();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearEventLog() {
+        EventLog.getInstance().clear(); // toJson and fromJson log every call
+    }
+
+    @TearDown
+    public void tearDown() {
+        new File(savePath).delete();
+        new File(loadPath).delete();
+        directory.delete();
+    }
+
+    @Benchmark
+    public void save() {
+        JsonManager.saveData(components(), savePath, compressed);
+    }
+
+    @Benchmark
+    public WeeklySchedule load() {
+        Map<String, JSONObject> data = JsonManager.loadData(loadPath);
+        ExerciseLibrary loadedExercises = new ExerciseLibrary();
+        loadedExercises.fromJson(data.get("exerciseLibrary"), predefinedData);
+        WorkoutLibrary loadedWorkouts = new WorkoutLibrary();
+        loadedWorkouts.fromJson(data.get("workoutLibrary"), loadedExercises);
+        WeeklySchedule loadedSchedule = new WeeklySchedule(new MetricsContext());
+        loadedSchedule.fromJson(data.get("weeklySchedule"), loadedWorkouts);
+        return loadedSchedule;
+    }
+
+    // EFFECTS: Return the serialized components, keyed as the application saves them
+    private Map<String, JSONObject> components() {
+        Map<String, JSONObject> components = new HashMap<String, JSONObject>();
+        components.put("exerciseLibrary", exerciseLibrary.toJson());
+        components.put("workoutLibrary", workoutLibrary.toJson());
+        components.put("weeklySchedule", weeklySchedule.toJson());
+        return components;
+    }
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.equipment.CustomEquipment;
+import model.equipment.Equipment;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import utility.PredefinedData;
+
+/**
+ * Benchmarks the PredefinedData lookups with librarySize user-defined Equipment, Muscles, and MuscleGroups
+ * registered alongside the built-in ones. Each lookup cycles through exact names, differently cased names,
+ * and a miss.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1) // The registries are static, so each librarySize needs its own JVM
+@State(Scope.Thread)
+public class PredefinedDataBenchmark {
+    @Param({"10", "100", "1000"})
+    public int librarySize;
+
+    private PredefinedData predefinedData;
+    private String[] muscleNames;
+    private String[] muscleGroupNames;
+    private String[] equipmentNames;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        predefinedData = new PredefinedData();
+        for (int i = 0; i < librarySize; i++) {
+            Muscle muscle = new Muscle("Custom Muscle " + i);
+            predefinedData.registerMuscle(muscle);
+            predefinedData.registerMuscleGroup(new MuscleGroup("Custom Group " + i, List.of(muscle)));
+            predefinedData.registerEquipment(new CustomEquipment("Custom Equipment " + i,
+                    CustomEquipment.STRENGTH_TYPE, true));
+        }
+        muscleNames = lookupNames(new ArrayList<String>(predefinedData.getAllMuscles().keySet()));
+        muscleGroupNames = lookupNames(new ArrayList<String>(predefinedData.getAllMuscleGroups().keySet()));
+        equipmentNames = lookupNames(new ArrayList<String>(predefinedData.getAllEquipment().keySet()));
+    }
+
+    // EFFECTS: Return names followed by each name upper-cased, then one name that is never registered
+    private static String[] lookupNames(List<String> names) {
+        List<String> lookups = new ArrayList<String>(names);
+        for (String name : names) {
+            lookups.add(name.toUpperCase());
+        }
+        lookups.add("Not Registered");
+        return lookups.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public Muscle findMuscle() {
+        return predefinedData.findMuscle(muscleNames[cursor++ % muscleNames.length]);
+    }
+
+    @Benchmark
+    public MuscleGroup findMuscleGroup() {
+        return predefinedData.findMuscleGroup(muscleGroupNames[cursor++ % muscleGroupNames.length]);
+    }
+
+    @Benchmark
+    public Equipment findEquipment() {
+        return predefinedData.findEquipment(equipmentNames[cursor++ % equipmentNames.length]);
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.association.MetricsContext;
+import model.exercise.Exercise;
+import model.log.EventLog;
+import model.workout.RestDay;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import model.workout.WorkoutPlan;
+
+/**
+ * Benchmarks WeeklySchedule.setScheduleForDay and Workout.getWorkoutSummary. The library is split into seven
+ * day workouts of librarySize / 7 exercises (at least one each); getWorkoutSummary sums a workout of the whole
+ * library.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WorkoutBenchmark {
+    @Param({"10", "100", "1000"})
+    public int librarySize;
+
+    private WeeklySchedule schedule;
+    private Workout[] dayWorkouts;
+    private Workout wholeLibrary;
+    private WorkoutPlan restDay;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        List<Exercise> exercises = LibraryFixture.createExercises(Math.max(librarySize, 7));
+        int perDay = exercises.size() / 7;
+        dayWorkouts = new Workout[7];
+        for (int day = 0; day < 7; day++) {
+            dayWorkouts[day] = new Workout(WeeklySchedule.getDayName(day),
+                    exercises.subList(day * perDay, (day + 1) * perDay));
+        }
+        wholeLibrary = new Workout("Whole Library", exercises);
+        restDay = new RestDay("Recovery");
+        schedule = new WeeklySchedule(new MetricsContext());
+        for (int day = 0; day < 7; day++) {
+            schedule.setScheduleForDay(day, dayWorkouts[day]);
+        }
+        EventLog.getInstance().clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        EventLog.getInstance().clear();
+    }
+
+    // Each day alternates between its workout and a rest day, so every call deactivates one plan's metrics and
+    // activates another's
+    @Benchmark
+    public int setScheduleForDay() {
+        int day = cursor % 7;
+        schedule.setScheduleForDay(day, ((cursor / 7) % 2 == 0) ? restDay : dayWorkouts[day]);
+        cursor++;
+        return schedule.getVersion();
+    }
+
+    @Benchmark
+    public Map<String, Double> getWorkoutSummary() {
+        return wholeLibrary.getWorkoutSummary();
+    }
+}
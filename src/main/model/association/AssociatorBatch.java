@@ -0,0 +1,62 @@
+package model.association;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REPRESENTS: a pending set of exercise registrations spanning many ExerciseAssociator objects
+ *
+ * USED BY:
+ *      1. WeeklySchedule to activate a whole week's metrics at once (i.e. after loading from JSON)
+ *
+ * PURPOSE: Collect registrations per associator first, then apply them to each associator in one
+ *          presized insertion, instead of one metric map copy and insertion per exercise, muscle, and day.
+ *          Applying a batch to a MetricsContext is equivalent to registering each added entry, in order,
+ *          with MetricsContext.register.
+ *
+ * MUTABILITY: Mutable (until applied)
+ */
+public class AssociatorBatch {
+    private Map<ExerciseAssociator, Map<String, Map<String, Double>>> pending;
+
+    // EFFECTS: Create an empty batch
+    public AssociatorBatch() {
+        pending = new HashMap<ExerciseAssociator, Map<String, Map<String, Double>>>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Queue the registration of filteredMetrics under exerciseName-context for associator
+    //          filteredMetrics should come from ExerciseAssociator.filterValidMetrics; it is stored as given
+    //          Ignore the entry if any argument is null or the same key was already queued for associator
+    public void add(ExerciseAssociator associator, String exerciseName, String context,
+            Map<String, Double> filteredMetrics) {
+        if (associator == null || exerciseName == null || context == null || filteredMetrics == null) {
+            return;
+        }
+        pending.computeIfAbsent(associator, a -> new HashMap<String, Map<String, Double>>())
+                .putIfAbsent(ExerciseAssociator.createKey(exerciseName, context), filteredMetrics);
+    }
+
+    // EFFECTS: Return the number of associators with queued registrations
+    public int getNumAssociators() {
+        return pending.size();
+    }
+
+    // MODIFIES: this, MetricsContext
+    // EFFECTS: Apply this batch to the calling thread's current MetricsContext (see apply(MetricsContext))
+    public int apply() {
+        return apply(MetricsContext.current());
+    }
+
+    // MODIFIES: this, metrics
+    // EFFECTS: Register every queued entry in metrics, skipping keys an associator already has there
+    //          Clear this batch and return the number of registrations added
+    public int apply(MetricsContext metrics) {
+        int added = 0;
+        for (Map.Entry<ExerciseAssociator, Map<String, Map<String, Double>>> entry : pending.entrySet()) {
+            added += metrics.registerAll(entry.getKey(), entry.getValue());
+        }
+        pending.clear();
+        return added;
+    }
+}
@@ -1,8 +1,11 @@
 package model.association;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,9 +29,14 @@ import java.util.Set;
  * 
  *       The purpose of this association is to display active Workout and Exercise volume and duration 
  *       metrics for Equipment and Muscle objects (which extend the ExerciseAssociator abstract class).
+ *
+ *       ExerciseAssociator instances are shared definitions and hold no metric state themselves. The
+ *       registrations live in a MetricsContext; the instance methods below read and write the calling
+ *       thread's current context (MetricsContext.current(), the default context when none is bound) and
+ *       are conveniences for single-session callers. Code that holds a WeeklySchedule must pass its
+ *       context explicitly (schedule.getMetricsContext()), as MetricsDashboard and the metrics screens do.
  */
 public abstract class ExerciseAssociator {
-    private Map<String, Map<String, Double>> exerciseMetrics;
     private static final Set<String> VALID_METRICS = new HashSet<String>(Arrays.asList(
             "totalSets", 
             "totalReps", 
@@ -38,71 +46,41 @@ public abstract class ExerciseAssociator {
             "totalDuration", 
             "totalRestTimeBetween"
     ));
+    // Valid metrics in a fixed (alphabetical) order, so per-metric values can be kept in arrays
+    private static final List<String> METRIC_NAMES = createMetricNames();
 
-    public ExerciseAssociator() {
-        exerciseMetrics = new HashMap<String, Map<String, Double>>();
-    }
-
-    // MODIFIES: this
-    // EFFECTS: Create new exercise registration with filtered metrics if exerciseName-context metrics are not in this
+    // MODIFIES: MetricsContext
+    // EFFECTS: Create new exercise registration with filtered metrics if exerciseName-context metrics are not in
+    //          the current MetricsContext
     //          Return true only if exerciseName, context, exerciseInfo are non-null and registration is successful
     public boolean registerExercise(String exerciseName, String context, Map<String, Double> exerciseInfo) {
-        String key = exerciseName + "-" + context;
-        if (exerciseName == null || context == null || exerciseInfo == null 
-                || exerciseMetrics.containsKey(key)) {
-            return false;
-        }
-        Map<String, Double> filteredMetrics = new HashMap<String, Double>();
-        for (Map.Entry<String, Double> entry : exerciseInfo.entrySet()) {
-            if (VALID_METRICS.contains(entry.getKey())) {
-                filteredMetrics.put(entry.getKey(), entry.getValue());
-            }
-        }
-        exerciseMetrics.put(key, filteredMetrics);
-        return true;
+        return MetricsContext.current().register(this, exerciseName, context, exerciseInfo);
     }
 
-    // MODIFIES: this
-    // EFFECTS: Remove exercise metrics for the given exerciseName-context's metrics if it exists in this
+    // MODIFIES: MetricsContext
+    // EFFECTS: Remove exercise metrics for the given exerciseName-context's metrics if it exists in the
+    //          current MetricsContext
     //          Return true only if exerciseName and context are non-null and removal is successful
     public boolean unregisterExercise(String exerciseName, String context) {
-        if (exerciseName == null || context == null) {
-            return false;
-        }
-        String key = exerciseName + "-" + context;
-        return exerciseMetrics.remove(key) != null;
+        return MetricsContext.current().unregister(this, exerciseName, context);
     }
 
-    // EFFECTS: Return true if exerciseName-context pair exists in exerciseMetrics
+    // EFFECTS: Return true if exerciseName-context pair is registered in the current MetricsContext
     //          Return false if either parameter is null or a pair is not found
     public boolean containsExercise(String exerciseName, String context) {
-        String key = exerciseName + "-" + context;
-        if (exerciseName == null || context == null) {
-            return false;
-        }
-        return exerciseMetrics.containsKey(key);
+        return MetricsContext.current().contains(this, exerciseName, context);
     }
 
-    // EFFECTS: Sum all metric values across registered exercises
+    // EFFECTS: Sum all metric values across exercises registered in the current MetricsContext
     //          Initialize missing metrics to 0.0
     //          Return a map of aggregated metrics
     public Map<String, Double> getAggregatedExerciseMetrics() {
-        Map<String, Double> totalMetrics = createZeroValueMetricsMap();
-        
-        for (Map<String, Double> metrics : exerciseMetrics.values()) {
-            for (Map.Entry<String, Double> entry : metrics.entrySet()) {
-                String metric = entry.getKey();
-                Double value = entry.getValue();
-                totalMetrics.merge(metric, value, Double::sum);
-            }
-        }
-        
-        return totalMetrics;
+        return MetricsContext.current().getAggregatedMetrics(this);
     }
 
-    // EFFECTS: Return the number of associated exercises
+    // EFFECTS: Return the number of associated exercises in the current MetricsContext
     public int getNumAssociatedExercises() {
-        return exerciseMetrics.size();
+        return MetricsContext.current().getNumAssociatedExercises(this);
     }
 
     // EFFECTS: Create a map with all valid metrics initialized to zero
@@ -114,12 +92,46 @@ public abstract class ExerciseAssociator {
         return metrics;
     }
 
+    // EFFECTS: Return an unmodifiable map of only the valid metrics in exerciseInfo
+    //          The result can be shared between associators (see AssociatorBatch)
+    public static Map<String, Double> filterValidMetrics(Map<String, Double> exerciseInfo) {
+        Map<String, Double> filteredMetrics = new HashMap<String, Double>();
+        for (Map.Entry<String, Double> entry : exerciseInfo.entrySet()) {
+            if (VALID_METRICS.contains(entry.getKey())) {
+                filteredMetrics.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(filteredMetrics);
+    }
+
+    // EFFECTS: Return the names of all valid metrics, in the fixed order used by metricIndex
+    public static List<String> getMetricNames() {
+        return METRIC_NAMES;
+    }
+
+    // EFFECTS: Return the position of metric in getMetricNames(), or -1 if metric is not a valid metric
+    static int metricIndex(String metric) {
+        return METRIC_NAMES.indexOf(metric);
+    }
+
+    // EFFECTS: Return the valid metric names sorted alphabetically, as an unmodifiable list
+    private static List<String> createMetricNames() {
+        List<String> names = new ArrayList<String>(VALID_METRICS);
+        Collections.sort(names);
+        return Collections.unmodifiableList(names);
+    }
+
+    // EFFECTS: Return the key under which an exercise's metrics are registered for the given context
+    static String createKey(String exerciseName, String context) {
+        return exerciseName + "-" + context;
+    }
+
     public Map<String, Map<String, Double>> getRawExerciseMetrics() {
-        return new HashMap<String, Map<String, Double>>(exerciseMetrics);
+        return MetricsContext.current().getRawMetrics(this);
     }
 
     // FOR TESTING PURPOSES.
     public void clearExercises() {
-        exerciseMetrics.clear();
+        MetricsContext.current().clear(this);
     }    
 }
@@ -0,0 +1,150 @@
+package model.association;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * REPRESENTS: a fixed set of ExerciseAssociators (i.e. all Muscles or all Equipment) kept ordered by each of
+ *             their aggregated metric values in one MetricsContext
+ *
+ * USED BY:
+ *      1. Metrics UIs answering "most trained" / "most neglected" questions
+ *
+ * PURPOSE: Answer top-K and bottom-K queries per metric (i.e. the 5 muscles with the least weekly duration)
+ *          in O(K) without recomputing or sorting every associator's aggregate
+ *          The MetricsContext that created this ranking re-positions a member in each ordering, in O(log n),
+ *          whenever one of its registrations changes; members with no registrations rank as all zeros
+ *          Ties are broken by the order in which members were given, so results are deterministic
+ *
+ * MUTABILITY: Mutable (maintained by its MetricsContext until closed)
+ */
+public class MetricRanking<T extends ExerciseAssociator> {
+    private final MetricsContext metrics;
+    private final List<T> members; // in the order given
+    private final Map<ExerciseAssociator, Integer> positions; // member -> index in members
+    private final List<TreeSet<T>> orderings; // metric index -> members ascending by that metric's value
+
+    // EFFECTS: Create a ranking of the distinct, non-null associators of universe by their totals in metrics
+    //          Only MetricsContext.createRanking should call this, so the ranking is kept up to date
+    MetricRanking(MetricsContext metrics, Collection<? extends T> universe) {
+        this.metrics = metrics;
+        this.members = new ArrayList<T>();
+        this.positions = new IdentityHashMap<ExerciseAssociator, Integer>();
+        for (T associator : universe) {
+            if (associator != null && !positions.containsKey(associator)) {
+                positions.put(associator, members.size());
+                members.add(associator);
+            }
+        }
+
+        this.orderings = new ArrayList<TreeSet<T>>();
+        for (int i = 0; i < ExerciseAssociator.getMetricNames().size(); i++) {
+            final int metricIndex = i;
+            TreeSet<T> ordering = new TreeSet<T>((first, second) -> {
+                int byValue = Double.compare(metrics.getTotal(first, metricIndex), metrics.getTotal(second, metricIndex));
+                return (byValue != 0) ? byValue : Integer.compare(positions.get(first), positions.get(second));
+            });
+            ordering.addAll(members);
+            orderings.add(ordering);
+        }
+    }
+
+    // EFFECTS: Return up to k members with the highest values of metric, highest first
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    public List<T> getTop(String metric, int k) {
+        return take(ordering(metric).descendingIterator(), k);
+    }
+
+    // EFFECTS: Return up to k members with the lowest values of metric (least trained first)
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    public List<T> getBottom(String metric, int k) {
+        return take(ordering(metric).iterator(), k);
+    }
+
+    // EFFECTS: Return the highest value of metric among members, or 0.0 if there are no members
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    public double getMaxValue(String metric) {
+        TreeSet<T> ordering = ordering(metric);
+        return ordering.isEmpty() ? 0.0 : metrics.getTotal(ordering.last(), metric);
+    }
+
+    // EFFECTS: Return the members of this ranking, in the order they were given
+    public List<T> getMembers() {
+        return Collections.unmodifiableList(members);
+    }
+
+    // EFFECTS: Return the number of members of this ranking
+    public int size() {
+        return members.size();
+    }
+
+    // EFFECTS: Return true if associator is a member of this ranking
+    public boolean contains(ExerciseAssociator associator) {
+        return positions.containsKey(associator);
+    }
+
+    // EFFECTS: Return true if the distinct, non-null associators of universe are exactly this ranking's members
+    //          (in any order), i.e. a ranking created from universe now would rank the same associators
+    public boolean hasMembers(Collection<? extends ExerciseAssociator> universe) {
+        Map<ExerciseAssociator, Boolean> seen = new IdentityHashMap<ExerciseAssociator, Boolean>();
+        for (ExerciseAssociator associator : universe) {
+            if (associator != null) {
+                if (!positions.containsKey(associator)) {
+                    return false;
+                }
+                seen.put(associator, Boolean.TRUE);
+            }
+        }
+        return seen.size() == members.size();
+    }
+
+    // EFFECTS: Return the MetricsContext whose totals this ranking orders by
+    public MetricsContext getMetricsContext() {
+        return metrics;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove associator (a member) from every ordering; called by MetricsContext BEFORE its totals
+    //          change, since the orderings can only find it under its current totals
+    void detach(ExerciseAssociator associator) {
+        T member = members.get(positions.get(associator));
+        for (TreeSet<T> ordering : orderings) {
+            ordering.remove(member);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Re-insert associator (a member) into every ordering; called by MetricsContext AFTER its totals
+    //          have changed
+    void attach(ExerciseAssociator associator) {
+        T member = members.get(positions.get(associator));
+        for (TreeSet<T> ordering : orderings) {
+            ordering.add(member);
+        }
+    }
+
+    // EFFECTS: Return the ordering for metric
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    private TreeSet<T> ordering(String metric) {
+        int metricIndex = ExerciseAssociator.metricIndex(metric);
+        if (metricIndex < 0) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        return orderings.get(metricIndex);
+    }
+
+    // EFFECTS: Return the first (up to) k elements of it
+    private List<T> take(Iterator<T> it, int k) {
+        List<T> result = new ArrayList<T>(Math.max(0, Math.min(k, members.size())));
+        while (result.size() < k && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+}
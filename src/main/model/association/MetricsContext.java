@@ -0,0 +1,309 @@
+package model.association;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * REPRESENTS: one session's exercise metrics for every ExerciseAssociator (Equipment and Muscle)
+ *
+ * USED BY:
+ *      1. ExerciseAssociator, whose metric methods read and write the current thread's context
+ *      2. WeeklySchedule, which activates its workouts' metrics into the context it was created with
+ *      3. Profile (through ProfileStore), so each user of one process has isolated metrics
+ *
+ * PURPOSE: Separate the immutable definitions (the shared Muscle and Equipment instances in PredefinedData)
+ *          from the mutable metric state registered against them. Any number of contexts can exist in one
+ *          process; registrations in one are invisible to every other.
+ *          Keep each associator's aggregated totals up to date as registrations change, so aggregates are
+ *          read in O(1) and MetricRankings created by this context stay ordered without recomputation
+ *
+ * NOTE: A context is not synchronized; it is meant to be used by one session (thread) at a time, so
+ *       independent sessions never contend. The default context serves the single-user UIs and any
+ *       thread that has not bound a context of its own (see run).
+ *
+ * MUTABILITY: Mutable
+ */
+public class MetricsContext {
+    private static final MetricsContext DEFAULT = new MetricsContext();
+    private static final ThreadLocal<MetricsContext> BOUND = new ThreadLocal<MetricsContext>();
+
+    // associator -> (exerciseName-context key -> filtered metrics)
+    private Map<ExerciseAssociator, Map<String, Map<String, Double>>> metrics;
+    // associator -> summed metric values, indexed as ExerciseAssociator.getMetricNames() (absent means all zero)
+    private Map<ExerciseAssociator, double[]> totals;
+    // associator -> rankings it is a member of
+    private Map<ExerciseAssociator, List<MetricRanking<?>>> rankings;
+
+    // EFFECTS: Create an empty metrics context
+    public MetricsContext() {
+        metrics = new IdentityHashMap<ExerciseAssociator, Map<String, Map<String, Double>>>();
+        totals = new IdentityHashMap<ExerciseAssociator, double[]>();
+        rankings = new IdentityHashMap<ExerciseAssociator, List<MetricRanking<?>>>();
+    }
+
+    // EFFECTS: Return the process-wide default context
+    public static MetricsContext getDefault() {
+        return DEFAULT;
+    }
+
+    // EFFECTS: Return the context bound to the calling thread by run, or the default context if none is
+    public static MetricsContext current() {
+        MetricsContext bound = BOUND.get();
+        return (bound != null) ? bound : DEFAULT;
+    }
+
+    // MODIFIES: this, ExerciseAssociator
+    // EFFECTS: Run action with this bound as the calling thread's current context, so ExerciseAssociator
+    //          methods called by action use this; restore the previously bound context afterwards
+    public void run(Runnable action) {
+        MetricsContext previous = BOUND.get();
+        BOUND.set(this);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                BOUND.set(previous);
+            } else {
+                BOUND.remove();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Register the valid metrics of exerciseInfo for associator under exerciseName-context
+    //          Return true only if every argument is non-null and the key is not already registered
+    public boolean register(ExerciseAssociator associator, String exerciseName, String context,
+            Map<String, Double> exerciseInfo) {
+        if (associator == null || exerciseName == null || context == null || exerciseInfo == null) {
+            return false;
+        }
+        Map<String, Map<String, Double>> registered = metrics.computeIfAbsent(associator,
+                a -> new HashMap<String, Map<String, Double>>());
+        String key = ExerciseAssociator.createKey(exerciseName, context);
+        if (registered.containsKey(key)) {
+            return false;
+        }
+        Map<String, Double> filteredMetrics = ExerciseAssociator.filterValidMetrics(exerciseInfo);
+        registered.put(key, filteredMetrics);
+        detachFromRankings(associator);
+        addToTotals(associator, filteredMetrics);
+        attachToRankings(associator);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add every exerciseName-context key from keyedMetrics not already registered for associator
+    //          Grow the backing map once to fit all of them, rather than once per registration
+    //          Return the number of registrations added
+    int registerAll(ExerciseAssociator associator, Map<String, Map<String, Double>> keyedMetrics) {
+        Map<String, Map<String, Double>> registered = metrics.get(associator);
+        int currentSize = (registered != null) ? registered.size() : 0;
+        Map<String, Map<String, Double>> grown = new HashMap<String, Map<String, Double>>(
+                (int) ((currentSize + keyedMetrics.size()) / 0.75f) + 1);
+        if (registered != null) {
+            grown.putAll(registered);
+        }
+        int added = 0;
+        detachFromRankings(associator);
+        for (Map.Entry<String, Map<String, Double>> entry : keyedMetrics.entrySet()) {
+            if (grown.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                addToTotals(associator, entry.getValue());
+                added++;
+            }
+        }
+        attachToRankings(associator);
+        if (!grown.isEmpty()) {
+            metrics.put(associator, grown);
+        }
+        return added;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove associator's metrics registered under exerciseName-context
+    //          Return true only if every argument is non-null and the key was registered
+    public boolean unregister(ExerciseAssociator associator, String exerciseName, String context) {
+        Map<String, Map<String, Double>> registered = metrics.get(associator);
+        if (registered == null || exerciseName == null || context == null) {
+            return false;
+        }
+        Map<String, Double> removed = registered.remove(ExerciseAssociator.createKey(exerciseName, context));
+        if (registered.isEmpty()) {
+            metrics.remove(associator);
+        }
+        if (removed != null) {
+            detachFromRankings(associator);
+            subtractFromTotals(associator, removed);
+            attachToRankings(associator);
+        }
+        return removed != null;
+    }
+
+    // EFFECTS: Return true if associator has metrics registered under exerciseName-context
+    public boolean contains(ExerciseAssociator associator, String exerciseName, String context) {
+        Map<String, Map<String, Double>> registered = metrics.get(associator);
+        return registered != null && exerciseName != null && context != null
+                && registered.containsKey(ExerciseAssociator.createKey(exerciseName, context));
+    }
+
+    // EFFECTS: Return associator's summed registered metric values, with every valid metric present
+    //          (0.0 if unused); read from the maintained totals rather than re-summed
+    public Map<String, Double> getAggregatedMetrics(ExerciseAssociator associator) {
+        Map<String, Double> totalMetrics = ExerciseAssociator.createZeroValueMetricsMap();
+        double[] associatorTotals = totals.get(associator);
+        if (associatorTotals != null) {
+            List<String> metricNames = ExerciseAssociator.getMetricNames();
+            for (int i = 0; i < associatorTotals.length; i++) {
+                totalMetrics.put(metricNames.get(i), associatorTotals[i]);
+            }
+        }
+        return totalMetrics;
+    }
+
+    // EFFECTS: Return associator's summed value of metric (0.0 if it has none registered)
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    public double getTotal(ExerciseAssociator associator, String metric) {
+        int metricIndex = ExerciseAssociator.metricIndex(metric);
+        if (metricIndex < 0) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        return getTotal(associator, metricIndex);
+    }
+
+    // EFFECTS: Return associator's summed value of the metric at metricIndex (0.0 if it has none registered)
+    double getTotal(ExerciseAssociator associator, int metricIndex) {
+        double[] associatorTotals = totals.get(associator);
+        return (associatorTotals != null) ? associatorTotals[metricIndex] : 0.0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return a ranking of the distinct associators in universe by their totals in this context,
+    //          kept up to date by this context until closeRanking is called with it
+    public <T extends ExerciseAssociator> MetricRanking<T> createRanking(Collection<? extends T> universe) {
+        MetricRanking<T> ranking = new MetricRanking<T>(this, universe);
+        for (T member : ranking.getMembers()) {
+            rankings.computeIfAbsent(member, a -> new ArrayList<MetricRanking<?>>()).add(ranking);
+        }
+        return ranking;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Stop maintaining ranking (it no longer reflects later changes); do nothing if it is not open
+    public void closeRanking(MetricRanking<?> ranking) {
+        for (ExerciseAssociator member : ranking.getMembers()) {
+            List<MetricRanking<?>> memberRankings = rankings.get(member);
+            if (memberRankings != null) {
+                memberRankings.remove(ranking);
+                if (memberRankings.isEmpty()) {
+                    rankings.remove(member);
+                }
+            }
+        }
+    }
+
+    // EFFECTS: Return a copy of associator's registrations keyed by exerciseName-context
+    public Map<String, Map<String, Double>> getRawMetrics(ExerciseAssociator associator) {
+        return new HashMap<String, Map<String, Double>>(getRegistered(associator));
+    }
+
+    // EFFECTS: Return the number of registrations associator has in this context
+    public int getNumAssociatedExercises(ExerciseAssociator associator) {
+        return getRegistered(associator).size();
+    }
+
+    // EFFECTS: Return the number of associators with at least one registration in this context
+    public int getNumAssociators() {
+        return metrics.size();
+    }
+
+    // EFFECTS: Return the associators with at least one registration in this context
+    public Set<ExerciseAssociator> getAssociators() {
+        return Collections.unmodifiableSet(metrics.keySet());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove every registration of associator
+    public void clear(ExerciseAssociator associator) {
+        detachFromRankings(associator);
+        metrics.remove(associator);
+        totals.remove(associator);
+        attachToRankings(associator);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove every registration in this context
+    public void clear() {
+        List<ExerciseAssociator> changed = new ArrayList<ExerciseAssociator>(totals.keySet());
+        for (ExerciseAssociator associator : changed) {
+            detachFromRankings(associator);
+        }
+        metrics.clear();
+        totals.clear();
+        for (ExerciseAssociator associator : changed) {
+            attachToRankings(associator);
+        }
+    }
+
+    // HELPER: for register, registerAll
+    // MODIFIES: this
+    // EFFECTS: Add filteredMetrics' values to associator's totals
+    private void addToTotals(ExerciseAssociator associator, Map<String, Double> filteredMetrics) {
+        double[] associatorTotals = totals.computeIfAbsent(associator,
+                a -> new double[ExerciseAssociator.getMetricNames().size()]);
+        for (Map.Entry<String, Double> entry : filteredMetrics.entrySet()) {
+            associatorTotals[ExerciseAssociator.metricIndex(entry.getKey())] += entry.getValue();
+        }
+    }
+
+    // HELPER: for unregister
+    // MODIFIES: this
+    // EFFECTS: Subtract removedMetrics' values from associator's totals, in O(1) rather than re-summing its
+    //          remaining registrations; drop the totals once it has none left, so floating-point residue from
+    //          subtraction never outlives its last registration
+    private void subtractFromTotals(ExerciseAssociator associator, Map<String, Double> removedMetrics) {
+        double[] associatorTotals = totals.get(associator);
+        if (associatorTotals == null) {
+            return;
+        }
+        if (!metrics.containsKey(associator)) {
+            totals.remove(associator);
+            return;
+        }
+        for (Map.Entry<String, Double> entry : removedMetrics.entrySet()) {
+            associatorTotals[ExerciseAssociator.metricIndex(entry.getKey())] -= entry.getValue();
+        }
+    }
+
+    // MODIFIES: MetricRanking
+    // EFFECTS: Remove associator from the orderings of every ranking it is a member of (before its totals change)
+    private void detachFromRankings(ExerciseAssociator associator) {
+        List<MetricRanking<?>> memberRankings = rankings.get(associator);
+        if (memberRankings != null) {
+            for (MetricRanking<?> ranking : memberRankings) {
+                ranking.detach(associator);
+            }
+        }
+    }
+
+    // MODIFIES: MetricRanking
+    // EFFECTS: Re-insert associator into the orderings of every ranking it is a member of (after its totals change)
+    private void attachToRankings(ExerciseAssociator associator) {
+        List<MetricRanking<?>> memberRankings = rankings.get(associator);
+        if (memberRankings != null) {
+            for (MetricRanking<?> ranking : memberRankings) {
+                ranking.attach(associator);
+            }
+        }
+    }
+
+    // EFFECTS: Return associator's registrations, or an empty map if it has none
+    private Map<String, Map<String, Double>> getRegistered(ExerciseAssociator associator) {
+        Map<String, Map<String, Double>> registered = metrics.get(associator);
+        return (registered != null) ? registered : Collections.<String, Map<String, Double>>emptyMap();
+    }
+}
@@ -0,0 +1,187 @@
+package model.change;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * REPRESENTS: the change notifications of one model object (ExerciseLibrary, WorkoutLibrary, Workout,
+ *             or WeeklySchedule)
+ *
+ * USED BY:
+ *      1. The model object, which publishes a ModelChange after each mutation
+ *      2. GUI panels, which subscribe with SwingUtilities::invokeLater to patch their list models on the EDT
+ *
+ * PURPOSE: Deliver changes through each subscriber's own Executor, coalescing everything published while
+ *          a delivery is pending into one batch (so a burst of edits costs one EDT task per subscriber)
+ *          Within a pending batch:
+ *          - RELOADED discards every earlier change (the listener re-queries everything anyway)
+ *          - MODIFIED is dropped if the same subject already has a pending change
+ *          - SCHEDULED replaces an earlier SCHEDULED of the same day
+ *          - REMOVED cancels a pending ADDED of the same subject (and that subject's MODIFIED changes)
+ *
+ * MUTABILITY: Mutable (thread-safe; publish may be called from any thread)
+ */
+public class ChangeBus<T> {
+    private final Object source;
+    private final List<Subscription<T>> subscriptions;
+
+    // EFFECTS: Create a bus with no subscribers for source's changes
+    public ChangeBus(Object source) {
+        this.source = source;
+        subscriptions = new CopyOnWriteArrayList<Subscription<T>>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Deliver each change to listener synchronously, on the publishing thread
+    public void subscribe(ModelChangeListener<T> listener) {
+        subscribe(listener, Runnable::run);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Deliver changes to listener in batches, each run by deliverer (e.g. SwingUtilities::invokeLater)
+    //          Throw IllegalArgumentException if listener or deliverer is null
+    public void subscribe(ModelChangeListener<T> listener, Executor deliverer) {
+        if (listener == null || deliverer == null) {
+            throw new IllegalArgumentException("Listener and deliverer cannot be null");
+        }
+        subscriptions.add(new Subscription<T>(listener, deliverer));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Stop delivering changes to listener, including any pending batch; do nothing if not subscribed
+    public void unsubscribe(ModelChangeListener<T> listener) {
+        for (Subscription<T> subscription : subscriptions) {
+            if (subscription.listener == listener) {
+                subscriptions.remove(subscription);
+                subscription.cancel();
+            }
+        }
+    }
+
+    // EFFECTS: Return true if at least one listener is subscribed
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    // EFFECTS: Publish a change of the given kind to subject (see ModelChange) to every subscriber
+    public void publish(ChangeKind kind, T subject, int index) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        ModelChange<T> change = new ModelChange<T>(source, kind, subject, index);
+        for (Subscription<T> subscription : subscriptions) {
+            subscription.enqueue(change);
+        }
+    }
+
+    /**
+     * REPRESENTS: one listener's pending batch and how it is delivered
+     */
+    private static final class Subscription<T> {
+        private final ModelChangeListener<T> listener;
+        private final Executor deliverer;
+        private List<ModelChange<T>> pending;
+        private boolean scheduled;
+        private boolean cancelled;
+
+        // EFFECTS: Create a subscription of listener with nothing pending
+        Subscription(ModelChangeListener<T> listener, Executor deliverer) {
+            this.listener = listener;
+            this.deliverer = deliverer;
+            pending = new ArrayList<ModelChange<T>>();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Coalesce change into the pending batch; schedule a delivery if none is pending
+        void enqueue(ModelChange<T> change) {
+            boolean schedule;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                coalesce(change);
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) {
+                deliverer.execute(this::deliver);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Stop delivering changes, discarding the pending batch
+        synchronized void cancel() {
+            cancelled = true;
+            pending.clear();
+        }
+
+        // HELPER: for enqueue
+        // MODIFIES: this
+        // EFFECTS: Add change to the pending batch, applying the coalescing rules (see ChangeBus)
+        private void coalesce(ModelChange<T> change) {
+            switch (change.getKind()) {
+                case RELOADED:
+                    pending.clear();
+                    break;
+                case MODIFIED:
+                    for (ModelChange<T> other : pending) {
+                        if (other.getSubject() == change.getSubject() && !other.is(ChangeKind.REMOVED)) {
+                            return;
+                        }
+                    }
+                    break;
+                case SCHEDULED:
+                    pending.removeIf(other -> other.is(ChangeKind.SCHEDULED) && other.getIndex() == change.getIndex());
+                    break;
+                case REMOVED:
+                    if (cancelsPendingAdd(change.getSubject())) {
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            pending.add(change);
+        }
+
+        // HELPER: for coalesce
+        // MODIFIES: this
+        // EFFECTS: If subject has a pending ADDED, remove it and subject's pending MODIFIED changes and return true
+        private boolean cancelsPendingAdd(T subject) {
+            int addedAt = -1;
+            for (int i = pending.size() - 1; i >= 0 && addedAt < 0; i--) {
+                ModelChange<T> other = pending.get(i);
+                if (other.getSubject() == subject && other.is(ChangeKind.ADDED)) {
+                    addedAt = i;
+                } else if (other.getSubject() == subject && other.is(ChangeKind.REMOVED)) {
+                    return false;
+                }
+            }
+            if (addedAt < 0) {
+                return false;
+            }
+            pending.remove(addedAt);
+            pending.removeIf(other -> other.getSubject() == subject && other.is(ChangeKind.MODIFIED));
+            return true;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Hand the pending batch (if any) to listener
+        private void deliver() {
+            List<ModelChange<T>> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new ArrayList<ModelChange<T>>();
+                scheduled = false;
+                if (cancelled) {
+                    return;
+                }
+            }
+            if (!batch.isEmpty()) {
+                listener.modelChanged(batch);
+            }
+        }
+    }
+}
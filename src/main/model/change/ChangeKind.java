@@ -0,0 +1,23 @@
+package model.change;
+
+/**
+ * REPRESENTS: the kind of a ModelChange
+ *
+ * USED BY:
+ *      1. Model objects, to say what kind of change they publish
+ *      2. ChangeBus and GUI listeners, which switch over it to coalesce or apply each change
+ *
+ * PURPOSE: Name every kind of change a model object can publish, so a listener's switch can cover them all
+ *          - ADDED / REMOVED / MODIFIED: the subject was added to, removed from, or changed within the source
+ *          - SCHEDULED: the subject is now the plan of the source's day getIndex()
+ *          - RELOADED: the source's contents were replaced wholesale (subject is null); re-query everything
+ *
+ * MUTABILITY: Immutable
+ */
+public enum ChangeKind {
+    ADDED,
+    REMOVED,
+    MODIFIED,
+    SCHEDULED,
+    RELOADED
+}
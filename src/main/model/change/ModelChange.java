@@ -0,0 +1,61 @@
+package model.change;
+
+/**
+ * REPRESENTS: one change to a model object's contents (e.g. an exercise added to an ExerciseLibrary)
+ *
+ * USED BY:
+ *      1. ChangeBus, to deliver changes to subscribed listeners
+ *      2. GUI panels, to patch their list models instead of re-querying the model
+ *
+ * PURPOSE: Describe what changed (see ChangeKind) without the listener having to diff the model
+ *
+ * MUTABILITY: Immutable
+ */
+public class ModelChange<T> {
+    private final Object source;
+    private final ChangeKind kind;
+    private final T subject;
+    private final int index;
+
+    // EFFECTS: Create a change of the given kind to subject within source, at index (-1 if not positional)
+    //          Throw IllegalArgumentException if kind is null
+    public ModelChange(Object source, ChangeKind kind, T subject, int index) {
+        if (kind == null) {
+            throw new IllegalArgumentException("Change kind cannot be null");
+        }
+        this.source = source;
+        this.kind = kind;
+        this.subject = subject;
+        this.index = index;
+    }
+
+    // EFFECTS: Return the model object whose contents changed
+    public Object getSource() {
+        return source;
+    }
+
+    // EFFECTS: Return the kind of change
+    public ChangeKind getKind() {
+        return kind;
+    }
+
+    // EFFECTS: Return the object that was added, removed, modified, or scheduled (null if RELOADED)
+    public T getSubject() {
+        return subject;
+    }
+
+    // EFFECTS: Return the position of the change (the day index if SCHEDULED), or -1 if not positional
+    public int getIndex() {
+        return index;
+    }
+
+    // EFFECTS: Return true if this change is of the given kind
+    public boolean is(ChangeKind kind) {
+        return this.kind == kind;
+    }
+
+    @Override
+    public String toString() {
+        return kind.name().toLowerCase() + " " + subject + ((index >= 0) ? " @" + index : "");
+    }
+}
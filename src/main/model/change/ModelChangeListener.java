@@ -0,0 +1,15 @@
+package model.change;
+
+import java.util.List;
+
+/**
+ * REPRESENTS: a subscriber to a ChangeBus
+ *
+ * PURPOSE: Receive a model object's changes in coalesced batches, in the order they were published
+ */
+@FunctionalInterface
+public interface ModelChangeListener<T> {
+
+    // EFFECTS: React to changes, a non-empty batch published since this listener's previous delivery
+    public void modelChanged(List<ModelChange<T>> changes);
+}
@@ -0,0 +1,54 @@
+package model.equipment;
+
+import model.association.ExerciseAssociator;
+
+/**
+ * REPRESENTS: a user-defined type of exercise equipment (i.e. Kettlebell, Sled, Rower)
+ *
+ * USED BY:
+ *      1. PredefinedData, which registers equipment loaded from a definitions file
+ *      2. Exercises classified as using that equipment
+ *
+ * PURPOSE: Allow equipment beyond the built-in Strength, Cardio, and Bodyweight classes to be modelled
+ *          Like built-in equipment, a single shared instance cumulates the metrics of its exercises
+ *
+ * MUTABILITY: Immutable (Except ExerciseAssociator)
+ */
+public class CustomEquipment extends ExerciseAssociator implements Equipment {
+    public static final String STRENGTH_TYPE = "Strength Equipment";
+    public static final String CARDIO_TYPE = "Cardio Equipment";
+    public static final String BODYWEIGHT_TYPE = "Body Weight Equipment";
+
+    private String name;
+    private String equipmentType;
+    private boolean isWeightBased;
+
+    // EFFECTS: Create equipment with the given name, type (i.e. STRENGTH_TYPE), and weight-basis
+    //          Throw IllegalArgumentException if name or equipmentType is null or blank
+    public CustomEquipment(String name, String equipmentType, boolean isWeightBased) {
+        if (name == null || name.trim().isEmpty() || equipmentType == null || equipmentType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Equipment name and type cannot be null or blank.");
+        }
+        this.name = name;
+        this.equipmentType = equipmentType;
+        this.isWeightBased = isWeightBased;
+    }
+
+    // EFFECTS: Return the type of this equipment
+    @Override
+    public String getEquipmentType() {
+        return equipmentType;
+    }
+
+    // EFFECTS: Return the name of this equipment
+    @Override
+    public String getEquipmentName() {
+        return name;
+    }
+
+    // EFFECTS: Return true if this equipment is weight-based
+    @Override
+    public boolean isWeightBased() {
+        return isWeightBased;
+    }
+}
@@ -1,13 +1,22 @@
 package model.exercise;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
+import model.association.AssociatorBatch;
 import model.association.ExerciseAssociator;
+import model.association.MetricsContext;
 import model.equipment.Equipment;
+import model.muscle.Muscle;
 import model.muscle.MuscleGroup;
 import model.log.Event;
 import model.log.EventLog;
+import utility.ContentHasher;
 
 /**
  * REPRESENTS: an abstract base class for different types of exercises
@@ -21,6 +30,8 @@ import model.log.EventLog;
  * PURPOSE: Defines a standard interface for different styles of exercises
  *          Allow structured user exercise customization and analytical tracking
  *          Enforce separation of exercise types based on training style
+ *          Provide a canonical content hash (type, parameters, equipment, and targeted muscles; NOT the name)
+ *          so the same movement copied under another name can be detected and shared
  * 
  * See Exercise subclasses for detailed method specifications
  */
@@ -30,6 +41,8 @@ public abstract class Exercise {
     protected String type;
     protected Equipment requiredEquipment;
     protected MuscleGroup musclesTargeted;
+    private long contentHash;
+    private boolean contentHashed;
 
     protected Exercise(String name, String type, Equipment equipmentUsed, MuscleGroup musclesTargeted) {
         exerciseInfo = new HashMap<String, Double>();
@@ -40,34 +53,60 @@ public abstract class Exercise {
         EventLog.getInstance().logEvent(new Event("Exercise created: " + this.name + " (Type: " + this.type + ")"));
     }
     
-    // MODIFIES: MuscleGroup, Equipment
+    // MODIFIES: MetricsContext
+    // EFFECTS: Activate this Exercise's metrics in the current MetricsContext (see activateMetrics(context, metrics))
+    public void activateMetrics(String context) {
+        activateMetrics(context, MetricsContext.current());
+    }
+
+    // MODIFIES: metricsContext
     // EFFECTS: Send a copy of this Exercise's getInfo, along with this exercise's name
-    //          to Equipment and MuscleGroup; If already present, make no changes
+    //          to Equipment and MuscleGroup in metricsContext; If already present, make no changes
     //          Do nothing if this exercise has null Equipment or MuscleGroup
-    public void activateMetrics(String context) {
+    public void activateMetrics(String context, MetricsContext metricsContext) {
         Map<String, Double> metrics = convertInfoToAssociatorFormat();
         // Safety; Equipment does not HAVE to be ExerciseAssociator
         // However, this program currently does design each instance of Equipment as an instance of ExerciseAssociator
         if (requiredEquipment instanceof ExerciseAssociator) { 
-            ((ExerciseAssociator) requiredEquipment).registerExercise(getName(), context, 
-                new HashMap<String, Double>(metrics));
+            metricsContext.register((ExerciseAssociator) requiredEquipment, getName(), context, metrics);
         }
         if (musclesTargeted != null) {
-            musclesTargeted.registerMusclesForMetrics(getName(), context, new HashMap<String, Double>(metrics));
+            musclesTargeted.registerMusclesForMetrics(getName(), context, metrics, metricsContext);
         }
     }
 
+    // MODIFIES: batch
+    // EFFECTS: Queue this Exercise's metrics for its Equipment and each Muscle of its MuscleGroup
+    //          under the given context; once batch is applied, this is equivalent to activateMetrics
+    //          The converted metrics are filtered once and shared by every queued associator
+    public void collectMetrics(String context, AssociatorBatch batch) {
+        Map<String, Double> metrics = ExerciseAssociator.filterValidMetrics(convertInfoToAssociatorFormat());
+        if (requiredEquipment instanceof ExerciseAssociator) {
+            batch.add((ExerciseAssociator) requiredEquipment, getName(), context, metrics);
+        }
+        if (musclesTargeted != null) {
+            for (Muscle muscle : musclesTargeted.getMuscles()) {
+                batch.add(muscle, getName(), context, metrics);
+            }
+        }
+    }
+
+    // MODIFIES: MetricsContext
+    // EFFECTS: Deactivate this Exercise's metrics in the current MetricsContext
+    public void deactivateMetrics(String context) {
+        deactivateMetrics(context, MetricsContext.current());
+    }
 
-    // MODIFIES: MuscleGroup, Equipment
+    // MODIFIES: metricsContext
     // EFFECTS: Remove copy of this Exercise's getInfo from Equipment
-    //          and MuscleGroup; If not present, make no changes
+    //          and MuscleGroup in metricsContext; If not present, make no changes
     //          Do nothing if this exercise has null Equipment or MuscleGroup
-    public void deactivateMetrics(String context) {
+    public void deactivateMetrics(String context, MetricsContext metricsContext) {
         if (requiredEquipment instanceof ExerciseAssociator) {
-            ((ExerciseAssociator) requiredEquipment).unregisterExercise(getName(), context);
+            metricsContext.unregister((ExerciseAssociator) requiredEquipment, getName(), context);
         }
         if (musclesTargeted != null) {
-            musclesTargeted.unregisterMusclesFromMetrics(getName(), context);
+            musclesTargeted.unregisterMusclesFromMetrics(getName(), context, metricsContext);
         }
     }
 
@@ -91,6 +130,68 @@ public abstract class Exercise {
         return musclesTargeted;
     }
 
+    // EFFECTS: Return the canonical hash of this exercise's content: its type, its parameters (getInfo without
+    //          derived values), its equipment's type and name, and the names of the muscles it targets;
+    //          its name is NOT part of its content, so copies under different names hash equally
+    //          The hash is computed once, as exercises are immutable
+    public long contentHash() {
+        if (!contentHashed) {
+            ContentHasher hasher = new ContentHasher().add(type);
+            Map<String, Double> parameters = new TreeMap<String, Double>(exerciseInfo);
+            hasher.add((long) parameters.size());
+            for (Map.Entry<String, Double> entry : parameters.entrySet()) {
+                hasher.add(entry.getKey()).add(entry.getValue());
+            }
+            hasher.add(getEquipmentType()).add(getEquipmentName());
+            List<String> muscleNames = getMuscleNames();
+            hasher.add((long) ((muscleNames != null) ? muscleNames.size() : -1));
+            if (muscleNames != null) {
+                for (String muscleName : muscleNames) {
+                    hasher.add(muscleName);
+                }
+            }
+            contentHash = hasher.getHash();
+            contentHashed = true;
+        }
+        return contentHash;
+    }
+
+    // EFFECTS: Return true if other has the same content as this exercise (see contentHash), whatever its name
+    //          Return false if other is null
+    public boolean hasSameContent(Exercise other) {
+        return other != null && contentHash() == other.contentHash() && type.equals(other.type)
+                && exerciseInfo.equals(other.exerciseInfo)
+                && Objects.equals(getEquipmentType(), other.getEquipmentType())
+                && Objects.equals(getEquipmentName(), other.getEquipmentName())
+                && Objects.equals(getMuscleNames(), other.getMuscleNames());
+    }
+
+    // HELPER: for contentHash, hasSameContent
+    // EFFECTS: Return the type of this exercise's equipment, or null if it has none
+    private String getEquipmentType() {
+        return (requiredEquipment != null) ? requiredEquipment.getEquipmentType() : null;
+    }
+
+    // HELPER: for contentHash, hasSameContent
+    // EFFECTS: Return the name of this exercise's equipment, or null if it has none
+    private String getEquipmentName() {
+        return (requiredEquipment != null) ? requiredEquipment.getEquipmentName() : null;
+    }
+
+    // HELPER: for contentHash, hasSameContent
+    // EFFECTS: Return the sorted names of the muscles this exercise targets, or null if it has no MuscleGroup
+    private List<String> getMuscleNames() {
+        if (musclesTargeted == null) {
+            return null;
+        }
+        List<String> names = new ArrayList<String>();
+        for (Muscle muscle : musclesTargeted.getMuscles()) {
+            names.add(muscle.getName());
+        }
+        names.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        return names;
+    }
+
     public abstract double getDuration();
 
     public abstract Map<String, Double> getInfo();
@@ -1,17 +1,30 @@
 package model.exercise;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import model.change.ChangeBus;
+import model.change.ChangeKind;
 import model.equipment.Equipment;
+import model.muscle.Muscle;
 import model.muscle.MuscleGroup;
 import model.log.Event;
 import model.log.EventLog;
 import persistence.Writable;
+import utility.NameSearchIndex;
+import utility.PersistentHashMap;
 import utility.PredefinedData;
 
 /**
@@ -25,18 +38,80 @@ import utility.PredefinedData;
  * PURPOSE: Manage the storage, retrieval, and removal of exercises from a central hub/library
  *          As exercises are immutable ExerciseLibrary tracks various exercises consistently 
  *          across the program.
+ *          Maintain secondary indexes (by type, equipment, MuscleGroup, muscle, and duration) on every
+ *          addition and removal so an ExerciseQuery is answered without scanning the whole library
+ *          Keep a NameSearchIndex of exercise names for prefix, substring, and typo-tolerant search
+ *          Keep an index by content hash (see Exercise.contentHash) so an exercise copied under another name
+ *          is detected on insert, and can be shared instead of stored twice
+ *          Publish each addition and removal (and RELOADED on load) on its ChangeBus, so views can patch
+ *          themselves rather than re-query getAllExercises
+ *          Keep its exercises by name in a PersistentHashMap, so each addition or removal makes a new version
+ *          sharing structure with the last, and getAllExercises hands out the current version as a snapshot
+ *          in constant time rather than copying it
+ *
+ * NOTE: A snapshot from getAllExercises never changes; it may be read from any thread (e.g. a background save)
+ *       while the library is edited on the UI thread
  * 
  * MUTABILITY: Mutable 
  */
 public class ExerciseLibrary implements Writable {
+    private static final Comparator<Exercise> DURATION_ORDER =
+            Comparator.comparingDouble(Exercise::getDuration).thenComparing(Exercise::getName);
 
-    Map<String, Exercise> library;
+    private volatile PersistentHashMap<String, Exercise> library; // Replaced (never mutated) on every change
+
+    // Secondary indexes: attribute (name) -> exercises with that attribute
+    private Map<String, Set<Exercise>> byType;
+    private Map<String, Set<Exercise>> byEquipment;
+    private Map<String, Set<Exercise>> byMuscleGroup;
+    private Map<String, Set<Exercise>> byMuscle;
+    private NavigableMap<Double, Map<String, Exercise>> byDuration; // duration -> (name -> exercise), both sorted
+    private NameSearchIndex nameIndex;
+    private Map<Long, List<Exercise>> byContent; // content hash -> exercises with it, in insertion order
+    private ChangeBus<Exercise> changes;
     
     // EFFECTS: Construct this ExerciseLibrary with no Exercise objects in this library
     // NOTE: ExerciseLibrary becomes fully constructed with Exercises (should the 
     //       user choose to load their data) AFTER ExerciseLibrary is instantiated
     public ExerciseLibrary() {
-        library = new HashMap<String, Exercise>();
+        createIndexes();
+    }
+
+    // HELPER: for ExerciseLibrary, replaceContents
+    // MODIFIES: this
+    // EFFECTS: Give this library a new, empty library map and secondary indexes
+    private void createIndexes() {
+        library = PersistentHashMap.empty();
+        byType = new HashMap<String, Set<Exercise>>();
+        byEquipment = new HashMap<String, Set<Exercise>>();
+        byMuscleGroup = new HashMap<String, Set<Exercise>>();
+        byMuscle = new HashMap<String, Set<Exercise>>();
+        byDuration = new TreeMap<Double, Map<String, Exercise>>();
+        nameIndex = new NameSearchIndex();
+        byContent = new HashMap<Long, List<Exercise>>();
+    }
+
+    // MODIFIES: this, other
+    // EFFECTS: Replace this library's exercises and indexes with other's in one step (no re-indexing), leave
+    //          other empty, and publish RELOADED
+    //          Used to swap in a library that was loaded off the event dispatch thread
+    //          Throw IllegalArgumentException if other is null or this library
+    public void replaceContents(ExerciseLibrary other) {
+        if (other == null || other == this) {
+            throw new IllegalArgumentException("Cannot replace contents with null or this library");
+        }
+        library = other.library;
+        byType = other.byType;
+        byEquipment = other.byEquipment;
+        byMuscleGroup = other.byMuscleGroup;
+        byMuscle = other.byMuscle;
+        byDuration = other.byDuration;
+        nameIndex = other.nameIndex;
+        byContent = other.byContent;
+        other.createIndexes();
+        publish(ChangeKind.RELOADED, null);
+        EventLog.getInstance().logEvent(new Event("ExerciseLibrary contents replaced with "
+                + library.size() + " exercises"));
     }
 
     // MODIFIES: this
@@ -46,7 +121,9 @@ public class ExerciseLibrary implements Writable {
         if (exercise == null || library.containsKey(exercise.getName())) {
             return false;
         } else {
-            library.put(exercise.getName(), exercise);
+            library = library.with(exercise.getName(), exercise);
+            index(exercise);
+            publish(ChangeKind.ADDED, exercise);
             EventLog.getInstance().logEvent(new Event("Exercise '" 
                     + exercise.getName() + "' added to ExerciseLibrary"));
             return true;
@@ -58,7 +135,10 @@ public class ExerciseLibrary implements Writable {
     //          Returns true if the exercise was removed, false otherwise.
     public boolean removeExercise(String exerciseName) {
         if (containsExercise(exerciseName)) {
-            library.remove(exerciseName);
+            Exercise removed = library.get(exerciseName);
+            library = library.without(exerciseName);
+            unindex(removed);
+            publish(ChangeKind.REMOVED, removed);
             EventLog.getInstance().logEvent(new Event("Exercise '" + exerciseName + "' removed from ExerciseLibrary"));
             return true;
         }
@@ -75,20 +155,270 @@ public class ExerciseLibrary implements Writable {
         return library.containsKey(exerciseName);
     }
 
+    // EFFECTS: Return the number of exercises stored in this library
+    public int getNumExercises() {
+        return library.size();
+    }
 
-    // EFFECTS: Return all stored exercises and their names.
+    // EFFECTS: Return all stored exercises and their names, as a read-only snapshot taken in constant time
+    //          (later changes to this library are not reflected in it)
     public Map<String, Exercise> getAllExercises() {
-        return new HashMap<String, Exercise>(library); // Defensive copy
+        return library; // Immutable version: no defensive copy needed
+    }
+
+    // EFFECTS: Return the bus on which this library publishes its changes: ADDED and REMOVED exercises,
+    //          and RELOADED when its contents are replaced by fromJson
+    public ChangeBus<Exercise> getChanges() {
+        if (changes == null) {
+            changes = new ChangeBus<Exercise>(this);
+        }
+        return changes;
+    }
+
+    // EFFECTS: Return the exercises matching every criterion of query, ordered by duration (then name)
+    //          The most selective attribute index supplies the candidates, which are checked against the
+    //          other criteria by hash lookups; a duration-only query reads a range of the duration index
+    public List<Exercise> query(ExerciseQuery query) {
+        List<Set<Exercise>> criteria = new ArrayList<Set<Exercise>>();
+        if (!addCriterion(criteria, byType, query.getType())
+                || !addCriterion(criteria, byEquipment, query.getEquipmentName())
+                || !addCriterion(criteria, byMuscleGroup, query.getMuscleGroupName())
+                || !addCriterion(criteria, byMuscle, query.getMuscleName())) {
+            return new ArrayList<Exercise>(); // Some criterion matches no exercise at all
+        }
+        if (criteria.isEmpty()) {
+            return getExercisesInDurationRange(query.getMinDuration(), query.getMaxDuration());
+        }
+
+        criteria.sort(Comparator.comparingInt(Set::size));
+        List<Exercise> results = new ArrayList<Exercise>();
+        for (Exercise candidate : criteria.get(0)) {
+            if (query.matchesDuration(candidate) && isInAll(candidate, criteria)) {
+                results.add(candidate);
+            }
+        }
+        results.sort(DURATION_ORDER);
+        return results;
+    }
+
+    // EFFECTS: Return up to limit exercises whose names best match query (ignoring case), ranked as
+    //          exact, prefix, word prefix, substring, then near-miss matches (see NameSearchIndex.search)
+    public List<Exercise> searchExercises(String query, int limit) {
+        List<Exercise> results = new ArrayList<Exercise>();
+        for (String name : nameIndex.search(query, limit)) {
+            results.add(library.get(name));
+        }
+        return results;
+    }
+
+    // EFFECTS: Return the first stored exercise (other than exercise itself) with the same content as exercise,
+    //          whatever its name, or null if there is none (see Exercise.hasSameContent)
+    public Exercise findDuplicate(Exercise exercise) {
+        if (exercise == null) {
+            return null;
+        }
+        List<Exercise> sameHash = byContent.get(exercise.contentHash());
+        if (sameHash != null) {
+            for (Exercise stored : sameHash) {
+                if (stored != exercise && stored.hasSameContent(exercise)) {
+                    return stored;
+                }
+            }
+        }
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return the stored exercise to use for exercise: an existing exercise with the same content if there
+    //          is one (exercise is not added), otherwise exercise itself once added
+    //          Return null if exercise is null, or is new content under a name already in use
+    public Exercise addOrShare(Exercise exercise) {
+        Exercise duplicate = findDuplicate(exercise);
+        if (duplicate != null) {
+            return duplicate;
+        }
+        return addExercise(exercise) ? exercise : null;
+    }
+
+    // EFFECTS: Return every set of two or more stored exercises with the same content, each ordered by name,
+    //          ordered by their first names
+    public List<List<Exercise>> getDuplicateGroups() {
+        List<List<Exercise>> groups = new ArrayList<List<Exercise>>();
+        for (List<Exercise> sameHash : byContent.values()) {
+            List<Exercise> remaining = new ArrayList<Exercise>(sameHash);
+            while (remaining.size() > 1) {
+                Exercise first = remaining.remove(0);
+                List<Exercise> group = new ArrayList<Exercise>();
+                group.add(first);
+                remaining.removeIf(other -> first.hasSameContent(other) && group.add(other));
+                if (group.size() > 1) {
+                    group.sort(Comparator.comparing(Exercise::getName));
+                    groups.add(group);
+                }
+            }
+        }
+        groups.sort(Comparator.comparing(group -> group.get(0).getName()));
+        return groups;
+    }
+
+    // EFFECTS: Return the exercises lasting at least minSeconds and less than maxSeconds, ordered by
+    //          duration (then name), read directly from the duration index
+    public List<Exercise> getExercisesInDurationRange(double minSeconds, double maxSeconds) {
+        List<Exercise> results = new ArrayList<Exercise>();
+        if (minSeconds >= maxSeconds) {
+            return results;
+        }
+        for (Map<String, Exercise> sameDuration : byDuration.subMap(minSeconds, true, maxSeconds, false).values()) {
+            results.addAll(sameDuration.values());
+        }
+        return results;
+    }
+
+    // EFFECTS: Return the number of exercises of the given training style, without a scan
+    public int countByType(String type) {
+        Set<Exercise> exercises = byType.get(type);
+        return (exercises != null) ? exercises.size() : 0;
+    }
+
+    // EFFECTS: Return the training styles (types) present in this library
+    public Set<String> getIndexedTypes() {
+        return Collections.unmodifiableSet(byType.keySet());
+    }
+
+    // HELPER: for query
+    // MODIFIES: criteria
+    // EFFECTS: If value is null (criterion unset), do nothing and return true
+    //          Otherwise add index's set for value to criteria and return true, or return false if none exists
+    private boolean addCriterion(List<Set<Exercise>> criteria, Map<String, Set<Exercise>> index, String value) {
+        if (value == null) {
+            return true;
+        }
+        Set<Exercise> matching = index.get(value);
+        if (matching == null) {
+            return false;
+        }
+        criteria.add(matching);
+        return true;
+    }
+
+    // HELPER: for query
+    // EFFECTS: Return true if exercise is in every set of criteria after the first (the candidate source)
+    private boolean isInAll(Exercise exercise, List<Set<Exercise>> criteria) {
+        for (int i = 1; i < criteria.size(); i++) {
+            if (!criteria.get(i).contains(exercise)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // HELPER: for addExercise, fromJson
+    // MODIFIES: this
+    // EFFECTS: Add exercise to every secondary index it has an attribute for
+    private void index(Exercise exercise) {
+        nameIndex.add(exercise.getName());
+        addToIndex(byType, exercise.exerciseType(), exercise);
+        if (exercise.getRequiredEquipment() != null) {
+            addToIndex(byEquipment, exercise.getRequiredEquipment().getEquipmentName(), exercise);
+        }
+        if (exercise.getMusclesTargeted() != null) {
+            addToIndex(byMuscleGroup, exercise.getMusclesTargeted().getName(), exercise);
+            for (Muscle muscle : exercise.getMusclesTargeted().getMuscles()) {
+                addToIndex(byMuscle, muscle.getName(), exercise);
+            }
+        }
+        byDuration.computeIfAbsent(exercise.getDuration(), d -> new TreeMap<String, Exercise>())
+                .put(exercise.getName(), exercise);
+        byContent.computeIfAbsent(exercise.contentHash(), h -> new ArrayList<Exercise>()).add(exercise);
+    }
+
+    // HELPER: for removeExercise
+    // MODIFIES: this
+    // EFFECTS: Remove exercise from every secondary index, dropping index entries that become empty
+    private void unindex(Exercise exercise) {
+        nameIndex.remove(exercise.getName());
+        removeFromIndex(byType, exercise.exerciseType(), exercise);
+        if (exercise.getRequiredEquipment() != null) {
+            removeFromIndex(byEquipment, exercise.getRequiredEquipment().getEquipmentName(), exercise);
+        }
+        if (exercise.getMusclesTargeted() != null) {
+            removeFromIndex(byMuscleGroup, exercise.getMusclesTargeted().getName(), exercise);
+            for (Muscle muscle : exercise.getMusclesTargeted().getMuscles()) {
+                removeFromIndex(byMuscle, muscle.getName(), exercise);
+            }
+        }
+        Map<String, Exercise> sameDuration = byDuration.get(exercise.getDuration());
+        if (sameDuration != null) {
+            sameDuration.remove(exercise.getName());
+            if (sameDuration.isEmpty()) {
+                byDuration.remove(exercise.getDuration());
+            }
+        }
+        List<Exercise> sameHash = byContent.get(exercise.contentHash());
+        if (sameHash != null) {
+            sameHash.remove(exercise);
+            if (sameHash.isEmpty()) {
+                byContent.remove(exercise.contentHash());
+            }
+        }
+    }
+
+    // HELPER: for index
+    // MODIFIES: index
+    // EFFECTS: Add exercise to the set index holds under key
+    private static void addToIndex(Map<String, Set<Exercise>> index, String key, Exercise exercise) {
+        index.computeIfAbsent(key, k -> new HashSet<Exercise>()).add(exercise);
+    }
+
+    // HELPER: for unindex
+    // MODIFIES: index
+    // EFFECTS: Remove exercise from the set index holds under key, removing the set once it is empty
+    private static void removeFromIndex(Map<String, Set<Exercise>> index, String key, Exercise exercise) {
+        Set<Exercise> exercises = index.get(key);
+        if (exercises != null) {
+            exercises.remove(exercise);
+            if (exercises.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // HELPER: for addExercise, removeExercise, fromJson
+    // EFFECTS: Publish a change of the given kind to exercise, if anything has subscribed
+    private void publish(ChangeKind kind, Exercise exercise) {
+        if (changes != null) {
+            changes.publish(kind, exercise, -1);
+        }
+    }
+
+    // HELPER: for fromJson
+    // MODIFIES: this
+    // EFFECTS: Remove every exercise and index entry
+    private void clearLibrary() {
+        library = PersistentHashMap.empty();
+        byType.clear();
+        byEquipment.clear();
+        byMuscleGroup.clear();
+        byMuscle.clear();
+        byDuration.clear();
+        nameIndex.clear();
+        byContent.clear();
     }
 
     // EFFECTS: Return a JSON representation of this ExerciseLibrary containing
     //          all exercises and their complete state
     @Override
     public JSONObject toJson() {
+        return toJson(library);
+    }
+
+    // EFFECTS: Return a JSON representation (as toJson) of the exercises in snapshot, a map from getAllExercises
+    //          Exercises are immutable, so a snapshot taken on the UI thread may be serialized on any thread
+    public static JSONObject toJson(Map<String, Exercise> snapshot) {
         JSONObject json = new JSONObject();
         JSONArray exercisesJson = new JSONArray();
         
-        for (Exercise exercise : library.values()) {
+        for (Exercise exercise : snapshot.values()) {
             JSONObject exerciseJson = new JSONObject();
 
             exerciseJson.put("name", exercise.getName());
@@ -145,7 +475,7 @@ public class ExerciseLibrary implements Writable {
         PredefinedData predefinedData = (PredefinedData) data;
 
         // Clear existing library to replace previous data with loaded data
-        library.clear();
+        clearLibrary();
 
         JSONArray exercisesJson = json.getJSONArray("exercises");
         for (int i = 0; i < exercisesJson.length(); i++) {
@@ -171,8 +501,14 @@ public class ExerciseLibrary implements Writable {
             // createExercise elicits default Exercise instantiation values for any invalid values
             Exercise exercise = createExercise(type, name, exerciseInfo, equipment, muscleGroup);
 
-            library.put(exercise.getName(), exercise);
+            Exercise replaced = library.get(exercise.getName());
+            library = library.with(exercise.getName(), exercise);
+            if (replaced != null) {
+                unindex(replaced); // Duplicate names in the file: the last one wins, as in the library
+            }
+            index(exercise);
         }
+        publish(ChangeKind.RELOADED, null);
         EventLog.getInstance().logEvent(new Event("ExerciseLibrary deserialized from JSON with " 
                 + library.size() + " exercises"));
     }
@@ -0,0 +1,134 @@
+package model.exercise;
+
+import model.equipment.Equipment;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+
+/**
+ * REPRESENTS: a conjunctive filter over the exercises of an ExerciseLibrary
+ *             (i.e. "Strength, Barbell, targets Quadriceps, under 10 minutes")
+ *
+ * USED BY:
+ *      1. ExerciseLibrary.query, which answers it from its secondary indexes
+ *
+ * PURPOSE: Compose criteria fluently; every criterion left unset matches all exercises
+ *          Equipment, MuscleGroup, and Muscle criteria match by name, as PredefinedData resolves them
+ *
+ * MUTABILITY: Mutable (each criterion method sets one criterion and returns this query)
+ */
+public class ExerciseQuery {
+    private String type;
+    private String equipmentName;
+    private String muscleGroupName;
+    private String muscleName;
+    private double minDuration;
+    private double maxDuration;
+
+    // EFFECTS: Create a query matching every exercise
+    public ExerciseQuery() {
+        this.minDuration = 0.0;
+        this.maxDuration = Double.POSITIVE_INFINITY;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises of the given training style (i.e. "Strength"); null clears the criterion
+    public ExerciseQuery ofType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises using equipment with the given name; null clears the criterion
+    public ExerciseQuery usingEquipment(String equipmentName) {
+        this.equipmentName = equipmentName;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises using the given equipment; null clears the criterion
+    public ExerciseQuery usingEquipment(Equipment equipment) {
+        return usingEquipment(equipment != null ? equipment.getEquipmentName() : null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises targeting the MuscleGroup with the given name; null clears the criterion
+    public ExerciseQuery targetingMuscleGroup(String muscleGroupName) {
+        this.muscleGroupName = muscleGroupName;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises targeting the given MuscleGroup; null clears the criterion
+    public ExerciseQuery targetingMuscleGroup(MuscleGroup muscleGroup) {
+        return targetingMuscleGroup(muscleGroup != null ? muscleGroup.getName() : null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises whose MuscleGroup contains a muscle with the given name;
+    //          null clears the criterion
+    public ExerciseQuery targetingMuscle(String muscleName) {
+        this.muscleName = muscleName;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises whose MuscleGroup contains the given muscle; null clears the criterion
+    public ExerciseQuery targetingMuscle(Muscle muscle) {
+        return targetingMuscle(muscle != null ? muscle.getName() : null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises lasting at least the given number of seconds
+    public ExerciseQuery withDurationAtLeast(double seconds) {
+        this.minDuration = seconds;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Match only exercises lasting strictly less than the given number of seconds
+    public ExerciseQuery withDurationUnder(double seconds) {
+        this.maxDuration = seconds;
+        return this;
+    }
+
+    // EFFECTS: Return the type criterion, or null if unset
+    public String getType() {
+        return type;
+    }
+
+    // EFFECTS: Return the equipment name criterion, or null if unset
+    public String getEquipmentName() {
+        return equipmentName;
+    }
+
+    // EFFECTS: Return the MuscleGroup name criterion, or null if unset
+    public String getMuscleGroupName() {
+        return muscleGroupName;
+    }
+
+    // EFFECTS: Return the muscle name criterion, or null if unset
+    public String getMuscleName() {
+        return muscleName;
+    }
+
+    // EFFECTS: Return the inclusive lower duration bound in seconds
+    public double getMinDuration() {
+        return minDuration;
+    }
+
+    // EFFECTS: Return the exclusive upper duration bound in seconds
+    public double getMaxDuration() {
+        return maxDuration;
+    }
+
+    // EFFECTS: Return true if this query restricts duration
+    public boolean hasDurationBounds() {
+        return minDuration > 0.0 || maxDuration != Double.POSITIVE_INFINITY;
+    }
+
+    // EFFECTS: Return true if exercise's duration lies within this query's bounds
+    public boolean matchesDuration(Exercise exercise) {
+        double duration = exercise.getDuration();
+        return duration >= minDuration && duration < maxDuration;
+    }
+}
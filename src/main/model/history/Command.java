@@ -0,0 +1,31 @@
+package model.history;
+
+/**
+ * REPRESENTS: one reversible mutation of the model (ExerciseLibrary, WorkoutLibrary, Workout, or WeeklySchedule)
+ *
+ * USED BY:
+ *      1. CommandLog, which applies commands and keeps them for undo and redo
+ *      2. Commands, which creates every command the UIs perform
+ *
+ * PURPOSE: Pair a mutation with its inverse, so apply followed by revert leaves the model as it was
+ *          A command keeps references to the model objects it touches (never copies of them), so its cost in
+ *          memory is its footprint: the number of such references it keeps
+ */
+public interface Command {
+
+    // MODIFIES: the model objects this command mutates
+    // EFFECTS: Perform this command's mutation, remembering what it needs to revert it
+    //          Throw IllegalArgumentException (leaving the model unchanged) if the mutation is not possible
+    public void apply();
+
+    // REQUIRES: apply was the last of apply and revert called, and the model is as apply left it
+    // MODIFIES: the model objects this command mutates
+    // EFFECTS: Undo this command's mutation
+    public void revert();
+
+    // EFFECTS: Return a short description of this command for the user (i.e. "Delete exercise 'Squat'")
+    public String getDescription();
+
+    // EFFECTS: Return the number of model references this command keeps (at least 1)
+    public int getFootprint();
+}
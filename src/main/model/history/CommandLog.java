@@ -0,0 +1,151 @@
+package model.history;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import model.log.Event;
+import model.log.EventLog;
+
+/**
+ * REPRESENTS: the undo and redo history of the model's mutations
+ *
+ * USED BY:
+ *      1. The console UI and GUI, which perform every mutation through execute
+ *      2. Their undo and redo options
+ *
+ * PURPOSE: Keep applied commands for undo and undone commands for redo, within a memory budget
+ *          - Commands share the live model objects rather than copying them (see Command), so the history's memory
+ *            is the sum of its commands' footprints: a deleted exercise costs one reference, not a copy of it
+ *          - When the total footprint exceeds the budget, the oldest undoable commands are forgotten first
+ *            (the newest is always kept)
+ *          - Executing a new command forgets every undone command (there is nothing left to redo)
+ *
+ * NOTE: The history is only valid for the model objects it was recorded against; clear it when the model is
+ *       replaced (i.e. on load)
+ *
+ * MUTABILITY: Mutable (not thread-safe; used on the UI thread only)
+ */
+public class CommandLog {
+    public static final int DEFAULT_MAX_FOOTPRINT = 10000;
+
+    private final int maxFootprint;
+    private final Deque<Command> undoable;
+    private final Deque<Command> redoable;
+    private int footprint;
+
+    // EFFECTS: Create an empty log with the default memory budget
+    public CommandLog() {
+        this(DEFAULT_MAX_FOOTPRINT);
+    }
+
+    // EFFECTS: Create an empty log keeping commands of at most maxFootprint total footprint
+    //          Throw IllegalArgumentException if maxFootprint < 1
+    public CommandLog(int maxFootprint) {
+        if (maxFootprint < 1) {
+            throw new IllegalArgumentException("Footprint budget must be positive");
+        }
+        this.maxFootprint = maxFootprint;
+        undoable = new ArrayDeque<Command>();
+        redoable = new ArrayDeque<Command>();
+    }
+
+    // MODIFIES: this, the model objects command mutates
+    // EFFECTS: Apply command and keep it for undo, forgetting every undone command
+    //          Throw IllegalArgumentException if command is null, or if command cannot be applied (recording nothing)
+    public void execute(Command command) {
+        if (command == null) {
+            throw new IllegalArgumentException("Command cannot be null");
+        }
+        command.apply();
+        for (Command undone : redoable) {
+            footprint -= undone.getFootprint();
+        }
+        redoable.clear();
+        undoable.push(command);
+        footprint += command.getFootprint();
+        trim();
+    }
+
+    // MODIFIES: this, the model objects the last applied command mutates
+    // EFFECTS: Revert the most recently applied command and keep it for redo; return false if there is none
+    public boolean undo() {
+        if (undoable.isEmpty()) {
+            return false;
+        }
+        Command command = undoable.peek();
+        command.revert();
+        undoable.pop();
+        redoable.push(command);
+        EventLog.getInstance().logEvent(new Event("Undone: " + command.getDescription()));
+        return true;
+    }
+
+    // MODIFIES: this, the model objects the last undone command mutates
+    // EFFECTS: Apply the most recently undone command again and keep it for undo; return false if there is none
+    public boolean redo() {
+        if (redoable.isEmpty()) {
+            return false;
+        }
+        Command command = redoable.peek();
+        int previousFootprint = command.getFootprint();
+        command.apply();
+        redoable.pop();
+        undoable.push(command);
+        footprint += command.getFootprint() - previousFootprint;
+        EventLog.getInstance().logEvent(new Event("Redone: " + command.getDescription()));
+        return true;
+    }
+
+    // EFFECTS: Return true if there is a command to undo
+    public boolean canUndo() {
+        return !undoable.isEmpty();
+    }
+
+    // EFFECTS: Return true if there is a command to redo
+    public boolean canRedo() {
+        return !redoable.isEmpty();
+    }
+
+    // EFFECTS: Return the description of the command undo would revert, or null if there is none
+    public String getUndoDescription() {
+        return undoable.isEmpty() ? null : undoable.peek().getDescription();
+    }
+
+    // EFFECTS: Return the description of the command redo would apply, or null if there is none
+    public String getRedoDescription() {
+        return redoable.isEmpty() ? null : redoable.peek().getDescription();
+    }
+
+    // EFFECTS: Return the number of commands that can be undone
+    public int getNumUndoable() {
+        return undoable.size();
+    }
+
+    // EFFECTS: Return the number of commands that can be redone
+    public int getNumRedoable() {
+        return redoable.size();
+    }
+
+    // EFFECTS: Return the total footprint of every command kept for undo or redo
+    public int getFootprint() {
+        return footprint;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Forget every command (the model is left as it is)
+    public void clear() {
+        undoable.clear();
+        redoable.clear();
+        footprint = 0;
+    }
+
+    // HELPER: for execute
+    // MODIFIES: this
+    // EFFECTS: Forget the oldest undoable commands until the total footprint is within budget,
+    //          always keeping the newest one
+    private void trim() {
+        while (footprint > maxFootprint && undoable.size() > 1) {
+            footprint -= undoable.removeLast().getFootprint();
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package model.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import model.workout.WorkoutLibrary;
+import model.workout.WorkoutPlan;
+
+/**
+ * REPRESENTS: a factory of the model's reversible mutations
+ *
+ * USED BY:
+ *      1. The console UI and GUI, which pass these commands to a CommandLog instead of mutating the model directly
+ *
+ * PURPOSE: Create one Command per mutation of ExerciseLibrary, WorkoutLibrary, Workout, and WeeklySchedule, and the
+ *          cascading deletes the UIs perform as one undoable step
+ *          Every command shares the model's own objects (structural sharing): a removal keeps the removed exercise,
+ *          workout, or plan itself (and, within a workout, its position), a reassignment keeps the previous plan,
+ *          and nothing is ever deep-copied; reverting puts those same objects back, so later commands referring
+ *          to them stay valid
+ *
+ * MUTABILITY: Immutable (static factories only)
+ */
+public final class Commands {
+
+    // EFFECTS: Prevent instantiation
+    private Commands() {
+    }
+
+    // EFFECTS: Return a command adding exercise to library (reverted by removing it)
+    //          Applying it throws IllegalArgumentException if library has an exercise of the same name
+    //          Throw IllegalArgumentException if library or exercise is null
+    public static Command addExercise(ExerciseLibrary library, Exercise exercise) {
+        requireNonNull(library, exercise);
+        return new AddExercise(library, exercise);
+    }
+
+    // EFFECTS: Return a command deleting the exercise named exerciseName from library and from every Workout in
+    //          workoutLibrary that contains it, as one step (reverted by putting it back in each workout, at its
+    //          position, and in library)
+    //          Applying it throws IllegalArgumentException if library has no such exercise
+    //          Throw IllegalArgumentException if any argument is null
+    public static Command deleteExercise(ExerciseLibrary library, WorkoutLibrary workoutLibrary, String exerciseName) {
+        requireNonNull(library, workoutLibrary, exerciseName);
+        List<Command> steps = new ArrayList<Command>();
+        for (WorkoutPlan plan : workoutLibrary.getAllWorkouts()) {
+            if (plan instanceof Workout && contains((Workout) plan, exerciseName)) {
+                steps.add(new RemoveExerciseFromWorkout((Workout) plan, exerciseName));
+            }
+        }
+        steps.add(new RemoveExercise(library, exerciseName));
+        return new Sequence("Delete exercise '" + exerciseName + "'", steps);
+    }
+
+    // EFFECTS: Return a command adding workoutPlan to library (reverted by removing it)
+    //          Applying it throws IllegalArgumentException if library has a workout of the same name
+    //          Throw IllegalArgumentException if library or workoutPlan is null
+    public static Command addWorkout(WorkoutLibrary library, WorkoutPlan workoutPlan) {
+        requireNonNull(library, workoutPlan);
+        return new AddWorkout(library, workoutPlan);
+    }
+
+    // EFFECTS: Return a command deleting the workout named workoutName from library and clearing every day of
+    //          schedule it is assigned to, as one step (reverted by restoring it to library and to those days)
+    //          Applying it throws IllegalArgumentException if library has no such workout
+    //          Throw IllegalArgumentException if any argument is null
+    public static Command deleteWorkout(WorkoutLibrary library, WeeklySchedule schedule, String workoutName) {
+        requireNonNull(library, schedule, workoutName);
+        List<Command> steps = new ArrayList<Command>();
+        for (int day = 0; day < 7; day++) {
+            if (schedule.getScheduleForDay(day).getName().equals(workoutName)) {
+                steps.add(new ClearDay(schedule, day));
+            }
+        }
+        steps.add(new RemoveWorkout(library, workoutName));
+        return new Sequence("Delete workout '" + workoutName + "'", steps);
+    }
+
+    // EFFECTS: Return a command adding exercise to the end of workout (reverted by removing it); applying it does
+    //          nothing if workout already has an exercise of the same name (see Workout.addExercise)
+    //          Throw IllegalArgumentException if workout or exercise is null
+    public static Command addExerciseToWorkout(Workout workout, Exercise exercise) {
+        requireNonNull(workout, exercise);
+        return new AddExerciseToWorkout(workout, exercise);
+    }
+
+    // EFFECTS: Return a command removing every exercise named exerciseName from workout (reverted by putting each
+    //          back at its position)
+    //          Throw IllegalArgumentException if workout or exerciseName is null
+    public static Command removeExerciseFromWorkout(Workout workout, String exerciseName) {
+        requireNonNull(workout, exerciseName);
+        return new RemoveExerciseFromWorkout(workout, exerciseName);
+    }
+
+    // EFFECTS: Return a command replacing workout's exercises with exercises (reverted by restoring the previous
+    //          exercises)
+    //          Throw IllegalArgumentException if workout or exercises is null, or exercises contains null
+    public static Command setWorkoutExercises(Workout workout, List<Exercise> exercises) {
+        requireNonNull(workout, exercises);
+        if (exercises.contains(null)) {
+            throw new IllegalArgumentException("Exercise list cannot contain null elements");
+        }
+        return new SetWorkoutExercises(workout, exercises);
+    }
+
+    // EFFECTS: Return a command assigning workoutPlan to dayIndex of schedule (reverted by reassigning the previous
+    //          plan)
+    //          Throw IllegalArgumentException if schedule or workoutPlan is null, or dayIndex is not in range [0,6]
+    public static Command scheduleDay(WeeklySchedule schedule, int dayIndex, WorkoutPlan workoutPlan) {
+        requireNonNull(schedule, workoutPlan);
+        WeeklySchedule.getDayName(dayIndex);
+        return new ScheduleDay(schedule, dayIndex, workoutPlan);
+    }
+
+    // EFFECTS: Return a command clearing dayIndex of schedule to a rest day (reverted by reassigning the previous
+    //          plan)
+    //          Throw IllegalArgumentException if schedule is null or dayIndex is not in range [0,6]
+    public static Command clearDay(WeeklySchedule schedule, int dayIndex) {
+        requireNonNull(schedule);
+        WeeklySchedule.getDayName(dayIndex);
+        return new ClearDay(schedule, dayIndex);
+    }
+
+    // HELPER: for every factory
+    // EFFECTS: Throw IllegalArgumentException if any of arguments is null
+    private static void requireNonNull(Object... arguments) {
+        for (Object argument : arguments) {
+            if (argument == null) {
+                throw new IllegalArgumentException("Command arguments cannot be null");
+            }
+        }
+    }
+
+    // HELPER: for deleteExercise
+    // EFFECTS: Return true if workout has an exercise named exerciseName
+    private static boolean contains(Workout workout, String exerciseName) {
+        for (Exercise exercise : workout.getExercises()) {
+            if (exercise.getName().equals(exerciseName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * REPRESENTS: commands applied in order as one step, and reverted in reverse order
+     */
+    private static final class Sequence implements Command {
+        private final String description;
+        private final List<Command> steps;
+
+        // EFFECTS: Create a command of steps described by description
+        Sequence(String description, List<Command> steps) {
+            this.description = description;
+            this.steps = steps;
+        }
+
+        // EFFECTS: Apply each step in order; if one cannot be applied, revert the steps applied so far and rethrow
+        @Override
+        public void apply() {
+            for (int i = 0; i < steps.size(); i++) {
+                try {
+                    steps.get(i).apply();
+                } catch (IllegalArgumentException e) {
+                    for (int j = i - 1; j >= 0; j--) {
+                        steps.get(j).revert();
+                    }
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void revert() {
+            for (int i = steps.size() - 1; i >= 0; i--) {
+                steps.get(i).revert();
+            }
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public int getFootprint() {
+            int footprint = 1;
+            for (Command step : steps) {
+                footprint += step.getFootprint();
+            }
+            return footprint;
+        }
+    }
+
+    /**
+     * REPRESENTS: adding an exercise to an ExerciseLibrary
+     */
+    private static final class AddExercise implements Command {
+        private final ExerciseLibrary library;
+        private final Exercise exercise;
+
+        // EFFECTS: Create a command adding exercise to library
+        AddExercise(ExerciseLibrary library, Exercise exercise) {
+            this.library = library;
+            this.exercise = exercise;
+        }
+
+        @Override
+        public void apply() {
+            if (!library.addExercise(exercise)) {
+                throw new IllegalArgumentException("Exercise '" + exercise.getName() + "' already exists");
+            }
+        }
+
+        @Override
+        public void revert() {
+            library.removeExercise(exercise.getName());
+        }
+
+        @Override
+        public String getDescription() {
+            return "Add exercise '" + exercise.getName() + "'";
+        }
+
+        @Override
+        public int getFootprint() {
+            return 1;
+        }
+    }
+
+    /**
+     * REPRESENTS: removing an exercise from an ExerciseLibrary, keeping the removed exercise to put back
+     */
+    private static final class RemoveExercise implements Command {
+        private final ExerciseLibrary library;
+        private final String exerciseName;
+        private Exercise removed;
+
+        // EFFECTS: Create a command removing the exercise named exerciseName from library
+        RemoveExercise(ExerciseLibrary library, String exerciseName) {
+            this.library = library;
+            this.exerciseName = exerciseName;
+        }
+
+        @Override
+        public void apply() {
+            Exercise exercise = library.getExercise(exerciseName);
+            if (exercise == null) {
+                throw new IllegalArgumentException("No exercise named '" + exerciseName + "'");
+            }
+            removed = exercise;
+            library.removeExercise(exerciseName);
+        }
+
+        @Override
+        public void revert() {
+            library.addExercise(removed);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Remove exercise '" + exerciseName + "'";
+        }
+
+        @Override
+        public int getFootprint() {
+            return 1;
+        }
+    }
+
+    /**
+     * REPRESENTS: adding a workout plan to a WorkoutLibrary
+     */
+    private static final class AddWorkout implements Command {
+        private final WorkoutLibrary library;
+        private final WorkoutPlan workoutPlan;
+
+        // EFFECTS: Create a command adding workoutPlan to library
+        AddWorkout(WorkoutLibrary library, WorkoutPlan workoutPlan) {
+            this.library = library;
+            this.workoutPlan = workoutPlan;
+        }
+
+        @Override
+        public void apply() {
+            library.addWorkout(workoutPlan);
+        }
+
+        @Override
+        public void revert() {
+            library.removeWorkout(workoutPlan.getName());
+        }
+
+        @Override
+        public String getDescription() {
+            return "Add workout '" + workoutPlan.getName() + "'";
+        }
+
+        @Override
+        public int getFootprint() {
+            return 1;
+        }
+    }
+
+    /**
+     * REPRESENTS: removing a workout plan from a WorkoutLibrary, keeping the removed plan to put back
+     */
+    private static final class RemoveWorkout implements Command {
+        private final WorkoutLibrary library;
+        private final String workoutName;
+        private WorkoutPlan removed;
+
+        // EFFECTS: Create a command removing the workout named workoutName from library
+        RemoveWorkout(WorkoutLibrary library, String workoutName) {
+            this.library = library;
+            this.workoutName = workoutName;
+        }
+
+        @Override
+        public void apply() {
+            WorkoutPlan workoutPlan = library.getWorkout(workoutName);
+            if (workoutPlan == null) {
+                throw new IllegalArgumentException("No workout named '" + workoutName + "'");
+            }
+            removed = workoutPlan;
+            library.removeWorkout(workoutName);
+        }
+
+        @Override
+        public void revert() {
+            library.addWorkout(removed);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Remove workout '" + workoutName + "'";
+        }
+
+        @Override
+        public int getFootprint() {
+            return 1;
+        }
+    }
+
+    /**
+     * REPRESENTS: adding an exercise to the end of a Workout
+     */
+    private static final class AddExerciseToWorkout implements Command {
+        private final Workout workout;
+        private final Exercise exercise;
+        private boolean added;
+
+        // EFFECTS: Create a command adding exercise to workout
+        AddExerciseToWorkout(Workout workout, Exercise exercise) {
+            this.workout = workout;
+            this.exercise = exercise;
+        }
+
+        @Override
+        public void apply() {
+            int numExercises = workout.getExercises().size();
+            workout.addExercise(exercise);
+            added = workout.getExercises().size() > numExercises;
+        }
+
+        @Override
+        public void revert() {
+            if (added) {
+                workout.removeExercise(exercise.getName());
+            }
+        }
+
+        @Override
+        public String getDescription() {
+            return "Add exercise '" + exercise.getName() + "' to workout '" + workout.getName() + "'";
+        }
+
+        @Override
+        public int getFootprint() {
+            return 2;
+        }
+    }
+
+    /**
+     * REPRESENTS: removing every exercise of a name from a Workout, keeping each removed exercise and its position
+     */
+    private static final class RemoveExerciseFromWorkout implements Command {
+        private final Workout workout;
+        private final String exerciseName;
+        private final List<Integer> positions;
+        private final List<Exercise> removed;
+
+        // EFFECTS: Create a command removing every exercise named exerciseName from workout
+        RemoveExerciseFromWorkout(Workout workout, String exerciseName) {
+            this.workout = workout;
+            this.exerciseName = exerciseName;
+            positions = new ArrayList<Integer>();
+            removed = new ArrayList<Exercise>();
+        }
+
+        @Override
+        public void apply() {
+            positions.clear();
+            removed.clear();
+            List<Exercise> exercises = workout.getExercises();
+            for (int i = 0; i < exercises.size(); i++) {
+                if (exercises.get(i).getName().equals(exerciseName)) {
+                    positions.add(i);
+                    removed.add(exercises.get(i));
+                }
+            }
+            workout.removeExercise(exerciseName);
+        }
+
+        // EFFECTS: Put each removed exercise back at its position, in ascending order of position
+        @Override
+        public void revert() {
+            for (int i = 0; i < removed.size(); i++) {
+                workout.insertExercise(positions.get(i), removed.get(i));
+            }
+        }
+
+        @Override
+        public String getDescription() {
+            return "Remove exercise '" + exerciseName + "' from workout '" + workout.getName() + "'";
+        }
+
+        @Override
+        public int getFootprint() {
+            return 1 + removed.size();
+        }
+    }
+
+    /**
+     * REPRESENTS: replacing a Workout's exercises, keeping its previous exercises (the same Exercise objects)
+     */
+    private static final class SetWorkoutExercises implements Command {
+        private final Workout workout;
+        private final List<Exercise> exercises;
+        private List<Exercise> previous;
+
+        // EFFECTS: Create a command replacing workout's exercises with (a copy of) exercises
+        SetWorkoutExercises(Workout workout, List<Exercise> exercises) {
+            this.workout = workout;
+            this.exercises = new ArrayList<Exercise>(exercises);
+        }
+
+        @Override
+        public void apply() {
+            previous = workout.getExercises();
+            workout.setExercises(exercises);
+        }
+
+        @Override
+        public void revert() {
+            workout.setExercises(previous);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Edit exercises of workout '" + workout.getName() + "'";
+        }
+
+        @Override
+        public int getFootprint() {
+            return 1 + exercises.size() + ((previous != null) ? previous.size() : 0);
+        }
+    }
+
+    /**
+     * REPRESENTS: assigning a plan to a day of a WeeklySchedule, keeping the day's previous plan
+     */
+    private static final class ScheduleDay implements Command {
+        private final WeeklySchedule schedule;
+        private final int dayIndex;
+        private final WorkoutPlan workoutPlan;
+        private WorkoutPlan previous;
+
+        // EFFECTS: Create a command assigning workoutPlan to dayIndex of schedule
+        ScheduleDay(WeeklySchedule schedule, int dayIndex, WorkoutPlan workoutPlan) {
+            this.schedule = schedule;
+            this.dayIndex = dayIndex;
+            this.workoutPlan = workoutPlan;
+        }
+
+        @Override
+        public void apply() {
+            previous = schedule.getScheduleForDay(dayIndex);
+            schedule.setScheduleForDay(dayIndex, workoutPlan);
+        }
+
+        @Override
+        public void revert() {
+            schedule.setScheduleForDay(dayIndex, previous);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Schedule '" + workoutPlan.getName() + "' on " + WeeklySchedule.getDayName(dayIndex);
+        }
+
+        @Override
+        public int getFootprint() {
+            return 2;
+        }
+    }
+
+    /**
+     * REPRESENTS: clearing a day of a WeeklySchedule to a rest day, keeping the day's previous plan
+     */
+    private static final class ClearDay implements Command {
+        private final WeeklySchedule schedule;
+        private final int dayIndex;
+        private WorkoutPlan previous;
+
+        // EFFECTS: Create a command clearing dayIndex of schedule
+        ClearDay(WeeklySchedule schedule, int dayIndex) {
+            this.schedule = schedule;
+            this.dayIndex = dayIndex;
+        }
+
+        @Override
+        public void apply() {
+            previous = schedule.getScheduleForDay(dayIndex);
+            schedule.clearScheduleForDay(dayIndex);
+        }
+
+        @Override
+        public void revert() {
+            schedule.setScheduleForDay(dayIndex, previous);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Clear " + WeeklySchedule.getDayName(dayIndex);
+        }
+
+        @Override
+        public int getFootprint() {
+            return 1;
+        }
+    }
+}
@@ -31,7 +31,7 @@ public class EventLog implements Iterable<Event> {
 	 * (Singleton Design Pattern)
 	 * @return  instance of EventLog
 	 */
-    public static EventLog getInstance() {
+    public static synchronized EventLog getInstance() {
         if (theLog == null) {
             theLog = new EventLog();
         }
@@ -41,22 +41,29 @@ public class EventLog implements Iterable<Event> {
 	
 	/**
 	 * Adds an event to the event log.
+	 * Synchronized, as the GUI loads saved state on a background thread.
 	 * @param e the event to be added
 	 */
-    public void logEvent(Event e) {
+    public synchronized void logEvent(Event e) {
         events.add(e);
     }
 	
 	/**
 	 * Clears the event log and logs the event.
 	 */
-    public void clear() {
+    public synchronized void clear() {
         events.clear();
         logEvent(new Event("Event log cleared."));
     }
 	
+	/**
+	 * Returns an iterator over a copy of the events, taken under the lock,
+	 * so events logged meanwhile (i.e. by a background load) neither appear
+	 * in nor invalidate the iteration.
+	 * @return iterator over the events logged so far
+	 */
     @Override
-    public Iterator<Event> iterator() {
-        return events.iterator();
+    public synchronized Iterator<Event> iterator() {
+        return new ArrayList<Event>(events).iterator();
     }
 }
\ No newline at end of file
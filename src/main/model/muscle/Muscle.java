@@ -1,6 +1,7 @@
 package model.muscle;
 
 import model.association.ExerciseAssociator;
+import utility.PredefinedData;
 
 /**
  * REPRESENTS: a single muscle that is utilized within exercises
@@ -11,17 +12,32 @@ import model.association.ExerciseAssociator;
  * 
  * PURPOSE: Stores and tracks exercise impact on an individual muscle
  *          Used to calculate statistics on muscle workload
+ *          Each muscle has a unique, dense ordinal that indexes MuscleGroup bitmasks and fatigue arrays: its ordinal
+ *          in PredefinedData's muscle registry, assigned on registration or, for a muscle that is not registered,
+ *          on first use (so muscles that are never grouped or simulated use up no ordinal)
+ *          An unregistered muscle is not kept by the registry; its ordinal is reused once it is garbage collected
  * 
- * MUTABILITY: Immutable 
+ * MUTABILITY: Immutable (its ordinal is assigned once) 
  */
 public class Muscle extends ExerciseAssociator {
     private String muscleName;
+    private volatile int ordinal = -1; // -1 until first looked up in the muscle registry
 
     // EFFECTS: Create an instance of this Muscle
     public Muscle(String muscleName) {
         this.muscleName = muscleName;
     }
 
+    // MODIFIES: PredefinedData (shared registries), if this muscle is not yet in the muscle registry
+    // EFFECTS: Get this muscle's ordinal in the shared muscle registry (unique among muscles with ordinals),
+    //          enrolling it with the lowest free ordinal on first use if it was never registered
+    public int getOrdinal() {
+        if (ordinal < 0) {
+            ordinal = PredefinedData.enrollMuscle(this);
+        }
+        return ordinal;
+    }
+
     // EFFECTS: Get this muscle's name
     public String getName() {
         return muscleName;
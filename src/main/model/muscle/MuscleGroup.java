@@ -1,5 +1,8 @@
 package model.muscle;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -7,6 +10,7 @@ import java.util.Map;
 import java.util.Set;
 
 import model.association.ExerciseAssociator;
+import model.association.MetricsContext;
 
 /**
  * REPRESENTS: A collection of muscles that are trained together
@@ -17,12 +21,15 @@ import model.association.ExerciseAssociator;
  * 
  * PURPOSE: Tracks the impact of exercises on a group of muscles
  *          Calls register/unregister on each individual muscle
+ *          Keeps a bitmask of its muscles' ordinals so membership and overlap queries between groups
+ *          are word-wise bit operations rather than nested set iteration
  * 
  * MUTABILITY: Mutable (Muscle (ExerciseAssociator subclass) objects in this MuscleGroup)
  */
 public class MuscleGroup {
     private String name;
     private Set<Muscle> muscles;
+    private BitSet muscleMask;
 
 
     // EFFECTS: Initialize MuscleGroup with given name
@@ -31,50 +38,115 @@ public class MuscleGroup {
     public MuscleGroup(String name, List<Muscle> muscles) {
         this.name = (name != null && !name.trim().isEmpty()) ? name : "Unnamed MuscleGroup";
         this.muscles = new HashSet<Muscle>();
+        this.muscleMask = new BitSet();
 
         if (muscles != null) {
             for (Muscle m : muscles) {
                 if (m != null) {
                     this.muscles.add(m);
+                    this.muscleMask.set(m.getOrdinal());
                 }
             }
         }
     }
 
-    // MODIFIES: this, Muscle (ExerciseAssociator)
-    // EFFECTS: Register exercise metrics for all muscles in group within given context
+    // MODIFIES: MetricsContext
+    // EFFECTS: Register exercise metrics for all muscles in group within given context in the current
+    //          MetricsContext (see registerMusclesForMetrics(exerciseName, context, exerciseInfo, metrics))
+    public boolean registerMusclesForMetrics(String exerciseName, String context, Map<String, Double> exerciseInfo) {
+        return registerMusclesForMetrics(exerciseName, context, exerciseInfo, MetricsContext.current());
+    }
+
+    // MODIFIES: metrics
+    // EFFECTS: Register exercise metrics for all muscles in group within given context in metrics
     //          Return true only if all registrations are successful and 
     //          exerciseName, context, exerciseInfo are each non-null
-    public boolean registerMusclesForMetrics(String exerciseName, String context, Map<String, Double> exerciseInfo) {
+    public boolean registerMusclesForMetrics(String exerciseName, String context, Map<String, Double> exerciseInfo,
+            MetricsContext metrics) {
         if (exerciseName == null || context == null || exerciseInfo == null || muscles.isEmpty()) {
             return false;
         }
         boolean success = true;
         for (Muscle muscle : muscles) {
-            success &= muscle.registerExercise(exerciseName, context, exerciseInfo);
+            success &= metrics.register(muscle, exerciseName, context, exerciseInfo);
         }
         return success;
     }
 
+    // MODIFIES: MetricsContext
+    // EFFECTS: Remove exercise metrics from all muscles in group for given context in the current MetricsContext
+    public boolean unregisterMusclesFromMetrics(String exerciseName, String context) {
+        return unregisterMusclesFromMetrics(exerciseName, context, MetricsContext.current());
+    }
 
-    // MODIFIES: this, Muscle (ExerciseAssociator)
-    // EFFECTS: Remove exercise metrics from all muscles in group for given context
+    // MODIFIES: metrics
+    // EFFECTS: Remove exercise metrics from all muscles in group for given context in metrics
     //          Return true only if all unregistrations are successful and 
     //          exerciseName, context, exerciseInfo are each non-null
-    public boolean unregisterMusclesFromMetrics(String exerciseName, String context) {
+    public boolean unregisterMusclesFromMetrics(String exerciseName, String context, MetricsContext metrics) {
         if (exerciseName == null || context == null) {
             return false;
         }
         boolean success = true;
         for (Muscle muscle : muscles) {
-            success &= muscle.unregisterExercise(exerciseName, context);
+            success &= metrics.unregister(muscle, exerciseName, context);
         }
         return success;
     }
 
-    // EFFECTS: Return collection of (the set) of muscles contained within this group
+    // EFFECTS: Return an unmodifiable view of the set of muscles contained within this group
     public Set<Muscle> getMuscles() {
-        return muscles;
+        return Collections.unmodifiableSet(muscles);
+    }
+
+    // EFFECTS: Return a copy of this group's bitmask, with bit i set iff the muscle with ordinal i is in this group
+    public BitSet getMuscleMask() {
+        return (BitSet) muscleMask.clone();
+    }
+
+    // EFFECTS: Return true if muscle is part of this group
+    public boolean containsMuscle(Muscle muscle) {
+        return muscle != null && muscleMask.get(muscle.getOrdinal());
+    }
+
+    // EFFECTS: Return true if this group and other share at least one muscle
+    //          Return false if other is null
+    public boolean intersects(MuscleGroup other) {
+        return other != null && muscleMask.intersects(other.muscleMask);
+    }
+
+    // EFFECTS: Return true if every muscle of other is also part of this group
+    //          (an empty other is always covered); return false if other is null
+    public boolean covers(MuscleGroup other) {
+        if (other == null) {
+            return false;
+        }
+        BitSet uncovered = (BitSet) other.muscleMask.clone();
+        uncovered.andNot(muscleMask);
+        return uncovered.isEmpty();
+    }
+
+    // EFFECTS: Return true if mask (i.e. the union of several groups' masks) contains any muscle of this group
+    //          Return false if mask is null
+    public boolean intersects(BitSet mask) {
+        return mask != null && muscleMask.intersects(mask);
+    }
+
+    // EFFECTS: Return a new, separately named MuscleGroup containing the muscles of both this group and other
+    //          Throw IllegalArgumentException if other is null
+    public MuscleGroup union(String unionName, MuscleGroup other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Cannot form a union with a null MuscleGroup.");
+        }
+        List<Muscle> combined = new ArrayList<Muscle>(muscles);
+        combined.addAll(other.muscles);
+        return new MuscleGroup(unionName, combined);
+    }
+
+    // MODIFIES: mask
+    // EFFECTS: Set the bits of this group's muscles in mask (accumulate a union without allocating a group)
+    public void addToMask(BitSet mask) {
+        mask.or(muscleMask);
     }
 
     // EFFECTS: Return the name of this MuscleGroup
@@ -82,10 +154,15 @@ public class MuscleGroup {
         return name;
     }
 
-    // EFFECTS: Aggregate unique exercise metrics across all muscles in group
+    // EFFECTS: Aggregate this group's metrics in the current MetricsContext (see getGroupMetrics(metricsContext))
+    public Map<String, Double> getGroupMetrics() {
+        return getGroupMetrics(MetricsContext.current());
+    }
+
+    // EFFECTS: Aggregate unique exercise metrics registered in metricsContext across all muscles in group
     //          Avoid double counting the same exercise instance's metrics shared between muscles
     //          Return empty map if group has no muscles
-    public Map<String, Double> getGroupMetrics() {
+    public Map<String, Double> getGroupMetrics(MetricsContext metricsContext) {
         Map<String, Double> groupMetrics = new HashMap<String, Double>();
         if (muscles.isEmpty()) {
             return groupMetrics;
@@ -101,7 +178,7 @@ public class MuscleGroup {
         for (Muscle muscle : muscles) {
 
             // Get raw metrics containing exercise-context: metrics, level data
-            Map<String, Map<String, Double>> rawMetrics = muscle.getRawExerciseMetrics();
+            Map<String, Map<String, Double>> rawMetrics = metricsContext.getRawMetrics(muscle);
 
             // Iterate through each exercise-context entry
             for (Map.Entry<String, Map<String, Double>> entry : rawMetrics.entrySet()) {
@@ -0,0 +1,179 @@
+package model.session;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * REPRESENTS: the personal records and day-by-day progress of one exercise, over every set logged for it
+ *
+ * USED BY:
+ *      1. SessionLog, which keeps one per logged exercise and updates it as each set is logged
+ *      2. Progress views (i.e. estimated 1RM over the last two years)
+ *
+ * PURPOSE: Answer personal-record and progress questions without scanning raw sets
+ *          - Best load and best estimated one-rep max are kept as running maxima
+ *          - Rep records are kept as a frontier: for each load on it, the most reps done at that load or heavier,
+ *            with no heavier load having as many reps; best reps at any load is one ceiling lookup, and
+ *            logging a set is O(log n) (amortized over the entries it removes)
+ *          - One rollup per training day (sets, reps, volume, duration, best estimated 1RM), so years of
+ *            progress read one entry per day rather than every set
+ *
+ * MUTABILITY: Mutable (only by SessionLog)
+ */
+public class ExerciseHistory {
+    private static final int SETS = 0;
+    private static final int REPS = 1;
+    private static final int VOLUME = 2;
+    private static final int DURATION = 3;
+    private static final int BEST_ESTIMATED_ONE_REP_MAX = 4;
+
+    private final String exerciseName;
+    private final TreeMap<Double, Integer> repRecords; // load -> most reps at that load or heavier
+    private final TreeMap<LocalDate, double[]> days; // training day -> rollup, indexed by the constants above
+    private double bestLoad;
+    private double bestEstimatedOneRepMax;
+    private int numSets;
+    private double totalVolume;
+
+    // EFFECTS: Create an empty history for the exercise with the given name
+    ExerciseHistory(String exerciseName) {
+        this.exerciseName = exerciseName;
+        this.repRecords = new TreeMap<Double, Integer>();
+        this.days = new TreeMap<LocalDate, double[]>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add set (performed of this exercise) to the records and its day's rollup
+    //          Return true if it set a personal record (best load, best reps at its load, or best estimated 1RM)
+    boolean record(LoggedSet set) {
+        numSets++;
+        totalVolume += set.getVolume();
+        updateDay(set);
+
+        boolean isRecord = false;
+        if (set.getLoad() > bestLoad) {
+            bestLoad = set.getLoad();
+            isRecord = true;
+        }
+        if (set.getEstimatedOneRepMax() > bestEstimatedOneRepMax) {
+            bestEstimatedOneRepMax = set.getEstimatedOneRepMax();
+            isRecord = true;
+        }
+        if (set.getReps() > 0 && updateRepRecords(set.getLoad(), set.getReps())) {
+            isRecord = true;
+        }
+        return isRecord;
+    }
+
+    // EFFECTS: Return the name of this exercise
+    public String getExerciseName() {
+        return exerciseName;
+    }
+
+    // EFFECTS: Return the heaviest load logged (0 if none)
+    public double getBestLoad() {
+        return bestLoad;
+    }
+
+    // EFFECTS: Return the highest estimated one-rep max of any logged set (0 if none)
+    public double getBestEstimatedOneRepMax() {
+        return bestEstimatedOneRepMax;
+    }
+
+    // EFFECTS: Return the most reps logged in one set at load or heavier (0 if none)
+    public int getBestReps(double load) {
+        Map.Entry<Double, Integer> record = repRecords.ceilingEntry(load);
+        return (record != null) ? record.getValue() : 0;
+    }
+
+    // EFFECTS: Return the rep-record frontier: load -> most reps at that load or heavier, ascending by load
+    //          (so descending by reps)
+    public NavigableMap<Double, Integer> getRepRecords() {
+        return Collections.unmodifiableNavigableMap(repRecords);
+    }
+
+    // EFFECTS: Return the number of sets logged
+    public int getNumSets() {
+        return numSets;
+    }
+
+    // EFFECTS: Return the total load times reps over every logged set
+    public double getTotalVolume() {
+        return totalVolume;
+    }
+
+    // EFFECTS: Return the number of distinct days with a logged set
+    public int getNumTrainingDays() {
+        return days.size();
+    }
+
+    // EFFECTS: Return each training day in [from, to] mapped to its total volume, in date order
+    public NavigableMap<LocalDate, Double> getDailyVolume(LocalDate from, LocalDate to) {
+        return getDaily(from, to, VOLUME);
+    }
+
+    // EFFECTS: Return each training day in [from, to] mapped to its number of sets, in date order
+    public NavigableMap<LocalDate, Double> getDailySets(LocalDate from, LocalDate to) {
+        return getDaily(from, to, SETS);
+    }
+
+    // EFFECTS: Return each training day in [from, to] mapped to its total reps, in date order
+    public NavigableMap<LocalDate, Double> getDailyReps(LocalDate from, LocalDate to) {
+        return getDaily(from, to, REPS);
+    }
+
+    // EFFECTS: Return each training day in [from, to] mapped to its total set duration in seconds, in date order
+    public NavigableMap<LocalDate, Double> getDailyDuration(LocalDate from, LocalDate to) {
+        return getDaily(from, to, DURATION);
+    }
+
+    // EFFECTS: Return each training day in [from, to] mapped to its best estimated one-rep max, in date order
+    public NavigableMap<LocalDate, Double> getDailyBestEstimatedOneRepMax(LocalDate from, LocalDate to) {
+        return getDaily(from, to, BEST_ESTIMATED_ONE_REP_MAX);
+    }
+
+    // HELPER: for record
+    // MODIFIES: this
+    // EFFECTS: Add set to the rollup of the day it was performed
+    private void updateDay(LoggedSet set) {
+        double[] day = days.computeIfAbsent(set.getPerformedAt().toLocalDate(), d -> new double[5]);
+        day[SETS]++;
+        day[REPS] += set.getReps();
+        day[VOLUME] += set.getVolume();
+        day[DURATION] += set.getDurationSeconds();
+        day[BEST_ESTIMATED_ONE_REP_MAX] = Math.max(day[BEST_ESTIMATED_ONE_REP_MAX], set.getEstimatedOneRepMax());
+    }
+
+    // HELPER: for record
+    // MODIFIES: this
+    // EFFECTS: Add reps at load to the rep-record frontier, dropping the lighter entries it now dominates
+    //          Return true if reps beat the previous best at load or heavier
+    private boolean updateRepRecords(double load, int reps) {
+        if (getBestReps(load) >= reps) {
+            return false;
+        }
+        repRecords.put(load, reps);
+        Map.Entry<Double, Integer> lighter = repRecords.lowerEntry(load);
+        while (lighter != null && lighter.getValue() <= reps) {
+            repRecords.remove(lighter.getKey());
+            lighter = repRecords.lowerEntry(load);
+        }
+        return true;
+    }
+
+    // EFFECTS: Return each training day in [from, to] mapped to its rollup value at index, in date order
+    //          Return an empty map if from or to is null or from is after to
+    private NavigableMap<LocalDate, Double> getDaily(LocalDate from, LocalDate to, int index) {
+        NavigableMap<LocalDate, Double> result = new TreeMap<LocalDate, Double>();
+        if (from == null || to == null || from.isAfter(to)) {
+            return result;
+        }
+        for (Map.Entry<LocalDate, double[]> entry : days.subMap(from, true, to, true).entrySet()) {
+            result.put(entry.getKey(), entry.getValue()[index]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package model.session;
+
+import java.time.LocalDateTime;
+
+/**
+ * REPRESENTS: one set the user actually performed (as opposed to an Exercise's planned parameters)
+ *
+ * USED BY:
+ *      1. SessionLog, which stores sets column-wise and indexes them per exercise
+ *      2. ExerciseHistory, to update personal records and daily progress
+ *
+ * PURPOSE: Record what was done: which exercise, when, how many reps, at what load (kg), for how long (seconds)
+ *          Cardio or timed sets may have 0 reps and 0 load
+ *
+ * MUTABILITY: Immutable
+ */
+public class LoggedSet {
+    private final String exerciseName;
+    private final LocalDateTime performedAt;
+    private final int reps;
+    private final double load;
+    private final double durationSeconds;
+
+    // EFFECTS: Create a performed set
+    //          Throw IllegalArgumentException if exerciseName is null or blank, performedAt is null,
+    //          or reps, load, or durationSeconds is negative
+    public LoggedSet(String exerciseName, LocalDateTime performedAt, int reps, double load, double durationSeconds) {
+        if (exerciseName == null || exerciseName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Exercise name cannot be null or blank.");
+        }
+        if (performedAt == null) {
+            throw new IllegalArgumentException("Time performed cannot be null.");
+        }
+        if (reps < 0 || load < 0 || durationSeconds < 0) {
+            throw new IllegalArgumentException("Reps, load, and duration cannot be negative.");
+        }
+        this.exerciseName = exerciseName;
+        this.performedAt = performedAt;
+        this.reps = reps;
+        this.load = load;
+        this.durationSeconds = durationSeconds;
+    }
+
+    // EFFECTS: Return the name of the exercise performed
+    public String getExerciseName() {
+        return exerciseName;
+    }
+
+    // EFFECTS: Return when this set was performed
+    public LocalDateTime getPerformedAt() {
+        return performedAt;
+    }
+
+    // EFFECTS: Return the number of reps performed
+    public int getReps() {
+        return reps;
+    }
+
+    // EFFECTS: Return the load lifted in kg (0 for unloaded sets)
+    public double getLoad() {
+        return load;
+    }
+
+    // EFFECTS: Return how long this set took in seconds
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    // EFFECTS: Return the load lifted times the reps performed
+    public double getVolume() {
+        return load * reps;
+    }
+
+    // EFFECTS: Return the estimated one-rep max (Epley: load * (1 + reps / 30)), the load itself for a single,
+    //          or 0 if no load or no reps were performed
+    public double getEstimatedOneRepMax() {
+        return estimateOneRepMax(reps, load);
+    }
+
+    // EFFECTS: Return the estimated one-rep max of reps at load (see getEstimatedOneRepMax)
+    public static double estimateOneRepMax(int reps, double load) {
+        if (reps <= 0 || load <= 0) {
+            return 0.0;
+        }
+        return (reps == 1) ? load : load * (1 + reps / 30.0);
+    }
+}
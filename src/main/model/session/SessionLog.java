@@ -0,0 +1,305 @@
+package model.session;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import model.log.Event;
+import model.log.EventLog;
+import persistence.Writable;
+
+/**
+ * REPRESENTS: an append-only log of every set the user has performed, across all sessions
+ *
+ * USED BY:
+ *      1. Users logging workouts as they train
+ *      2. Personal-record and progress views, through each exercise's ExerciseHistory
+ *
+ * PURPOSE: Store years of sets compactly and keep personal records current as sets are logged
+ *          - Sets are stored column-wise (time, exercise id, reps, load, duration) in fixed-size chunks of
+ *            primitive arrays, rather than one object per set; exercise names are stored once and referred
+ *            to by id
+ *          - Each chunk remembers its earliest and latest time, so time-range reads skip whole chunks
+ *          - Each exercise's ExerciseHistory is updated in O(log n) per logged set, so records and daily
+ *            progress never require a scan of the raw sets
+ *
+ * NOTE: Times are stored as whole seconds; sets need not be logged in time order
+ *
+ * MUTABILITY: Mutable (append-only)
+ */
+public class SessionLog implements Writable {
+    static final int CHUNK_SIZE = 4096;
+
+    private final List<Chunk> chunks;
+    private final List<String> exerciseNames; // exercise id -> name
+    private final Map<String, Integer> exerciseIds; // name -> exercise id
+    private final Map<String, ExerciseHistory> histories; // name -> history, in first-logged order
+    private int size;
+
+    // EFFECTS: Create an empty session log
+    public SessionLog() {
+        chunks = new ArrayList<Chunk>();
+        exerciseNames = new ArrayList<String>();
+        exerciseIds = new HashMap<String, Integer>();
+        histories = new LinkedHashMap<String, ExerciseHistory>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Append set to this log and update its exercise's history
+    //          Return true if set is a personal record for its exercise (see ExerciseHistory.record)
+    //          Throw IllegalArgumentException if set is null
+    public boolean logSet(LoggedSet set) {
+        if (set == null) {
+            throw new IllegalArgumentException("Logged set cannot be null.");
+        }
+        boolean isRecord = append(set);
+        EventLog.getInstance().logEvent(new Event("Set logged: " + set.getExerciseName() + " ("
+                + set.getReps() + " x " + set.getLoad() + (isRecord ? ", personal record)" : ")")));
+        return isRecord;
+    }
+
+    // EFFECTS: Return the number of sets logged
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: Return the index-th set logged (0 is the first)
+    //          Throw IndexOutOfBoundsException if index is not in [0, size)
+    public LoggedSet getSet(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range [0, " + size + ")");
+        }
+        return chunks.get(index / CHUNK_SIZE).get(index % CHUNK_SIZE, exerciseNames);
+    }
+
+    // EFFECTS: Return the sets of the named exercise performed in [from, to], in the order they were logged
+    //          Chunks entirely outside [from, to] or without the exercise are skipped
+    //          Return an empty list if any argument is null or the exercise has never been logged
+    public List<LoggedSet> getSets(String exerciseName, LocalDateTime from, LocalDateTime to) {
+        List<LoggedSet> sets = new ArrayList<LoggedSet>();
+        Integer exerciseId = (exerciseName != null) ? exerciseIds.get(exerciseName) : null;
+        if (exerciseId == null || from == null || to == null) {
+            return sets;
+        }
+        long start = toSeconds(from);
+        long end = toSeconds(to);
+        for (Chunk chunk : chunks) {
+            if (chunk.overlaps(start, end) && chunk.hasExercise(exerciseId)) {
+                chunk.collect(exerciseId, start, end, exerciseNames, sets);
+            }
+        }
+        return sets;
+    }
+
+    // EFFECTS: Return the history (personal records and daily progress) of the named exercise,
+    //          or null if it has never been logged
+    public ExerciseHistory getHistory(String exerciseName) {
+        return histories.get(exerciseName);
+    }
+
+    // EFFECTS: Return the names of every logged exercise, in the order each was first logged
+    public Set<String> getLoggedExercises() {
+        return Collections.unmodifiableSet(histories.keySet());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove every logged set and history
+    public void clear() {
+        chunks.clear();
+        exerciseNames.clear();
+        exerciseIds.clear();
+        histories.clear();
+        size = 0;
+    }
+
+    // EFFECTS: Return this log as JSON, column-wise per chunk (one array per column) with exercise names
+    //          stored once
+    @Override
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("exercises", new JSONArray(exerciseNames));
+        JSONArray chunksArray = new JSONArray();
+        for (Chunk chunk : chunks) {
+            chunksArray.put(chunk.toJson());
+        }
+        json.put("chunks", chunksArray);
+        EventLog.getInstance().logEvent(new Event("SessionLog serialized to JSON"));
+        return json;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Replace this log's sets with those in json, rebuilding every exercise's history
+    //          Skip malformed chunks and rows (wrong column lengths, unknown exercise ids, invalid values)
+    //          collection is not needed and may be null
+    @Override
+    public void fromJson(JSONObject json, Object collection) throws JSONException {
+        clear();
+        if (json == null || !json.has("exercises") || !json.has("chunks")) {
+            return;
+        }
+        JSONArray names = json.getJSONArray("exercises");
+        JSONArray chunksArray = json.getJSONArray("chunks");
+        for (int i = 0; i < chunksArray.length(); i++) {
+            JSONObject chunkJson = chunksArray.optJSONObject(i);
+            if (chunkJson != null) {
+                reconstructChunk(chunkJson, names);
+            }
+        }
+        EventLog.getInstance().logEvent(new Event("SessionLog deserialized from JSON (" + size + " sets)"));
+    }
+
+    // HELPER: for fromJson
+    // MODIFIES: this
+    // EFFECTS: Append each valid row of chunkJson's columns, resolving exercise ids through names
+    private void reconstructChunk(JSONObject chunkJson, JSONArray names) {
+        JSONArray times = chunkJson.optJSONArray("time");
+        JSONArray ids = chunkJson.optJSONArray("exercise");
+        JSONArray reps = chunkJson.optJSONArray("reps");
+        JSONArray loads = chunkJson.optJSONArray("load");
+        JSONArray durations = chunkJson.optJSONArray("duration");
+        if (times == null || ids == null || reps == null || loads == null || durations == null) {
+            return;
+        }
+        int rows = times.length();
+        if (ids.length() != rows || reps.length() != rows || loads.length() != rows || durations.length() != rows) {
+            return;
+        }
+        for (int row = 0; row < rows; row++) {
+            try {
+                String name = names.getString(ids.getInt(row));
+                LocalDateTime performedAt = LocalDateTime.ofEpochSecond(times.getLong(row), 0, ZoneOffset.UTC);
+                append(new LoggedSet(name, performedAt, reps.getInt(row), loads.getDouble(row),
+                        durations.getDouble(row)));
+            } catch (JSONException | IllegalArgumentException | DateTimeException e) {
+                continue; // Skip invalid rows
+            }
+        }
+    }
+
+    // HELPER: for logSet, reconstructChunk
+    // MODIFIES: this
+    // EFFECTS: Append set to the last chunk (starting a new one if it is full) and record it in its history
+    //          Return true if set is a personal record
+    private boolean append(LoggedSet set) {
+        String name = set.getExerciseName();
+        Integer exerciseId = exerciseIds.get(name);
+        if (exerciseId == null) {
+            exerciseId = exerciseNames.size();
+            exerciseNames.add(name);
+            exerciseIds.put(name, exerciseId);
+            histories.put(name, new ExerciseHistory(name));
+        }
+        if (chunks.isEmpty() || chunks.get(chunks.size() - 1).isFull()) {
+            chunks.add(new Chunk());
+        }
+        chunks.get(chunks.size() - 1).add(toSeconds(set.getPerformedAt()), exerciseId, set);
+        size++;
+        return histories.get(name).record(set);
+    }
+
+    // EFFECTS: Return time as seconds since the epoch, treating it as UTC
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * REPRESENTS: up to CHUNK_SIZE consecutive logged sets, one primitive array per column
+     *             (columns start small and double until they reach CHUNK_SIZE)
+     */
+    private static class Chunk {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] times = new long[INITIAL_CAPACITY];
+        private int[] exerciseIds = new int[INITIAL_CAPACITY];
+        private int[] reps = new int[INITIAL_CAPACITY];
+        private double[] loads = new double[INITIAL_CAPACITY];
+        private double[] durations = new double[INITIAL_CAPACITY];
+        private final BitSet exercises = new BitSet(); // ids of exercises in this chunk
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+        private int size;
+
+        // EFFECTS: Return true if this chunk has no room left
+        private boolean isFull() {
+            return size == CHUNK_SIZE;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Append set, performed at time (seconds) of the exercise with the given id
+        private void add(long time, int exerciseId, LoggedSet set) {
+            if (size == times.length) {
+                grow();
+            }
+            times[size] = time;
+            exerciseIds[size] = exerciseId;
+            reps[size] = set.getReps();
+            loads[size] = set.getLoad();
+            durations[size] = set.getDurationSeconds();
+            exercises.set(exerciseId);
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+            size++;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Double the capacity of every column, up to CHUNK_SIZE
+        private void grow() {
+            int capacity = Math.min(times.length * 2, CHUNK_SIZE);
+            times = Arrays.copyOf(times, capacity);
+            exerciseIds = Arrays.copyOf(exerciseIds, capacity);
+            reps = Arrays.copyOf(reps, capacity);
+            loads = Arrays.copyOf(loads, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+        }
+
+        // EFFECTS: Return true if some set in this chunk may lie in [start, end] (seconds)
+        private boolean overlaps(long start, long end) {
+            return size > 0 && minTime <= end && maxTime >= start;
+        }
+
+        // EFFECTS: Return true if this chunk has a set of the exercise with the given id
+        private boolean hasExercise(int exerciseId) {
+            return exercises.get(exerciseId);
+        }
+
+        // EFFECTS: Return the set at row, naming its exercise through names
+        private LoggedSet get(int row, List<String> names) {
+            LocalDateTime performedAt = LocalDateTime.ofEpochSecond(times[row], 0, ZoneOffset.UTC);
+            return new LoggedSet(names.get(exerciseIds[row]), performedAt, reps[row], loads[row], durations[row]);
+        }
+
+        // MODIFIES: sets
+        // EFFECTS: Add every set in this chunk of the given exercise performed in [start, end] to sets
+        private void collect(int exerciseId, long start, long end, List<String> names, List<LoggedSet> sets) {
+            for (int row = 0; row < size; row++) {
+                if (exerciseIds[row] == exerciseId && times[row] >= start && times[row] <= end) {
+                    sets.add(get(row, names));
+                }
+            }
+        }
+
+        // EFFECTS: Return this chunk's columns as JSON arrays
+        private JSONObject toJson() {
+            JSONObject json = new JSONObject();
+            json.put("time", new JSONArray(Arrays.copyOf(times, size)));
+            json.put("exercise", new JSONArray(Arrays.copyOf(exerciseIds, size)));
+            json.put("reps", new JSONArray(Arrays.copyOf(reps, size)));
+            json.put("load", new JSONArray(Arrays.copyOf(loads, size)));
+            json.put("duration", new JSONArray(Arrays.copyOf(durations, size)));
+            return json;
+        }
+    }
+}
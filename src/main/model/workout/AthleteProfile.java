@@ -0,0 +1,126 @@
+package model.workout;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import model.muscle.Muscle;
+
+/**
+ * REPRESENTS: how one athlete accumulates and recovers from muscle fatigue
+ *             (i.e. "recovers with a 24 hour half-life, 36 hours for hamstrings, trains at 6pm")
+ *
+ * USED BY:
+ *      1. FatigueSimulator, which simulates a schedule once per profile
+ *
+ * PURPOSE: Compose an athlete's recovery characteristics fluently
+ *          - Recovery half-life in hours: how long fatigue takes to halve, by default or per muscle
+ *          - Load scale: fatigue added per unit of the simulated metric (i.e. per set)
+ *          - Training hour: the hour of the day (0-23) sessions are performed
+ *          - Recovery threshold: the fatigue at or below which a muscle counts as fully recovered
+ *
+ * MUTABILITY: Mutable (each method sets one characteristic and returns this profile)
+ */
+public class AthleteProfile {
+    private final String name;
+    private double defaultHalfLife;
+    private final Map<Muscle, Double> halfLives;
+    private double loadScale;
+    private int trainingHour;
+    private double recoveryThreshold;
+
+    // EFFECTS: Create a profile with the given name recovering with a 24 hour half-life, one unit of fatigue per
+    //          unit of load, training at 18:00, recovered at or below 0.5 fatigue
+    //          Throw IllegalArgumentException if name is null
+    public AthleteProfile(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name cannot be null.");
+        }
+        this.name = name;
+        this.defaultHalfLife = 24.0;
+        this.halfLives = new IdentityHashMap<Muscle, Double>();
+        this.loadScale = 1.0;
+        this.trainingHour = 18;
+        this.recoveryThreshold = 0.5;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Make every muscle's fatigue halve every hours hours (unless overridden for it)
+    //          Throw IllegalArgumentException if hours is not positive
+    public AthleteProfile withRecoveryHalfLife(double hours) {
+        if (hours <= 0) {
+            throw new IllegalArgumentException("Recovery half-life must be positive.");
+        }
+        defaultHalfLife = hours;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Make muscle's fatigue halve every hours hours
+    //          Throw IllegalArgumentException if muscle is null or hours is not positive
+    public AthleteProfile withRecoveryHalfLife(Muscle muscle, double hours) {
+        if (muscle == null || hours <= 0) {
+            throw new IllegalArgumentException("Muscle cannot be null and recovery half-life must be positive.");
+        }
+        halfLives.put(muscle, hours);
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add scale units of fatigue per unit of load
+    //          Throw IllegalArgumentException if scale is negative
+    public AthleteProfile withLoadScale(double scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("Load scale cannot be negative.");
+        }
+        loadScale = scale;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Perform sessions at the given hour of the day
+    //          Throw IllegalArgumentException if hour is not in range [0,23]
+    public AthleteProfile withTrainingHour(int hour) {
+        if (hour < 0 || hour > 23) {
+            throw new IllegalArgumentException("Training hour must be between 0 and 23: " + hour);
+        }
+        trainingHour = hour;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Count a muscle as fully recovered once its fatigue is at or below threshold
+    //          Throw IllegalArgumentException if threshold is not positive
+    public AthleteProfile withRecoveryThreshold(double threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Recovery threshold must be positive.");
+        }
+        recoveryThreshold = threshold;
+        return this;
+    }
+
+    // EFFECTS: Return this athlete's name
+    public String getName() {
+        return name;
+    }
+
+    // EFFECTS: Return the hours muscle's fatigue takes to halve
+    public double getRecoveryHalfLife(Muscle muscle) {
+        Double hours = halfLives.get(muscle);
+        return (hours != null) ? hours : defaultHalfLife;
+    }
+
+    // EFFECTS: Return the fatigue added per unit of load
+    public double getLoadScale() {
+        return loadScale;
+    }
+
+    // EFFECTS: Return the hour of the day sessions are performed
+    public int getTrainingHour() {
+        return trainingHour;
+    }
+
+    // EFFECTS: Return the fatigue at or below which a muscle is fully recovered
+    public double getRecoveryThreshold() {
+        return recoveryThreshold;
+    }
+}
@@ -0,0 +1,103 @@
+package model.workout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import model.muscle.Muscle;
+
+/**
+ * REPRESENTS: the outcome of simulating one athlete's fatigue over a schedule
+ *
+ * USED BY:
+ *      1. FatigueSimulator, as its result
+ *      2. Coaches comparing what-if edits to a schedule across athletes
+ *
+ * PURPOSE: Report, per trained muscle: its fatigue at the end of the simulation, its peak fatigue, the hours it
+ *          spent above the recovery threshold, how many sessions trained it before it had recovered, and the
+ *          hour (counted from the start of the simulation) it is fully recovered after its last session
+ *
+ * NOTE: Values are stored in arrays indexed by Muscle ordinal; muscles that were never trained report 0
+ *
+ * MUTABILITY: Immutable
+ */
+public class FatigueReport {
+    private final String athleteName;
+    private final long numHours;
+    private final Muscle[] muscles; // ordinal -> trained muscle, or null
+    private final double[] fatigue;
+    private final double[] peakFatigue;
+    private final long[] hoursFatigued;
+    private final long[] recoveryHours;
+    private final int[] unrecoveredSessions;
+
+    // EFFECTS: Create a report of athleteName's simulation over numHours hours, with the given per-ordinal results
+    FatigueReport(String athleteName, long numHours, Muscle[] muscles, double[] fatigue, double[] peakFatigue,
+            long[] hoursFatigued, long[] recoveryHours, int[] unrecoveredSessions) {
+        this.athleteName = athleteName;
+        this.numHours = numHours;
+        this.muscles = muscles;
+        this.fatigue = fatigue;
+        this.peakFatigue = peakFatigue;
+        this.hoursFatigued = hoursFatigued;
+        this.recoveryHours = recoveryHours;
+        this.unrecoveredSessions = unrecoveredSessions;
+    }
+
+    // EFFECTS: Return the simulated athlete's name
+    public String getAthleteName() {
+        return athleteName;
+    }
+
+    // EFFECTS: Return the number of hours simulated
+    public long getNumHours() {
+        return numHours;
+    }
+
+    // EFFECTS: Return every muscle the schedule trains, in ordinal order
+    public List<Muscle> getTrainedMuscles() {
+        List<Muscle> trained = new ArrayList<Muscle>();
+        for (Muscle muscle : muscles) {
+            if (muscle != null) {
+                trained.add(muscle);
+            }
+        }
+        return Collections.unmodifiableList(trained);
+    }
+
+    // EFFECTS: Return muscle's fatigue at the end of the simulation
+    public double getFatigue(Muscle muscle) {
+        return isTrained(muscle) ? fatigue[muscle.getOrdinal()] : 0.0;
+    }
+
+    // EFFECTS: Return the highest fatigue muscle reached (just after a session)
+    public double getPeakFatigue(Muscle muscle) {
+        return isTrained(muscle) ? peakFatigue[muscle.getOrdinal()] : 0.0;
+    }
+
+    // EFFECTS: Return the number of simulated hours muscle's fatigue was above the recovery threshold
+    public long getHoursFatigued(Muscle muscle) {
+        return isTrained(muscle) ? hoursFatigued[muscle.getOrdinal()] : 0L;
+    }
+
+    // EFFECTS: Return the hour, counted from the start of the simulation, at which muscle is fully recovered after
+    //          its last session (may be after the simulation ends)
+    public long getRecoveryHour(Muscle muscle) {
+        return isTrained(muscle) ? recoveryHours[muscle.getOrdinal()] : 0L;
+    }
+
+    // EFFECTS: Return the number of sessions that trained muscle while it was not yet recovered
+    public int getNumUnrecoveredSessions(Muscle muscle) {
+        return isTrained(muscle) ? unrecoveredSessions[muscle.getOrdinal()] : 0;
+    }
+
+    // EFFECTS: Return true if muscle is fully recovered when the simulation ends
+    public boolean isRecovered(Muscle muscle) {
+        return getRecoveryHour(muscle) <= numHours;
+    }
+
+    // EFFECTS: Return true if muscle was trained in the simulation
+    private boolean isTrained(Muscle muscle) {
+        return muscle != null && muscle.getOrdinal() < muscles.length && muscles[muscle.getOrdinal()] == muscle;
+    }
+}
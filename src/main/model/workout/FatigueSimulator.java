@@ -0,0 +1,245 @@
+package model.workout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import model.association.ExerciseAssociator;
+import model.muscle.Muscle;
+
+/**
+ * REPRESENTS: a simulation of per-muscle fatigue and recovery over a WeeklySchedule or TrainingCalendar
+ *
+ * USED BY:
+ *      1. Coaches asking "what if" of a schedule across many athletes (one AthleteProfile each)
+ *
+ * PURPOSE: Step through the schedule hour by hour: each session adds its per-muscle load (the chosen metric, as
+ *          a WeeklySchedule would register it) to that muscle's fatigue, and fatigue decays exponentially at the
+ *          athlete's recovery rate; report when each muscle is fully recovered (see FatigueReport)
+ *          - The schedule is compiled once into sessions of (muscle ordinal, load) pairs, shared by every athlete;
+ *            each distinct plan's metrics are computed once however often it repeats
+ *          - Per-athlete state is primitive arrays indexed by Muscle ordinal
+ *          - Between sessions nothing but decay happens, so the hourly steps are taken in closed form: fatigue f
+ *            after h hours is f * 2^(-h / halfLife), and the first whole hour at or below the threshold is solved
+ *            directly; a year of sessions costs one update per session muscle, not 8760 per muscle
+ *          - Athletes are simulated in parallel, on the SharedPools pool of the configured parallelism
+ *
+ * MUTABILITY: Immutable (reads the schedule as it is when simulate is called)
+ */
+public class FatigueSimulator {
+    private static final int HOURS_PER_DAY = 24;
+    private static final double ROUNDING = 1e-9; // so an exact whole hour is not rounded up by float error
+
+    private final int metricIndex;
+    private final int parallelism;
+
+    // EFFECTS: Create a simulator loading muscles by totalSets, using every available processor
+    public FatigueSimulator() {
+        this("totalSets", Runtime.getRuntime().availableProcessors());
+    }
+
+    // EFFECTS: Create a simulator loading muscles by metric, simulating athletes with parallelism threads
+    //          Throw IllegalArgumentException if metric is not a valid metric or parallelism is not positive
+    public FatigueSimulator(String metric, int parallelism) {
+        this.metricIndex = ExerciseAssociator.getMetricNames().indexOf(metric);
+        if (metricIndex < 0 || parallelism < 1) {
+            throw new IllegalArgumentException("Unknown metric or non-positive parallelism: " + metric);
+        }
+        this.parallelism = parallelism;
+    }
+
+    // EFFECTS: Return profile's simulation of schedule repeated for numWeeks weeks, starting Monday at 00:00
+    //          Throw IllegalArgumentException if schedule or profile is null or numWeeks is not positive
+    public FatigueReport simulate(WeeklySchedule schedule, int numWeeks, AthleteProfile profile) {
+        return simulateAll(schedule, numWeeks, Collections.singletonList(profile)).get(0);
+    }
+
+    // EFFECTS: Return each profile's simulation of schedule repeated for numWeeks weeks (see simulate), in order
+    //          Throw IllegalArgumentException if schedule or profiles is null, profiles contains null,
+    //          or numWeeks is not positive
+    public List<FatigueReport> simulateAll(WeeklySchedule schedule, int numWeeks, List<AthleteProfile> profiles) {
+        if (schedule == null || numWeeks < 1) {
+            throw new IllegalArgumentException("Schedule cannot be null and number of weeks must be positive.");
+        }
+        List<WorkoutPlan> week = schedule.getWeeklySchedule();
+        List<WorkoutPlan> plans = new ArrayList<WorkoutPlan>();
+        for (int i = 0; i < numWeeks; i++) {
+            plans.addAll(week);
+        }
+        return run(new Timeline(plans), profiles);
+    }
+
+    // EFFECTS: Return profile's simulation of calendar, starting at 00:00 of its start date
+    //          Throw IllegalArgumentException if calendar or profile is null
+    public FatigueReport simulate(TrainingCalendar calendar, AthleteProfile profile) {
+        return simulateAll(calendar, Collections.singletonList(profile)).get(0);
+    }
+
+    // EFFECTS: Return each profile's simulation of calendar (see simulate), in order
+    //          Throw IllegalArgumentException if calendar or profiles is null, or profiles contains null
+    public List<FatigueReport> simulateAll(TrainingCalendar calendar, List<AthleteProfile> profiles) {
+        if (calendar == null) {
+            throw new IllegalArgumentException("Calendar cannot be null.");
+        }
+        List<WorkoutPlan> plans = new ArrayList<WorkoutPlan>();
+        for (int day = 0; day < calendar.getNumDays(); day++) {
+            plans.add(calendar.getPlan(calendar.getStartDate().plusDays(day)));
+        }
+        return run(new Timeline(plans), profiles);
+    }
+
+    // HELPER: for simulateAll
+    // EFFECTS: Simulate timeline once per profile in parallel and return the reports in profile order
+    //          Throw IllegalArgumentException if profiles is null or contains null
+    private List<FatigueReport> run(Timeline timeline, List<AthleteProfile> profiles) {
+        if (profiles == null || profiles.contains(null)) {
+            throw new IllegalArgumentException("Profiles cannot be null or contain null.");
+        }
+        return SharedPools.invoke(parallelism,
+                () -> profiles.parallelStream().map(timeline::simulate).collect(Collectors.toList()),
+                "Fatigue simulation");
+    }
+
+    // EFFECTS: Return the first whole hour at or after from at which fatigue (as of from) has decayed to threshold
+    //          or below, decaying at rate per hour
+    private static long recoveryHour(double fatigue, double rate, long from, double threshold) {
+        if (fatigue <= threshold) {
+            return from;
+        }
+        return from + (long) Math.ceil(Math.log(fatigue / threshold) / rate - ROUNDING);
+    }
+
+    /**
+     * REPRESENTS: a schedule compiled for simulation: the days with sessions and, for each, the (muscle ordinal,
+     *             load) pairs it applies; shared read-only by every athlete
+     */
+    private class Timeline {
+        private final int numDays;
+        private final int[] days;
+        private final int[][] ordinals; // session -> ordinals of the muscles it loads
+        private final double[][] loads; // session -> load on each of those muscles
+        private Muscle[] muscles = new Muscle[0]; // ordinal -> trained muscle, or null
+        private final List<Integer> active = new ArrayList<Integer>(); // ordinals of trained muscles
+
+        // EFFECTS: Compile plans (one per day, null for none) into sessions
+        private Timeline(List<WorkoutPlan> plans) {
+            this.numDays = plans.size();
+            Map<WorkoutPlan, Integer> compiled = new IdentityHashMap<WorkoutPlan, Integer>();
+            List<int[]> ordinalList = new ArrayList<int[]>();
+            List<double[]> loadList = new ArrayList<double[]>();
+            List<Integer> dayList = new ArrayList<Integer>();
+            List<Integer> sessionOf = new ArrayList<Integer>();
+            for (int day = 0; day < plans.size(); day++) {
+                WorkoutPlan plan = plans.get(day);
+                if (plan == null) {
+                    continue;
+                }
+                Integer session = compiled.get(plan);
+                if (session == null) {
+                    session = compile(plan, ordinalList, loadList);
+                    compiled.put(plan, session);
+                }
+                if (session >= 0) {
+                    dayList.add(day);
+                    sessionOf.add(session);
+                }
+            }
+            days = new int[dayList.size()];
+            ordinals = new int[dayList.size()][];
+            loads = new double[dayList.size()][];
+            for (int s = 0; s < days.length; s++) {
+                days[s] = dayList.get(s);
+                ordinals[s] = ordinalList.get(sessionOf.get(s));
+                loads[s] = loadList.get(sessionOf.get(s));
+            }
+        }
+
+        // HELPER: for Timeline
+        // MODIFIES: this, ordinalList, loadList
+        // EFFECTS: Append plan's per-muscle loads to ordinalList and loadList and return their index,
+        //          or -1 if plan loads no muscle
+        private int compile(WorkoutPlan plan, List<int[]> ordinalList, List<double[]> loadList) {
+            Map<ExerciseAssociator, double[]> metrics = PlanMetrics.compute(plan);
+            if (metrics == null) {
+                return -1;
+            }
+            List<Muscle> loaded = new ArrayList<Muscle>();
+            for (Map.Entry<ExerciseAssociator, double[]> entry : metrics.entrySet()) {
+                if (entry.getKey() instanceof Muscle && entry.getValue()[metricIndex] > 0) {
+                    loaded.add((Muscle) entry.getKey());
+                }
+            }
+            if (loaded.isEmpty()) {
+                return -1;
+            }
+            int[] sessionOrdinals = new int[loaded.size()];
+            double[] sessionLoads = new double[loaded.size()];
+            for (int i = 0; i < loaded.size(); i++) {
+                Muscle muscle = loaded.get(i);
+                sessionOrdinals[i] = muscle.getOrdinal();
+                sessionLoads[i] = metrics.get(muscle)[metricIndex];
+                track(muscle);
+            }
+            ordinalList.add(sessionOrdinals);
+            loadList.add(sessionLoads);
+            return ordinalList.size() - 1;
+        }
+
+        // HELPER: for compile
+        // MODIFIES: this
+        // EFFECTS: Record muscle as trained, growing the ordinal-indexed array if needed
+        private void track(Muscle muscle) {
+            int ordinal = muscle.getOrdinal();
+            if (ordinal >= muscles.length) {
+                muscles = Arrays.copyOf(muscles, Math.max(ordinal + 1, muscles.length * 2));
+            }
+            if (muscles[ordinal] == null) {
+                muscles[ordinal] = muscle;
+                active.add(ordinal);
+            }
+        }
+
+        // EFFECTS: Return profile's simulation of this timeline
+        private FatigueReport simulate(AthleteProfile profile) {
+            int size = muscles.length;
+            double[] fatigue = new double[size];
+            double[] peak = new double[size];
+            double[] rates = new double[size];
+            long[] lastHours = new long[size];
+            long[] fatigued = new long[size];
+            long[] recovered = new long[size];
+            int[] unrecovered = new int[size];
+            for (int ordinal : active) {
+                rates[ordinal] = Math.log(2) / profile.getRecoveryHalfLife(muscles[ordinal]);
+            }
+            double threshold = profile.getRecoveryThreshold();
+            double scale = profile.getLoadScale();
+            for (int s = 0; s < days.length; s++) {
+                long hour = (long) days[s] * HOURS_PER_DAY + profile.getTrainingHour();
+                for (int i = 0; i < ordinals[s].length; i++) {
+                    int m = ordinals[s][i];
+                    long recoveredAt = recoveryHour(fatigue[m], rates[m], lastHours[m], threshold);
+                    if (recoveredAt > hour) {
+                        unrecovered[m]++;
+                    }
+                    fatigued[m] += Math.min(recoveredAt, hour) - lastHours[m];
+                    fatigue[m] = fatigue[m] * Math.exp(-rates[m] * (hour - lastHours[m])) + scale * loads[s][i];
+                    lastHours[m] = hour;
+                    peak[m] = Math.max(peak[m], fatigue[m]);
+                }
+            }
+            long numHours = (long) numDays * HOURS_PER_DAY;
+            for (int m : active) {
+                recovered[m] = recoveryHour(fatigue[m], rates[m], lastHours[m], threshold);
+                fatigued[m] += Math.min(recovered[m], numHours) - lastHours[m];
+                fatigue[m] *= Math.exp(-rates[m] * (numHours - lastHours[m]));
+            }
+            return new FatigueReport(profile.getName(), numHours, muscles, fatigue, peak, fatigued, recovered,
+                    unrecovered);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package model.workout;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import model.muscle.MuscleGroup;
+
+/**
+ * REPRESENTS: the workouts WorkoutGenerator assembled for a set of VolumeTargets and how close they came
+ *
+ * USED BY:
+ *      1. WorkoutGenerator, as its result
+ *      2. Users reviewing generated workouts before adding them to their WorkoutLibrary
+ *
+ * PURPOSE: Report the generated workouts, the volume they give each targeted MuscleGroup, and the total error
+ *          (sum over targets of the squared relative miss; 0 means every target is met exactly)
+ *
+ * MUTABILITY: Immutable (the Workouts themselves are new and belong to the caller)
+ */
+public class GeneratedWorkouts {
+    private final List<Workout> workouts;
+    private final Map<MuscleGroup, Double> volumes;
+    private final double error;
+
+    // EFFECTS: Create a result of the given workouts, their volume per targeted group, and their error
+    GeneratedWorkouts(List<Workout> workouts, Map<MuscleGroup, Double> volumes, double error) {
+        this.workouts = Collections.unmodifiableList(workouts);
+        this.volumes = Collections.unmodifiableMap(volumes);
+        this.error = error;
+    }
+
+    // EFFECTS: Return the generated workouts (workouts left empty are omitted)
+    public List<Workout> getWorkouts() {
+        return workouts;
+    }
+
+    // EFFECTS: Return each targeted MuscleGroup mapped to the weekly volume the workouts give it
+    public Map<MuscleGroup, Double> getVolumes() {
+        return volumes;
+    }
+
+    // EFFECTS: Return the sum over targets of ((volume - target) / target)^2
+    public double getError() {
+        return error;
+    }
+}
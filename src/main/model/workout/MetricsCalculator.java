@@ -0,0 +1,124 @@
+package model.workout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import model.association.ExerciseAssociator;
+import model.exercise.Exercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+
+/**
+ * REPRESENTS: a side-effect-free evaluator of schedule snapshots
+ *
+ * USED BY:
+ *      1. PlanMetrics, for each plan's per-associator metric vectors
+ *      2. Callers comparing many candidate schedules, possibly on several threads at once
+ *
+ * PURPOSE: Compute the metric table a WeeklySchedule would produce in its MetricsContext, without registering
+ *          anything with any MetricsContext or associator
+ *          - Each list index is its own context (as each day of a WeeklySchedule is)
+ *          - Within a context, the first exercise of a given name registers for each associator; later exercises
+ *            of the same name only add associators not yet registered under that name (as MetricsContext.register)
+ *          - Reads exercises only, so concurrent calculations never interfere, provided the plans are not being
+ *            edited meanwhile
+ *
+ * MUTABILITY: Immutable (static helpers only)
+ */
+public final class MetricsCalculator {
+
+    // EFFECTS: Prevent instantiation
+    private MetricsCalculator() {
+    }
+
+    // EFFECTS: Return the metric table of schedule's current plans, one context per day
+    //          Throw IllegalArgumentException if schedule is null
+    public static MetricsTable calculate(WeeklySchedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule cannot be null");
+        }
+        return calculate(schedule.getWeeklySchedule());
+    }
+
+    // EFFECTS: Return the metric table of plans, one context per index; null plans contribute nothing
+    //          Throw IllegalArgumentException if plans is null
+    public static MetricsTable calculate(List<? extends WorkoutPlan> plans) {
+        if (plans == null) {
+            throw new IllegalArgumentException("Plans cannot be null");
+        }
+        int numMetrics = ExerciseAssociator.getMetricNames().size();
+        Map<ExerciseAssociator, double[]> totals = new IdentityHashMap<ExerciseAssociator, double[]>();
+        Map<Muscle, List<MetricsTable.Registration>> registrations =
+                new IdentityHashMap<Muscle, List<MetricsTable.Registration>>();
+        Set<MuscleGroup> muscleGroups = new LinkedHashSet<MuscleGroup>();
+        for (WorkoutPlan plan : plans) {
+            if (plan == null) {
+                continue;
+            }
+            Map<String, Set<ExerciseAssociator>> registeredByName = new HashMap<String, Set<ExerciseAssociator>>();
+            for (Exercise exercise : plan.getExercises()) {
+                Set<ExerciseAssociator> registered = registeredByName.computeIfAbsent(exercise.getName(),
+                        name -> Collections.newSetFromMap(new IdentityHashMap<ExerciseAssociator, Boolean>()));
+                double[] values = toValues(exercise, numMetrics);
+                if (exercise.getRequiredEquipment() instanceof ExerciseAssociator) {
+                    ExerciseAssociator equipment = (ExerciseAssociator) exercise.getRequiredEquipment();
+                    if (registered.add(equipment)) {
+                        addTo(totals, equipment, values);
+                    }
+                }
+                MuscleGroup group = exercise.getMusclesTargeted();
+                if (group != null) {
+                    muscleGroups.add(group);
+                    MetricsTable.Registration registration = new MetricsTable.Registration(registered, values);
+                    for (Muscle muscle : group.getMuscles()) {
+                        if (registered.add(muscle)) {
+                            addTo(totals, muscle, values);
+                            registrations.computeIfAbsent(muscle, m -> new ArrayList<MetricsTable.Registration>())
+                                    .add(registration);
+                        }
+                    }
+                }
+            }
+        }
+        return new MetricsTable(totals, registrations, muscleGroups);
+    }
+
+    // EFFECTS: Return the metric table of each candidate schedule, in order, calculated in parallel
+    //          Throw IllegalArgumentException if candidates or any candidate is null
+    public static List<MetricsTable> calculateAll(List<? extends List<? extends WorkoutPlan>> candidates) {
+        if (candidates == null || candidates.contains(null)) {
+            throw new IllegalArgumentException("Candidates cannot be null");
+        }
+        return candidates.parallelStream().map(MetricsCalculator::calculate).collect(Collectors.toList());
+    }
+
+    // HELPER: for calculate
+    // EFFECTS: Return exercise's valid metrics indexed as ExerciseAssociator.getMetricNames() (0.0 if absent)
+    private static double[] toValues(Exercise exercise, int numMetrics) {
+        Map<String, Double> metrics = ExerciseAssociator.filterValidMetrics(exercise.convertInfoToAssociatorFormat());
+        List<String> metricNames = ExerciseAssociator.getMetricNames();
+        double[] values = new double[numMetrics];
+        for (int i = 0; i < numMetrics; i++) {
+            Double value = metrics.get(metricNames.get(i));
+            values[i] = (value != null) ? value : 0.0;
+        }
+        return values;
+    }
+
+    // MODIFIES: totals
+    // EFFECTS: Add values to associator's running totals
+    private static void addTo(Map<ExerciseAssociator, double[]> totals, ExerciseAssociator associator,
+            double[] values) {
+        double[] sums = totals.computeIfAbsent(associator, a -> new double[values.length]);
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] += values[i];
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package model.workout;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import model.association.ExerciseAssociator;
+import model.muscle.MuscleGroup;
+
+/**
+ * REPRESENTS: a cache of the metric tables the analytics screens show for one WeeklySchedule
+ *
+ * USED BY:
+ *      1. MuscleMetricsUI, for every MuscleGroup's and Muscle's metrics
+ *      2. EquipmentMetricsUI, for every Equipment's metrics
+ *
+ * PURPOSE: Compute each MuscleGroup's group metrics and each associator's aggregated metrics in the schedule's
+ *          MetricsContext at most once per schedule version; every redraw of an unchanged schedule reads the
+ *          cached tables
+ *          - The whole cache is dropped the first time it is read after WeeklySchedule.getVersion() changes
+ *          - Returned maps are the cached tables themselves (unmodifiable), so repeated reads allocate nothing
+ *
+ * NOTE: The cache follows the schedule only; registering exercises in the schedule's MetricsContext directly
+ *       (bypassing the WeeklySchedule) is not seen until the schedule's next change
+ *
+ * MUTABILITY: Mutable (cache only; not thread-safe)
+ */
+public class MetricsDashboard {
+    private final WeeklySchedule schedule;
+    private final Map<MuscleGroup, Map<String, Double>> groupMetrics;
+    private final Map<ExerciseAssociator, Map<String, Double>> associatorMetrics;
+    private int cachedVersion;
+
+    // EFFECTS: Create an empty dashboard of schedule's metrics
+    //          Throw IllegalArgumentException if schedule is null
+    public MetricsDashboard(WeeklySchedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule cannot be null");
+        }
+        this.schedule = schedule;
+        groupMetrics = new IdentityHashMap<MuscleGroup, Map<String, Double>>();
+        associatorMetrics = new IdentityHashMap<ExerciseAssociator, Map<String, Double>>();
+        cachedVersion = schedule.getVersion();
+    }
+
+    // EFFECTS: Return the schedule this dashboard caches the metrics of
+    public WeeklySchedule getSchedule() {
+        return schedule;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return group's metrics in the schedule's MetricsContext (see MuscleGroup.getGroupMetrics),
+    //          computed only if not cached since the schedule last changed
+    //          Throw IllegalArgumentException if group is null
+    public Map<String, Double> getGroupMetrics(MuscleGroup group) {
+        if (group == null) {
+            throw new IllegalArgumentException("MuscleGroup cannot be null");
+        }
+        invalidateIfChanged();
+        return groupMetrics.computeIfAbsent(group,
+                g -> Collections.unmodifiableMap(g.getGroupMetrics(schedule.getMetricsContext())));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return associator's aggregated metrics in the schedule's MetricsContext (see
+    //          ExerciseAssociator.getAggregatedExerciseMetrics), computed only if not cached since the schedule
+    //          last changed
+    //          Throw IllegalArgumentException if associator is null
+    public Map<String, Double> getMetrics(ExerciseAssociator associator) {
+        if (associator == null) {
+            throw new IllegalArgumentException("ExerciseAssociator cannot be null");
+        }
+        invalidateIfChanged();
+        return associatorMetrics.computeIfAbsent(associator,
+                a -> Collections.unmodifiableMap(schedule.getMetricsContext().getAggregatedMetrics(a)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return the largest value of metric among groups' (cached) group metrics; 0.0 if groups is empty
+    //          or none of them has metric
+    public double getMaxGroupMetric(Collection<MuscleGroup> groups, String metric) {
+        double max = 0.0;
+        for (MuscleGroup group : groups) {
+            max = Math.max(max, getGroupMetrics(group).getOrDefault(metric, 0.0));
+        }
+        return max;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return the largest value of metric among associators' (cached) aggregated metrics; 0.0 if
+    //          associators is empty or none of them has metric
+    public double getMaxMetric(Collection<? extends ExerciseAssociator> associators, String metric) {
+        double max = 0.0;
+        for (ExerciseAssociator associator : associators) {
+            max = Math.max(max, getMetrics(associator).getOrDefault(metric, 0.0));
+        }
+        return max;
+    }
+
+    // HELPER: for getGroupMetrics, getMetrics
+    // MODIFIES: this
+    // EFFECTS: Drop every cached table if the schedule has changed since they were computed
+    private void invalidateIfChanged() {
+        int version = schedule.getVersion();
+        if (version != cachedVersion) {
+            groupMetrics.clear();
+            associatorMetrics.clear();
+            cachedVersion = version;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package model.workout;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import model.association.ExerciseAssociator;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+
+/**
+ * REPRESENTS: every muscle's, equipment's, and muscle group's metrics for one schedule snapshot
+ *
+ * USED BY:
+ *      1. MetricsCalculator, as its result
+ *      2. What-if analysis comparing candidate schedules without activating any of them
+ *
+ * PURPOSE: Answer the same questions a MetricsContext answers for an activated schedule
+ *          (getAggregatedMetrics, getTotal, MuscleGroup.getGroupMetrics), with the same values
+ *
+ * MUTABILITY: Immutable (safe to read from any thread)
+ */
+public class MetricsTable {
+    private final Map<ExerciseAssociator, double[]> totals;
+    private final Map<Muscle, List<Registration>> registrations;
+    private final Set<MuscleGroup> muscleGroups;
+
+    // EFFECTS: Create a table of the given per-associator totals (indexed as ExerciseAssociator.getMetricNames()),
+    //          per-muscle registrations, and targeted muscle groups
+    MetricsTable(Map<ExerciseAssociator, double[]> totals, Map<Muscle, List<Registration>> registrations,
+            Set<MuscleGroup> muscleGroups) {
+        this.totals = totals;
+        this.registrations = registrations;
+        this.muscleGroups = Collections.unmodifiableSet(muscleGroups);
+    }
+
+    // EFFECTS: Return every muscle and equipment with at least one registration
+    public Set<ExerciseAssociator> getAssociators() {
+        return Collections.unmodifiableSet(totals.keySet());
+    }
+
+    // EFFECTS: Return every MuscleGroup targeted by a scheduled exercise
+    public Set<MuscleGroup> getMuscleGroups() {
+        return muscleGroups;
+    }
+
+    // EFFECTS: Return associator's summed metric values, with every valid metric present (0.0 if unused)
+    public Map<String, Double> getMetrics(ExerciseAssociator associator) {
+        Map<String, Double> metrics = ExerciseAssociator.createZeroValueMetricsMap();
+        double[] values = totals.get(associator);
+        if (values != null) {
+            List<String> metricNames = ExerciseAssociator.getMetricNames();
+            for (int i = 0; i < values.length; i++) {
+                metrics.put(metricNames.get(i), values[i]);
+            }
+        }
+        return metrics;
+    }
+
+    // EFFECTS: Return associator's summed value of metric (0.0 if it has no registrations)
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    public double getTotal(ExerciseAssociator associator, String metric) {
+        int metricIndex = ExerciseAssociator.getMetricNames().indexOf(metric);
+        if (metricIndex < 0) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        double[] values = totals.get(associator);
+        return (values != null) ? values[metricIndex] : 0.0;
+    }
+
+    // EFFECTS: Return group's metrics summed over the distinct exercise-days registered for any of its muscles
+    //          (as MuscleGroup.getGroupMetrics does), with every valid metric present; empty if group is null or
+    //          has no muscles
+    public Map<String, Double> getGroupMetrics(MuscleGroup group) {
+        if (group == null || group.getMuscles().isEmpty()) {
+            return new HashMap<String, Double>();
+        }
+        double[] sums = new double[ExerciseAssociator.getMetricNames().size()];
+        Set<Object> counted = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        for (Muscle muscle : group.getMuscles()) {
+            for (Registration registration : registrations.getOrDefault(muscle, Collections.emptyList())) {
+                if (counted.add(registration.key)) {
+                    for (int i = 0; i < sums.length; i++) {
+                        sums[i] += registration.values[i];
+                    }
+                }
+            }
+        }
+        Map<String, Double> metrics = ExerciseAssociator.createZeroValueMetricsMap();
+        for (int i = 0; i < sums.length; i++) {
+            metrics.put(ExerciseAssociator.getMetricNames().get(i), sums[i]);
+        }
+        return metrics;
+    }
+
+    // EFFECTS: Return a new map of each associator to a copy of its totals (indexed as getMetricNames())
+    Map<ExerciseAssociator, double[]> copyTotals() {
+        Map<ExerciseAssociator, double[]> copy = new IdentityHashMap<ExerciseAssociator, double[]>();
+        for (Map.Entry<ExerciseAssociator, double[]> entry : totals.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().clone());
+        }
+        return copy;
+    }
+
+    /**
+     * REPRESENTS: one exercise-day's metrics as registered for one muscle
+     *
+     * NOTE: key is one object per exercise name per day, shared by every muscle registered under that name and day
+     *       (the equivalent of a MetricsContext exerciseName-context key)
+     */
+    static final class Registration {
+        final Object key;
+        final double[] values;
+
+        // EFFECTS: Create a registration of values under key
+        Registration(Object key, double[] values) {
+            this.key = key;
+            this.values = values;
+        }
+    }
+}
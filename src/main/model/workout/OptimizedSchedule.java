@@ -0,0 +1,70 @@
+package model.workout;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import model.muscle.Muscle;
+
+/**
+ * REPRESENTS: the best-balanced week ScheduleOptimizer found: one WorkoutPlan per day and how balanced it is
+ *
+ * USED BY:
+ *      1. ScheduleOptimizer, as its result
+ *      2. Users reviewing a suggested week before applying it to their WeeklySchedule
+ *
+ * PURPOSE: Report the suggested assignment, its per-muscle weekly volume, and the variance of that volume
+ *          (lower is better balanced), and apply it to a WeeklySchedule on request
+ *
+ * MUTABILITY: Immutable
+ */
+public class OptimizedSchedule {
+    private final WorkoutPlan[] plans;
+    private final Map<Muscle, Double> muscleVolumes;
+    private final double variance;
+
+    // EFFECTS: Create a result of the given 7 plans (Monday first), per-muscle volumes, and their variance
+    OptimizedSchedule(WorkoutPlan[] plans, Map<Muscle, Double> muscleVolumes, double variance) {
+        this.plans = Arrays.copyOf(plans, plans.length);
+        this.muscleVolumes = Collections.unmodifiableMap(muscleVolumes);
+        this.variance = variance;
+    }
+
+    // EFFECTS: Return the plan for dayIndex (0 = Monday, 6 = Sunday)
+    //          Throw IllegalArgumentException if dayIndex is not in range [0,6]
+    public WorkoutPlan getPlan(int dayIndex) {
+        if (dayIndex < 0 || dayIndex >= plans.length) {
+            throw new IllegalArgumentException("Day index must be between 0 and 6: " + dayIndex);
+        }
+        return plans[dayIndex];
+    }
+
+    // EFFECTS: Return the 7 plans, Monday first
+    public List<WorkoutPlan> getPlans() {
+        return Collections.unmodifiableList(Arrays.asList(plans));
+    }
+
+    // EFFECTS: Return each muscle targeted by a candidate workout mapped to its weekly volume in this week,
+    //          in muscle order
+    public Map<Muscle, Double> getMuscleVolumes() {
+        return muscleVolumes;
+    }
+
+    // EFFECTS: Return the variance of the per-muscle weekly volumes (0 is perfectly balanced)
+    public double getVariance() {
+        return variance;
+    }
+
+    // MODIFIES: schedule, MetricsContext
+    // EFFECTS: Assign every day of this week to schedule
+    //          Throw IllegalArgumentException if schedule is null
+    public void applyTo(WeeklySchedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule cannot be null.");
+        }
+        for (int i = 0; i < plans.length; i++) {
+            schedule.setScheduleForDay(i, plans[i]);
+        }
+    }
+}
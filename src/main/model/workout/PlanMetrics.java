@@ -0,0 +1,34 @@
+package model.workout;
+
+import java.util.Collections;
+import java.util.Map;
+
+import model.association.ExerciseAssociator;
+
+/**
+ * REPRESENTS: the metric values one WorkoutPlan contributes to each ExerciseAssociator it uses
+ *
+ * USED BY:
+ *      1. TrainingCalendar, for each assigned day
+ *      2. WorkloadModel, for each completed session
+ *
+ * PURPOSE: Compute a plan's per-associator metric vectors exactly as a WeeklySchedule would register them
+ *          (via MetricsCalculator, without touching any MetricsContext), so repeated exercises count the same way
+ *
+ * MUTABILITY: Immutable (static helpers only)
+ */
+final class PlanMetrics {
+
+    // EFFECTS: Prevent instantiation
+    private PlanMetrics() {
+    }
+
+    // EFFECTS: Return the metric values each associator would have if only plan were scheduled, indexed as
+    //          ExerciseAssociator.getMetricNames(); null if plan is null or has no exercises (i.e. a RestDay)
+    static Map<ExerciseAssociator, double[]> compute(WorkoutPlan plan) {
+        if (plan == null || plan.getExercises().isEmpty()) {
+            return null;
+        }
+        return MetricsCalculator.calculate(Collections.singletonList(plan)).copyTotals();
+    }
+}
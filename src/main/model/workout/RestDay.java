@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import model.association.AssociatorBatch;
+import model.association.MetricsContext;
 import model.exercise.Exercise;
 // import model.log.Event;
 // import model.log.EventLog;
@@ -48,6 +50,24 @@ public class RestDay implements WorkoutPlan {
         return; 
     }
 
+    // EFFECTS: Do nothing
+    @Override
+    public void activateMetrics(String context, MetricsContext metrics) {
+        return;
+    }
+
+    // EFFECTS: Do nothing
+    @Override
+    public void deactivateMetrics(String context, MetricsContext metrics) {
+        return;
+    }
+
+    // EFFECTS: Do nothing
+    @Override
+    public void collectMetrics(String context, AssociatorBatch batch) {
+        return;
+    }
+
     // EFFECTS: Return 0 as the total duration of this rest day
     @Override
     public double getDuration() {
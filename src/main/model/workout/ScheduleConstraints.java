@@ -0,0 +1,166 @@
+package model.workout;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import model.association.ExerciseAssociator;
+import model.muscle.Muscle;
+
+/**
+ * REPRESENTS: the rules a generated WeeklySchedule must follow
+ *             (i.e. "rest Sundays, 2 rest days, 48h between training a muscle, at most 90 minutes a day")
+ *
+ * USED BY:
+ *      1. ScheduleOptimizer, which searches only assignments satisfying them
+ *
+ * PURPOSE: Compose constraints fluently; every constraint left unset allows anything
+ *          - Rest days: specific days that must be rest, and how many rest days the week has in total
+ *          - Recovery: minimum hours between two sessions training the same muscle, by default or per muscle
+ *            (days are 24 hours apart, and the week repeats, so Sunday is followed by Monday)
+ *          - Maximum duration of a single day's workout, in seconds
+ *          - How often one workout may be used in the week
+ *          - Which ExerciseAssociator metric measures per-muscle volume for balancing (totalSets by default)
+ *
+ * MUTABILITY: Mutable (each constraint method sets one constraint and returns these constraints)
+ */
+public class ScheduleConstraints {
+    private final boolean[] restDays;
+    private int numRestDays;
+    private double defaultRecoveryHours;
+    private final Map<Muscle, Double> recoveryHours;
+    private double maxDailyDuration;
+    private int maxUsesPerWorkout;
+    private String balanceMetric;
+
+    // EFFECTS: Create constraints allowing any assignment of a workout to every day, each workout used once,
+    //          balanced by totalSets
+    public ScheduleConstraints() {
+        this.restDays = new boolean[7];
+        this.recoveryHours = new IdentityHashMap<Muscle, Double>();
+        this.maxDailyDuration = Double.POSITIVE_INFINITY;
+        this.maxUsesPerWorkout = 1;
+        this.balanceMetric = "totalSets";
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Require the given day (0 = Monday, 6 = Sunday) to be a rest day; the total number of rest days
+    //          grows to include it if needed
+    //          Throw IllegalArgumentException if dayIndex is not in range [0,6]
+    public ScheduleConstraints withRestDay(int dayIndex) {
+        if (dayIndex < 0 || dayIndex >= restDays.length) {
+            throw new IllegalArgumentException("Day index must be between 0 and 6: " + dayIndex);
+        }
+        restDays[dayIndex] = true;
+        numRestDays = Math.max(numRestDays, getNumFixedRestDays());
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Require exactly count rest days in the week (at least the days required by withRestDay);
+    //          the optimizer chooses which other days rest
+    //          Throw IllegalArgumentException if count is not in range [0,7]
+    public ScheduleConstraints withNumRestDays(int count) {
+        if (count < 0 || count > restDays.length) {
+            throw new IllegalArgumentException("Number of rest days must be between 0 and 7: " + count);
+        }
+        numRestDays = Math.max(count, getNumFixedRestDays());
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Require at least hours between two sessions training any one muscle (unless overridden for it)
+    //          Throw IllegalArgumentException if hours is negative
+    public ScheduleConstraints withMinimumRecoveryHours(double hours) {
+        if (hours < 0) {
+            throw new IllegalArgumentException("Recovery hours cannot be negative.");
+        }
+        defaultRecoveryHours = hours;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Require at least hours between two sessions training muscle
+    //          Throw IllegalArgumentException if muscle is null or hours is negative
+    public ScheduleConstraints withMinimumRecoveryHours(Muscle muscle, double hours) {
+        if (muscle == null || hours < 0) {
+            throw new IllegalArgumentException("Muscle cannot be null and recovery hours cannot be negative.");
+        }
+        recoveryHours.put(muscle, hours);
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Allow only workouts lasting at most seconds
+    //          Throw IllegalArgumentException if seconds is not positive
+    public ScheduleConstraints withMaximumDailyDuration(double seconds) {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("Maximum daily duration must be positive.");
+        }
+        maxDailyDuration = seconds;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Allow one workout to be assigned to up to uses days of the week
+    //          Throw IllegalArgumentException if uses is not in range [1,7]
+    public ScheduleConstraints withMaximumUsesPerWorkout(int uses) {
+        if (uses < 1 || uses > restDays.length) {
+            throw new IllegalArgumentException("Uses per workout must be between 1 and 7: " + uses);
+        }
+        maxUsesPerWorkout = uses;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Balance per-muscle volume measured by the given ExerciseAssociator metric
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    public ScheduleConstraints balancing(String metric) {
+        if (!ExerciseAssociator.getMetricNames().contains(metric)) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        balanceMetric = metric;
+        return this;
+    }
+
+    // EFFECTS: Return true if dayIndex must be a rest day
+    public boolean isRestDay(int dayIndex) {
+        return restDays[dayIndex];
+    }
+
+    // EFFECTS: Return the number of rest days the week must have
+    public int getNumRestDays() {
+        return numRestDays;
+    }
+
+    // EFFECTS: Return the minimum hours between two sessions training muscle
+    public double getMinimumRecoveryHours(Muscle muscle) {
+        Double hours = recoveryHours.get(muscle);
+        return (hours != null) ? hours : defaultRecoveryHours;
+    }
+
+    // EFFECTS: Return the longest a single day's workout may last, in seconds
+    public double getMaximumDailyDuration() {
+        return maxDailyDuration;
+    }
+
+    // EFFECTS: Return how many days one workout may be assigned to
+    public int getMaximumUsesPerWorkout() {
+        return maxUsesPerWorkout;
+    }
+
+    // EFFECTS: Return the metric measuring per-muscle volume
+    public String getBalanceMetric() {
+        return balanceMetric;
+    }
+
+    // EFFECTS: Return the number of days required to be rest days
+    private int getNumFixedRestDays() {
+        int count = 0;
+        for (boolean rest : restDays) {
+            if (rest) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
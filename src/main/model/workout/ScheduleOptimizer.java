@@ -0,0 +1,500 @@
+package model.workout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import model.association.ExerciseAssociator;
+import model.muscle.Muscle;
+
+/**
+ * REPRESENTS: a search for the best-balanced week of workouts from a WorkoutLibrary
+ *
+ * USED BY:
+ *      1. Users who want a WeeklySchedule suggested rather than assigning every day by hand
+ *
+ * PURPOSE: Find the assignment of workouts to the training days of a week that satisfies a set of
+ *          ScheduleConstraints and minimizes the variance of per-muscle weekly volume
+ *          - Variance depends only on WHICH workouts are chosen, so the search branches over combinations
+ *            (in library order), and only places a combination on days when it beats the best found so far
+ *          - Branch-and-bound: a partial combination is pruned when even the most balanced completion
+ *            possible (its remaining volume budget "water-filled" into the least trained muscles) cannot
+ *            beat the best variance found
+ *          - Recovery is checked on muscle bitsets: two workouts whose masks share a muscle must be at least
+ *            that muscle's recovery days apart; pairs that can never fit in one (repeating) week, or muscles
+ *            trained more often than recovery allows, are pruned as soon as they are chosen
+ *          - The combinations are split by their first two workouts into independent tasks, run in parallel;
+ *            all tasks prune against one shared best
+ *          Ties are broken by library order, so the result does not depend on thread timing
+ *
+ * MUTABILITY: Immutable
+ */
+public class ScheduleOptimizer {
+    private static final int DAYS = 7;
+    private static final int MAX_CYCLIC_GAP = DAYS / 2; // farthest apart two days of a repeating week can be
+
+    private final int parallelism;
+
+    // EFFECTS: Create an optimizer searching with one thread per available processor
+    public ScheduleOptimizer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // EFFECTS: Create an optimizer searching with the given number of threads
+    //          Throw IllegalArgumentException if parallelism is not positive
+    public ScheduleOptimizer(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    // EFFECTS: Return the week of workouts from library (RestDays on every non-training day) that satisfies
+    //          constraints with the lowest per-muscle volume variance, or null if no week satisfies them
+    //          Only Workouts with exercises and within the maximum daily duration are candidates
+    //          Throw IllegalArgumentException if library or constraints is null
+    public OptimizedSchedule optimize(WorkoutLibrary library, ScheduleConstraints constraints) {
+        if (library == null || constraints == null) {
+            throw new IllegalArgumentException("Library and constraints cannot be null.");
+        }
+        Search search = new Search(library.getAllWorkouts(), constraints);
+        return search.run(parallelism);
+    }
+
+    /**
+     * REPRESENTS: one optimization: the candidates' precomputed volumes, masks, and recovery gaps,
+     *             and the best combination found so far (shared by every worker)
+     */
+    private static class Search {
+        private final ScheduleConstraints constraints;
+        private final List<Workout> candidates = new ArrayList<Workout>();
+        private final List<Muscle> muscles = new ArrayList<Muscle>();
+        private final int numTrainingDays;
+        private final int maxUses;
+        private double[][] volumes; // candidate -> muscle -> volume
+        private long[][] masks; // candidate -> muscles it trains, as a bitset over muscle indexes
+        private int[] maxSessions; // muscle -> most sessions its recovery allows in a week
+        private int[][] pairGaps; // candidate x candidate -> fewest days apart they may be
+        private double[][] budgets; // first allowed candidate -> number of picks left -> most volume addable
+
+        private volatile double bestVariance = Double.POSITIVE_INFINITY;
+        private int[] bestChosen;
+        private int[] bestDays;
+
+        // EFFECTS: Prepare a search of plans under constraints
+        private Search(List<WorkoutPlan> plans, ScheduleConstraints constraints) {
+            this.constraints = constraints;
+            this.numTrainingDays = DAYS - constraints.getNumRestDays();
+            this.maxUses = constraints.getMaximumUsesPerWorkout();
+            List<Map<ExerciseAssociator, double[]>> metrics = new ArrayList<Map<ExerciseAssociator, double[]>>();
+            for (WorkoutPlan plan : plans) {
+                if (plan instanceof Workout && plan.getDuration() <= constraints.getMaximumDailyDuration()) {
+                    Map<ExerciseAssociator, double[]> planMetrics = PlanMetrics.compute(plan);
+                    if (planMetrics != null) {
+                        candidates.add((Workout) plan);
+                        metrics.add(planMetrics);
+                    }
+                }
+            }
+            indexMuscles(metrics);
+            computeVolumes(metrics);
+            computeRecovery();
+            computeBudgets();
+        }
+
+        // HELPER: for Search
+        // MODIFIES: this
+        // EFFECTS: Give every muscle a candidate trains an index, in muscle ordinal order
+        private void indexMuscles(List<Map<ExerciseAssociator, double[]>> metrics) {
+            Set<Muscle> seen = Collections.newSetFromMap(new IdentityHashMap<Muscle, Boolean>());
+            for (Map<ExerciseAssociator, double[]> planMetrics : metrics) {
+                for (ExerciseAssociator associator : planMetrics.keySet()) {
+                    if (associator instanceof Muscle && seen.add((Muscle) associator)) {
+                        muscles.add((Muscle) associator);
+                    }
+                }
+            }
+            muscles.sort((first, second) -> Integer.compare(first.getOrdinal(), second.getOrdinal()));
+        }
+
+        // HELPER: for Search
+        // MODIFIES: this
+        // EFFECTS: Fill each candidate's per-muscle volume of the balance metric and its muscle bitset
+        private void computeVolumes(List<Map<ExerciseAssociator, double[]>> metrics) {
+            int metricIndex = ExerciseAssociator.getMetricNames().indexOf(constraints.getBalanceMetric());
+            Map<Muscle, Integer> muscleIndexes = new IdentityHashMap<Muscle, Integer>();
+            for (int m = 0; m < muscles.size(); m++) {
+                muscleIndexes.put(muscles.get(m), m);
+            }
+            volumes = new double[candidates.size()][muscles.size()];
+            masks = new long[candidates.size()][(muscles.size() + 63) / 64];
+            for (int c = 0; c < candidates.size(); c++) {
+                for (Map.Entry<ExerciseAssociator, double[]> entry : metrics.get(c).entrySet()) {
+                    Integer m = muscleIndexes.get(entry.getKey());
+                    if (m != null) {
+                        volumes[c][m] = entry.getValue()[metricIndex];
+                        masks[c][m >> 6] |= 1L << m;
+                    }
+                }
+            }
+        }
+
+        // HELPER: for Search
+        // MODIFIES: this
+        // EFFECTS: Convert each muscle's recovery hours to whole days, then find, for every pair of candidates,
+        //          the most recovery days of any muscle both train
+        private void computeRecovery() {
+            int[] recoveryDays = new int[muscles.size()];
+            maxSessions = new int[muscles.size()];
+            for (int m = 0; m < muscles.size(); m++) {
+                recoveryDays[m] = (int) Math.ceil(constraints.getMinimumRecoveryHours(muscles.get(m)) / 24.0);
+                maxSessions[m] = (recoveryDays[m] <= 1) ? DAYS : DAYS / recoveryDays[m];
+            }
+            pairGaps = new int[candidates.size()][candidates.size()];
+            for (int a = 0; a < candidates.size(); a++) {
+                for (int b = a; b < candidates.size(); b++) {
+                    int gap = 0;
+                    for (int word = 0; word < masks[a].length; word++) {
+                        long shared = masks[a][word] & masks[b][word];
+                        while (shared != 0) {
+                            int m = (word << 6) + Long.numberOfTrailingZeros(shared);
+                            gap = Math.max(gap, recoveryDays[m]);
+                            shared &= shared - 1;
+                        }
+                    }
+                    pairGaps[a][b] = gap;
+                    pairGaps[b][a] = gap;
+                }
+            }
+        }
+
+        // HELPER: for Search
+        // MODIFIES: this
+        // EFFECTS: For each first allowed candidate and number of picks left, store the most total volume those
+        //          picks could add (the largest candidate totals from there on, each up to maxUses times)
+        private void computeBudgets() {
+            int numPicks = Math.max(numTrainingDays, 0);
+            budgets = new double[candidates.size() + 1][numPicks + 1];
+            for (int start = 0; start < candidates.size(); start++) {
+                List<Double> totals = new ArrayList<Double>();
+                for (int c = start; c < candidates.size(); c++) {
+                    double total = 0.0;
+                    for (double volume : volumes[c]) {
+                        total += volume;
+                    }
+                    for (int use = 0; use < maxUses; use++) {
+                        totals.add(total);
+                    }
+                }
+                totals.sort((first, second) -> Double.compare(second, first));
+                for (int picks = 1; picks <= numPicks; picks++) {
+                    double extra = (picks <= totals.size()) ? totals.get(picks - 1) : 0.0;
+                    budgets[start][picks] = budgets[start][picks - 1] + extra;
+                }
+            }
+        }
+
+        // EFFECTS: Search every combination with parallelism threads and return the best week found,
+        //          or null if none satisfies the constraints
+        private OptimizedSchedule run(int parallelism) {
+            if (numTrainingDays == 0) {
+                bestVariance = 0.0;
+                return createResult(new int[0], new int[0]);
+            }
+            List<int[]> tasks = createTasks();
+            SharedPools.run(parallelism,
+                    () -> tasks.parallelStream().forEach(prefix -> new Worker().searchFrom(prefix)),
+                    "Schedule search");
+            return (bestChosen != null) ? createResult(bestChosen, bestDays) : null;
+        }
+
+        // HELPER: for run
+        // EFFECTS: Return the compatible first one or two picks of every combination, most promising first
+        //          (lowest bound), so a good best is found early and prunes the remaining tasks
+        private List<int[]> createTasks() {
+            List<int[]> tasks = new ArrayList<int[]>();
+            Worker worker = new Worker();
+            for (int first = 0; first < candidates.size(); first++) {
+                if (!worker.canAdd(first, 0)) {
+                    continue;
+                }
+                if (numTrainingDays == 1) {
+                    tasks.add(new int[] {first});
+                    continue;
+                }
+                worker.push(first, 0);
+                for (int second = (maxUses > 1) ? first : first + 1; second < candidates.size(); second++) {
+                    if (worker.canAdd(second, 1)) {
+                        tasks.add(new int[] {first, second});
+                    }
+                }
+                worker.pop(first);
+            }
+            Map<int[], Double> bounds = new IdentityHashMap<int[], Double>();
+            for (int[] task : tasks) {
+                bounds.put(task, worker.boundFor(task));
+            }
+            tasks.sort((first, second) -> Double.compare(bounds.get(first), bounds.get(second)));
+            return tasks;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Make chosen (placed on days) the best week if its variance is lower than the best's, or equal
+        //          with chosen earlier in library order; synchronized since workers offer concurrently
+        private synchronized void offer(double variance, int[] chosen, int[] days) {
+            if (variance < bestVariance || (variance == bestVariance && Arrays.compare(chosen, bestChosen) < 0)) {
+                bestVariance = variance;
+                bestChosen = chosen.clone();
+                bestDays = days;
+            }
+        }
+
+        // EFFECTS: Return true if chosen could replace the best week (see offer), without placing it on days
+        private synchronized boolean couldImprove(double variance, int[] chosen) {
+            return variance < bestVariance || (variance == bestVariance && Arrays.compare(chosen, bestChosen) < 0);
+        }
+
+        // EFFECTS: Return the day each of chosen's workouts is placed on (in chosen's order), such that no two
+        //          are on one day, none is on a required rest day, and every pair is at least its recovery gap
+        //          apart in the repeating week; earliest days first, or null if no placement exists
+        private int[] place(int[] chosen) {
+            int[] days = new int[chosen.length];
+            boolean[] taken = new boolean[DAYS];
+            for (int day = 0; day < DAYS; day++) {
+                taken[day] = constraints.isRestDay(day);
+            }
+            return place(chosen, 0, days, taken) ? days : null;
+        }
+
+        // HELPER: for place
+        // MODIFIES: days, taken
+        // EFFECTS: Place chosen[index..] given the days of chosen[0..index); return true if all could be placed
+        private boolean place(int[] chosen, int index, int[] days, boolean[] taken) {
+            if (index == chosen.length) {
+                return true;
+            }
+            for (int day = 0; day < DAYS; day++) {
+                if (!taken[day] && isFarEnough(chosen, index, day, days)) {
+                    taken[day] = true;
+                    days[index] = day;
+                    if (place(chosen, index + 1, days, taken)) {
+                        return true;
+                    }
+                    taken[day] = false;
+                }
+            }
+            return false;
+        }
+
+        // HELPER: for place
+        // EFFECTS: Return true if chosen[index] on day is at least its recovery gap from each of chosen[0..index)
+        private boolean isFarEnough(int[] chosen, int index, int day, int[] days) {
+            for (int k = 0; k < index; k++) {
+                int apart = Math.abs(day - days[k]);
+                if (Math.min(apart, DAYS - apart) < pairGaps[chosen[index]][chosen[k]]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // EFFECTS: Return the week with chosen's workouts on their days and RestDays elsewhere
+        private OptimizedSchedule createResult(int[] chosen, int[] days) {
+            WorkoutPlan[] plans = new WorkoutPlan[DAYS];
+            double[] weekVolumes = new double[muscles.size()];
+            for (int k = 0; k < chosen.length; k++) {
+                plans[days[k]] = candidates.get(chosen[k]);
+                for (int m = 0; m < weekVolumes.length; m++) {
+                    weekVolumes[m] += volumes[chosen[k]][m];
+                }
+            }
+            for (int day = 0; day < DAYS; day++) {
+                if (plans[day] == null) {
+                    plans[day] = new RestDay("Rest Day");
+                }
+            }
+            Map<Muscle, Double> muscleVolumes = new LinkedHashMap<Muscle, Double>();
+            for (int m = 0; m < weekVolumes.length; m++) {
+                muscleVolumes.put(muscles.get(m), weekVolumes[m]);
+            }
+            return new OptimizedSchedule(plans, muscleVolumes, bestVariance);
+        }
+
+        /**
+         * REPRESENTS: one thread's depth-first search state: the combination being built and its running
+         *             per-muscle volumes and session counts
+         */
+        private class Worker {
+            private final int[] chosen = new int[numTrainingDays];
+            private final double[] weekVolumes = new double[muscles.size()];
+            private final int[] sessions = new int[muscles.size()];
+            private final double[] scratch = new double[muscles.size()];
+
+            // MODIFIES: this, Search
+            // EFFECTS: Search every combination beginning with prefix
+            private void searchFrom(int[] prefix) {
+                for (int depth = 0; depth < prefix.length; depth++) {
+                    push(prefix[depth], depth);
+                }
+                search(prefix.length, nextStart(prefix[prefix.length - 1], prefix.length));
+            }
+
+            // MODIFIES: this, Search
+            // EFFECTS: Extend chosen[0..depth) with candidates from start on, pruning by bound and recovery;
+            //          offer each complete combination that beats the best and can be placed on days
+            private void search(int depth, int start) {
+                if (depth == numTrainingDays) {
+                    evaluate();
+                    return;
+                }
+                if (lowerBound(start, depth) > bestVariance) {
+                    return;
+                }
+                for (int candidate = start; candidate < candidates.size(); candidate++) {
+                    if (canAdd(candidate, depth)) {
+                        push(candidate, depth);
+                        search(depth + 1, nextStart(candidate, depth + 1));
+                        pop(candidate);
+                    }
+                }
+            }
+
+            // HELPER: for search
+            // MODIFIES: Search
+            // EFFECTS: Offer the complete combination if it could beat the best and can be placed on days
+            private void evaluate() {
+                double variance = variance(weekVolumes);
+                if (variance > bestVariance || !couldImprove(variance, chosen)) {
+                    return;
+                }
+                int[] days = place(chosen);
+                if (days != null) {
+                    offer(variance, chosen, days);
+                }
+            }
+
+            // EFFECTS: Return the first candidate allowed after picking candidate as the depth-th workout:
+            //          candidate again if it has uses left, otherwise the next one
+            private int nextStart(int candidate, int depth) {
+                int uses = 0;
+                for (int k = 0; k < depth; k++) {
+                    if (chosen[k] == candidate) {
+                        uses++;
+                    }
+                }
+                return (uses < maxUses) ? candidate : candidate + 1;
+            }
+
+            // EFFECTS: Return true if candidate can join chosen[0..depth): it can share a week with each of them
+            //          (and itself, if repeated) and no muscle it trains exceeds its sessions allowed per week
+            private boolean canAdd(int candidate, int depth) {
+                for (int k = 0; k < depth; k++) {
+                    if (pairGaps[candidate][chosen[k]] > MAX_CYCLIC_GAP) {
+                        return false;
+                    }
+                }
+                long[] mask = masks[candidate];
+                for (int word = 0; word < mask.length; word++) {
+                    long bits = mask[word];
+                    while (bits != 0) {
+                        int m = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        if (sessions[m] >= maxSessions[m]) {
+                            return false;
+                        }
+                        bits &= bits - 1;
+                    }
+                }
+                return true;
+            }
+
+            // MODIFIES: this
+            // EFFECTS: Make candidate the depth-th workout and add its volumes and sessions
+            private void push(int candidate, int depth) {
+                chosen[depth] = candidate;
+                updateTotals(candidate, 1);
+            }
+
+            // MODIFIES: this
+            // EFFECTS: Remove candidate's volumes and sessions (its slot in chosen is overwritten later)
+            private void pop(int candidate) {
+                updateTotals(candidate, -1);
+            }
+
+            // HELPER: for push, pop
+            // MODIFIES: this
+            // EFFECTS: Add sign times candidate's volumes and sessions to the running totals
+            private void updateTotals(int candidate, int sign) {
+                for (int m = 0; m < weekVolumes.length; m++) {
+                    weekVolumes[m] += sign * volumes[candidate][m];
+                }
+                long[] mask = masks[candidate];
+                for (int word = 0; word < mask.length; word++) {
+                    long bits = mask[word];
+                    while (bits != 0) {
+                        sessions[(word << 6) + Long.numberOfTrailingZeros(bits)] += sign;
+                        bits &= bits - 1;
+                    }
+                }
+            }
+
+            // EFFECTS: Return the lower bound of prefix (see lowerBound), leaving this worker as it was
+            private double boundFor(int[] prefix) {
+                for (int depth = 0; depth < prefix.length; depth++) {
+                    push(prefix[depth], depth);
+                }
+                double bound = lowerBound(prefix[prefix.length - 1], prefix.length);
+                for (int candidate : prefix) {
+                    pop(candidate);
+                }
+                return bound;
+            }
+
+            // EFFECTS: Return the lowest variance any completion of chosen[0..depth) with candidates from start on
+            //          could have: the remaining picks' largest possible volume poured into the least trained
+            //          muscles first (the most balancing use of it) gives the least variance reachable
+            private double lowerBound(int start, int depth) {
+                double budget = budgets[start][numTrainingDays - depth];
+                int numMuscles = scratch.length;
+                if (numMuscles == 0) {
+                    return 0.0;
+                }
+                System.arraycopy(weekVolumes, 0, scratch, 0, numMuscles);
+                Arrays.sort(scratch);
+                double level = scratch[0];
+                int filled = 1;
+                while (filled < numMuscles && (scratch[filled] - level) * filled <= budget) {
+                    budget -= (scratch[filled] - level) * filled;
+                    level = scratch[filled];
+                    filled++;
+                }
+                level += budget / filled;
+                for (int m = 0; m < filled; m++) {
+                    scratch[m] = level;
+                }
+                return variance(scratch);
+            }
+        }
+
+        // EFFECTS: Return the population variance of values (0 if there are none)
+        private static double variance(double[] values) {
+            if (values.length == 0) {
+                return 0.0;
+            }
+            double mean = 0.0;
+            for (double value : values) {
+                mean += value;
+            }
+            mean /= values.length;
+            double sumSquares = 0.0;
+            for (double value : values) {
+                sumSquares += (value - mean) * (value - mean);
+            }
+            return sumSquares / values.length;
+        }
+    }
+}
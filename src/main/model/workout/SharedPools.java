@@ -0,0 +1,62 @@
+package model.workout;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * REPRESENTS: the ForkJoinPools the parallel searches and simulations of this package run on, one per degree
+ *             of parallelism
+ *
+ * USED BY:
+ *      1. ScheduleOptimizer, WorkoutGenerator, and FatigueSimulator, to run their parallel streams with the
+ *         number of threads they were configured with
+ *
+ * PURPOSE: Create each pool once and reuse it for every later call with the same parallelism, rather than
+ *          starting and shutting down a pool per call
+ *          - Pools are never shut down: their threads are daemons and exit after a spell of idleness, so an
+ *            unused pool holds no threads
+ *          - Calls with the same parallelism share one pool, and may run at the same time
+ *
+ * MUTABILITY: Immutable (static helpers only; the pool table only grows)
+ */
+final class SharedPools {
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<Integer, ForkJoinPool>();
+
+    // EFFECTS: Prevent instantiation
+    private SharedPools() {
+    }
+
+    // EFFECTS: Run task on the shared pool of parallelism threads and return its result, so parallel streams
+    //          started within it use that pool
+    //          Throw IllegalStateException naming description (i.e. "Schedule search") if the calling thread is
+    //          interrupted while waiting, or with task's exception as its cause if task fails
+    //          Throw IllegalArgumentException if parallelism is not positive or task is null
+    static <T> T invoke(int parallelism, Callable<T> task, String description) {
+        if (parallelism < 1 || task == null) {
+            throw new IllegalArgumentException("Parallelism must be positive and task cannot be null.");
+        }
+        ForkJoinPool pool = POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+        try {
+            return pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(description + " was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(description + " failed.", e.getCause());
+        }
+    }
+
+    // EFFECTS: Run task on the shared pool of parallelism threads (see invoke)
+    static void run(int parallelism, Runnable task, String description) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null.");
+        }
+        invoke(parallelism, () -> {
+            task.run();
+            return null;
+        }, description);
+    }
+}
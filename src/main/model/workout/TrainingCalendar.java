@@ -0,0 +1,256 @@
+package model.workout;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.association.ExerciseAssociator;
+import model.log.Event;
+import model.log.EventLog;
+import utility.FenwickTree;
+
+/**
+ * REPRESENTS: a multi-week training program; a WorkoutPlan (or nothing) assigned to each date in a fixed range
+ *
+ * USED BY:
+ *      1. Users planning 12-52 week programs, which a 7-day WeeklySchedule cannot express
+ *      2. Reports over date ranges (i.e. "Quadriceps sets between two dates", "Barbell minutes per month")
+ *
+ * PURPOSE: Answer range totals of any metric for any ExerciseAssociator in O(log n) days
+ *          Each assigned day's metrics per associator are computed exactly as a WeeklySchedule would register
+ *          them (see PlanMetrics), then added into one FenwickTree per associator and metric (indexed by day),
+ *          so assignments and range queries never rescan the calendar
+ *
+ * NOTE: A day's metrics are captured when its plan is assigned; after editing a Workout already on the
+ *       calendar, call refresh with it so its days reflect the edit
+ *       The calendar's metrics are its own; assigning plans does not activate them in any MetricsContext
+ *
+ * MUTABILITY: Mutable
+ */
+public class TrainingCalendar {
+    private final LocalDate startDate;
+    private final WorkoutPlan[] plans; // day offset from startDate -> assigned plan (null if unassigned)
+    private final List<Map<ExerciseAssociator, double[]>> dayMetrics; // day offset -> metrics added for that day
+    private final Map<ExerciseAssociator, FenwickTree[]> totals; // associator -> metric index -> per-day sums
+
+    // EFFECTS: Create an empty calendar covering numWeeks weeks from startDate (inclusive)
+    //          Throw IllegalArgumentException if startDate is null or numWeeks is not positive
+    public TrainingCalendar(LocalDate startDate, int numWeeks) {
+        if (startDate == null) {
+            throw new IllegalArgumentException("Start date cannot be null.");
+        }
+        if (numWeeks <= 0) {
+            throw new IllegalArgumentException("Number of weeks must be positive: " + numWeeks);
+        }
+        this.startDate = startDate;
+        this.plans = new WorkoutPlan[numWeeks * 7];
+        this.dayMetrics = new ArrayList<Map<ExerciseAssociator, double[]>>(plans.length);
+        for (int i = 0; i < plans.length; i++) {
+            dayMetrics.add(null);
+        }
+        this.totals = new IdentityHashMap<ExerciseAssociator, FenwickTree[]>();
+        EventLog.getInstance().logEvent(new Event("TrainingCalendar created: " + numWeeks + " weeks from "
+                + startDate));
+    }
+
+    // EFFECTS: Return the first date of this calendar
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    // EFFECTS: Return the last date of this calendar (inclusive)
+    public LocalDate getEndDate() {
+        return startDate.plusDays(plans.length - 1);
+    }
+
+    // EFFECTS: Return the number of days this calendar covers
+    public int getNumDays() {
+        return plans.length;
+    }
+
+    // EFFECTS: Return true if date is within this calendar's range
+    public boolean contains(LocalDate date) {
+        return date != null && !date.isBefore(startDate) && !date.isAfter(getEndDate());
+    }
+
+    // EFFECTS: Return the plan assigned to date, or null if none is
+    //          Throw IllegalArgumentException if date is not within this calendar's range
+    public WorkoutPlan getPlan(LocalDate date) {
+        return plans[dayIndex(date)];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Assign plan to date, replacing (and returning) any plan already assigned; null unassigns
+    //          Throw IllegalArgumentException if date is not within this calendar's range
+    public WorkoutPlan assign(LocalDate date, WorkoutPlan plan) {
+        int day = dayIndex(date);
+        WorkoutPlan previous = plans[day];
+        setDay(day, plan, PlanMetrics.compute(plan));
+        EventLog.getInstance().logEvent(new Event("Calendar " + date + " set to "
+                + ((plan != null) ? plan.getName() : "nothing")));
+        return previous;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Unassign date and return the plan that was assigned, or null if none was
+    //          Throw IllegalArgumentException if date is not within this calendar's range
+    public WorkoutPlan clear(LocalDate date) {
+        return assign(date, null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Assign each date in [from, to] (clamped to this calendar) the plan schedule has for its day of
+    //          the week, so a weekly template can be repeated across a program
+    //          Each distinct plan's metrics are computed once, however many days it is assigned to
+    //          Throw IllegalArgumentException if any argument is null
+    public void repeatSchedule(WeeklySchedule schedule, LocalDate from, LocalDate to) {
+        if (schedule == null || from == null || to == null) {
+            throw new IllegalArgumentException("Schedule and dates cannot be null.");
+        }
+        Map<WorkoutPlan, Map<ExerciseAssociator, double[]>> computed =
+                new IdentityHashMap<WorkoutPlan, Map<ExerciseAssociator, double[]>>();
+        int last = Math.min(clampedIndex(to), plans.length - 1);
+        for (int day = Math.max(clampedIndex(from), 0); day <= last; day++) {
+            DayOfWeek dayOfWeek = startDate.plusDays(day).getDayOfWeek();
+            WorkoutPlan plan = schedule.getScheduleForDay(dayOfWeek.getValue() - 1);
+            setDay(day, plan, computed.computeIfAbsent(plan, p -> PlanMetrics.compute(p)));
+        }
+        EventLog.getInstance().logEvent(new Event("Weekly schedule repeated on calendar from " + from + " to " + to));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Recompute the metrics of every date plan is assigned to (i.e. after editing the Workout)
+    //          Return the number of dates refreshed
+    public int refresh(WorkoutPlan plan) {
+        Map<ExerciseAssociator, double[]> recomputed = PlanMetrics.compute(plan);
+        int refreshed = 0;
+        for (int day = 0; day < plans.length; day++) {
+            if (plan != null && plans[day] == plan) {
+                setDay(day, plan, recomputed);
+                refreshed++;
+            }
+        }
+        return refreshed;
+    }
+
+    // EFFECTS: Return associator's total of metric over the dates [from, to] (clamped to this calendar)
+    //          Return 0.0 if from is after to or associator never appears in an assigned plan
+    //          Throw IllegalArgumentException if a date is null or metric is not a valid metric
+    public double getTotal(ExerciseAssociator associator, String metric, LocalDate from, LocalDate to) {
+        int metricIndex = ExerciseAssociator.getMetricNames().indexOf(metric);
+        if (metricIndex < 0) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        return sum(associator, metricIndex, from, to);
+    }
+
+    // EFFECTS: Return associator's totals of every valid metric over the dates [from, to] (clamped to this
+    //          calendar), with every valid metric present (0.0 if unused)
+    //          Throw IllegalArgumentException if a date is null
+    public Map<String, Double> getTotals(ExerciseAssociator associator, LocalDate from, LocalDate to) {
+        Map<String, Double> result = ExerciseAssociator.createZeroValueMetricsMap();
+        List<String> metricNames = ExerciseAssociator.getMetricNames();
+        for (int i = 0; i < metricNames.size(); i++) {
+            result.put(metricNames.get(i), sum(associator, i, from, to));
+        }
+        return result;
+    }
+
+    // EFFECTS: Return associator's total of metric in each calendar month this calendar overlaps, in order
+    //          (only the days of a month within this calendar count)
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    public Map<YearMonth, Double> getMonthlyTotals(ExerciseAssociator associator, String metric) {
+        Map<YearMonth, Double> monthly = new LinkedHashMap<YearMonth, Double>();
+        LocalDate endDate = getEndDate();
+        for (YearMonth month = YearMonth.from(startDate); !month.atDay(1).isAfter(endDate);
+                month = month.plusMonths(1)) {
+            monthly.put(month, getTotal(associator, metric, month.atDay(1), month.atEndOfMonth()));
+        }
+        return monthly;
+    }
+
+    // EFFECTS: Return the number of dates with a plan assigned
+    public int getNumAssignedDays() {
+        int assigned = 0;
+        for (WorkoutPlan plan : plans) {
+            if (plan != null) {
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+
+    // HELPER: for assign, repeatSchedule, refresh
+    // MODIFIES: this
+    // EFFECTS: Replace day's plan and its metrics, subtracting the old metrics from and adding the new
+    //          metrics to the per-day sums
+    private void setDay(int day, WorkoutPlan plan, Map<ExerciseAssociator, double[]> metrics) {
+        addToTotals(day, dayMetrics.get(day), -1.0);
+        plans[day] = plan;
+        dayMetrics.set(day, metrics);
+        addToTotals(day, metrics, 1.0);
+    }
+
+    // HELPER: for setDay
+    // MODIFIES: this
+    // EFFECTS: Add sign * each associator's metric values in metrics to its per-day sums at day
+    private void addToTotals(int day, Map<ExerciseAssociator, double[]> metrics, double sign) {
+        if (metrics == null) {
+            return;
+        }
+        for (Map.Entry<ExerciseAssociator, double[]> entry : metrics.entrySet()) {
+            FenwickTree[] trees = totals.computeIfAbsent(entry.getKey(), a -> createTrees());
+            double[] values = entry.getValue();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != 0.0) {
+                    trees[i].add(day, sign * values[i]);
+                }
+            }
+        }
+    }
+
+    // HELPER: for addToTotals
+    // EFFECTS: Return one empty per-day sum tree per valid metric
+    private FenwickTree[] createTrees() {
+        FenwickTree[] trees = new FenwickTree[ExerciseAssociator.getMetricNames().size()];
+        for (int i = 0; i < trees.length; i++) {
+            trees[i] = new FenwickTree(plans.length);
+        }
+        return trees;
+    }
+
+    // EFFECTS: Return associator's sum of the metric at metricIndex over [from, to], clamped to this calendar
+    //          Throw IllegalArgumentException if a date is null
+    private double sum(ExerciseAssociator associator, int metricIndex, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dates cannot be null.");
+        }
+        FenwickTree[] trees = totals.get(associator);
+        if (trees == null || from.isAfter(to)) {
+            return 0.0;
+        }
+        return trees[metricIndex].rangeSum(clampedIndex(from), clampedIndex(to));
+    }
+
+    // EFFECTS: Return date's day offset from startDate
+    //          Throw IllegalArgumentException if date is not within this calendar's range
+    private int dayIndex(LocalDate date) {
+        if (!contains(date)) {
+            throw new IllegalArgumentException("Date " + date + " is outside " + startDate + " to " + getEndDate());
+        }
+        return (int) ChronoUnit.DAYS.between(startDate, date);
+    }
+
+    // EFFECTS: Return date's day offset from startDate, clamped to [-1, numDays]; days outside the calendar
+    //          map past either end, so ranges touching them are clipped
+    private int clampedIndex(LocalDate date) {
+        long offset = ChronoUnit.DAYS.between(startDate, date);
+        return (int) Math.max(-1, Math.min(plans.length, offset));
+    }
+}
@@ -0,0 +1,102 @@
+package model.workout;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import model.association.ExerciseAssociator;
+import model.muscle.MuscleGroup;
+
+/**
+ * REPRESENTS: the weekly training volume a set of generated workouts should reach
+ *             (i.e. "12 sets of Legs and 10 sets of Push across 3 workouts of at most 45 minutes")
+ *
+ * USED BY:
+ *      1. WorkoutGenerator, which assembles workouts as close to these targets as it can
+ *
+ * PURPOSE: Compose targets fluently
+ *          - Target volume per MuscleGroup, measured as MuscleGroup.getGroupMetrics would measure it
+ *            (each exercise targeting any of the group's muscles counts once)
+ *          - Which ExerciseAssociator metric measures volume (totalSets by default)
+ *          - How many workouts the week is split into, and the time budget of each, in seconds
+ *
+ * MUTABILITY: Mutable (each target method sets one target and returns these targets)
+ */
+public class VolumeTargets {
+    private final Map<MuscleGroup, Double> targets;
+    private String metric;
+    private int numWorkouts;
+    private double maxWorkoutDuration;
+
+    // EFFECTS: Create targets with no MuscleGroup targets, measured by totalSets, over 3 unlimited workouts
+    public VolumeTargets() {
+        this.targets = new LinkedHashMap<MuscleGroup, Double>();
+        this.metric = "totalSets";
+        this.numWorkouts = 3;
+        this.maxWorkoutDuration = Double.POSITIVE_INFINITY;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Aim for volume of the metric on group over the week (replacing any earlier target for group)
+    //          Throw IllegalArgumentException if group is null or volume is not positive
+    public VolumeTargets withTarget(MuscleGroup group, double volume) {
+        if (group == null || volume <= 0) {
+            throw new IllegalArgumentException("MuscleGroup cannot be null and target volume must be positive.");
+        }
+        targets.put(group, volume);
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Measure volume by the given ExerciseAssociator metric
+    //          Throw IllegalArgumentException if metric is not a valid metric
+    public VolumeTargets measuredBy(String metric) {
+        if (!ExerciseAssociator.getMetricNames().contains(metric)) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        this.metric = metric;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Split the week's volume across at most count workouts
+    //          Throw IllegalArgumentException if count is not in range [1,7]
+    public VolumeTargets withNumWorkouts(int count) {
+        if (count < 1 || count > 7) {
+            throw new IllegalArgumentException("Number of workouts must be between 1 and 7: " + count);
+        }
+        numWorkouts = count;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Allow each workout to last at most seconds
+    //          Throw IllegalArgumentException if seconds is not positive
+    public VolumeTargets withMaximumWorkoutDuration(double seconds) {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("Maximum workout duration must be positive.");
+        }
+        maxWorkoutDuration = seconds;
+        return this;
+    }
+
+    // EFFECTS: Return each targeted MuscleGroup mapped to its target volume, in the order targeted
+    public Map<MuscleGroup, Double> getTargets() {
+        return Collections.unmodifiableMap(targets);
+    }
+
+    // EFFECTS: Return the metric measuring volume
+    public String getMetric() {
+        return metric;
+    }
+
+    // EFFECTS: Return the most workouts the week is split into
+    public int getNumWorkouts() {
+        return numWorkouts;
+    }
+
+    // EFFECTS: Return the longest one workout may last, in seconds
+    public double getMaximumWorkoutDuration() {
+        return maxWorkoutDuration;
+    }
+}
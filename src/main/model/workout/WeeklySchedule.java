@@ -7,6 +7,10 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import model.association.AssociatorBatch;
+import model.association.MetricsContext;
+import model.change.ChangeBus;
+import model.change.ChangeKind;
 import model.log.Event;
 import model.log.EventLog;
 import persistence.Writable;
@@ -20,23 +24,42 @@ import persistence.Writable;
  * 
  * PURPOSE: Store exactly 7 workout or rest slots, one per day of the week
  *          Allow workouts or rest days to be assigned, modified, or removed to a workout schedule
+ *          Activate the assigned workouts' metrics in this schedule's own MetricsContext
+ *          Publish each day's new plan as SCHEDULED (and RELOADED on load) on its ChangeBus
+ *          Count every change to its assignments or activated metrics in a version number, so cached
+ *          views of its metrics (MetricsDashboard) know when to recompute
  * 
  * MUTABILITY: Mutable
  */
 public class WeeklySchedule implements Writable {
     private WorkoutPlan[] schedule;
+    private final MetricsContext metrics;
+    private ChangeBus<WorkoutPlan> changes;
+    private int version;
     private static final String[] DAYS = {
         "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
     };
 
     // EFFECTS: Create a weekly schedule with a fixed array of 7 slots (one per day of the week)
+    //          whose metrics are activated in the creating thread's current MetricsContext
     public WeeklySchedule() {
+        this(MetricsContext.current());
+    }
+
+    // EFFECTS: Create a weekly schedule with a fixed array of 7 slots (one per day of the week)
+    //          whose metrics are activated in the given MetricsContext
+    //          Throw IllegalArgumentException if metrics is null
+    public WeeklySchedule(MetricsContext metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("MetricsContext cannot be null.");
+        }
+        this.metrics = metrics;
         schedule = new WorkoutPlan[7];
         initializeSchedule();
         EventLog.getInstance().logEvent(new Event("WeeklySchedule initialized with default rest days"));
     }
 
-    // MODIFIES: this, MuscleGroup, Equipment
+    // MODIFIES: this, MetricsContext
     // EFFECTS: Assign the given workout or rest day to the specified day (0 = Monday, 6 = Sunday)
     //          Throw IllegalArgumentException if dayIndex is not in range [0,6]
     //          Throw IllegalArgumentException if workoutPlan is null
@@ -47,13 +70,15 @@ public class WeeklySchedule implements Writable {
         }
 
         // Bug for WorkoutPlan being re-assigned to a specific date; metrics should NOT cumulate
-        schedule[dayIndex].deactivateMetrics(DAYS[dayIndex]);
+        schedule[dayIndex].deactivateMetrics(DAYS[dayIndex], metrics);
 
         schedule[dayIndex] = workoutPlan;
-        workoutPlan.activateMetrics(DAYS[dayIndex]);
+        workoutPlan.activateMetrics(DAYS[dayIndex], metrics);
+        version++;
+        publish(ChangeKind.SCHEDULED, workoutPlan, dayIndex);
     }
 
-    // MODIFIES: this, MuscleGroup, Equipment
+    // MODIFIES: this, MetricsContext
     // EFFECTS: Remove the assigned workout or rest day for the given day, setting it to a rest day
     //          Throw IllegalArgumentException if dayIndex is not in range [0,6]
     //          A removed Workout subclass instance will have each of their Exercise metrics deactivated 
@@ -61,13 +86,88 @@ public class WeeklySchedule implements Writable {
         if (dayIndex < 0 || dayIndex > 6) {
             throw new IllegalArgumentException();
         }
-        schedule[dayIndex].deactivateMetrics(DAYS[dayIndex]);
+        schedule[dayIndex].deactivateMetrics(DAYS[dayIndex], metrics);
         schedule[dayIndex] = new RestDay("Rest Day");
+        version++;
+        publish(ChangeKind.SCHEDULED, schedule[dayIndex], dayIndex);
         
         // Log schedule clearing--- ONLY used when a WorkoutPlan is deleted from WorkoutLibrary in the GUI
         EventLog.getInstance().logEvent(new Event("Schedule cleared for " + DAYS[dayIndex] + " (set to Rest Day)"));
     }
 
+    // MODIFIES: MetricsContext
+    // EFFECTS: Activate the metrics of every assigned WorkoutPlan under its day's context
+    //          Used to mount this schedule's metrics after loading
+    //          Registrations are collected for the whole week first, then applied once per associator
+    public void activateAllMetrics() {
+        AssociatorBatch batch = new AssociatorBatch();
+        for (int i = 0; i < DAYS.length; i++) {
+            schedule[i].collectMetrics(DAYS[i], batch);
+        }
+        batch.apply(metrics);
+        version++;
+    }
+
+    // MODIFIES: MetricsContext
+    // EFFECTS: Deactivate the metrics of every assigned WorkoutPlan under its day's context
+    //          The assignments themselves are left unchanged
+    public void deactivateAllMetrics() {
+        for (int i = 0; i < DAYS.length; i++) {
+            schedule[i].deactivateMetrics(DAYS[i], metrics);
+        }
+        version++;
+    }
+
+    // MODIFIES: this, other, MetricsContext
+    // EFFECTS: Replace this schedule's plans with other's in one step: deactivate this schedule's metrics, take
+    //          other's plans (other's metrics are deactivated and its days reset to rest days), activate them in
+    //          this schedule's MetricsContext, and publish RELOADED
+    //          Used to swap in a schedule that was loaded off the event dispatch thread
+    //          Throw IllegalArgumentException if other is null or this schedule
+    public void replaceContents(WeeklySchedule other) {
+        if (other == null || other == this) {
+            throw new IllegalArgumentException("Cannot replace contents with null or this schedule");
+        }
+        deactivateAllMetrics();
+        other.deactivateAllMetrics();
+        for (int i = 0; i < DAYS.length; i++) {
+            schedule[i] = other.schedule[i];
+        }
+        other.initializeSchedule();
+        other.publish(ChangeKind.RELOADED, null, -1);
+        activateAllMetrics();
+        publish(ChangeKind.RELOADED, null, -1);
+        EventLog.getInstance().logEvent(new Event("WeeklySchedule contents replaced"));
+    }
+
+    // EFFECTS: Return the MetricsContext this schedule activates its metrics in
+    public MetricsContext getMetricsContext() {
+        return metrics;
+    }
+
+    // EFFECTS: Return this schedule's version, which changes whenever a day is set or cleared, its metrics are
+    //          activated or deactivated, or it is replaced by fromJson (and at no other time)
+    public int getVersion() {
+        return version;
+    }
+
+    // EFFECTS: Return the bus on which this schedule publishes its changes: SCHEDULED with the new plan and its
+    //          day index whenever a day is set or cleared, and RELOADED when it is replaced by fromJson
+    public ChangeBus<WorkoutPlan> getChanges() {
+        if (changes == null) {
+            changes = new ChangeBus<WorkoutPlan>(this);
+        }
+        return changes;
+    }
+
+    // HELPER: for setScheduleForDay, clearScheduleForDay, replaceContents, fromJson
+    // EFFECTS: Publish a change of the given kind to workoutPlan at dayIndex, if anything has subscribed
+    private void publish(ChangeKind kind, WorkoutPlan workoutPlan, int dayIndex) {
+        if (changes != null) {
+            changes.publish(kind, workoutPlan, dayIndex);
+        }
+    }
+
     // EFFECTS: Return list of all workouts and rest days assigned to each day of the week
     public List<WorkoutPlan> getWeeklySchedule() {
         List<WorkoutPlan> scheduleList = new ArrayList<WorkoutPlan>();
@@ -77,6 +177,15 @@ public class WeeklySchedule implements Writable {
         return scheduleList;
     }
 
+    // EFFECTS: Return the name of the day at dayIndex (0 = "Monday", 6 = "Sunday")
+    //          Throw IllegalArgumentException if dayIndex is not in range [0,6]
+    public static String getDayName(int dayIndex) {
+        if (dayIndex < 0 || dayIndex > 6) {
+            throw new IllegalArgumentException();
+        }
+        return DAYS[dayIndex];
+    }
+
     // EFFECTS: Return the WorkoutPlan at this WeeklySchedule's dayIndex
     //          Throw IllegalArgumentException if dayIndex is not in range [0,6]
     public WorkoutPlan getScheduleForDay(int dayIndex) {
@@ -99,7 +208,7 @@ public class WeeklySchedule implements Writable {
         return summary.toString();
     }
 
-    // HELPER: for WeeklySchedule, fromJson
+    // HELPER: for WeeklySchedule, replaceContents, fromJson
     // EFFECTS: Initialize this WeeklySchedule with RestDays for each day in the schedule week
     private void initializeSchedule() {
         // Initialize with rest days
@@ -110,11 +219,21 @@ public class WeeklySchedule implements Writable {
 
     @Override
     public JSONObject toJson() {
+        return toJson(getWeeklySchedule());
+    }
+
+    // EFFECTS: Return a JSON representation (as toJson) of snapshot, a list of the week's plans from
+    //          getWeeklySchedule; only plan names are written, so snapshot may be serialized on any thread
+    //          Throw IllegalArgumentException if snapshot does not hold one plan per day of the week
+    public static JSONObject toJson(List<WorkoutPlan> snapshot) {
+        if (snapshot == null || snapshot.size() != DAYS.length) {
+            throw new IllegalArgumentException("A schedule snapshot must hold one plan per day of the week");
+        }
         JSONObject json = new JSONObject();
         JSONArray scheduleArray = new JSONArray();
 
         for (int i = 0; i < DAYS.length; i++) {
-            JSONObject dayJson = createDayJson(i);
+            JSONObject dayJson = createDayJson(i, snapshot.get(i));
             scheduleArray.put(dayJson);
         }
         json.put("schedule", scheduleArray);
@@ -126,9 +245,8 @@ public class WeeklySchedule implements Writable {
     // EFFECTS: Create a JSON object for the given day index containing:
     //          1. The day index (0-6)
     //          2. The workout name (null if default RestDay)
-    private JSONObject createDayJson(int dayIndex) {
+    private static JSONObject createDayJson(int dayIndex, WorkoutPlan plan) {
         JSONObject dayJson = new JSONObject();
-        WorkoutPlan plan = schedule[dayIndex];
         
         dayJson.put("day", dayIndex);
         dayJson.put("workoutName", plan.getName()); // WorkoutPlan objects have unique names (WorkoutLibrary enforces)
@@ -137,8 +255,10 @@ public class WeeklySchedule implements Writable {
     }
 
     // REQUIRES: toJson's output is not modified to this program's persistence is not modified
-    // MODIFIES: this
+    // MODIFIES: this, MetricsContext
     // EFFECTS: Reoncstruct this WeeklySchedule using the WorkoutPlan name and the day index (0-6)
+    //          Metrics of the previous assignments are deactivated; metrics of the loaded assignments are
+    //          activated in a single batch once every day has been decoded
     // NOTE: The REQUIRES clause is necessary for fromJson to function correctly. However,  
     //       there is extensive error handling, exception throwing, and default value 
     //       employing for missing or corrupted fields/data structures. Ultimately, even if 
@@ -152,14 +272,19 @@ public class WeeklySchedule implements Writable {
         }
         WorkoutLibrary workoutLibrary = (WorkoutLibrary) data;
         
+        deactivateAllMetrics();
         initializeSchedule();
+        version++;
 
         if (json == null || !json.has("schedule")) {
+            publish(ChangeKind.RELOADED, null, -1);
             return;
         }
 
         JSONArray scheduleArray = json.getJSONArray("schedule");
         reconstructSchedule(scheduleArray, workoutLibrary);
+        activateAllMetrics();
+        publish(ChangeKind.RELOADED, null, -1);
         EventLog.getInstance().logEvent(new Event("WeeklySchedule deserialized from JSON"));
     }
 
@@ -228,13 +353,14 @@ public class WeeklySchedule implements Writable {
 
     // HELPER: for reconstructDay
     // MODIFIES: this
-    // EFFECTS: Set workout from workoutLibrary for the specified day
+    // EFFECTS: Set workout from workoutLibrary for the specified day without activating its metrics
+    //          (fromJson activates the whole week at once)
     //          Maintain default rest day if workout not found
     private void setWorkoutForDay(int day, String workoutName, WorkoutLibrary workoutLibrary) {
         try {
             WorkoutPlan workout = workoutLibrary.getWorkout(workoutName);
             if (workout != null) {
-                setScheduleForDay(day, workout);
+                schedule[day] = workout;
             }
         } catch (IllegalArgumentException e) {
             // Keep default RestdDay if workout not found
@@ -0,0 +1,245 @@
+package model.workout;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import model.association.ExerciseAssociator;
+
+/**
+ * REPRESENTS: one athlete's training load over time for every ExerciseAssociator (Muscle and Equipment) they use
+ *
+ * USED BY:
+ *      1. Coaches monitoring injury risk across many athletes (one WorkloadModel per athlete)
+ *      2. Logging each completed session, which feeds it the session's associator metrics
+ *
+ * PURPOSE: Keep exponentially weighted acute (7-day) and chronic (28-day) loads of every valid metric
+ *          (i.e. totalSets, totalReps, totalDuration) per associator, and flag risky acute:chronic ratios
+ *          - Recording a session is O(1) per associator it uses: the stored loads are decayed by the days
+ *            since they were last updated, then the session's load is added (daily EWMA with
+ *            lambda = 2 / (days + 1))
+ *          - Because the average is linear, a session recorded late (for an earlier day) is folded in
+ *            exactly, by decaying only its own contribution
+ *          - Reading loads as of a later day decays them without modifying anything
+ *          No history is kept or rescanned
+ *
+ * NOTE: Ratio bands follow the common acute:chronic guidance: below 0.8 undertrained, 0.8-1.3 optimal,
+ *       1.3-1.5 elevated, above 1.5 high risk. Until an associator has CHRONIC_DAYS of history its chronic load
+ *       is not yet meaningful, so it is reported as having insufficient data rather than flagged
+ *
+ * MUTABILITY: Mutable
+ */
+public class WorkloadModel {
+    public static final int ACUTE_DAYS = 7;
+    public static final int CHRONIC_DAYS = 28;
+
+    public static final String INSUFFICIENT_DATA = "Insufficient data";
+    public static final String UNDERTRAINED = "Undertrained";
+    public static final String OPTIMAL = "Optimal";
+    public static final String ELEVATED = "Elevated";
+    public static final String HIGH_RISK = "High risk";
+
+    private static final double UNDERTRAINED_BELOW = 0.8;
+    private static final double ELEVATED_ABOVE = 1.3;
+    private static final double HIGH_RISK_ABOVE = 1.5;
+    private static final double ACUTE_LAMBDA = 2.0 / (ACUTE_DAYS + 1);
+    private static final double CHRONIC_LAMBDA = 2.0 / (CHRONIC_DAYS + 1);
+
+    private final Map<ExerciseAssociator, Load> loads;
+
+    // EFFECTS: Create a workload model with no sessions recorded
+    public WorkloadModel() {
+        loads = new IdentityHashMap<ExerciseAssociator, Load>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Record plan as completed on date, adding its metrics to every associator it uses
+    //          (counted as a WeeklySchedule would count them); return the number of associators updated
+    //          Throw IllegalArgumentException if date or plan is null
+    public int recordSession(LocalDate date, WorkoutPlan plan) {
+        if (date == null || plan == null) {
+            throw new IllegalArgumentException("Date and plan cannot be null.");
+        }
+        Map<ExerciseAssociator, double[]> metrics = PlanMetrics.compute(plan);
+        if (metrics == null) {
+            return 0;
+        }
+        for (Map.Entry<ExerciseAssociator, double[]> entry : metrics.entrySet()) {
+            record(date.toEpochDay(), entry.getKey(), entry.getValue());
+        }
+        return metrics.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Record metrics (in ExerciseAssociator format; invalid metrics are ignored) as performed on date
+    //          by associator
+    //          Throw IllegalArgumentException if any argument is null
+    public void recordMetrics(LocalDate date, ExerciseAssociator associator, Map<String, Double> metrics) {
+        if (date == null || associator == null || metrics == null) {
+            throw new IllegalArgumentException("Date, associator, and metrics cannot be null.");
+        }
+        List<String> metricNames = ExerciseAssociator.getMetricNames();
+        double[] values = new double[metricNames.size()];
+        for (Map.Entry<String, Double> entry : ExerciseAssociator.filterValidMetrics(metrics).entrySet()) {
+            values[metricNames.indexOf(entry.getKey())] = entry.getValue();
+        }
+        record(date.toEpochDay(), associator, values);
+    }
+
+    // EFFECTS: Return associator's exponentially weighted 7-day load of metric as of asOf
+    //          (0 if it has none recorded; see getLoadDay for asOf before its latest session)
+    //          Throw IllegalArgumentException if asOf is null or metric is not a valid metric
+    public double getAcuteLoad(ExerciseAssociator associator, String metric, LocalDate asOf) {
+        return decayedLoad(associator, metric, asOf, true);
+    }
+
+    // EFFECTS: Return associator's exponentially weighted 28-day load of metric as of asOf
+    //          (0 if it has none recorded; see getLoadDay for asOf before its latest session)
+    //          Throw IllegalArgumentException if asOf is null or metric is not a valid metric
+    public double getChronicLoad(ExerciseAssociator associator, String metric, LocalDate asOf) {
+        return decayedLoad(associator, metric, asOf, false);
+    }
+
+    // EFFECTS: Return associator's acute:chronic load ratio of metric as of asOf (0 if its chronic load is 0)
+    //          Throw IllegalArgumentException if asOf is null or metric is not a valid metric
+    public double getAcuteChronicRatio(ExerciseAssociator associator, String metric, LocalDate asOf) {
+        double chronic = getChronicLoad(associator, metric, asOf);
+        return (chronic > 0) ? getAcuteLoad(associator, metric, asOf) / chronic : 0.0;
+    }
+
+    // EFFECTS: Return the risk band of associator's acute:chronic ratio of metric as of asOf: INSUFFICIENT_DATA
+    //          if its first session was fewer than CHRONIC_DAYS days before asOf (or it has none), otherwise
+    //          UNDERTRAINED, OPTIMAL, ELEVATED, or HIGH_RISK
+    //          Throw IllegalArgumentException if asOf is null or metric is not a valid metric
+    public String getRiskLevel(ExerciseAssociator associator, String metric, LocalDate asOf) {
+        double ratio = getAcuteChronicRatio(associator, metric, asOf);
+        Load load = loads.get(associator);
+        if (load == null || asOf.toEpochDay() - load.firstDay + 1 < CHRONIC_DAYS) {
+            return INSUFFICIENT_DATA;
+        }
+        if (ratio > HIGH_RISK_ABOVE) {
+            return HIGH_RISK;
+        } else if (ratio > ELEVATED_ABOVE) {
+            return ELEVATED;
+        }
+        return (ratio < UNDERTRAINED_BELOW) ? UNDERTRAINED : OPTIMAL;
+    }
+
+    // EFFECTS: Return every tracked associator whose risk level of metric as of asOf is ELEVATED or HIGH_RISK,
+    //          mapped to that level, highest ratio first
+    //          Throw IllegalArgumentException if asOf is null or metric is not a valid metric
+    public Map<ExerciseAssociator, String> getFlagged(String metric, LocalDate asOf) {
+        List<ExerciseAssociator> flagged = new ArrayList<ExerciseAssociator>();
+        for (ExerciseAssociator associator : loads.keySet()) {
+            String level = getRiskLevel(associator, metric, asOf);
+            if (level.equals(ELEVATED) || level.equals(HIGH_RISK)) {
+                flagged.add(associator);
+            }
+        }
+        flagged.sort((first, second) -> Double.compare(getAcuteChronicRatio(second, metric, asOf),
+                getAcuteChronicRatio(first, metric, asOf)));
+        Map<ExerciseAssociator, String> result = new LinkedHashMap<ExerciseAssociator, String>();
+        for (ExerciseAssociator associator : flagged) {
+            result.put(associator, getRiskLevel(associator, metric, asOf));
+        }
+        return result;
+    }
+
+    // EFFECTS: Return the latest day associator's loads were updated for, or null if it has none recorded
+    //          Loads read as of an earlier day are reported as of this day (history is not kept)
+    public LocalDate getLoadDay(ExerciseAssociator associator) {
+        Load load = loads.get(associator);
+        return (load != null) ? LocalDate.ofEpochDay(load.lastDay) : null;
+    }
+
+    // EFFECTS: Return every associator with a recorded session
+    public Set<ExerciseAssociator> getTrackedAssociators() {
+        return Collections.unmodifiableSet(loads.keySet());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Forget every recorded session
+    public void clear() {
+        loads.clear();
+    }
+
+    // HELPER: for recordSession, recordMetrics
+    // MODIFIES: this
+    // EFFECTS: Fold values (indexed as ExerciseAssociator.getMetricNames()) performed on day into associator's
+    //          loads: if day is the latest, decay the stored loads up to it and add the new load; if it is
+    //          earlier, add the new load already decayed to the latest day
+    private void record(long day, ExerciseAssociator associator, double[] values) {
+        Load load = loads.get(associator);
+        if (load == null) {
+            load = new Load(day, values.length);
+            loads.put(associator, load);
+        }
+        double acuteWeight = ACUTE_LAMBDA;
+        double chronicWeight = CHRONIC_LAMBDA;
+        if (day > load.lastDay) {
+            load.decayTo(day);
+        } else {
+            acuteWeight *= Math.pow(1 - ACUTE_LAMBDA, load.lastDay - day);
+            chronicWeight *= Math.pow(1 - CHRONIC_LAMBDA, load.lastDay - day);
+        }
+        for (int i = 0; i < values.length; i++) {
+            load.acute[i] += acuteWeight * values[i];
+            load.chronic[i] += chronicWeight * values[i];
+        }
+        load.firstDay = Math.min(load.firstDay, day);
+    }
+
+    // EFFECTS: Return associator's acute (or chronic) load of metric decayed to asOf
+    //          Throw IllegalArgumentException if asOf is null or metric is not a valid metric
+    private double decayedLoad(ExerciseAssociator associator, String metric, LocalDate asOf, boolean acute) {
+        int metricIndex = ExerciseAssociator.getMetricNames().indexOf(metric);
+        if (metricIndex < 0) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        if (asOf == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        Load load = loads.get(associator);
+        if (load == null) {
+            return 0.0;
+        }
+        long days = Math.max(0, asOf.toEpochDay() - load.lastDay);
+        return acute ? load.acute[metricIndex] * Math.pow(1 - ACUTE_LAMBDA, days)
+                : load.chronic[metricIndex] * Math.pow(1 - CHRONIC_LAMBDA, days);
+    }
+
+    /**
+     * REPRESENTS: one associator's acute and chronic loads per metric, as of lastDay
+     */
+    private static class Load {
+        private final double[] acute;
+        private final double[] chronic;
+        private long lastDay; // epoch day the loads are current to
+        private long firstDay; // epoch day of the earliest recorded session
+
+        // EFFECTS: Create zero loads of numMetrics metrics current to day
+        private Load(long day, int numMetrics) {
+            acute = new double[numMetrics];
+            chronic = new double[numMetrics];
+            lastDay = day;
+            firstDay = day;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Decay every load from lastDay to the later day, with no load on the days between
+        private void decayTo(long day) {
+            double acuteDecay = Math.pow(1 - ACUTE_LAMBDA, day - lastDay);
+            double chronicDecay = Math.pow(1 - CHRONIC_LAMBDA, day - lastDay);
+            for (int i = 0; i < acute.length; i++) {
+                acute[i] *= acuteDecay;
+                chronic[i] *= chronicDecay;
+            }
+            lastDay = day;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package model.workout;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import model.association.AssociatorBatch;
+import model.association.MetricsContext;
+import model.change.ChangeBus;
+import model.change.ChangeKind;
 import model.exercise.Exercise;
 import model.log.Event;
 import model.log.EventLog;
+import utility.ContentHasher;
 
 /**
  * REPRESENTS: a structured sequence of exercises performed in a specific order
@@ -17,12 +23,16 @@ import model.log.EventLog;
  * 
  * PURPOSE: Defines a workout routine with a modifiable list of exercises
  *          Allows adding and removing exercises after creation
+ *          Provide a canonical content hash (its exercises' content hashes, in order; NOT its name) so workouts
+ *          with identical exercise lists can be detected and shared
+ *          Publish each change to its exercise list on its ChangeBus (created on first use)
  * 
  * MUTABILITY: Mutable
  */
 public class Workout implements WorkoutPlan {
     private String workoutName;
     private List<Exercise> exercises;
+    private ChangeBus<Exercise> changes;
 
     // EFFECTS: Create a workout with the given name and exercises
     //          If workoutName is null or exercises is null or contains null elements,
@@ -59,6 +69,33 @@ public class Workout implements WorkoutPlan {
         }                                       //        all ill-advised metrics or metric values 
     }
 
+    // MODIFIES: metrics
+    // EFFECTS: Add each exercise's metrics from its equipment and muscle groups under the given context in metrics
+    @Override
+    public void activateMetrics(String context, MetricsContext metrics) {
+        for (Exercise exercise : exercises) {
+            exercise.activateMetrics(context, metrics);
+        }
+    }
+
+    // MODIFIES: metrics
+    // EFFECTS: Remove each exercise's metrics from its equipment and muscle groups under the given context in metrics
+    @Override
+    public void deactivateMetrics(String context, MetricsContext metrics) {
+        for (Exercise exercise : exercises) {
+            exercise.deactivateMetrics(context, metrics);
+        }
+    }
+
+    // MODIFIES: batch
+    // EFFECTS: Queue each exercise's metrics for its equipment and muscle groups under the given context
+    @Override
+    public void collectMetrics(String context, AssociatorBatch batch) {
+        for (Exercise exercise : exercises) {
+            exercise.collectMetrics(context, batch);
+        }
+    }
+
     // EFFECTS: Return this workout's name
     @Override
     public String getName() {
@@ -81,17 +118,65 @@ public class Workout implements WorkoutPlan {
         return new ArrayList<Exercise>(exercises); // Defensive copy
     }
 
+    // EFFECTS: Return the bitmask (by Muscle ordinal) of every muscle targeted by this workout's exercises
+    public BitSet getTargetedMuscleMask() {
+        BitSet mask = new BitSet();
+        for (Exercise exercise : exercises) {
+            if (exercise.getMusclesTargeted() != null) {
+                exercise.getMusclesTargeted().addToMask(mask);
+            }
+        }
+        return mask;
+    }
+
+    // EFFECTS: Return true if this workout and other target at least one common muscle
+    //          Return false if other is null
+    public boolean overlapsMuscles(Workout other) {
+        return other != null && getTargetedMuscleMask().intersects(other.getTargetedMuscleMask());
+    }
+
+    // EFFECTS: Return the canonical hash of this workout's content: the content hash of each of its exercises,
+    //          in order (see Exercise.contentHash); its name is NOT part of its content
+    //          Computed from the current exercises on every call, as workouts are mutable
+    public long contentHash() {
+        ContentHasher hasher = new ContentHasher().add((long) exercises.size());
+        for (Exercise exercise : exercises) {
+            hasher.add(exercise.contentHash());
+        }
+        return hasher.getHash();
+    }
+
+    // EFFECTS: Return true if other's exercises have the same content as this workout's, in the same order
+    //          (see contentHash), whatever the workouts' or exercises' names; return false if other is null
+    public boolean hasSameContent(Workout other) {
+        if (other == null || other.exercises.size() != exercises.size()) {
+            return false;
+        }
+        for (int i = 0; i < exercises.size(); i++) {
+            if (!exercises.get(i).hasSameContent(other.exercises.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     // MODIFIES: this
     // EFFECTS: Remove the given Exercise by exerciseName from this Workout
     //          Do nothing if no such Exercise is found
     public void removeExercise(String exerciseName) {
         List<Exercise> updatedExercises = new ArrayList<Exercise>();
+        List<Exercise> removedExercises = new ArrayList<Exercise>();
         for (Exercise exercise : exercises) {
             if (!exercise.getName().equals(exerciseName)) {
                 updatedExercises.add(exercise);
+            } else {
+                removedExercises.add(exercise);
             }
         }
         exercises = updatedExercises;
+        for (Exercise removed : removedExercises) {
+            publish(ChangeKind.REMOVED, removed);
+        }
         
         // Log exercise removal
         EventLog.getInstance().logEvent(new Event("Exercise '" 
@@ -114,12 +199,29 @@ public class Workout implements WorkoutPlan {
         }
         
         exercises.add(exercise);
+        publish(ChangeKind.ADDED, exercise);
         
         // Log exercise addition
         EventLog.getInstance().logEvent(new Event("Exercise '" 
                 + exercise.getName() + "' added to workout '" + workoutName + "'"));
     }
 
+    // MODIFIES: this
+    // EFFECTS: Insert the given Exercise at position index of this Workout's exercises
+    //          Unlike addExercise, an exercise with the same name is not checked for, so exercises removed together
+    //          by removeExercise can each be put back where they were (see model.history.Commands)
+    //          If exercise is null or index is not in range [0, number of exercises], throw IllegalArgumentException
+    public void insertExercise(int index, Exercise exercise) {
+        if (exercise == null || index < 0 || index > exercises.size()) {
+            throw new IllegalArgumentException("Cannot insert null exercise or insert out of range.");
+        }
+        exercises.add(index, exercise);
+        publish(ChangeKind.ADDED, exercise);
+
+        EventLog.getInstance().logEvent(new Event("Exercise '"
+                + exercise.getName() + "' inserted into workout '" + workoutName + "'"));
+    }
+
     // MODIFIES: this
     // EFFECTS: Set the exercises for this workout to the given list
     //          If exercises is null or contains null elements, throw IllegalArgumentException
@@ -132,6 +234,7 @@ public class Workout implements WorkoutPlan {
         }
         
         this.exercises = new ArrayList<Exercise>(exercises);
+        publish(ChangeKind.RELOADED, null);
         
         // Log exercise list modification with exercise names
         // Demonstration of exercise name listing
@@ -147,6 +250,23 @@ public class Workout implements WorkoutPlan {
                 + exercises.size() + " exercises: " + exerciseNames));
     }
 
+    // EFFECTS: Return the bus on which this workout publishes changes to its exercise list:
+    //          ADDED and REMOVED exercises, and RELOADED when the whole list is replaced
+    public ChangeBus<Exercise> getChanges() {
+        if (changes == null) {
+            changes = new ChangeBus<Exercise>(this);
+        }
+        return changes;
+    }
+
+    // HELPER: for removeExercise, addExercise, insertExercise, setExercises
+    // EFFECTS: Publish a change of the given kind to exercise, if anything has subscribed
+    private void publish(ChangeKind kind, Exercise exercise) {
+        if (changes != null) {
+            changes.publish(kind, exercise, -1);
+        }
+    }
+
     // EFFECTS: Calculate cumulative metrics across all exercises
     //          Initialize all possible metric types to 0.0
     //          Sum corresponding metrics from each exercise
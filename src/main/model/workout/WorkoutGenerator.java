@@ -0,0 +1,393 @@
+package model.workout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.muscle.MuscleGroup;
+
+/**
+ * REPRESENTS: a generator of workouts from an ExerciseLibrary that meet weekly volume targets
+ *
+ * USED BY:
+ *      1. Users who want workouts assembled for them from their stored exercises
+ *
+ * PURPOSE: Assign library exercises to the workouts of a week so every targeted MuscleGroup's volume
+ *          (the metric convertInfoToAssociatorFormat reports, counted as MuscleGroup.getGroupMetrics counts it)
+ *          is as close to its target as possible, with no workout exceeding its time budget
+ *          - Each restart builds a week greedily (repeatedly making the single best addition), then improves it
+ *            by local search: random additions, removals, swaps, and moves between workouts, keeping only those
+ *            that lower the error (moves between workouts change no volume but free time for later moves)
+ *          - Restarts are independent, differently seeded, and run in parallel; the best week is kept
+ *          - Scoring is allocation-free: each exercise's metric value, duration, and the targets it counts
+ *            towards (a bitset) are computed once, and a move's change in error is computed from the running
+ *            per-target volumes by visiting only the targets it affects, so millions of moves are evaluated
+ *            in seconds
+ *          Results depend only on the seed, not on thread timing
+ *
+ * MUTABILITY: Immutable (reads the ExerciseLibrary as it is when generate is called)
+ */
+public class WorkoutGenerator {
+    private static final int DEFAULT_RESTARTS = 16;
+    private static final int MOVES_PER_RESTART = 250000;
+    private static final int STALL_LIMIT = 25000; // moves without an improvement before a restart stops early
+    private static final double EPSILON = 1e-12;
+
+    private final ExerciseLibrary library;
+    private final int parallelism;
+    private final int restarts;
+    private final long seed;
+
+    // EFFECTS: Create a generator over library using every available processor and the default restarts and seed
+    //          Throw IllegalArgumentException if library is null
+    public WorkoutGenerator(ExerciseLibrary library) {
+        this(library, Runtime.getRuntime().availableProcessors(), DEFAULT_RESTARTS, 0L);
+    }
+
+    // EFFECTS: Create a generator over library searching restarts times with parallelism threads, seeded by seed
+    //          Throw IllegalArgumentException if library is null, or parallelism or restarts is not positive
+    public WorkoutGenerator(ExerciseLibrary library, int parallelism, int restarts, long seed) {
+        if (library == null || parallelism < 1 || restarts < 1) {
+            throw new IllegalArgumentException("Library cannot be null, and parallelism and restarts must be positive.");
+        }
+        this.library = library;
+        this.parallelism = parallelism;
+        this.restarts = restarts;
+        this.seed = seed;
+    }
+
+    // EFFECTS: Return the best workouts found for targets, built from the library's exercises that fit the time
+    //          budget and count towards at least one target; each exercise appears at most once per workout
+    //          Throw IllegalArgumentException if targets is null
+    public GeneratedWorkouts generate(VolumeTargets targets) {
+        if (targets == null) {
+            throw new IllegalArgumentException("Targets cannot be null.");
+        }
+        Problem problem = new Problem(library, targets);
+        Problem.Worker[] results = new Problem.Worker[restarts];
+        SharedPools.run(parallelism, () -> IntStream.range(0, restarts).parallel().forEach(restart -> {
+            results[restart] = problem.solve(new SplittableRandom(seed + restart));
+        }), "Workout generation");
+        Problem.Worker best = results[0];
+        for (Problem.Worker result : results) {
+            if (result.error < best.error - EPSILON) {
+                best = result;
+            }
+        }
+        return problem.createResult(best);
+    }
+
+    /**
+     * REPRESENTS: one generation: the candidate exercises' values, durations, and target bitsets, and the targets
+     */
+    private static class Problem {
+        private final List<MuscleGroup> groups;
+        private final List<Exercise> exercises = new ArrayList<Exercise>();
+        private final double[] targetVolumes;
+        private final int numWorkouts;
+        private final double budget;
+        private double[] values; // exercise -> its metric value
+        private double[] durations; // exercise -> its duration in seconds
+        private long[][] masks; // exercise -> targets it counts towards, as a bitset over target indexes
+
+        // EFFECTS: Prepare a generation from library's exercises for targets
+        private Problem(ExerciseLibrary library, VolumeTargets targets) {
+            this.groups = new ArrayList<MuscleGroup>(targets.getTargets().keySet());
+            this.targetVolumes = new double[groups.size()];
+            for (int t = 0; t < groups.size(); t++) {
+                targetVolumes[t] = targets.getTargets().get(groups.get(t));
+            }
+            this.numWorkouts = targets.getNumWorkouts();
+            this.budget = targets.getMaximumWorkoutDuration();
+            List<Exercise> all = new ArrayList<Exercise>(library.getAllExercises().values());
+            all.sort(Comparator.comparing(Exercise::getName));
+            List<Double> valueList = new ArrayList<Double>();
+            List<long[]> maskList = new ArrayList<long[]>();
+            for (Exercise exercise : all) {
+                Double value = exercise.convertInfoToAssociatorFormat().get(targets.getMetric());
+                long[] mask = createMask(exercise.getMusclesTargeted());
+                if (value != null && value > 0 && mask != null && exercise.getDuration() <= budget) {
+                    exercises.add(exercise);
+                    valueList.add(value);
+                    maskList.add(mask);
+                }
+            }
+            values = new double[exercises.size()];
+            durations = new double[exercises.size()];
+            masks = maskList.toArray(new long[exercises.size()][]);
+            for (int e = 0; e < exercises.size(); e++) {
+                values[e] = valueList.get(e);
+                durations[e] = exercises.get(e).getDuration();
+            }
+        }
+
+        // HELPER: for Problem
+        // EFFECTS: Return the bitset of targeted groups sharing a muscle with muscles, or null if there are none
+        private long[] createMask(MuscleGroup muscles) {
+            if (muscles == null) {
+                return null;
+            }
+            long[] mask = new long[(groups.size() + 63) / 64];
+            boolean counts = false;
+            for (int t = 0; t < groups.size(); t++) {
+                if (muscles.intersects(groups.get(t))) {
+                    mask[t >> 6] |= 1L << t;
+                    counts = true;
+                }
+            }
+            return counts ? mask : null;
+        }
+
+        // EFFECTS: Return a week built greedily then improved by local search, randomized by random
+        private Worker solve(SplittableRandom random) {
+            Worker worker = new Worker(random);
+            worker.construct();
+            worker.improve();
+            worker.error = worker.computeError();
+            return worker;
+        }
+
+        // EFFECTS: Return worker's week as new Workouts (exercises in library order) with their volumes and error
+        private GeneratedWorkouts createResult(Worker worker) {
+            List<Workout> workouts = new ArrayList<Workout>();
+            for (int w = 0; w < numWorkouts; w++) {
+                int[] chosen = Arrays.copyOf(worker.slots[w], worker.numSlots[w]);
+                if (chosen.length == 0) {
+                    continue;
+                }
+                Arrays.sort(chosen);
+                List<Exercise> workoutExercises = new ArrayList<Exercise>();
+                for (int e : chosen) {
+                    workoutExercises.add(exercises.get(e));
+                }
+                workouts.add(new Workout("Generated Workout " + (workouts.size() + 1), workoutExercises));
+            }
+            Map<MuscleGroup, Double> volumes = new LinkedHashMap<MuscleGroup, Double>();
+            for (int t = 0; t < groups.size(); t++) {
+                volumes.put(groups.get(t), worker.volumes[t]);
+            }
+            return new GeneratedWorkouts(workouts, volumes, worker.error);
+        }
+
+        // EFFECTS: Return target t's squared relative miss at volume
+        private double errorOf(int t, double volume) {
+            double miss = (volume - targetVolumes[t]) / targetVolumes[t];
+            return miss * miss;
+        }
+
+        /**
+         * REPRESENTS: one restart's week: which exercises each workout holds, and the running workout durations,
+         *             per-target volumes, and error
+         */
+        private class Worker {
+            private final SplittableRandom random;
+            private final boolean[][] inWorkout; // workout -> exercise -> whether the workout holds it
+            private final int[][] slots; // workout -> the exercises it holds, in its first numSlots entries
+            private final int[] numSlots;
+            private final double[] workoutDurations;
+            private final double[] volumes;
+            private double error;
+
+            // EFFECTS: Create an empty week searched with random
+            private Worker(SplittableRandom random) {
+                this.random = random;
+                this.inWorkout = new boolean[numWorkouts][exercises.size()];
+                this.slots = new int[numWorkouts][exercises.size()];
+                this.numSlots = new int[numWorkouts];
+                this.workoutDurations = new double[numWorkouts];
+                this.volumes = new double[groups.size()];
+                this.error = computeError();
+            }
+
+            // MODIFIES: this
+            // EFFECTS: Repeatedly make the addition that lowers the error most until none does; exercises are
+            //          tried in a random order and workouts in rotation, so restarts break ties differently
+            private void construct() {
+                int[] order = new int[exercises.size()];
+                for (int e = 0; e < order.length; e++) {
+                    int swap = random.nextInt(e + 1);
+                    order[e] = order[swap];
+                    order[swap] = e;
+                }
+                for (int step = 0; ; step++) {
+                    double bestDelta = -EPSILON;
+                    int bestWorkout = -1;
+                    int bestExercise = -1;
+                    for (int i = 0; i < numWorkouts; i++) {
+                        int w = (step + i) % numWorkouts;
+                        for (int e : order) {
+                            if (canAdd(w, e)) {
+                                double delta = changeDelta(e, 1);
+                                if (delta < bestDelta) {
+                                    bestDelta = delta;
+                                    bestWorkout = w;
+                                    bestExercise = e;
+                                }
+                            }
+                        }
+                    }
+                    if (bestWorkout < 0) {
+                        return;
+                    }
+                    add(bestWorkout, bestExercise);
+                    error += bestDelta;
+                }
+            }
+
+            // MODIFIES: this
+            // EFFECTS: Try random moves until MOVES_PER_RESTART are tried or STALL_LIMIT pass without improving
+            private void improve() {
+                if (exercises.isEmpty()) {
+                    return;
+                }
+                int stalled = 0;
+                for (int move = 0; move < MOVES_PER_RESTART && stalled < STALL_LIMIT; move++) {
+                    stalled = tryMove() ? 0 : stalled + 1;
+                }
+            }
+
+            // HELPER: for improve
+            // MODIFIES: this
+            // EFFECTS: Try one random addition, removal, swap, or move between workouts in a random workout;
+            //          apply it if it is valid and lowers the error (a move between workouts is applied if valid);
+            //          return true if the error was lowered
+            private boolean tryMove() {
+                int w = random.nextInt(numWorkouts);
+                int kind = random.nextInt(4);
+                if (kind == 0) {
+                    int e = random.nextInt(exercises.size());
+                    return canAdd(w, e) && tryApply(changeDelta(e, 1), w, -1, e);
+                }
+                if (numSlots[w] == 0) {
+                    return false;
+                }
+                int slot = random.nextInt(numSlots[w]);
+                int out = slots[w][slot];
+                if (kind == 1) {
+                    return tryApply(changeDelta(out, -1), w, slot, -1);
+                } else if (kind == 2) {
+                    int in = random.nextInt(exercises.size());
+                    return !inWorkout[w][in] && workoutDurations[w] - durations[out] + durations[in] <= budget
+                            && tryApply(swapDelta(out, in), w, slot, in);
+                } else if (numWorkouts > 1) {
+                    int to = (w + 1 + random.nextInt(numWorkouts - 1)) % numWorkouts;
+                    if (canAdd(to, out)) {
+                        remove(w, slot);
+                        add(to, out);
+                    }
+                }
+                return false;
+            }
+
+            // HELPER: for tryMove
+            // MODIFIES: this
+            // EFFECTS: If delta lowers the error, remove slot (if not -1) from workout w, add exercise in (if not -1)
+            //          to it, and return true; otherwise return false
+            private boolean tryApply(double delta, int w, int slot, int in) {
+                if (delta >= -EPSILON) {
+                    return false;
+                }
+                if (slot >= 0) {
+                    remove(w, slot);
+                }
+                if (in >= 0) {
+                    add(w, in);
+                }
+                error += delta;
+                return true;
+            }
+
+            // EFFECTS: Return true if workout w does not hold exercise e and has time left for it
+            private boolean canAdd(int w, int e) {
+                return !inWorkout[w][e] && workoutDurations[w] + durations[e] <= budget;
+            }
+
+            // EFFECTS: Return the change in error from adding (sign 1) or removing (sign -1) exercise e
+            private double changeDelta(int e, int sign) {
+                double delta = 0.0;
+                for (int word = 0; word < masks[e].length; word++) {
+                    long bits = masks[e][word];
+                    while (bits != 0) {
+                        int t = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        delta += errorOf(t, volumes[t] + sign * values[e]) - errorOf(t, volumes[t]);
+                        bits &= bits - 1;
+                    }
+                }
+                return delta;
+            }
+
+            // EFFECTS: Return the change in error from replacing exercise out with exercise in
+            private double swapDelta(int out, int in) {
+                double delta = 0.0;
+                for (int word = 0; word < masks[out].length; word++) {
+                    long outBits = masks[out][word];
+                    long inBits = masks[in][word];
+                    long bits = outBits | inBits;
+                    while (bits != 0) {
+                        int bit = Long.numberOfTrailingZeros(bits);
+                        int t = (word << 6) + bit;
+                        double volume = volumes[t];
+                        if ((outBits >>> bit & 1L) != 0) {
+                            volume -= values[out];
+                        }
+                        if ((inBits >>> bit & 1L) != 0) {
+                            volume += values[in];
+                        }
+                        delta += errorOf(t, volume) - errorOf(t, volumes[t]);
+                        bits &= bits - 1;
+                    }
+                }
+                return delta;
+            }
+
+            // MODIFIES: this
+            // EFFECTS: Add exercise e to workout w, updating its duration and the target volumes
+            private void add(int w, int e) {
+                inWorkout[w][e] = true;
+                slots[w][numSlots[w]++] = e;
+                workoutDurations[w] += durations[e];
+                updateVolumes(e, 1);
+            }
+
+            // MODIFIES: this
+            // EFFECTS: Remove the exercise in slot from workout w (its last exercise takes the slot),
+            //          updating its duration and the target volumes
+            private void remove(int w, int slot) {
+                int e = slots[w][slot];
+                slots[w][slot] = slots[w][--numSlots[w]];
+                inWorkout[w][e] = false;
+                workoutDurations[w] -= durations[e];
+                updateVolumes(e, -1);
+            }
+
+            // HELPER: for add, remove
+            // MODIFIES: this
+            // EFFECTS: Add sign times exercise e's value to every target it counts towards
+            private void updateVolumes(int e, int sign) {
+                for (int word = 0; word < masks[e].length; word++) {
+                    long bits = masks[e][word];
+                    while (bits != 0) {
+                        volumes[(word << 6) + Long.numberOfTrailingZeros(bits)] += sign * values[e];
+                        bits &= bits - 1;
+                    }
+                }
+            }
+
+            // EFFECTS: Return the error of the current volumes, summed afresh
+            private double computeError() {
+                double total = 0.0;
+                for (int t = 0; t < volumes.length; t++) {
+                    total += errorOf(t, volumes[t]);
+                }
+                return total;
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package model.workout;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -9,11 +10,17 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import model.change.ChangeBus;
+import model.change.ChangeKind;
+import model.change.ModelChange;
+import model.change.ModelChangeListener;
 import model.exercise.Exercise;
 import model.exercise.ExerciseLibrary;
 import model.log.Event;
 import model.log.EventLog;
 import persistence.Writable;
+import utility.NameSearchIndex;
+import utility.PersistentHashMap;
 
 /**
  * REPRESENTS: a collection of workout plans (both workouts and rest days)
@@ -25,14 +32,67 @@ import persistence.Writable;
  * PURPOSE: Stores and manages a set of named workout plans
  *          Ensures each workout has a unique name
  *          Allows retrieval and removal of stored workouts
+ *          Keeps a NameSearchIndex of workout names for prefix, substring, and typo-tolerant search
+ *          Keeps an index of Workouts by content hash (see Workout.contentHash) so a workout with the same
+ *          exercise list as a stored one is detected on insert, and can be shared instead of stored twice
+ *          Publish each addition and removal (and RELOADED on load) on its ChangeBus, plus MODIFIED when a stored
+ *          Workout's exercises change, so views can patch themselves rather than re-query getAllWorkouts
+ *          Keeps its plans by name in a PersistentHashMap, so each addition or removal makes a new version
+ *          sharing structure with the last, and getWorkoutsByName hands out the current version as a snapshot
+ *          in constant time rather than copying it
+ *
+ * NOTE: The library subscribes to each stored Workout's ChangeBus, so a Workout edited after it is added is
+ *       re-indexed under its new content hash immediately
+ *       A snapshot from getWorkoutsByName never gains or loses plans, but the Workouts in it are still mutable
  * 
  * MUTABILITY: Mutable
  */
 public class WorkoutLibrary implements Writable {
-    private Map<String, WorkoutPlan> library;
+    private volatile PersistentHashMap<String, WorkoutPlan> library; // Replaced (never mutated) on every change
+    private NameSearchIndex nameIndex;
+    private Map<Long, List<Workout>> byContent; // content hash when added -> workouts with it, in insertion order
+    private Map<Workout, Long> indexedHashes; // workout -> the content hash it is indexed under
+    private ChangeBus<WorkoutPlan> changes;
+    private final ModelChangeListener<Exercise> workoutWatcher = this::workoutChanged;
 
     public WorkoutLibrary() {
-        library = new HashMap<String, WorkoutPlan>();
+        createIndexes();
+    }
+
+    // HELPER: for WorkoutLibrary, replaceContents
+    // MODIFIES: this
+    // EFFECTS: Give this library a new, empty library map and indexes
+    private void createIndexes() {
+        library = PersistentHashMap.empty();
+        nameIndex = new NameSearchIndex();
+        byContent = new HashMap<Long, List<Workout>>();
+        indexedHashes = new IdentityHashMap<Workout, Long>();
+    }
+
+    // MODIFIES: this, other
+    // EFFECTS: Replace this library's workout plans and indexes with other's in one step (no re-indexing),
+    //          leave other empty, and publish RELOADED; the moved Workouts are watched by this library instead
+    //          Used to swap in a library that was loaded off the event dispatch thread
+    //          Throw IllegalArgumentException if other is null or this library
+    public void replaceContents(WorkoutLibrary other) {
+        if (other == null || other == this) {
+            throw new IllegalArgumentException("Cannot replace contents with null or this library");
+        }
+        for (Workout workout : indexedHashes.keySet()) {
+            workout.getChanges().unsubscribe(workoutWatcher);
+        }
+        for (Workout workout : other.indexedHashes.keySet()) {
+            workout.getChanges().unsubscribe(other.workoutWatcher);
+            workout.getChanges().subscribe(workoutWatcher);
+        }
+        library = other.library;
+        nameIndex = other.nameIndex;
+        byContent = other.byContent;
+        indexedHashes = other.indexedHashes;
+        other.createIndexes();
+        publish(ChangeKind.RELOADED, null);
+        EventLog.getInstance().logEvent(new Event("WorkoutLibrary contents replaced with "
+                + library.size() + " workouts"));
     }
 
     // MODIFIES: this
@@ -43,7 +103,10 @@ public class WorkoutLibrary implements Writable {
         if (workoutPlan == null || containsWorkout(workoutPlan.getName())) {
             throw new IllegalArgumentException();
         } else {
-            library.put(workoutPlan.getName(), workoutPlan);
+            library = library.with(workoutPlan.getName(), workoutPlan);
+            nameIndex.add(workoutPlan.getName());
+            indexContent(workoutPlan);
+            publish(ChangeKind.ADDED, workoutPlan);
             EventLog.getInstance().logEvent(new Event("Workout '" 
                     + workoutPlan.getName() + "' added to WorkoutLibrary"));
         }
@@ -57,7 +120,11 @@ public class WorkoutLibrary implements Writable {
         if (workoutName == null || !containsWorkout(workoutName)) {
             throw new IllegalArgumentException();
         } else {
-            library.remove(workoutName);
+            WorkoutPlan removed = library.get(workoutName);
+            library = library.without(workoutName);
+            unindexContent(removed);
+            nameIndex.remove(workoutName);
+            publish(ChangeKind.REMOVED, removed);
             EventLog.getInstance().logEvent(new Event("Workout '" + workoutName + "' removed from WorkoutLibrary"));
         }
     }
@@ -75,13 +142,70 @@ public class WorkoutLibrary implements Writable {
 
     // EFFECTS: Return a list of all created and stored workout plans
     public List<WorkoutPlan> getAllWorkouts() {
-        ArrayList<WorkoutPlan> workouts = new ArrayList<WorkoutPlan>(); // Defensive copy
-        
-        for (Map.Entry<String, WorkoutPlan> workoutPair : library.entrySet()) {
-            workouts.add(workoutPair.getValue());
+        return new ArrayList<WorkoutPlan>(library.values()); // Defensive copy
+    }
+
+    // EFFECTS: Return all stored workout plans by name, as a read-only snapshot taken in constant time
+    //          (later additions to and removals from this library are not reflected in it)
+    public Map<String, WorkoutPlan> getWorkoutsByName() {
+        return library; // Immutable version: no defensive copy needed
+    }
+
+    // EFFECTS: Return up to limit workout plans whose names best match query (ignoring case), ranked as
+    //          exact, prefix, word prefix, substring, then near-miss matches (see NameSearchIndex.search)
+    public List<WorkoutPlan> searchWorkouts(String query, int limit) {
+        List<WorkoutPlan> results = new ArrayList<WorkoutPlan>();
+        for (String name : nameIndex.search(query, limit)) {
+            results.add(library.get(name));
+        }
+        return results;
+    }
+
+    // EFFECTS: Return the first stored Workout (other than workout itself) with the same exercise content as
+    //          workout, whatever the names, or null if there is none (see Workout.hasSameContent)
+    public Workout findDuplicate(Workout workout) {
+        if (workout == null) {
+            return null;
+        }
+        List<Workout> sameHash = byContent.get(workout.contentHash());
+        if (sameHash != null) {
+            for (Workout stored : sameHash) {
+                if (stored != workout && stored.hasSameContent(workout)) {
+                    return stored;
+                }
+            }
+        }
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return the stored plan to use for workoutPlan: an existing Workout with the same content if
+    //          workoutPlan is a Workout and there is one (workoutPlan is not added), otherwise workoutPlan itself
+    //          once added
+    //          Throw IllegalArgumentException if workoutPlan is null, or is added under a name already in use
+    public WorkoutPlan addOrShare(WorkoutPlan workoutPlan) throws IllegalArgumentException {
+        if (workoutPlan instanceof Workout) {
+            Workout duplicate = findDuplicate((Workout) workoutPlan);
+            if (duplicate != null) {
+                return duplicate;
+            }
+        }
+        addWorkout(workoutPlan);
+        return workoutPlan;
+    }
+
+    // EFFECTS: Return the bus on which this library publishes its changes: ADDED and REMOVED plans, MODIFIED
+    //          when a stored Workout's exercises change, and RELOADED when its contents are replaced by fromJson
+    public ChangeBus<WorkoutPlan> getChanges() {
+        if (changes == null) {
+            changes = new ChangeBus<WorkoutPlan>(this);
         }
+        return changes;
+    }
 
-        return workouts;
+    // EFFECTS: Return the number of workout plans stored in this library
+    public int getNumWorkouts() {
+        return library.size();
     }
 
     // HELPER: for addWorkout, removeWorkout
@@ -90,6 +214,68 @@ public class WorkoutLibrary implements Writable {
         return library.containsKey(workoutName);
     }
 
+    // HELPER: for addWorkout, reconstructWorkouts
+    // MODIFIES: this
+    // EFFECTS: If workoutPlan is a Workout, index it under its current content hash and watch it for changes
+    private void indexContent(WorkoutPlan workoutPlan) {
+        if (workoutPlan instanceof Workout) {
+            Workout workout = (Workout) workoutPlan;
+            long hash = workout.contentHash();
+            indexedHashes.put(workout, hash);
+            byContent.computeIfAbsent(hash, h -> new ArrayList<Workout>()).add(workout);
+            workout.getChanges().subscribe(workoutWatcher);
+        }
+    }
+
+    // HELPER: for removeWorkout, reconstructWorkouts
+    // MODIFIES: this
+    // EFFECTS: If workoutPlan is an indexed Workout, remove it from the hash it was indexed under and stop
+    //          watching it
+    private void unindexContent(WorkoutPlan workoutPlan) {
+        Long hash = indexedHashes.remove(workoutPlan);
+        if (hash != null) {
+            removeFromContentIndex(hash, (Workout) workoutPlan);
+            ((Workout) workoutPlan).getChanges().unsubscribe(workoutWatcher);
+        }
+    }
+
+    // HELPER: for unindexContent, workoutChanged
+    // MODIFIES: this
+    // EFFECTS: Remove workout from the workouts indexed under hash
+    private void removeFromContentIndex(long hash, Workout workout) {
+        List<Workout> sameHash = byContent.get(hash);
+        sameHash.remove(workout);
+        if (sameHash.isEmpty()) {
+            byContent.remove(hash);
+        }
+    }
+
+    // HELPER: for workoutWatcher (a stored Workout's exercises changed)
+    // MODIFIES: this
+    // EFFECTS: Re-index the changed Workout under its new content hash and publish it as MODIFIED
+    private void workoutChanged(List<ModelChange<Exercise>> workoutChanges) {
+        Workout workout = (Workout) workoutChanges.get(0).getSource();
+        Long hash = indexedHashes.get(workout);
+        if (hash == null) {
+            return;
+        }
+        long current = workout.contentHash();
+        if (current != hash) {
+            removeFromContentIndex(hash, workout);
+            indexedHashes.put(workout, current);
+            byContent.computeIfAbsent(current, h -> new ArrayList<Workout>()).add(workout);
+        }
+        publish(ChangeKind.MODIFIED, workout);
+    }
+
+    // HELPER: for addWorkout, removeWorkout, workoutChanged, fromJson
+    // EFFECTS: Publish a change of the given kind to workoutPlan, if anything has subscribed
+    private void publish(ChangeKind kind, WorkoutPlan workoutPlan) {
+        if (changes != null) {
+            changes.publish(kind, workoutPlan, -1);
+        }
+    }
+
     // EFFECTS: Return a JSON representation of this WorkoutLibrary containing
     //          all WorkoutPlan object names and their list of Exercises by name
     // NOTE: This data is sufficient for full program state reconstruction
@@ -97,10 +283,16 @@ public class WorkoutLibrary implements Writable {
     //       ExerciseLibrary ENFORCES unique Exercise names for each Exercise 
     @Override
     public JSONObject toJson() {
+        return toJson(library);
+    }
+
+    // REQUIRES: snapshot's Workouts are not edited while it is serialized
+    // EFFECTS: Return a JSON representation (as toJson) of the plans in snapshot, a map from getWorkoutsByName
+    public static JSONObject toJson(Map<String, WorkoutPlan> snapshot) {
         JSONObject json = new JSONObject();
         JSONArray workoutsArray = new JSONArray();
         
-        for (WorkoutPlan workoutPlan : library.values()) {
+        for (WorkoutPlan workoutPlan : snapshot.values()) {
             workoutsArray.put(createWorkoutJson(workoutPlan));
         }
         json.put("workouts", workoutsArray);
@@ -114,7 +306,7 @@ public class WorkoutLibrary implements Writable {
     //          If WorkoutPlan is a RestDay, include only name and type
     //          UI removes all references to an Exercise object from each Workout in WorkoutLibrary
     //          IFF the user deletes an exercise from ExerciseLibrary
-    private JSONObject createWorkoutJson(WorkoutPlan workoutPlan) {
+    private static JSONObject createWorkoutJson(WorkoutPlan workoutPlan) {
         JSONObject workoutJson = new JSONObject();
         workoutJson.put("name", workoutPlan.getName());
         
@@ -132,7 +324,7 @@ public class WorkoutLibrary implements Writable {
     
     // HELPER: for createWorkoutJson
     // EFFECTS: Create a JSON array of exercise names from the given Workout
-    private JSONArray createExerciseNamesArray(Workout workout) {
+    private static JSONArray createExerciseNamesArray(Workout workout) {
         JSONArray exerciseNames = new JSONArray();
         for (Exercise exercise : workout.getExercises()) {
             exerciseNames.put(exercise.getName());
@@ -158,13 +350,21 @@ public class WorkoutLibrary implements Writable {
         ExerciseLibrary exerciseLibrary = (ExerciseLibrary) data;
         
         // Clear library and reconstruct from loaded data
-        library.clear();
+        for (Workout workout : indexedHashes.keySet()) {
+            workout.getChanges().unsubscribe(workoutWatcher);
+        }
+        library = PersistentHashMap.empty();
+        nameIndex.clear();
+        byContent.clear();
+        indexedHashes.clear();
         if (json == null || !json.has("workouts")) {
+            publish(ChangeKind.RELOADED, null);
             return; // Non-existent loading data
         }
     
         JSONArray workoutsArray = json.getJSONArray("workouts");
         reconstructWorkouts(workoutsArray, exerciseLibrary);
+        publish(ChangeKind.RELOADED, null);
         EventLog.getInstance().logEvent(new Event("WorkoutLibrary deserialized from JSON with " 
                 + library.size() + " workouts"));
     }
@@ -178,7 +378,10 @@ public class WorkoutLibrary implements Writable {
             JSONObject workoutJson = workoutsArray.getJSONObject(i);
             WorkoutPlan workoutPlan = createWorkoutPlan(workoutJson, exerciseLibrary);
             if (workoutPlan != null) {
-                library.put(workoutPlan.getName(), workoutPlan);
+                unindexContent(library.get(workoutPlan.getName()));
+                library = library.with(workoutPlan.getName(), workoutPlan);
+                nameIndex.add(workoutPlan.getName());
+                indexContent(workoutPlan);
             }
         }
     }
@@ -3,6 +3,8 @@ package model.workout;
 import java.util.List;
 import java.util.Map;
 
+import model.association.AssociatorBatch;
+import model.association.MetricsContext;
 import model.exercise.Exercise;
 
 
@@ -36,6 +38,19 @@ public interface WorkoutPlan {
     //          is a RestDay, make no changes
     public void deactivateMetrics(String context);
 
+    // MODIFIES: metrics
+    // EFFECTS: As activateMetrics(context), but registering into metrics rather than the current MetricsContext
+    public void activateMetrics(String context, MetricsContext metrics);
+
+    // MODIFIES: metrics
+    // EFFECTS: As deactivateMetrics(context), but removing from metrics rather than the current MetricsContext
+    public void deactivateMetrics(String context, MetricsContext metrics);
+
+    // MODIFIES: batch
+    // EFFECTS: Queue the metrics activateMetrics would register under context into batch
+    //          If this is a RestDay, make no changes
+    public void collectMetrics(String context, AssociatorBatch batch);
+
     // EFFECTS: Return total duration of this workout plan in seconds
     public double getDuration();
 
@@ -1,11 +1,21 @@
 package persistence;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
 /**
  * REPRESENTS: A class for uniform JSON data saving and/or loading
@@ -16,6 +26,7 @@ import org.json.JSONObject;
  * 
  * PURPOSE: Ensure consistent persistence structure and behavior across model components
  *          Maintain separation between persistence logic and model logic
+ *          Optionally gzip save files; compressed files are detected on load by their magic bytes
  * 
  * Mutability: Static
  */
@@ -42,6 +53,19 @@ public class JsonManager {
     // NOTE: This method signature is for TEST purposes. It allows for temporary path re-direction
     //       To prevent the modification of the actual data persistence file the program uses.
     public static void saveData(Map<String, JSONObject> components, String savePath) throws JSONException {
+        saveData(components, savePath, false);
+    }
+
+    // EFFECTS: Save JSONObject objects' toJson states to a single JSON file at the specified path
+    //          If compress is true, the JSON text is streamed through a GZIP codec as it is written
+    //          Create or overwrite the file at the given savePath; the previous file is only replaced
+    //          once the new content has been completely written, by an atomic rename where the file system
+    //          supports one (so a reader or crash never finds the file missing), keeping its permissions
+    //          Throw JSONException if any component from components cannot be properly saved
+    //          Throw JSONException (keeping the previous file) if the calling thread is interrupted before the
+    //          new content replaces it, i.e. a background save was cancelled
+    public static void saveData(Map<String, JSONObject> components, String savePath, boolean compress)
+            throws JSONException {
         // Ensure directory exists
         String directoryPath = new File(savePath).getParent();
         File directory = new File(directoryPath);
@@ -60,11 +84,63 @@ public class JsonManager {
             json.put(entry.getKey(), entry.getValue());
         }
 
-        // Write to file
-        try (PrintWriter writer = new PrintWriter(new FileWriter(savePath))) {
-            writer.println(json.toString(4));
+        // Stream to a uniquely named temporary sibling file, then swap it in so a failed save never truncates the
+        // old one, and concurrent saves to the same path never write into each other's temporary file
+        File saveFile = new File(savePath);
+        File tempFile = null;
+        try {
+            tempFile = createTempFile(directory, saveFile);
+            try (Writer writer = openWriter(tempFile, compress)) {
+                json.write(writer, 4, 0);
+                writer.write(System.lineSeparator());
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new JSONException("Save cancelled");
+            }
+            replace(tempFile.toPath(), saveFile.toPath());
         } catch (IOException e) {
             throw new JSONException("Unable to write to file: " + e.getMessage());
+        } finally {
+            if (tempFile != null) {
+                tempFile.delete(); // No-op once the move has succeeded
+            }
+        }
+    }
+
+    // HELPER: for saveData
+    // EFFECTS: Create and return a new, uniquely named empty file next to saveFile, with the permissions a new
+    //          file gets by default (Files.createTempFile would restrict it to its owner), or saveFile's own
+    //          permissions if saveFile exists and the file system has POSIX permissions
+    //          Throw IOException if the file cannot be created
+    private static File createTempFile(File directory, File saveFile) throws IOException {
+        Path tempPath = null;
+        while (tempPath == null) {
+            try {
+                tempPath = Files.createFile(
+                        directory.toPath().resolve(saveFile.getName() + "." + UUID.randomUUID() + ".tmp"));
+            } catch (FileAlreadyExistsException e) {
+                // Astronomically unlikely; try another name
+            }
+        }
+        if (saveFile.exists()) {
+            try {
+                Files.setPosixFilePermissions(tempPath, Files.getPosixFilePermissions(saveFile.toPath()));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system; the new file keeps the default permissions
+            }
+        }
+        return tempPath.toFile();
+    }
+
+    // HELPER: for saveData
+    // EFFECTS: Move source over target in one atomic rename, so target is never missing, even briefly;
+    //          fall back to a replacing (non-atomic) move only on file systems without atomic moves
+    //          Throw IOException if source cannot be moved
+    private static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -91,28 +167,80 @@ public class JsonManager {
             return loadedData;
         }
 
-        try {
-            // Read the entire file content
-            StringBuilder content = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new FileReader(dataFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    content.append(line);
-                }
-            }
-
+        // Parse directly from the (possibly decompressing) stream rather than buffering the whole file
+        try (Reader reader = openReader(dataFile)) {
             // Extract and store component data in a JSONObject for each component
             // Each model component that requires saved data to load has a corresponding key and data
-            JSONObject json = new JSONObject(content.toString());
+            JSONObject json = new JSONObject(new JSONTokener(reader));
             for (String key : json.keySet()) {
                 loadedData.put(key, json.getJSONObject(key));
             }
 
         } catch (IOException e) {
             throw new JSONException("Unable to read from file: " + e.getMessage());
+        } catch (JSONException e) {
+            // JSONTokener wraps stream failures (i.e. a truncated GZIP file) in a JSONException
+            if (e.getCause() instanceof IOException) {
+                throw new JSONException("Unable to read from file: " + e.getCause().getMessage());
+            }
+            throw e;
         }
         
         // Loaded data given to UI component to re-initialize each corresponding model components with its data
         return loadedData;
     }
-}
\ No newline at end of file
+
+    // EFFECTS: Return true if the file at the given path starts with the GZIP magic bytes
+    //          Return false if the file does not exist, is too short, or cannot be read
+    public static boolean isCompressed(String savePath) {
+        try (InputStream in = new FileInputStream(savePath)) {
+            return hasGzipMagic(in);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // HELPER: for saveData
+    // EFFECTS: Open a UTF-8 writer to the given file, routed through a GZIP stream if compress is true
+    //          The file is closed again if the writer cannot be opened
+    private static Writer openWriter(File file, boolean compress) throws IOException {
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+        try {
+            if (compress) {
+                out = new GZIPOutputStream(out);
+            }
+            return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    // HELPER: for loadData
+    // EFFECTS: Open a UTF-8 reader over the given file, decompressing it if it starts with the GZIP magic bytes
+    //          The file is closed again if the reader cannot be opened (i.e. a corrupt GZIP header)
+    private static Reader openReader(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file));
+        try {
+            in.mark(2);
+            boolean compressed = hasGzipMagic(in);
+            in.reset();
+            if (compressed) {
+                in = new GZIPInputStream(in);
+            }
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    // HELPER: for openReader, isCompressed
+    // MODIFIES: in
+    // EFFECTS: Consume the first two bytes of in and return true if they are the (little-endian) GZIP magic number
+    private static boolean hasGzipMagic(InputStream in) throws IOException {
+        int first = in.read();
+        int second = in.read();
+        return first != -1 && second != -1 && ((second << 8) | first) == GZIPInputStream.GZIP_MAGIC;
+    }
+}
@@ -0,0 +1,101 @@
+package persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.json.JSONObject;
+
+import model.association.MetricsContext;
+import model.exercise.ExerciseLibrary;
+import model.workout.WeeklySchedule;
+import model.workout.WorkoutLibrary;
+import utility.PredefinedData;
+
+/**
+ * REPRESENTS: one user's complete model graph (ExerciseLibrary, WorkoutLibrary, WeeklySchedule)
+ *
+ * USED BY:
+ *      1. ProfileStore to cache, load, and save many users' data within one process
+ *
+ * PURPOSE: Keep the three dependent model components of a user together so they can be
+ *          loaded and saved as a single unit
+ *          Own a MetricsContext for the schedule, so each profile's metrics are isolated from every other's
+ *
+ * MUTABILITY: Mutable (the contained model components are mutable)
+ */
+public class Profile {
+    private final String id;
+    private final ExerciseLibrary exerciseLibrary;
+    private final WorkoutLibrary workoutLibrary;
+    private final WeeklySchedule weeklySchedule;
+    private final MetricsContext metricsContext;
+
+    // EFFECTS: Create an empty profile with the given id
+    //          Throw IllegalArgumentException if id is null or blank
+    public Profile(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("Profile id cannot be null or blank.");
+        }
+        this.id = id;
+        this.exerciseLibrary = new ExerciseLibrary();
+        this.workoutLibrary = new WorkoutLibrary();
+        this.metricsContext = new MetricsContext();
+        this.weeklySchedule = new WeeklySchedule(metricsContext);
+    }
+
+    // EFFECTS: Return this profile's id
+    public String getId() {
+        return id;
+    }
+
+    // EFFECTS: Return this profile's exercise library
+    public ExerciseLibrary getExerciseLibrary() {
+        return exerciseLibrary;
+    }
+
+    // EFFECTS: Return this profile's workout library
+    public WorkoutLibrary getWorkoutLibrary() {
+        return workoutLibrary;
+    }
+
+    // EFFECTS: Return this profile's weekly schedule
+    public WeeklySchedule getWeeklySchedule() {
+        return weeklySchedule;
+    }
+
+    // EFFECTS: Return the MetricsContext this profile's schedule metrics are activated in
+    public MetricsContext getMetricsContext() {
+        return metricsContext;
+    }
+
+    // EFFECTS: Return an estimate of this profile's in-memory size, counted in model objects
+    //          (one for the schedule, plus every stored exercise and workout plan)
+    public int getWeight() {
+        return 1 + exerciseLibrary.getNumExercises() + workoutLibrary.getNumWorkouts();
+    }
+
+    // EFFECTS: Return the JSON components of this profile keyed as JsonManager and PersistenceUI expect
+    public Map<String, JSONObject> toComponents() {
+        Map<String, JSONObject> components = new HashMap<String, JSONObject>();
+        components.put("exerciseLibrary", exerciseLibrary.toJson());
+        components.put("workoutLibrary", workoutLibrary.toJson());
+        components.put("weeklySchedule", weeklySchedule.toJson());
+        return components;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Reconstruct this profile's components from data in dependency order
+    //          (exercises, then workouts, then schedule); stop at the first missing component
+    //          Loading the schedule activates its metrics in this profile's MetricsContext
+    public void fromComponents(Map<String, JSONObject> data, PredefinedData predefinedData) {
+        if (data.containsKey("exerciseLibrary")) {
+            exerciseLibrary.fromJson(data.get("exerciseLibrary"), predefinedData);
+            if (data.containsKey("workoutLibrary")) {
+                workoutLibrary.fromJson(data.get("workoutLibrary"), exerciseLibrary);
+                if (data.containsKey("weeklySchedule")) {
+                    weeklySchedule.fromJson(data.get("weeklySchedule"), workoutLibrary);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package persistence;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import model.log.Event;
+import model.log.EventLog;
+import utility.PredefinedData;
+
+/**
+ * REPRESENTS: a directory of saved user profiles with an in-memory LRU cache of loaded profiles
+ *
+ * USED BY:
+ *      1. Multi-user front ends (i.e. a gym kiosk) that switch between many members' data
+ *
+ * PURPOSE: Map profile ids to (compressed) save files through an index file in the store directory
+ *          Keep recently used profiles fully loaded so switching between them does not touch disk
+ *          Bound the cache by the total weight (model object count) of the loaded profiles;
+ *          the least recently used profiles are saved back to disk and dropped once it is exceeded
+ *
+ * NOTE: Every Profile activates its schedule metrics in its own MetricsContext, so loaded profiles never
+ *       share metric state and switching the ACTIVE profile (the one last returned by open) is only a
+ *       pointer change; an evicted profile's metrics are dropped along with it.
+ *       The cached weight is kept as a running total: an inactive profile's weight is taken when it stops
+ *       being active (only the active profile is expected to be edited), and the active profile's is read live.
+ *
+ * MUTABILITY: Mutable
+ */
+public class ProfileStore {
+    private static final String INDEX_FILE_NAME = "index.json";
+    private static final String PROFILE_FILE_EXTENSION = ".json.gz";
+
+    private final String directoryPath;
+    private final int maxCachedWeight;
+    private final PredefinedData predefinedData;
+    private final Map<String, String> index; // profile id -> profile file name
+    private final LinkedHashMap<String, Profile> cache; // access order: eldest is least recently used
+    private final Map<String, Integer> inactiveWeights; // cached inactive profile id -> weight when deactivated
+    private int inactiveWeight; // sum of inactiveWeights
+    private int nextFileNumber;
+    private Profile activeProfile;
+
+    // EFFECTS: Create a store rooted at directoryPath, reading its index file if one exists
+    //          maxCachedWeight bounds the summed Profile weight kept loaded (at least one profile always is)
+    //          Throw IllegalArgumentException if directoryPath is null or maxCachedWeight < 1
+    //          Throw JSONException if an existing index file cannot be read
+    public ProfileStore(String directoryPath, int maxCachedWeight) throws JSONException {
+        if (directoryPath == null || maxCachedWeight < 1) {
+            throw new IllegalArgumentException("A store directory and a positive cache bound are required.");
+        }
+        this.directoryPath = directoryPath;
+        this.maxCachedWeight = maxCachedWeight;
+        this.predefinedData = new PredefinedData();
+        this.index = new LinkedHashMap<String, String>();
+        this.cache = new LinkedHashMap<String, Profile>(16, 0.75f, true);
+        this.inactiveWeights = new HashMap<String, Integer>();
+        this.inactiveWeight = 0;
+        this.nextFileNumber = 0;
+        loadIndex();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Register a new, empty profile under profileId, make it the active profile, and return it
+    //          Throw IllegalArgumentException if profileId is null, blank, or already registered
+    //          Throw JSONException if the index or the new profile cannot be saved
+    public Profile createProfile(String profileId) throws JSONException {
+        if (profileId == null || profileId.trim().isEmpty() || index.containsKey(profileId)) {
+            throw new IllegalArgumentException("Profile id must be non-blank and unique.");
+        }
+        index.put(profileId, "profile-" + nextFileNumber + PROFILE_FILE_EXTENSION);
+        nextFileNumber++;
+        saveIndex();
+
+        Profile profile = new Profile(profileId);
+        JsonManager.saveData(profile.toComponents(), profilePath(profileId), true);
+        EventLog.getInstance().logEvent(new Event("Profile '" + profileId + "' created"));
+        return activate(profile);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return the profile registered under profileId and make it the active profile
+    //          Serve it from the cache if loaded; otherwise load it from its save file
+    //          Throw IllegalArgumentException if no profile is registered under profileId
+    //          Throw JSONException if the profile must be loaded and its file cannot be read, or if a profile
+    //          evicted to make room for it cannot be saved; the previously active profile stays active in
+    //          either case
+    public Profile open(String profileId) throws JSONException {
+        if (profileId == null || !index.containsKey(profileId)) {
+            throw new IllegalArgumentException("No profile registered under: " + profileId);
+        }
+        Profile cached = cache.get(profileId); // Refreshes recency
+        if (cached != null) {
+            return activate(cached);
+        }
+
+        // A failed load leaves no trace: its metrics were only ever activated in its own context
+        Profile loaded = new Profile(profileId);
+        loaded.fromComponents(JsonManager.loadData(profilePath(profileId)), predefinedData);
+        return activate(loaded);
+    }
+
+    // EFFECTS: Save the profile registered under profileId if it is loaded; do nothing otherwise
+    //          Throw JSONException if the profile cannot be saved
+    public void save(String profileId) throws JSONException {
+        Profile profile = cache.get(profileId);
+        if (profile != null) {
+            JsonManager.saveData(profile.toComponents(), profilePath(profileId), true);
+        }
+    }
+
+    // EFFECTS: Save every loaded profile back to its file
+    //          Throw JSONException if any profile cannot be saved
+    public void saveAll() throws JSONException {
+        for (Profile profile : new ArrayList<Profile>(cache.values())) {
+            JsonManager.saveData(profile.toComponents(), profilePath(profile.getId()), true);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove the profile registered under profileId from the cache, index, and disk
+    //          Clear the active profile if it is the one removed
+    //          Throw IllegalArgumentException if no profile is registered under profileId
+    //          Throw JSONException if the index cannot be saved
+    public void deleteProfile(String profileId) throws JSONException {
+        if (profileId == null || !index.containsKey(profileId)) {
+            throw new IllegalArgumentException("No profile registered under: " + profileId);
+        }
+        if (activeProfile != null && activeProfile.getId().equals(profileId)) {
+            activeProfile = null;
+        }
+        cache.remove(profileId);
+        dropInactiveWeight(profileId);
+        new File(profilePath(profileId)).delete();
+        index.remove(profileId);
+        saveIndex();
+        EventLog.getInstance().logEvent(new Event("Profile '" + profileId + "' deleted"));
+    }
+
+    // EFFECTS: Return the ids of all registered profiles in creation order
+    public List<String> getProfileIds() {
+        return new ArrayList<String>(index.keySet());
+    }
+
+    // EFFECTS: Return true if a profile is registered under profileId
+    public boolean containsProfile(String profileId) {
+        return index.containsKey(profileId);
+    }
+
+    // EFFECTS: Return true if the profile registered under profileId is currently loaded
+    public boolean isLoaded(String profileId) {
+        return cache.containsKey(profileId);
+    }
+
+    // EFFECTS: Return the active profile, or null if no profile has been opened
+    public Profile getActiveProfile() {
+        return activeProfile;
+    }
+
+    // EFFECTS: Return the summed weight of all loaded profiles (see the NOTE above)
+    public int getCachedWeight() {
+        return inactiveWeight + ((activeProfile != null) ? activeProfile.getWeight() : 0);
+    }
+
+    // HELPER: for createProfile, open
+    // MODIFIES: this
+    // EFFECTS: Make profile the active profile and cache it, first saving and dropping least recently used
+    //          profiles until the cached weight will be within bounds: the previously active profile last, and
+    //          profile never
+    //          Throw JSONException if an evicted profile cannot be saved (it then stays cached); the previously
+    //          active profile then stays active and profile is not cached unless it already was
+    private Profile activate(Profile profile) throws JSONException {
+        Profile previous = (activeProfile != profile) ? activeProfile : null;
+        int previousWeight = (previous != null) ? previous.getWeight() : 0;
+        int weight = inactiveWeight - inactiveWeights.getOrDefault(profile.getId(), 0)
+                + previousWeight + profile.getWeight();
+
+        Iterator<Map.Entry<String, Profile>> it = cache.entrySet().iterator();
+        while (weight > maxCachedWeight && it.hasNext()) {
+            Profile eldest = it.next().getValue();
+            if (eldest == profile || eldest == previous) {
+                continue;
+            }
+            JsonManager.saveData(eldest.toComponents(), profilePath(eldest.getId()), true);
+            it.remove();
+            weight -= dropInactiveWeight(eldest.getId());
+        }
+        if (weight > maxCachedWeight && previous != null) {
+            JsonManager.saveData(previous.toComponents(), profilePath(previous.getId()), true);
+            cache.remove(previous.getId());
+            previous = null;
+        }
+
+        // Nothing below can fail, so the switch is all or nothing
+        dropInactiveWeight(profile.getId());
+        if (previous != null) {
+            inactiveWeights.put(previous.getId(), previousWeight);
+            inactiveWeight += previousWeight;
+        }
+        cache.put(profile.getId(), profile);
+        activeProfile = profile;
+        return profile;
+    }
+
+    // HELPER: for activate, deleteProfile
+    // MODIFIES: this
+    // EFFECTS: Stop counting the recorded weight of the inactive profile registered under profileId, and return
+    //          it (0 if that profile is not a cached inactive profile)
+    private int dropInactiveWeight(String profileId) {
+        Integer weight = inactiveWeights.remove(profileId);
+        if (weight == null) {
+            return 0;
+        }
+        inactiveWeight -= weight;
+        return weight;
+    }
+
+    // HELPER: for the constructor
+    // MODIFIES: this
+    // EFFECTS: Read profile ids, file names, and the next file number from the index file if it exists
+    private void loadIndex() throws JSONException {
+        Map<String, JSONObject> data = JsonManager.loadData(indexPath());
+        JSONObject indexJson = data.get("index");
+        if (indexJson == null) {
+            return;
+        }
+        nextFileNumber = indexJson.optInt("nextFileNumber", 0);
+        JSONArray profilesJson = indexJson.optJSONArray("profiles", new JSONArray());
+        for (int i = 0; i < profilesJson.length(); i++) {
+            JSONObject profileJson = profilesJson.optJSONObject(i);
+            if (profileJson != null && profileJson.has("id") && profileJson.has("file")) {
+                index.put(profileJson.getString("id"), profileJson.getString("file"));
+            }
+        }
+    }
+
+    // HELPER: for createProfile, deleteProfile
+    // EFFECTS: Write the profile ids, file names, and next file number to the index file
+    private void saveIndex() throws JSONException {
+        JSONArray profilesJson = new JSONArray();
+        for (Map.Entry<String, String> entry : index.entrySet()) {
+            JSONObject profileJson = new JSONObject();
+            profileJson.put("id", entry.getKey());
+            profileJson.put("file", entry.getValue());
+            profilesJson.put(profileJson);
+        }
+        JSONObject indexJson = new JSONObject();
+        indexJson.put("nextFileNumber", nextFileNumber);
+        indexJson.put("profiles", profilesJson);
+
+        Map<String, JSONObject> components = new HashMap<String, JSONObject>();
+        components.put("index", indexJson);
+        JsonManager.saveData(components, indexPath());
+    }
+
+    // EFFECTS: Return the path of the index file
+    private String indexPath() {
+        return new File(directoryPath, INDEX_FILE_NAME).getPath();
+    }
+
+    // EFFECTS: Return the path of the save file of the profile registered under profileId
+    private String profilePath(String profileId) {
+        return new File(directoryPath, index.get(profileId)).getPath();
+    }
+}
@@ -1,5 +1,6 @@
 package ui.console;
 
+import model.association.MetricsContext;
 import model.exercise.*;
 import model.workout.*;
 import ui.console.components.*;
@@ -7,6 +8,8 @@ import utility.PredefinedData;
 
 import java.util.*;
 
+import org.json.JSONException;
+
 /**
  * This interface is a console-based implementation for a workout planning program.
  * This program provides functionality for creating and managing exercises, workouts, schedules, and viewing metrics.
@@ -48,7 +51,8 @@ public class WorkoutApp {
         this.exerciseLibrary = new ExerciseLibrary();
         this.workoutLibrary = new WorkoutLibrary();
         this.predefinedData = new PredefinedData();
-        this.weeklySchedule = new WeeklySchedule();
+        this.weeklySchedule = new WeeklySchedule(MetricsContext.getDefault());
+        loadCustomDefinitions();
         
         // MetricsUI will work with this same instantiation of equipment and muscle metrics UI
         SharedUI.initializeItems(input, exerciseLibrary, workoutLibrary, weeklySchedule, predefinedData);
@@ -62,6 +66,18 @@ public class WorkoutApp {
         runWorkoutApp();
     }
 
+    // HELPER: for WorkoutApp
+    // MODIFIES: predefinedData
+    // EFFECTS: Register user-defined Equipment, Muscles, and MuscleGroups from the definitions file, if any
+    //          Continue with the built-in definitions only if the file cannot be loaded
+    private void loadCustomDefinitions() {
+        try {
+            predefinedData.loadDefinitions(PredefinedData.DEFAULT_DEFINITIONS_PATH);
+        } catch (JSONException e) {
+            System.out.println("Unable to load custom definitions: " + e.getMessage());
+        }
+    }
+
     // EFFECTS: Continuously display the main menu and process user commands
     //          The application terminates should the user select the exit option
     private void runWorkoutApp() {
@@ -90,6 +106,7 @@ public class WorkoutApp {
         System.out.println("[7] Save Program State");
         System.out.println("[8] Load Program State");
         System.out.println("[9] Exit");
+        System.out.println("[u] Undo / [r] Redo last change");
         System.out.print("\nSelect an option: ");
     }
 
@@ -125,6 +142,12 @@ public class WorkoutApp {
             case "9":
                 System.out.println("Thank you for using Workout Planner!");
                 return;
+            case "u":
+                SharedUI.undoLastChange();
+                break;
+            case "r":
+                SharedUI.redoLastChange();
+                break;
             default:
                 System.out.println("Invalid selection. Please choose between 1-9.");
                 SharedUI.waitForEnter();
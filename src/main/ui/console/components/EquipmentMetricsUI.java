@@ -14,7 +14,6 @@ import model.equipment.Equipment;
  * of allowing users to see and improve their gym routines with a better balance.
  */
 public class EquipmentMetricsUI {
-
     // EFFECTS: Equipment metrics viewing text/console UI that achieves the following:
     //          1. Present an overview of Equipment utilization across the entire system 
     //             (shared and stored data in PredefinedData)
@@ -58,19 +57,16 @@ public class EquipmentMetricsUI {
 
     // HELPER: for displayEquipmentMetricsOverview
     // REQUIRES: equipmentList is not null
-    // EFFECTS: Calculate the maximum duration of exercise for all Equipment 
-    //          to properly ratio the visual progress bar for each Equipment
+    // EFFECTS: Return the maximum duration of exercise for all Equipment (from the cached metrics of
+    //          metricsDashboard) to properly ratio the visual progress bar for each Equipment
     private double findMaxEquipmentDuration(List<Map.Entry<String, Equipment>> equipmentList) {
-        double maxDuration = 0.0;
+        List<ExerciseAssociator> associators = new ArrayList<ExerciseAssociator>();
         for (Map.Entry<String, Equipment> entry : equipmentList) {
-            Equipment equipment = entry.getValue();
-            if (equipment instanceof ExerciseAssociator) {
-                ExerciseAssociator exerciseAssociator = (ExerciseAssociator) equipment;
-                double duration = exerciseAssociator.getAggregatedExerciseMetrics().get("totalDuration");
-                maxDuration = Math.max(maxDuration, duration);
+            if (entry.getValue() instanceof ExerciseAssociator) {
+                associators.add((ExerciseAssociator) entry.getValue());
             }
         }
-        return maxDuration;
+        return metricsDashboard.getMaxMetric(associators, "totalDuration");
     }
     
     // HELPER: for displayEquipmentMetricsOverview
@@ -91,7 +87,7 @@ public class EquipmentMetricsUI {
     private void displayEquipmentMetricsEntry(int index, Map.Entry<String, Equipment> entry,
             double maxDuration) {
         Equipment eq = entry.getValue();
-        Map<String, Double> metrics = ((ExerciseAssociator) eq).getAggregatedExerciseMetrics();
+        Map<String, Double> metrics = metricsDashboard.getMetrics((ExerciseAssociator) eq);
         double totalSeconds = metrics.get("totalDuration");
         System.out.printf("[%d] %-15s: %s (%s/week)\n", 
                 index, 
@@ -126,7 +122,7 @@ public class EquipmentMetricsUI {
     // REQUIRES: equipment is not null and is an instance of ExerciseAssociator
     // EFFECTS: Display metrics for a specific piece of equipment
     private void displayDetailedEquipmentMetrics(Equipment equipment) {
-        Map<String, Double> metrics = ((ExerciseAssociator) equipment).getAggregatedExerciseMetrics();
+        Map<String, Double> metrics = metricsDashboard.getMetrics((ExerciseAssociator) equipment);
         displayEquipmentHeader(equipment);
         if (metrics.get("totalDuration") > 0) {
             displayEquipmentTimeMetrics(metrics);
@@ -193,7 +189,8 @@ public class EquipmentMetricsUI {
     //          and average time per exercise
     private void displayEquipmentCoverage(Equipment equipment, Map<String, Double> metrics) {
         System.out.println("\nExercise Coverage:");
-        int exerciseCount = ((ExerciseAssociator) equipment).getNumAssociatedExercises();
+        int exerciseCount = weeklySchedule.getMetricsContext().getNumAssociatedExercises(
+                (ExerciseAssociator) equipment);
         System.out.printf("Associated Exercises: %d\n", exerciseCount);
         if (exerciseCount > 0) {
             double avgTime = metrics.get("totalDuration") / exerciseCount;
@@ -11,6 +11,7 @@ import model.exercise.EnduranceExercise;
 import model.exercise.Exercise;
 import model.exercise.IntervalExercise;
 import model.exercise.StrengthExercise;
+import model.history.Commands;
 import model.muscle.MuscleGroup;
 
 /** This UI component handles exercise creation. It collects user input to create strength, 
@@ -35,8 +36,12 @@ public class ExerciseCreationUI {
         }
         Exercise exercise = createExerciseByType(name);
         if (exercise != null) { // Same thing
-            exerciseLibrary.addExercise(exercise);
-            System.out.println("\nExercise '" + name + "' created successfully!");
+            try {
+                commandLog.execute(Commands.addExercise(exerciseLibrary, exercise));
+                System.out.println("\nExercise '" + name + "' created successfully!");
+            } catch (IllegalArgumentException e) {
+                System.out.println("Error creating exercise: " + e.getMessage());
+            }
         }
         waitForEnter();
     }
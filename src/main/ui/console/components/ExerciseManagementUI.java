@@ -5,8 +5,7 @@ import static ui.console.components.SharedUI.*;
 import java.util.List;
 import java.util.Map;
 import model.exercise.Exercise;
-import model.workout.Workout;
-import model.workout.WorkoutPlan;
+import model.history.Commands;
 
 /** This UI component manages Exercise viewing, details display, and deletion based on user choice. */
 public class ExerciseManagementUI {
@@ -187,15 +186,9 @@ public class ExerciseManagementUI {
         System.out.print("\nAre you sure you want to delete '" + exercise.getName() + "'? (y/n): ");
         String confirmation = input.nextLine().trim();
         if (confirmation.equalsIgnoreCase("y")) {
-            // Remove from all workouts first
-            for (WorkoutPlan workoutPlan : workoutLibrary.getAllWorkouts()) {
-                if (workoutPlan instanceof Workout) {
-                    ((Workout) workoutPlan).removeExercise(exercise.getName());
-                }
-            }
-            // Then remove from library
-            exerciseLibrary.removeExercise(exercise.getName());
-            System.out.println("Exercise deleted successfully!");
+            // Remove from all workouts, then from library, as one undoable step
+            commandLog.execute(Commands.deleteExercise(exerciseLibrary, workoutLibrary, exercise.getName()));
+            System.out.println("Exercise deleted successfully! (Undo from the main menu)");
         } else {
             System.out.println("Deletion cancelled.");
         }
@@ -6,6 +6,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import model.association.MetricRanking;
+import model.association.MetricsContext;
 import model.muscle.Muscle;
 import model.muscle.MuscleGroup;
 
@@ -14,6 +16,9 @@ import model.muscle.MuscleGroup;
  * for the intent of allowing users to see and improve their gym routines with a better balance.
  */
 public class MuscleMetricsUI {
+    private static final int NUM_NEGLECTED_SHOWN = 5;
+
+    private MetricRanking<Muscle> muscleRanking; // kept ordered by its MetricsContext
 
     // EFFECTS: Muscle metrics viewing text/console UI that achieves the following:
     //          1. Present an overview of Muscle utilization across the entire system 
@@ -56,21 +61,51 @@ public class MuscleMetricsUI {
                 new ArrayList<Map.Entry<String, MuscleGroup>>(muscleGroups.entrySet());
         double maxDuration = findMaxMuscleGroupDuration(groupList);
         displayMuscleGroupList(groupList, maxDuration);
+        displayNeglectedMuscles();
         System.out.println("\nSelect muscle group for detailed analysis " + BACK_OPTION + ":");
     }
 
     // HELPER: for displayMuscleMetricsOverview
     // REQUIRES: groupList is not null
-    // EFFECTS: Find maximum duration across all muscle groups using a for-loop
+    // EFFECTS: Find maximum duration across all muscle groups (from the cached metrics of metricsDashboard)
     private double findMaxMuscleGroupDuration(List<Map.Entry<String, MuscleGroup>> groupList) {
-        double max = 0.0;
+        List<MuscleGroup> groups = new ArrayList<MuscleGroup>();
         for (Map.Entry<String, MuscleGroup> entry : groupList) {
-            double duration = entry.getValue().getGroupMetrics().get("totalDuration");
-            if (duration > max) {
-                max = duration;
-            }
+            groups.add(entry.getValue());
         }
-        return max;
+        return metricsDashboard.getMaxGroupMetric(groups, "totalDuration");
+    }
+
+    // HELPER: for displayMuscleMetricsOverview
+    // EFFECTS: Display the muscles with the least weekly training time, least trained first
+    private void displayNeglectedMuscles() {
+        System.out.println("\nMost neglected muscles:");
+        for (Muscle muscle : getMuscleRanking().getBottom("totalDuration", NUM_NEGLECTED_SHOWN)) {
+            double duration = metricsDashboard.getMetrics(muscle).get("totalDuration");
+            System.out.printf("  - %-15s (%s/week)\n",
+                    truncateString(muscle.getName(), 15),
+                    formatDuration(Math.round(duration))
+            );
+        }
+    }
+
+    // HELPER: for displayNeglectedMuscles
+    // MODIFIES: this, MetricsContext
+    // EFFECTS: Return the ranking of every predefined Muscle in weeklySchedule's MetricsContext, replacing
+    //          the previous ranking if the predefined Muscles are no longer exactly its members or the schedule's
+    //          context changed
+    private MetricRanking<Muscle> getMuscleRanking() {
+        MetricsContext metrics = weeklySchedule.getMetricsContext();
+        Map<String, Muscle> muscles = predefinedData.getAllMuscles();
+        if (muscleRanking != null && muscleRanking.getMetricsContext() == metrics
+                && muscleRanking.hasMembers(muscles.values())) {
+            return muscleRanking;
+        }
+        if (muscleRanking != null) {
+            muscleRanking.getMetricsContext().closeRanking(muscleRanking);
+        }
+        muscleRanking = metrics.createRanking(muscles.values());
+        return muscleRanking;
     }
 
     // HELPER: for displayMuscleMetricsOverview
@@ -88,7 +123,7 @@ public class MuscleMetricsUI {
     // EFFECTS: Display metrics for a single muscle group entry
     private void displayMuscleGroupEntry(int index, Map.Entry<String, MuscleGroup> entry, double maxDuration) {
         MuscleGroup group = entry.getValue();
-        Map<String, Double> metrics = group.getGroupMetrics();
+        Map<String, Double> metrics = metricsDashboard.getGroupMetrics(group);
         double totalSeconds = metrics.get("totalDuration");
         
         System.out.printf("[%d] %-15s: %s (%s/week)\n", 
@@ -140,7 +175,7 @@ public class MuscleMetricsUI {
         System.out.println("\n=== Analysis: " + group.getName() + " ===");
         System.out.println("==========================================");
         
-        Map<String, Double> groupMetrics = group.getGroupMetrics();
+        Map<String, Double> groupMetrics = metricsDashboard.getGroupMetrics(group);
         displayGroupOverview(groupMetrics);
         displayMuscleList(group);
     }
@@ -186,7 +221,7 @@ public class MuscleMetricsUI {
     private double findMaxMuscleDuration(List<Muscle> muscles) {
         double max = 0.0;
         for (Muscle m : muscles) {
-            double duration = m.getAggregatedExerciseMetrics().get("totalDuration");
+            double duration = metricsDashboard.getMetrics(m).get("totalDuration");
             if (duration > max) {
                 max = duration;
             }
@@ -198,7 +233,7 @@ public class MuscleMetricsUI {
     // REQUIRES: muscle is not null
     // EFFECTS: Display metrics for a single muscle
     private void displayMuscleEntry(int index, Muscle muscle, double maxDuration) {
-        Map<String, Double> metrics = muscle.getAggregatedExerciseMetrics();
+        Map<String, Double> metrics = metricsDashboard.getMetrics(muscle);
         double duration = metrics.get("totalDuration");
         
         System.out.printf("[%d] %-15s: %s (%s/week)\n", 
@@ -235,7 +270,7 @@ public class MuscleMetricsUI {
     // REQUIRES: muscle is not null
     // EFFECTS: Display detailed metrics for an individual muscle
     private void displayDetailedMuscleMetrics(Muscle muscle) {
-        Map<String, Double> metrics = muscle.getAggregatedExerciseMetrics();
+        Map<String, Double> metrics = metricsDashboard.getMetrics(muscle);
         displayMuscleHeader(muscle);
         if (metrics.get("totalDuration") > 0) {
             displayMuscleTrainingVolume(metrics);
@@ -293,7 +328,7 @@ public class MuscleMetricsUI {
     // EFFECTS: Display exercise coverage metrics for a muscle
     private void displayMuscleCoverage(Muscle muscle, Map<String, Double> metrics) {
         System.out.println("\nTraining Coverage:");
-        int exerciseCount = muscle.getNumAssociatedExercises();
+        int exerciseCount = weeklySchedule.getMetricsContext().getNumAssociatedExercises(muscle);
         System.out.printf("Targeting Exercises: %d\n", exerciseCount);
         
         if (exerciseCount > 0) {
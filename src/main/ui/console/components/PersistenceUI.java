@@ -63,6 +63,7 @@ public class PersistenceUI {
                 }
     
                 loadDataInOrder(data);
+                commandLog.clear(); // The history refers to the replaced model objects
                 System.out.println("Program state loaded successfully!");
             } catch (JSONException | IllegalArgumentException e) {
                 System.out.println("Error loading program state: " + e.getMessage());
@@ -1,5 +1,6 @@
 package ui.console.components;
 
+import model.history.Commands;
 import model.workout.RestDay;
 import model.workout.Workout;
 import model.workout.WorkoutPlan;
@@ -311,7 +312,7 @@ public class ScheduleUI {
     // MODIFIES: Workout, WeeklySchedule
     // EFFECTS: Update a day in the schedule with a new WorkoutPlan
     private void updateScheduleDay(int dayIndex, WorkoutPlan newPlan) {
-        weeklySchedule.setScheduleForDay(dayIndex, newPlan);
+        commandLog.execute(Commands.scheduleDay(weeklySchedule, dayIndex, newPlan));
         System.out.println("Workout added successfully!");
     }
 
@@ -320,7 +321,8 @@ public class ScheduleUI {
     // MODIFIES: Workout, WeeklySchedule
     // EFFECTS: Clear a day in the schedule
     private void clearScheduleDay(int dayIndex) { 
-        weeklySchedule.clearScheduleForDay(dayIndex); // IllegalArgumentException if invalid, but UI safeguards
+        // IllegalArgumentException if invalid, but UI safeguards
+        commandLog.execute(Commands.clearDay(weeklySchedule, dayIndex));
         System.out.println("Day cleared successfully!");
         waitForEnter(); // included here, program will not give this method an 'invalid' dayIndex
     }
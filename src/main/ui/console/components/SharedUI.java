@@ -8,7 +8,9 @@ import java.util.Scanner;
 
 import model.exercise.Exercise;
 import model.exercise.ExerciseLibrary;
+import model.history.CommandLog;
 import model.muscle.MuscleGroup;
+import model.workout.MetricsDashboard;
 import model.workout.WeeklySchedule;
 import model.workout.Workout;
 import model.workout.WorkoutLibrary;
@@ -30,6 +32,8 @@ public class SharedUI {
     protected static WorkoutLibrary workoutLibrary;
     protected static WeeklySchedule weeklySchedule;
     protected static PredefinedData predefinedData;
+    protected static MetricsDashboard metricsDashboard; // weeklySchedule's metrics, cached per schedule version
+    protected static CommandLog commandLog; // Every mutation made through the UI, for undo and redo
 
     // Helper class for weekly schedule statistics
     protected static class WeeklyStats {
@@ -49,6 +53,32 @@ public class SharedUI {
         workoutLibrary = workoutLib;
         weeklySchedule = weeklySched;
         predefinedData = predefData;
+        metricsDashboard = new MetricsDashboard(weeklySched);
+        commandLog = new CommandLog();
+    }
+
+    // MODIFIES: exerciseLibrary, workoutLibrary, weeklySchedule, commandLog
+    // EFFECTS: Undo the most recent change made through the UI (if any) and tell the user what was undone
+    public static void undoLastChange() {
+        String description = commandLog.getUndoDescription();
+        if (commandLog.undo()) {
+            System.out.println("Undone: " + description);
+        } else {
+            System.out.println("Nothing to undo.");
+        }
+        waitForEnter();
+    }
+
+    // MODIFIES: exerciseLibrary, workoutLibrary, weeklySchedule, commandLog
+    // EFFECTS: Redo the most recently undone change (if any) and tell the user what was redone
+    public static void redoLastChange() {
+        String description = commandLog.getRedoDescription();
+        if (commandLog.redo()) {
+            System.out.println("Redone: " + description);
+        } else {
+            System.out.println("Nothing to redo.");
+        }
+        waitForEnter();
     }
 
     // EFFECTS: Wait for user to press enter
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import model.exercise.Exercise;
+import model.history.Commands;
 import model.workout.Workout;
 import model.workout.WorkoutPlan;
 
@@ -58,7 +59,7 @@ public class WorkoutCreationUI {
     private void saveAndDisplayWorkout(String name, List<Exercise> selectedExercises) {
         try {
             Workout workout = new Workout(name, selectedExercises);
-            workoutLibrary.addWorkout(workout);
+            commandLog.execute(Commands.addWorkout(workoutLibrary, workout));
             System.out.println("\nWorkout '" + name + "' created successfully!");
             displayWorkoutSummary(workout);
         } catch (IllegalArgumentException e) {
@@ -4,6 +4,7 @@ import static ui.console.components.SharedUI.*;
 
 import java.util.List;
 
+import model.history.Commands;
 import model.workout.WorkoutPlan;
 
 /** This UI interface is constructed to manage existing workouts within WorkoutLibrary. */
@@ -129,16 +130,9 @@ public class WorkoutManagementUI {
         System.out.print("\nAre you sure you want to delete '" + workout.getName() + "'? (y/n): ");
         String answer = input.nextLine().trim();
         if (answer.equalsIgnoreCase("y")) {
-            // Remove from schedule first
-            for (int i = 0; i < 7; i++) {
-                WorkoutPlan plan = weeklySchedule.getScheduleForDay(i);
-                if (plan.getName().equals(workout.getName())) {
-                    weeklySchedule.clearScheduleForDay(i);
-                }
-            }
-            // Then remove from library
-            workoutLibrary.removeWorkout(workout.getName());
-            System.out.println("Workout deleted successfully!");
+            // Remove from schedule, then from library, as one undoable step
+            commandLog.execute(Commands.deleteWorkout(workoutLibrary, weeklySchedule, workout.getName()));
+            System.out.println("Workout deleted successfully! (Undo from the main menu)");
             waitForEnter();
             return true;
         }
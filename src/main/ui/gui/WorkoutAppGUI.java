@@ -1,5 +1,6 @@
 package ui.gui;
 
+import model.association.MetricsContext;
 import model.exercise.*;
 import model.workout.*;
 import ui.gui.components.*;
@@ -12,6 +13,8 @@ import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 
+import org.json.JSONException;
+
 /**
  * This class represents the main graphical user interface for the workout planning program.
  * It provides functionality for creating and managing exercises, workouts, schedules, and viewing metrics.
@@ -39,6 +42,8 @@ public class WorkoutAppGUI extends JFrame {
     private WorkoutEditPanel workoutEditPanel;
     private PersistencePanel persistencePanel;
 
+    private String definitionsError; // Why the custom definitions failed to load, or null if they did not
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             setupLookAndFeel();
@@ -63,7 +68,8 @@ public class WorkoutAppGUI extends JFrame {
         this.exerciseLibrary = new ExerciseLibrary();
         this.workoutLibrary = new WorkoutLibrary();
         this.predefinedData = new PredefinedData();
-        this.weeklySchedule = new WeeklySchedule();
+        this.weeklySchedule = new WeeklySchedule(MetricsContext.getDefault());
+        loadCustomDefinitions();
         
         setupFrame();
         initializePanels();
@@ -73,6 +79,20 @@ public class WorkoutAppGUI extends JFrame {
         showSplashScreen();
     }
 
+    // HELPER: for WorkoutAppGUI
+    // MODIFIES: predefinedData
+    // EFFECTS: Register user-defined Equipment, Muscles, and MuscleGroups from the definitions file, if any
+    //          Continue with the built-in definitions only if the file cannot be loaded, keeping the reason to
+    //          report once the main window is shown (see scheduleSplashScreenClose)
+    private void loadCustomDefinitions() {
+        try {
+            predefinedData.loadDefinitions(PredefinedData.DEFAULT_DEFINITIONS_PATH);
+        } catch (JSONException e) {
+            definitionsError = "Unable to load custom definitions from " + PredefinedData.DEFAULT_DEFINITIONS_PATH
+                    + ": " + e.getMessage() + "\nContinuing with the built-in definitions only.";
+        }
+    }
+
     // HELPER: for WorkoutAppGUI
     // EFFECTS: Set up the main JFrame display properties for this application
     private void setupFrame() {
@@ -84,11 +104,13 @@ public class WorkoutAppGUI extends JFrame {
     }
 
     // HELPER: for setupFrame
-    // EFFECTS: Set up window listener for exit confirmation and event log printing
+    // EFFECTS: Set up window listener for exit confirmation (after any running save or load is finished) and
+    //          event log printing
     private void setupWindowListener() {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent windowEvent) {
+                persistencePanel.finishBeforeExit();
                 persistencePanel.promptSaveOnExit();
                 SharedGuiComponents.printEventLog();
                 System.exit(0);
@@ -171,11 +193,14 @@ public class WorkoutAppGUI extends JFrame {
     }
 
     // HELPER: for showSplashScreen
-    // EFFECTS: Schedule the splash screen to close after a delay
+    // EFFECTS: Schedule the splash screen to close after a delay, then report any custom definitions error
     private void scheduleSplashScreenClose(SplashScreenGui splashScreen) {
         Timer timer = new Timer(2500, e -> {
             splashScreen.dispose();
             toFront();
+            if (definitionsError != null) {
+                SharedGuiComponents.showError(definitionsError);
+            }
         });
         timer.setRepeats(false);
         timer.start();
@@ -5,6 +5,7 @@ import model.exercise.EnduranceExercise;
 import model.exercise.Exercise;
 import model.exercise.IntervalExercise;
 import model.exercise.StrengthExercise;
+import model.history.Commands;
 import model.muscle.MuscleGroup;
 import ui.gui.WorkoutAppGUI;
 
@@ -317,7 +318,8 @@ public class ExerciseCreationPanel extends JPanel {
         try {
             Exercise exercise = createExerciseByType(name);
             if (exercise != null) {
-                SharedGuiComponents.exerciseLibrary.addExercise(exercise);
+                SharedGuiComponents.commandLog.execute(
+                        Commands.addExercise(SharedGuiComponents.exerciseLibrary, exercise));
                 SharedGuiComponents.showInfo("Exercise '" + name + "' created successfully!");
                 resetForm();
             }
@@ -1,8 +1,8 @@
 package ui.gui.components;
 
+import model.change.ModelChange;
 import model.exercise.Exercise;
-import model.workout.Workout;
-import model.workout.WorkoutPlan;
+import model.history.Commands;
 import ui.gui.WorkoutAppGUI;
 
 import javax.swing.*;
@@ -12,11 +12,12 @@ import java.util.Map;
 
 /**
  * This panel manages Exercise viewing, details display, and deletion based on user choice.
+ * Its list is filled once, then patched on the EDT from ExerciseLibrary's change bus.
  */
 public class ExerciseManagementPanel extends JPanel {
     
     private JList<String> exerciseList;
-    private DefaultListModel<String> listModel;
+    private FilterableListModel listModel;
     private JPanel detailsPanel;
     private JButton viewButton;
     private JButton deleteButton;
@@ -27,6 +28,9 @@ public class ExerciseManagementPanel extends JPanel {
         setupPanel();
         createComponents();
         layoutComponents();
+        updateExerciseList();
+        SharedGuiComponents.exerciseLibrary.getChanges().subscribe(this::applyExerciseChanges,
+                SwingUtilities::invokeLater);
     }
 
     // HELPER: for ExerciseManagementPanel
@@ -49,8 +53,9 @@ public class ExerciseManagementPanel extends JPanel {
     // EFFECTS: Create the exercise list component with styled appearance and single selection mode
     //          Set up list to display all available exercises from the library
     private void createExerciseList() {
-        listModel = new DefaultListModel<>();
-        exerciseList = new JList<>(listModel);
+        listModel = new FilterableListModel();
+        exerciseList = new JList<>();
+        listModel.bind(exerciseList);
         exerciseList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         exerciseList.setBackground(SharedGuiComponents.SECONDARY_COLOR);
         exerciseList.setForeground(SharedGuiComponents.TEXT_COLOR);
@@ -113,8 +118,8 @@ public class ExerciseManagementPanel extends JPanel {
     }
 
     // HELPER: for layoutComponents
-    // EFFECTS: Create the panel containing the exercise list with a scrollable view
-    //          Return a JPanel with labeled, scrollable list of available exercises
+    // EFFECTS: Create the panel containing the exercise list with a scrollable view and a filter field
+    //          Return a JPanel with labeled, filterable, scrollable list of available exercises
     private JPanel createListPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(SharedGuiComponents.PRIMARY_COLOR);
@@ -129,6 +134,7 @@ public class ExerciseManagementPanel extends JPanel {
         
         panel.add(listLabel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(SharedGuiComponents.createFilterField(listModel), BorderLayout.SOUTH);
         
         return panel;
     }
@@ -147,26 +153,32 @@ public class ExerciseManagementPanel extends JPanel {
         return panel;
     }
 
-    // EFFECTS: Update the exercise list from the library when the panel becomes visible
-    //          Refresh display to reflect any changes in the exercise library
-    @Override
-    public void setVisible(boolean visible) {
-        if (visible) {
-            updateExerciseList();
+    // HELPER: for ExerciseManagementPanel (exerciseLibrary's change bus, on the EDT)
+    // EFFECTS: Patch the exercise list with each added or removed exercise; refill it if the library was reloaded
+    private void applyExerciseChanges(List<ModelChange<Exercise>> changes) {
+        for (ModelChange<Exercise> change : changes) {
+            switch (change.getKind()) {
+                case RELOADED:
+                    updateExerciseList();
+                    clearDetailsPanel();
+                    break;
+                case ADDED:
+                    listModel.addName(change.getSubject().getName());
+                    break;
+                case REMOVED:
+                    listModel.removeName(change.getSubject().getName());
+                    break;
+                default:
+                    break;
+            }
         }
-        super.setVisible(visible);
     }
 
-    // HELPER: for setVisible
+    // HELPER: for ExerciseManagementPanel, applyExerciseChanges
     // EFFECTS: Update the exercise list with current exercises from the library
     //          Populate the list view with all exercises from ExerciseLibrary
     private void updateExerciseList() {
-        listModel.clear();
-        Map<String, Exercise> exercises = SharedGuiComponents.exerciseLibrary.getAllExercises();
-        
-        for (String name : exercises.keySet()) {
-            listModel.addElement(name);
-        }
+        listModel.setNames(SharedGuiComponents.exerciseLibrary.getAllExercises().keySet());
     }
 
     // HELPER: for createButtons (viewButton action)
@@ -327,7 +339,7 @@ public class ExerciseManagementPanel extends JPanel {
     // HELPER: for createButtons (deleteButton action)
     // MODIFIES: ExerciseLibrary and potentially Workout instances
     // EFFECTS: Delete the selected exercise after user confirmation
-    //          Remove the exercise from any workouts that contain it
+    //          Remove the exercise from any workouts that contain it, as one undoable step
     //          Show error message if no exercise is selected
     private void deleteExercise() {
         String selectedName = exerciseList.getSelectedValue();
@@ -340,26 +352,10 @@ public class ExerciseManagementPanel extends JPanel {
                 "Are you sure you want to delete '" + selectedName + "'?");
         
         if (confirmed) {
-            removeExerciseFromWorkouts(selectedName);
-            SharedGuiComponents.exerciseLibrary.removeExercise(selectedName);
-            updateExerciseList();
+            SharedGuiComponents.commandLog.execute(Commands.deleteExercise(
+                    SharedGuiComponents.exerciseLibrary, SharedGuiComponents.workoutLibrary, selectedName));
             clearDetailsPanel();
-            SharedGuiComponents.showInfo("Exercise deleted successfully!");
-        }
-    }
-
-    // HELPER: for deleteExercise
-    // MODIFIES: Workout instances
-    // EFFECTS: Remove the exercise from all workouts that contain it to maintain data integrity
-    //          (Seamless cross-compatibility between console UI and GUI and persistence and usage)
-    //          Iterate through all workouts and remove any references to the deleted exercise
-    private void removeExerciseFromWorkouts(String exerciseName) {
-        List<WorkoutPlan> workouts = SharedGuiComponents.workoutLibrary.getAllWorkouts();
-        
-        for (WorkoutPlan workoutPlan : workouts) {
-            if (workoutPlan instanceof Workout) {
-                ((Workout) workoutPlan).removeExercise(exerciseName);
-            }
+            SharedGuiComponents.showInfo("Exercise deleted successfully! (Undo from the main menu or Ctrl+Z)");
         }
     }
 
@@ -0,0 +1,180 @@
+package ui.gui.components;
+
+import utility.NameSearchIndex;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A virtualized, filterable list model of names (i.e. exercise or workout names) for large libraries.
+ *
+ * Rows are a plain array that JList reads lazily (getElementAt), with no component or list entry per name,
+ * and a bound JList uses a fixed cell height, so scrolling costs only the visible rows.
+ * Names live in a private NameSearchIndex owned by one background thread: additions, removals, and filtering
+ * (ranked as NameSearchIndex.search) all run there, never on the EDT. Each new row array is handed back to the
+ * EDT, where a stale result (superseded by a newer change or filter) is dropped.
+ * Filter edits are debounced, and any number of changes made in one EDT task cost one refresh.
+ */
+public class FilterableListModel extends AbstractListModel<String> {
+    private static final int DEBOUNCE_MILLIS = 150;
+    private static final String PROTOTYPE_CELL = "A typically long exercise or workout name";
+
+    private final ExecutorService worker; // Single thread; the only thread that touches index
+    private final NameSearchIndex index;
+    private final AtomicInteger latestGeneration;
+
+    // EDT-confined
+    private String[] rows;
+    private String filter;
+    private int generation;
+    private boolean refreshPending;
+    private final Timer debounce;
+    private JList<String> boundList;
+
+    // EFFECTS: Create an empty model with no filter
+    public FilterableListModel() {
+        worker = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "list-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        index = new NameSearchIndex();
+        latestGeneration = new AtomicInteger();
+        rows = new String[0];
+        filter = "";
+        debounce = new Timer(DEBOUNCE_MILLIS, e -> refresh());
+        debounce.setRepeats(false);
+    }
+
+    // MODIFIES: list
+    // EFFECTS: Show this model in list with fixed-height cells, keeping its selected name selected across refreshes
+    public void bind(JList<String> list) {
+        boundList = list;
+        list.setModel(this);
+        list.setPrototypeCellValue(PROTOTYPE_CELL);
+    }
+
+    // EFFECTS: Return the number of rows currently shown
+    @Override
+    public int getSize() {
+        return rows.length;
+    }
+
+    // EFFECTS: Return the name shown in the given row
+    @Override
+    public String getElementAt(int row) {
+        return rows[row];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Replace every name with names, then refresh the rows
+    public void setNames(Collection<String> names) {
+        List<String> copy = new ArrayList<String>(names);
+        worker.execute(() -> {
+            index.clear();
+            for (String name : copy) {
+                index.add(name);
+            }
+        });
+        requestRefresh();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add name (if not already present), then refresh the rows
+    public void addName(String name) {
+        worker.execute(() -> index.add(name));
+        requestRefresh();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove name (if present), then refresh the rows
+    public void removeName(String name) {
+        worker.execute(() -> index.remove(name));
+        requestRefresh();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Show only names matching query (see NameSearchIndex.search), best matches first, once query has
+    //          stopped changing for DEBOUNCE_MILLIS; a blank query shows every name alphabetically
+    public void setFilter(String query) {
+        filter = (query != null) ? query.trim() : "";
+        debounce.restart();
+    }
+
+    // EFFECTS: Return the current filter
+    public String getFilter() {
+        return filter;
+    }
+
+    // HELPER: for setNames, addName, removeName
+    // MODIFIES: this
+    // EFFECTS: Refresh the rows once the current EDT task is done (so a batch of changes refreshes once)
+    private void requestRefresh() {
+        if (!refreshPending) {
+            refreshPending = true;
+            SwingUtilities.invokeLater(this::refresh);
+        }
+    }
+
+    // HELPER: for requestRefresh, debounce
+    // MODIFIES: this
+    // EFFECTS: Compute the rows for the current filter on the worker thread, then show them on the EDT unless a
+    //          newer refresh has started meanwhile
+    private void refresh() {
+        refreshPending = false;
+        debounce.stop();
+        int refreshGeneration = ++generation;
+        latestGeneration.set(refreshGeneration);
+        String query = filter;
+        worker.execute(() -> {
+            if (latestGeneration.get() != refreshGeneration) {
+                return; // Superseded before it started
+            }
+            String[] result = index.search(query, index.size()).toArray(new String[0]);
+            SwingUtilities.invokeLater(() -> showRows(refreshGeneration, result));
+        });
+    }
+
+    // HELPER: for refresh
+    // MODIFIES: this
+    // EFFECTS: If refreshGeneration is the latest refresh, replace the rows with newRows, notify listeners of the
+    //          changed, added, and removed rows, and keep the bound list's selected name selected (if still shown)
+    private void showRows(int refreshGeneration, String[] newRows) {
+        if (refreshGeneration != generation) {
+            return;
+        }
+        String selected = (boundList != null) ? boundList.getSelectedValue() : null;
+        int oldSize = rows.length;
+        rows = newRows;
+        if (oldSize > newRows.length) {
+            fireIntervalRemoved(this, newRows.length, oldSize - 1);
+        } else if (newRows.length > oldSize) {
+            fireIntervalAdded(this, oldSize, newRows.length - 1);
+        }
+        if (Math.min(oldSize, newRows.length) > 0) {
+            fireContentsChanged(this, 0, Math.min(oldSize, newRows.length) - 1);
+        }
+        restoreSelection(selected);
+    }
+
+    // HELPER: for showRows
+    // MODIFIES: boundList
+    // EFFECTS: Select the row showing selected, or clear the selection if it is no longer shown
+    private void restoreSelection(String selected) {
+        if (selected == null) {
+            return;
+        }
+        for (int row = 0; row < rows.length; row++) {
+            if (rows[row].equals(selected)) {
+                boundList.setSelectedIndex(row);
+                return;
+            }
+        }
+        boundList.clearSelection();
+    }
+}
@@ -89,6 +89,8 @@ public class MainMenuPanel extends JPanel {
             "Manage Exercises", 
             "Create Workout", 
             "Manage Workouts", 
+            "Undo Last Change", 
+            "Redo Last Change", 
             "Save Program State", 
             "Load Program State", 
             "Exit"
@@ -104,6 +106,8 @@ public class MainMenuPanel extends JPanel {
             "ExerciseManagement", 
             "WorkoutCreation", 
             "WorkoutManagement", 
+            "Undo", 
+            "Redo", 
             "Save", 
             "Load", 
             "Exit"
@@ -123,7 +127,7 @@ public class MainMenuPanel extends JPanel {
     }
 
     // HELPER: for createMenuButton
-    // EFFECTS: Return an ActionListener that either navigates to a panel, performs a save/load operation,
+    // EFFECTS: Return an ActionListener that either navigates to a panel, performs an undo/redo or save/load operation,
     //          or exits the application based on the specified destination
     //          Map button clicks to appropriate application actions
     private ActionListener createButtonActionListener(String destination) {
@@ -131,6 +135,10 @@ public class MainMenuPanel extends JPanel {
             if (destination.equals("Exit")) {
                 SharedGuiComponents.printEventLog();
                 System.exit(0); // Exit without saving
+            } else if (destination.equals("Undo")) {
+                SharedGuiComponents.undoLastChange();
+            } else if (destination.equals("Redo")) {
+                SharedGuiComponents.redoLastChange();
             } else if (destination.equals("Save")) {
                 new PersistencePanel().saveState();
             } else if (destination.equals("Load")) {
@@ -1,20 +1,49 @@
 package ui.gui.components;
 
+import model.association.MetricsContext;
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.workout.WeeklySchedule;
+import model.workout.WorkoutLibrary;
+import model.workout.WorkoutPlan;
 import org.json.JSONException;
 import org.json.JSONObject;
 import persistence.JsonManager;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This panel handles saving and loading the program state.
  * It provides functionality to save and load exercise library, workout library, and weekly schedule data.
+ * Saves and loads run on background SwingWorkers behind a cancellable progress monitor, so the window stays
+ * responsive for large profiles:
+ *      - A save snapshots the model in one EDT task (see ModelSnapshot, constant time); serializing and writing
+ *        the snapshot happen in the background. A cancelled save keeps the previous file.
+ *      - A load reads the file and rebuilds the libraries into staging copies in the background; the staged
+ *        contents (libraries and schedule, all parsed before anything is swapped) are swapped into the live
+ *        model in one EDT task at the end. A cancelled load changes nothing.
+ *      - While either runs, the main window is read-only (see setReadOnly): a save's Workouts are still mutable
+ *        while they are serialized, and edits made during a load would be overwritten when it finishes.
+ *      - An operation counts as running until its background task has actually returned, even once cancelled,
+ *        so a cancelled save still being written blocks new saves, and is waited for on exit.
+ *      - Exiting waits for a running save to finish writing and cancels a running load (see finishBeforeExit).
  */
 public class PersistencePanel extends JPanel {
-    
+    private static PersistenceWorker<?> running; // The save or load in progress, if any (EDT-confined)
+    private static JComponent inputBlocker; // Glass pane swallowing the main window's input while running
+    private static Component lastFocusOwner; // Focus owner to restore once no longer read-only
+
     // EFFECTS: Instantiate this PersistencePanel
     public PersistencePanel() {
         setupPanel();
@@ -27,16 +56,19 @@ public class PersistencePanel extends JPanel {
         setBackground(SharedGuiComponents.PRIMARY_COLOR);
     }
 
-    // EFFECTS: Save the current state of the application to file if user confirms
+    // EFFECTS: Save the current state of the application to file in the background if user confirms
     //          the action, displays appropriate success or error messages
     public void saveState() {
+        if (isBusy()) {
+            return;
+        }
         boolean confirmed = showSaveConfirmationDialog();
-        
+
         if (confirmed) {
-            performSaveOperation();
+            new SaveWorker(new ModelSnapshot()).start("Saving program state...");
         }
     }
-    
+
     // HELPER: for saveState
     // EFFECTS: Show a confirmation dialog for saving and returns user's decision
     private boolean showSaveConfirmationDialog() {
@@ -44,39 +76,30 @@ public class PersistencePanel extends JPanel {
                 "Are you sure you want to save the current program state? "
                 + "This will override any previous save.");
     }
-    
-    // HELPER: for saveState
-    // EFFECTS: Perform the model package save operation and show result messages
+
+    // HELPER: for promptSaveOnExit
+    // EFFECTS: Perform the model package save operation on this thread and show result messages
     private void performSaveOperation() {
         try {
-            Map<String, JSONObject> components = collectComponentData();
-            JsonManager.saveData(components);
+            JsonManager.saveData(new ModelSnapshot().toJson());
             SharedGuiComponents.showInfo("Program state saved successfully!");
         } catch (JSONException e) {
             SharedGuiComponents.showError("Error saving program state: " + e.getMessage());
         }
     }
-    
-    // HELPER: for performSaveOperation 
-    // EFFECTS: Collect JSON data from all application components and returns as a map
-    private Map<String, JSONObject> collectComponentData() {
-        Map<String, JSONObject> components = new HashMap<String, JSONObject>();
-        components.put("exerciseLibrary", SharedGuiComponents.exerciseLibrary.toJson());
-        components.put("workoutLibrary", SharedGuiComponents.workoutLibrary.toJson());
-        components.put("weeklySchedule", SharedGuiComponents.weeklySchedule.toJson());
-        
-        return components;
-    }
-    
-    // EFFECTS: Loads previously saved state if user confirms the action,
+
+    // EFFECTS: Loads previously saved state in the background if user confirms the action,
     // displays appropriate success or error messages
     public void loadState() {
-        boolean confirmed = showLoadConfirmationDialog(); 
+        if (isBusy()) {
+            return;
+        }
+        boolean confirmed = showLoadConfirmationDialog();
         if (confirmed) {
-            performLoadOperation();
+            new LoadWorker().start("Loading program state...");
         }
     }
-    
+
     // HELPER: for loadState
     // EFFECTS: Shows a confirmation dialog for loading and returns user's decision
     private boolean showLoadConfirmationDialog() {
@@ -84,58 +107,118 @@ public class PersistencePanel extends JPanel {
                 "Are you sure you want to load the previous program state? "
                 + "This will replace all current data.");
     }
-    
-    // HELPER: for loadState
-    // REQUIRES: exerciseLibrary, workoutLibrary, weeklySchedule, and predefinedData are not null 
-    //           (from SharedGuiComponents)
-    // MODIFIES: exerciseLibrary, workoutLibrary, weeklySchedule (this program) 
-    // EFFECTS: IF user confirms, load saved WorkoutApp state from file into exerciseLibrary, workoutLibrary,
-    //          and weeklySchedule in that order
-    //          If no saved state exists, prints appropriate message
-    //          If load fails, prints error message and leaves current state unchanged
-    //          If user cancels, prints cancellation message
-    private void performLoadOperation() {
-        try {
-            Map<String, JSONObject> data = JsonManager.loadData();
-            
-            if (data.isEmpty()) {
-                SharedGuiComponents.showInfo("No saved state found.");
-                return;
+
+    // HELPER: for saveState, loadState
+    // EFFECTS: Return true (and tell the user) if a save or load is already running
+    private boolean isBusy() {
+        if (isRunning()) {
+            SharedGuiComponents.showInfo("Please wait for the current save or load to finish.");
+        }
+        return isRunning();
+    }
+
+    // EFFECTS: Return true if a save or load is running
+    static boolean isRunning() {
+        return running != null;
+    }
+
+    // HELPER: for PersistenceWorker
+    // MODIFIES: mainFrame (from SharedGuiComponents)
+    // EFFECTS: If readOnly, cover the main window with a glass pane that swallows every mouse and key event
+    //          (including key bindings such as undo), so no panel can edit the model; otherwise remove it and
+    //          give focus back to the component that had it
+    private static void setReadOnly(boolean readOnly) {
+        JFrame frame = SharedGuiComponents.mainFrame;
+        if (readOnly) {
+            if (inputBlocker == null) {
+                inputBlocker = createInputBlocker();
+            }
+            lastFocusOwner = frame.getFocusOwner();
+            frame.setGlassPane(inputBlocker);
+            inputBlocker.setVisible(true);
+            inputBlocker.requestFocusInWindow();
+        } else if (inputBlocker != null) {
+            inputBlocker.setVisible(false);
+            if (lastFocusOwner != null) {
+                lastFocusOwner.requestFocusInWindow();
+                lastFocusOwner = null;
             }
+        }
+    }
 
-            loadDataInOrder(data);
-            
-            SharedGuiComponents.showInfo("Program state loaded successfully!");
-        } catch (JSONException | IllegalArgumentException e) {
-            SharedGuiComponents.showError("Error loading program state: " + e.getMessage());
-        }
-    }
-
-    // HELPER: for performLoadOperation
-    // MODIFIES: WorkoutLibrary, ExerciseLibrary, WeeklySchedule
-    // EFFECTS: Load data in the correct order to maintain dependencies
-    private void loadDataInOrder(Map<String, JSONObject> data) {
-        if (data.containsKey("exerciseLibrary")) {
-            SharedGuiComponents.exerciseLibrary.fromJson(
-                    data.get("exerciseLibrary"), 
-                    SharedGuiComponents.predefinedData
-            );
-            if (data.containsKey("workoutLibrary")) {
-                SharedGuiComponents.workoutLibrary.fromJson(
-                        data.get("workoutLibrary"), 
-                        SharedGuiComponents.exerciseLibrary
-                );
-                if (data.containsKey("weeklySchedule")) {
-                    SharedGuiComponents.weeklySchedule.fromJson(
-                            data.get("weeklySchedule"), 
-                            SharedGuiComponents.workoutLibrary
-                    );
+    // HELPER: for setReadOnly
+    // EFFECTS: Return a transparent, focusable component with a wait cursor that consumes all input it receives
+    private static JComponent createInputBlocker() {
+        JPanel blocker = new JPanel();
+        blocker.setOpaque(false);
+        blocker.setFocusable(true);
+        blocker.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        MouseAdapter swallowMouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                e.consume();
+            }
+        };
+        blocker.addMouseListener(swallowMouse);
+        blocker.addMouseMotionListener(swallowMouse);
+        blocker.addMouseWheelListener(swallowMouse);
+        blocker.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                e.consume();
+            }
+
+            @Override
+            public void keyReleased(KeyEvent e) {
+                e.consume();
+            }
+
+            @Override
+            public void keyTyped(KeyEvent e) {
+                e.consume();
+            }
+        });
+        return blocker;
+    }
+
+    // HELPER: for LoadWorker
+    // REQUIRES: exerciseLibrary, workoutLibrary, weeklySchedule, and predefinedData are not null
+    //           (from SharedGuiComponents); called on the EDT
+    // MODIFIES: exerciseLibrary, workoutLibrary, weeklySchedule, commandLog (this program)
+    // EFFECTS: Swap the staged libraries and schedule into the live ones, in that order (each only if the previous
+    //          one was loaded); everything was parsed in the background, so nothing here can fail half-way
+    //          The undo history refers to the replaced model objects, so it is cleared
+    private static void swapIntoModel(StagedState staged) {
+        SharedGuiComponents.commandLog.clear();
+        if (staged.exerciseLibrary != null) {
+            SharedGuiComponents.exerciseLibrary.replaceContents(staged.exerciseLibrary);
+            if (staged.workoutLibrary != null) {
+                SharedGuiComponents.workoutLibrary.replaceContents(staged.workoutLibrary);
+                if (staged.weeklySchedule != null) {
+                    SharedGuiComponents.weeklySchedule.replaceContents(staged.weeklySchedule);
                 }
             }
         }
     }
 
+    // EFFECTS: Before the application exits: wait for a running save (including a cancelled one still being
+    //          written) to finish, so it is not cut off mid-write; cancel a running load, which has not changed
+    //          the model yet
+    //          Called on the EDT, which stays blocked while waiting, as the application exits right after
+    public void finishBeforeExit() {
+        if (running instanceof LoadWorker) {
+            running.cancel(true);
+        } else if (running != null) {
+            try {
+                running.awaitEnded();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     // EFFECTS: Prompt the user to save before exiting the application
+    //          The save runs on this thread, as the application exits right after (see finishBeforeExit)
     public void promptSaveOnExit() {
         boolean wantToSave = SharedGuiComponents.showConfirmation(
                 "Would you like to save your progress before exiting?");
@@ -143,4 +226,258 @@ public class PersistencePanel extends JPanel {
             performSaveOperation();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A background persistence operation shown behind a cancellable ProgressMonitor.
+     * Subclasses do their work in work(), report progress with setProgress, and check isCancelled between steps.
+     * Cancelling interrupts the work but cannot stop it at once (i.e. a file being written), so the operation is
+     * only finished (running cleared, the window editable again, the outcome reported) once work() has returned,
+     * or at once if it was cancelled before work() started.
+     */
+    private abstract static class PersistenceWorker<T> extends SwingWorker<T, Void> {
+        private static final int NEW = 0;
+        private static final int WORKING = 1;
+        private static final int ENDED = 2;
+
+        private final AtomicInteger stage = new AtomicInteger(NEW); // NEW -> WORKING -> ENDED, or NEW -> ENDED
+        private final CountDownLatch ended = new CountDownLatch(1);
+        private boolean finished; // EDT-confined
+        private ProgressMonitor monitor;
+        private Timer cancelPoller;
+
+        // MODIFIES: this
+        // EFFECTS: Show a progress monitor with the given message and start this worker in the background
+        //          Cancel this worker (interrupting it) when the user cancels the monitor
+        void start(String message) {
+            running = this;
+            setReadOnly(true);
+            monitor = new ProgressMonitor(SharedGuiComponents.mainFrame, message, null, 0, 100);
+            monitor.setMillisToDecideToPopup(100);
+            monitor.setMillisToPopup(200);
+            addPropertyChangeListener(e -> {
+                if ("progress".equals(e.getPropertyName())) {
+                    monitor.setProgress((Integer) e.getNewValue());
+                }
+            });
+            cancelPoller = new Timer(100, e -> {
+                if (monitor.isCanceled()) {
+                    cancelPoller.stop();
+                    cancel(true);
+                }
+            });
+            cancelPoller.start();
+            execute();
+        }
+
+        // EFFECTS: Run work() unless this worker was cancelled before it started; once work() has returned,
+        //          finish this operation on the EDT if done() has already run
+        @Override
+        protected final T doInBackground() throws Exception {
+            if (!stage.compareAndSet(NEW, WORKING)) {
+                return null;
+            }
+            try {
+                return work();
+            } finally {
+                stage.set(ENDED);
+                ended.countDown();
+                SwingUtilities.invokeLater(this::finishIfEnded);
+            }
+        }
+
+        // EFFECTS: Finish this operation if its background work has ended (or will never start)
+        //          done() runs as soon as this worker is cancelled, possibly while work() is still running
+        @Override
+        protected final void done() {
+            if (isCancelled() && stage.compareAndSet(NEW, ENDED)) {
+                ended.countDown();
+            }
+            finishIfEnded();
+        }
+
+        // EFFECTS: Block until this worker's background work has ended (or will never start)
+        void awaitEnded() throws InterruptedException {
+            ended.await();
+        }
+
+        // HELPER: for doInBackground, done
+        // MODIFIES: this
+        // EFFECTS: Once both done() has run and the background work has ended, and only once: close the progress
+        //          monitor, make the window editable again, and report the outcome
+        private void finishIfEnded() {
+            if (finished || !isDone() || stage.get() != ENDED) {
+                return;
+            }
+            finished = true;
+            cancelPoller.stop();
+            monitor.close();
+            running = null;
+            setReadOnly(false);
+            if (isCancelled()) {
+                cancelled();
+                return;
+            }
+            try {
+                succeeded(get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                failed(e.getCause());
+            }
+        }
+
+        // EFFECTS: Do this operation's work in the background and return its result
+        protected abstract T work() throws Exception;
+
+        // EFFECTS: Report that the user cancelled this operation (called once its work has ended)
+        protected abstract void cancelled();
+
+        // EFFECTS: Apply (on the EDT) and report the result of this operation
+        protected abstract void succeeded(T result);
+
+        // EFFECTS: Report that this operation failed with cause
+        protected abstract void failed(Throwable cause);
+    }
+
+    /**
+     * Serializes a model snapshot (taken on the EDT) and writes it to the save file in the background.
+     */
+    private static class SaveWorker extends PersistenceWorker<Void> {
+        private final ModelSnapshot snapshot;
+        private volatile boolean written; // The new save replaced the previous one
+
+        // EFFECTS: Create a worker that saves snapshot
+        SaveWorker(ModelSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        // EFFECTS: Serialize and save snapshot, replacing the previous save only once it is completely written
+        @Override
+        protected Void work() throws JSONException {
+            setProgress(10);
+            Map<String, JSONObject> components = snapshot.toJson();
+            if (isCancelled()) {
+                return null;
+            }
+            setProgress(50);
+            JsonManager.saveData(components);
+            written = true;
+            setProgress(100);
+            return null;
+        }
+
+        @Override
+        protected void cancelled() {
+            if (written) {
+                SharedGuiComponents.showInfo("The save had already been written when it was cancelled.");
+            } else {
+                SharedGuiComponents.showInfo("Save cancelled. The previous save was kept.");
+            }
+        }
+
+        @Override
+        protected void succeeded(Void result) {
+            SharedGuiComponents.showInfo("Program state saved successfully!");
+        }
+
+        @Override
+        protected void failed(Throwable cause) {
+            SharedGuiComponents.showError("Error saving program state: " + cause.getMessage());
+        }
+    }
+
+    /**
+     * Reads the save file and rebuilds the libraries and schedule into staging copies in the background;
+     * the staged contents are swapped into the live model on the EDT when it finishes.
+     */
+    private static class LoadWorker extends PersistenceWorker<StagedState> {
+
+        // EFFECTS: Return the saved state rebuilt into staging copies (see StagedState), or null if there is no
+        //          saved state or the load was cancelled
+        //          The staged schedule activates its metrics in a MetricsContext of its own, never the live one
+        @Override
+        protected StagedState work() throws JSONException {
+            setProgress(5);
+            Map<String, JSONObject> data = JsonManager.loadData();
+            if (data.isEmpty() || isCancelled()) {
+                return null;
+            }
+            setProgress(40);
+            StagedState staged = new StagedState();
+            if (data.containsKey("exerciseLibrary")) {
+                staged.exerciseLibrary = new ExerciseLibrary();
+                staged.exerciseLibrary.fromJson(data.get("exerciseLibrary"), SharedGuiComponents.predefinedData);
+                setProgress(70);
+                if (data.containsKey("workoutLibrary") && !isCancelled()) {
+                    staged.workoutLibrary = new WorkoutLibrary();
+                    staged.workoutLibrary.fromJson(data.get("workoutLibrary"), staged.exerciseLibrary);
+                    setProgress(85);
+                    if (data.containsKey("weeklySchedule") && !isCancelled()) {
+                        staged.weeklySchedule = new WeeklySchedule(new MetricsContext());
+                        staged.weeklySchedule.fromJson(data.get("weeklySchedule"), staged.workoutLibrary);
+                    }
+                }
+            }
+            setProgress(95);
+            return isCancelled() ? null : staged;
+        }
+
+        @Override
+        protected void cancelled() {
+            SharedGuiComponents.showInfo("Load cancelled. No data was changed.");
+        }
+
+        @Override
+        protected void succeeded(StagedState staged) {
+            if (staged == null) {
+                SharedGuiComponents.showInfo("No saved state found.");
+                return;
+            }
+            swapIntoModel(staged);
+            SharedGuiComponents.showInfo("Program state loaded successfully!");
+        }
+
+        @Override
+        protected void failed(Throwable cause) {
+            SharedGuiComponents.showError("Error loading program state: " + cause.getMessage());
+        }
+    }
+
+    /**
+     * The model's contents as of one EDT task: each library's current persistent version (see
+     * ExerciseLibrary.getAllExercises, WorkoutLibrary.getWorkoutsByName) and the week's plans, each taken in
+     * constant time. Serialized later, off the EDT, while the main window is read-only.
+     */
+    private static class ModelSnapshot {
+        private final Map<String, Exercise> exercises;
+        private final Map<String, WorkoutPlan> workouts;
+        private final List<WorkoutPlan> week;
+
+        // REQUIRES: called on the EDT
+        // EFFECTS: Snapshot exerciseLibrary, workoutLibrary, and weeklySchedule (from SharedGuiComponents)
+        ModelSnapshot() {
+            exercises = SharedGuiComponents.exerciseLibrary.getAllExercises();
+            workouts = SharedGuiComponents.workoutLibrary.getWorkoutsByName();
+            week = SharedGuiComponents.weeklySchedule.getWeeklySchedule();
+        }
+
+        // EFFECTS: Return the snapshot serialized, keyed by component as JsonManager saves it
+        Map<String, JSONObject> toJson() {
+            Map<String, JSONObject> components = new HashMap<String, JSONObject>();
+            components.put("exerciseLibrary", ExerciseLibrary.toJson(exercises));
+            components.put("workoutLibrary", WorkoutLibrary.toJson(workouts));
+            components.put("weeklySchedule", WeeklySchedule.toJson(week));
+            return components;
+        }
+    }
+
+    /**
+     * The loaded file's libraries and schedule, rebuilt off the live model
+     * (null if absent, or if the component it depends on is absent).
+     */
+    private static class StagedState {
+        private ExerciseLibrary exerciseLibrary;
+        private WorkoutLibrary workoutLibrary;
+        private WeeklySchedule weeklySchedule;
+    }
+}
@@ -1,6 +1,7 @@
 package ui.gui.components;
 
 import model.exercise.ExerciseLibrary;
+import model.history.CommandLog;
 import model.workout.WeeklySchedule;
 import model.workout.WorkoutLibrary;
 import model.log.Event;
@@ -9,6 +10,9 @@ import utility.PredefinedData;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 
 /**
  * This class contains static, shared helper methods and fields that different GUI components collectively use.
@@ -23,6 +27,7 @@ public class SharedGuiComponents {
     protected static WeeklySchedule weeklySchedule;
     protected static PredefinedData predefinedData;
     protected static JFrame mainFrame;
+    protected static CommandLog commandLog; // Every mutation made through the GUI, for undo and redo
     
     protected static final Color PRIMARY_COLOR = new Color(60, 63, 65);
     protected static final Color SECONDARY_COLOR = new Color(43, 43, 43);
@@ -36,6 +41,7 @@ public class SharedGuiComponents {
     // REQUIRES: None of the passed model objects are null
     // EFFECTS: Initialize the object-pointing fields needed by multiple UI components
     //          Set up shared references to model objects for consistent access across UI components
+    //          Bind Ctrl+Z and Ctrl+Y in frame to undo and redo
     public static void initializeItems(ExerciseLibrary exerciseLib, 
                                       WorkoutLibrary workoutLib, 
                                       WeeklySchedule weeklySched,
@@ -46,6 +52,59 @@ public class SharedGuiComponents {
         weeklySchedule = weeklySched;
         predefinedData = predefData;
         mainFrame = frame;
+        commandLog = new CommandLog();
+        bindUndoKeys(frame.getRootPane());
+    }
+
+    // HELPER: for initializeItems
+    // MODIFIES: rootPane
+    // EFFECTS: Run undoLastChange on Ctrl+Z and redoLastChange on Ctrl+Y anywhere in rootPane's window
+    private static void bindUndoKeys(JRootPane rootPane) {
+        InputMap keys = rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        keys.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo");
+        keys.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "redo");
+        rootPane.getActionMap().put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                undoLastChange();
+            }
+        });
+        rootPane.getActionMap().put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                redoLastChange();
+            }
+        });
+    }
+
+    // MODIFIES: exerciseLibrary, workoutLibrary, weeklySchedule, commandLog
+    // EFFECTS: Undo the most recent change made through the GUI (if any) and tell the user what was undone
+    //          Ignored while a save or load is running, as a load replaces the history
+    protected static void undoLastChange() {
+        if (PersistencePanel.isRunning()) {
+            return;
+        }
+        String description = commandLog.getUndoDescription();
+        if (commandLog.undo()) {
+            showInfo("Undone: " + description);
+        } else {
+            showInfo("Nothing to undo.");
+        }
+    }
+
+    // MODIFIES: exerciseLibrary, workoutLibrary, weeklySchedule, commandLog
+    // EFFECTS: Redo the most recently undone change (if any) and tell the user what was redone
+    //          Ignored while a save or load is running, as a load replaces the history
+    protected static void redoLastChange() {
+        if (PersistencePanel.isRunning()) {
+            return;
+        }
+        String description = commandLog.getRedoDescription();
+        if (commandLog.redo()) {
+            showInfo("Redone: " + description);
+        } else {
+            showInfo("Nothing to redo.");
+        }
     }
 
     // EFFECTS: Create a styled button with consistent appearance according to application style
@@ -90,6 +149,30 @@ public class SharedGuiComponents {
         return label;
     }
 
+    // EFFECTS: Create a text field that filters model as the user types (debounced by the model)
+    //          Return a JTextField with a tooltip explaining the filter
+    protected static JTextField createFilterField(FilterableListModel model) {
+        JTextField field = new JTextField(15);
+        field.setToolTipText("Filter by name (prefix, substring, or close spelling)");
+        field.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                model.setFilter(field.getText());
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                model.setFilter(field.getText());
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                model.setFilter(field.getText());
+            }
+        });
+        return field;
+    }
+
     // HELPER: for createStyledLabel, createTitleLabel
     // EFFECTS: Apply consistent styling to a label with text color and specified font
     //          Set label appearance properties for consistent UI styling
@@ -170,7 +253,7 @@ public class SharedGuiComponents {
 
     // EFFECTS: Show an error message dialog to the user with the specified message
     //          Display a modal error dialog centered on main application window
-    protected static void showError(String message) {
+    public static void showError(String message) {
         showMessageDialog(message, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
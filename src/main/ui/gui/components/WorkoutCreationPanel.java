@@ -1,6 +1,7 @@
 package ui.gui.components;
 
 import model.exercise.Exercise;
+import model.history.Commands;
 import model.workout.Workout;
 import ui.gui.WorkoutAppGUI;
 
@@ -120,7 +121,7 @@ public class WorkoutCreationPanel extends WorkoutModificationPanel {
         
         try {
             Workout workout = new Workout(name, new ArrayList<Exercise>(selectedExercises));
-            SharedGuiComponents.workoutLibrary.addWorkout(workout);
+            SharedGuiComponents.commandLog.execute(Commands.addWorkout(SharedGuiComponents.workoutLibrary, workout));
             
             SharedGuiComponents.showInfo("Workout '" + name + "' created successfully!");
             resetForm();
@@ -1,6 +1,7 @@
 package ui.gui.components;
 
 import model.exercise.Exercise;
+import model.history.Commands;
 import model.workout.Workout;
 import ui.gui.WorkoutAppGUI;
 
@@ -150,7 +151,8 @@ public class WorkoutEditPanel extends WorkoutModificationPanel {
         }
         
         try {
-            currentWorkout.setExercises(new ArrayList<>(selectedExercises));
+            SharedGuiComponents.commandLog.execute(
+                    Commands.setWorkoutExercises(currentWorkout, new ArrayList<>(selectedExercises)));
             
             SharedGuiComponents.showInfo("Workout '" + currentWorkout.getName() + "' updated successfully!");
             
@@ -1,22 +1,26 @@
 package ui.gui.components;
 
+import model.change.ModelChange;
 import model.exercise.Exercise;
+import model.history.Commands;
 import model.workout.Workout;
 import model.workout.WorkoutPlan;
 import ui.gui.WorkoutAppGUI;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * This panel manages existing workouts within WorkoutLibrary.
  * It allows users to view workout details, edit workout exercises, and delete workouts.
+ * Its list is filled once, then patched on the EDT from WorkoutLibrary's change bus.
  */
 public class WorkoutManagementPanel extends JPanel {
     
     private JList<String> workoutList;
-    private DefaultListModel<String> listModel;
+    private FilterableListModel listModel;
     private JPanel detailsPanel;
     private JButton viewButton;
     private JButton editButton; 
@@ -28,6 +32,9 @@ public class WorkoutManagementPanel extends JPanel {
         setupPanel();
         createComponents();
         layoutComponents();
+        updateWorkoutList();
+        SharedGuiComponents.workoutLibrary.getChanges().subscribe(this::applyWorkoutChanges,
+                SwingUtilities::invokeLater);
     }
 
     // HELPER: for WorkoutManagementPanel
@@ -50,8 +57,9 @@ public class WorkoutManagementPanel extends JPanel {
     // EFFECTS: Create the workout list component with styled appearance and single selection mode
     //          Set up list to display all available workouts from the library
     private void createWorkoutList() {
-        listModel = new DefaultListModel<>();
-        workoutList = new JList<>(listModel);
+        listModel = new FilterableListModel();
+        workoutList = new JList<>();
+        listModel.bind(workoutList);
         workoutList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         workoutList.setBackground(SharedGuiComponents.SECONDARY_COLOR);
         workoutList.setForeground(SharedGuiComponents.TEXT_COLOR);
@@ -117,8 +125,8 @@ public class WorkoutManagementPanel extends JPanel {
     }
 
     // HELPER: for layoutComponents
-    // EFFECTS: Create the panel containing the workout list with a scrollable view
-    //          Return a JPanel with labeled, scrollable list of available workouts
+    // EFFECTS: Create the panel containing the workout list with a scrollable view and a filter field
+    //          Return a JPanel with labeled, filterable, scrollable list of available workouts
     private JPanel createListPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(SharedGuiComponents.PRIMARY_COLOR);
@@ -133,6 +141,7 @@ public class WorkoutManagementPanel extends JPanel {
         
         panel.add(listLabel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(SharedGuiComponents.createFilterField(listModel), BorderLayout.SOUTH);
         
         return panel;
     }
@@ -152,36 +161,55 @@ public class WorkoutManagementPanel extends JPanel {
         return panel;
     }
 
-    // EFFECTS: Update the workout list from the library when the panel becomes visible
-    //          Refresh display to reflect any changes in WorkoutLibrary
+    // EFFECTS: Navigate back to main menu if no workouts are available when the panel becomes visible
+    //          (the list itself is kept current by applyWorkoutChanges)
     @Override
     public void setVisible(boolean visible) {
-        if (visible) {
-            updateWorkoutList();
-        }
-        super.setVisible(visible);
-    }
-
-    // HELPER: for setVisible
-    // EFFECTS: Update the workout list with current workouts from the library
-    //          Navigate back to main menu if no workouts are available
-    //          Update list display with all available workouts
-    private void updateWorkoutList() {
-        listModel.clear();
-        List<WorkoutPlan> workouts = SharedGuiComponents.workoutLibrary.getAllWorkouts();
-        
-        if (workouts.isEmpty()) {
+        if (visible && SharedGuiComponents.workoutLibrary.getNumWorkouts() == 0) {
             // If no workouts, navigate back to main menu
             SwingUtilities.invokeLater(() -> {
                 SharedGuiComponents.showInfo("No workouts available. Please create some workouts first.");
                 ((WorkoutAppGUI) SwingUtilities.getWindowAncestor(this)).navigateTo("MainMenu");
             });
-            return;
         }
-        
-        for (WorkoutPlan workout : workouts) {
-            listModel.addElement(workout.getName());
+        super.setVisible(visible);
+    }
+
+    // HELPER: for WorkoutManagementPanel (workoutLibrary's change bus, on the EDT)
+    // EFFECTS: Patch the workout list with each added or removed workout; refill it if the library was reloaded
+    //          Redisplay the shown workout's details if its exercises were modified
+    private void applyWorkoutChanges(List<ModelChange<WorkoutPlan>> changes) {
+        for (ModelChange<WorkoutPlan> change : changes) {
+            switch (change.getKind()) {
+                case RELOADED:
+                    updateWorkoutList();
+                    clearDetailsPanel();
+                    break;
+                case ADDED:
+                    listModel.addName(change.getSubject().getName());
+                    break;
+                case REMOVED:
+                    listModel.removeName(change.getSubject().getName());
+                    break;
+                case MODIFIED:
+                    if (change.getSubject().getName().equals(workoutList.getSelectedValue())) {
+                        displayWorkoutDetails(change.getSubject());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    // HELPER: for WorkoutManagementPanel, applyWorkoutChanges
+    // EFFECTS: Update the workout list with all current workouts from the library
+    private void updateWorkoutList() {
+        List<String> names = new ArrayList<String>();
+        for (WorkoutPlan workout : SharedGuiComponents.workoutLibrary.getAllWorkouts()) {
+            names.add(workout.getName());
         }
+        listModel.setNames(names);
     }
 
     // HELPER: for createButtons (viewButton action)
@@ -361,7 +389,7 @@ public class WorkoutManagementPanel extends JPanel {
     // HELPER: for createButtons (deleteButton action)
     // MODIFIES: WorkoutLibrary, WeeklySchedule
     // EFFECTS: Delete the selected workout after user confirmation
-    //          Remove the workout from the weekly schedule if it's scheduled
+    //          Remove the workout from the weekly schedule if it's scheduled, as one undoable step
     //          Show error message if no workout is selected
     private void deleteWorkout() {
         String selectedName = workoutList.getSelectedValue();
@@ -374,25 +402,10 @@ public class WorkoutManagementPanel extends JPanel {
                 "Are you sure you want to delete '" + selectedName + "'?");
         
         if (confirmed) {
-            removeWorkoutFromSchedule(selectedName);
-            SharedGuiComponents.workoutLibrary.removeWorkout(selectedName);
-            updateWorkoutList();
+            SharedGuiComponents.commandLog.execute(Commands.deleteWorkout(
+                    SharedGuiComponents.workoutLibrary, SharedGuiComponents.weeklySchedule, selectedName));
             clearDetailsPanel();
-            SharedGuiComponents.showInfo("Workout deleted successfully!");
-        }
-    }
-
-    // HELPER: for deleteWorkout
-    // MODIFIES: WeeklySchedule
-    // EFFECTS: Remove the workout from the weekly schedule if it's scheduled on any day
-    //          Iterate through all days and remove any WeeklySchedule-Workout references 
-    //          to the deleted Workout
-    private void removeWorkoutFromSchedule(String workoutName) {
-        for (int i = 0; i < 7; i++) {
-            WorkoutPlan plan = SharedGuiComponents.weeklySchedule.getScheduleForDay(i);
-            if (plan != null && plan.getName().equals(workoutName)) {
-                SharedGuiComponents.weeklySchedule.clearScheduleForDay(i);
-            }
+            SharedGuiComponents.showInfo("Workout deleted successfully! (Undo from the main menu or Ctrl+Z)");
         }
     }
 
@@ -1,5 +1,6 @@
 package ui.gui.components;
 
+import model.change.ModelChange;
 import model.exercise.Exercise;
 
 import javax.swing.*;
@@ -12,6 +13,7 @@ import java.util.Map;
  * This panel manages exercise selection for workout creation or editing.
  * It provides a reusable interface for manipulating the exercises in a workout,
  * whether with creating a new workout or modifying an existing one.
+ * The available exercises are loaded once, then patched on the EDT from ExerciseLibrary's change bus.
  */
 public abstract class WorkoutModificationPanel extends JPanel {
     
@@ -36,6 +38,9 @@ public abstract class WorkoutModificationPanel extends JPanel {
         initializeLists();
         createComponents();
         layoutComponents();
+        loadAvailableExercises();
+        SharedGuiComponents.exerciseLibrary.getChanges().subscribe(this::applyExerciseChanges,
+                SwingUtilities::invokeLater);
     }
 
     // HELPER: for WorkoutModificationPanel
@@ -247,28 +252,75 @@ public abstract class WorkoutModificationPanel extends JPanel {
     protected abstract void updateExerciseLists();
 
     // HELPER: for updateExerciseLists
-    // EFFECTS: Update the available exercises list with references to exercises from the library
+    // EFFECTS: Navigate back if no exercises are available
+    //          (the available list itself is kept current by applyExerciseChanges)
     protected void updateAvailableExercises() {
-        allAvailableExercises.clear();
-        availableListModel.clear();
-        availableExercises.clear();
-        
-        Map<String, Exercise> exercises = SharedGuiComponents.exerciseLibrary.getAllExercises();
-        if (exercises.isEmpty()) {
+        if (allAvailableExercises.isEmpty()) {
             SwingUtilities.invokeLater(() -> {
                 SharedGuiComponents.showError("No exercises available. Please create some exercises first.");
                 returnToMainMenu();
             });
-            return;
         }
-        
+    }
+
+    // HELPER: for WorkoutModificationPanel, applyExerciseChanges
+    // EFFECTS: Reload the available exercises list with references to exercises from the library
+    protected void loadAvailableExercises() {
+        allAvailableExercises.clear();
+        Map<String, Exercise> exercises = SharedGuiComponents.exerciseLibrary.getAllExercises();
         for (Exercise exercise : exercises.values()) {
             allAvailableExercises.add(exercise);
         }
-
         filterExercisesByType();
     }
 
+    // HELPER: for WorkoutModificationPanel (exerciseLibrary's change bus, on the EDT)
+    // EFFECTS: Patch the available exercises with each added or removed exercise (adding it to the available list
+    //          only if it passes the current type filter); reload them if the library was reloaded
+    //          A removed exercise is also removed from the selected exercises
+    protected void applyExerciseChanges(List<ModelChange<Exercise>> changes) {
+        for (ModelChange<Exercise> change : changes) {
+            Exercise exercise = change.getSubject();
+            switch (change.getKind()) {
+                case RELOADED:
+                    loadAvailableExercises();
+                    break;
+                case ADDED:
+                    allAvailableExercises.add(exercise);
+                    if (passesFilter(exercise)) {
+                        availableExercises.add(exercise);
+                        availableListModel.addElement(exercise.getName());
+                    }
+                    break;
+                case REMOVED:
+                    allAvailableExercises.remove(exercise);
+                    removeFrom(availableExercises, availableListModel, exercise);
+                    removeFrom(selectedExercises, selectedListModel, exercise);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    // HELPER: for applyExerciseChanges
+    // EFFECTS: Return true if exercise passes the currently selected type filter
+    private boolean passesFilter(Exercise exercise) {
+        String selectedFilter = (String) exerciseTypeFilter.getSelectedItem();
+        return selectedFilter.equals("All Exercises") || exercise.exerciseType().equals(selectedFilter.split(" ")[0]);
+    }
+
+    // HELPER: for applyExerciseChanges
+    // MODIFIES: exercises, model
+    // EFFECTS: Remove exercise from exercises and its name at the same position from model, if present
+    private void removeFrom(List<Exercise> exercises, DefaultListModel<String> model, Exercise exercise) {
+        int index = exercises.indexOf(exercise);
+        if (index >= 0) {
+            exercises.remove(index);
+            model.remove(index);
+        }
+    }
+
     // HELPER: for various error handlers
     // EFFECTS: Navigate back to the main menu
     protected abstract void returnToMainMenu();
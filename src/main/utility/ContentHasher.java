@@ -0,0 +1,70 @@
+package utility;
+
+/**
+ * REPRESENTS: a running 64-bit hash of a sequence of values
+ *
+ * USED BY:
+ *      1. Exercise and Workout, to compute canonical content hashes for deduplication
+ *
+ * PURPOSE: Hash values in the order they are added, the same way in every run of the program (FNV-1a over each
+ *          value's bytes, finished with a 64-bit avalanche mix), so equal content always gives an equal hash
+ *          - Strings are length-prefixed, so ("ab", "c") and ("a", "bc") hash differently
+ *          - Doubles are hashed by value, with -0.0 treated as 0.0 and every NaN as one NaN
+ *
+ * MUTABILITY: Mutable (each add updates the hash and returns this hasher)
+ */
+public class ContentHasher {
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash;
+
+    // EFFECTS: Create a hasher of no values
+    public ContentHasher() {
+        hash = OFFSET_BASIS;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add value's 8 bytes to the hash
+    public ContentHasher add(long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= PRIME;
+        }
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add value to the hash
+    public ContentHasher add(double value) {
+        return add(Double.doubleToLongBits(value == 0.0 ? 0.0 : value));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add value (its length, then its characters) to the hash; null hashes differently from ""
+    public ContentHasher add(String value) {
+        if (value == null) {
+            return add(-1L);
+        }
+        add((long) value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash ^= c & 0xff;
+            hash *= PRIME;
+            hash ^= c >>> 8;
+            hash *= PRIME;
+        }
+        return this;
+    }
+
+    // EFFECTS: Return the hash of the values added so far
+    public long getHash() {
+        long mixed = hash;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+}
@@ -0,0 +1,71 @@
+package utility;
+
+/**
+ * REPRESENTS: a fixed-length sequence of doubles (a Fenwick / binary indexed tree), all initially 0.0
+ *
+ * USED BY:
+ *      1. TrainingCalendar, one per associator and metric, indexed by day
+ *
+ * PURPOSE: Add to any element and sum any index range in O(log n), instead of O(1) updates with O(n) range
+ *          sums over a plain array (or the reverse with plain prefix sums)
+ *
+ * MUTABILITY: Mutable
+ */
+public class FenwickTree {
+    private final double[] tree; // 1-based; tree[i] holds the sum of the (i & -i) elements ending at i - 1
+
+    // EFFECTS: Create a tree of size elements, all 0.0
+    //          Throw IllegalArgumentException if size is negative
+    public FenwickTree(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative: " + size);
+        }
+        tree = new double[size + 1];
+    }
+
+    // EFFECTS: Return the number of elements
+    public int size() {
+        return tree.length - 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add delta to the element at index
+    //          Throw IndexOutOfBoundsException if index is not in [0, size)
+    public void add(int index, double delta) {
+        checkIndex(index);
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // EFFECTS: Return the sum of elements [0, end) (0.0 if end <= 0); end is clamped to size
+    public double prefixSum(int end) {
+        double sum = 0.0;
+        for (int i = Math.min(end, size()); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // EFFECTS: Return the sum of elements [from, to] inclusive (0.0 if from > to), clamped to [0, size)
+    public double rangeSum(int from, int to) {
+        if (from > to) {
+            return 0.0;
+        }
+        return prefixSum(to + 1) - prefixSum(Math.max(from, 0));
+    }
+
+    // EFFECTS: Return the element at index
+    //          Throw IndexOutOfBoundsException if index is not in [0, size)
+    public double get(int index) {
+        checkIndex(index);
+        return rangeSum(index, index);
+    }
+
+    // EFFECTS: Throw IndexOutOfBoundsException if index is not in [0, size)
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range [0, " + size() + ")");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package utility;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * REPRESENTS: a name-indexed registry of shared model objects (Muscles, MuscleGroups, or Equipment)
+ *
+ * USED BY:
+ *      1. PredefinedData to resolve Muscle, MuscleGroup, and Equipment instances by name
+ *
+ * PURPOSE: Build every lookup structure once instead of on each find call
+ *          Resolve a name with a single hash probe (exact name) or, failing that, a case-insensitive probe
+ *          Assign each entry a dense ordinal (its registration order) for array- or bit-indexed metrics
+ *          Also give ordinals to enrolled entries (entries that need an ordinal but are not looked up by name,
+ *          i.e. a Muscle built outside PredefinedData), so every ordinal comes from this one source
+ *          - An enrolled entry is only weakly referenced: once it is garbage collected its ordinal is freed and
+ *            reused, so short-lived enrolled entries neither stay reachable nor grow size()
+ *
+ * NOTE: Readers (find, get, asList, asMap) never lock: each registration publishes a new immutable snapshot
+ *       of the name maps and registered entries through a volatile field, so a reader sees either all of a
+ *       registration or none of it. Registrations are rare (class initialization and startup definitions), so
+ *       copying on each one is cheap next to the lookups it keeps lock-free.
+ *
+ * MUTABILITY: Append-only for registered entries (never removed, so their ordinals stay stable);
+ *             thread-safe
+ */
+public class NameRegistry<T> {
+    // Frees the ordinals of enrolled entries once they are garbage collected
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    // Guarded by this; copied into snapshot on each registration
+    private final List<T> byOrdinal; // ordinal -> registered entry, or null if the ordinal is enrolled or free
+    private final Map<String, T> byName;
+    private final Map<String, T> byLowerCaseName;
+    private final Map<T, Integer> ordinals; // registered entries only
+    private final Map<T, Integer> enrolled; // weakly referenced enrolled entries
+    private final BitSet freeOrdinals;
+    private final Function<T, String> naming;
+    // Immutable, read without locking
+    private volatile Snapshot<T> snapshot;
+
+    /**
+     * REPRESENTS: the registered entries of a NameRegistry at one point in time
+     *
+     * MUTABILITY: Immutable
+     */
+    private static final class Snapshot<T> {
+        private final List<T> byOrdinal; // ordinal -> registered entry, or null (up to the last registered ordinal)
+        private final List<T> registered; // registered entries in ordinal order
+        private final Map<String, T> byName;
+        private final Map<String, T> byLowerCaseName;
+
+        // EFFECTS: Copy the given registry state
+        private Snapshot(List<T> byOrdinal, Map<String, T> byName, Map<String, T> byLowerCaseName) {
+            int end = byOrdinal.size();
+            while (end > 0 && byOrdinal.get(end - 1) == null) {
+                end--;
+            }
+            List<T> registered = new ArrayList<T>(byName.size());
+            for (T entry : byOrdinal.subList(0, end)) {
+                if (entry != null) {
+                    registered.add(entry);
+                }
+            }
+            this.byOrdinal = Collections.unmodifiableList(new ArrayList<T>(byOrdinal.subList(0, end)));
+            this.registered = Collections.unmodifiableList(registered);
+            this.byName = Collections.unmodifiableMap(new LinkedHashMap<String, T>(byName));
+            this.byLowerCaseName = Map.copyOf(byLowerCaseName);
+        }
+    }
+
+    // EFFECTS: Create a registry of entries, in order, keyed by the given naming function
+    //          Later entries with an already registered name (ignoring case) are skipped
+    public NameRegistry(List<T> entries, Function<T, String> naming) {
+        this.naming = naming;
+        this.byOrdinal = new ArrayList<T>(entries.size());
+        this.byName = new LinkedHashMap<String, T>();
+        this.byLowerCaseName = new HashMap<String, T>();
+        this.ordinals = new IdentityHashMap<T, Integer>();
+        this.enrolled = new WeakHashMap<T, Integer>();
+        this.freeOrdinals = new BitSet();
+
+        synchronized (this) {
+            for (T entry : entries) {
+                add(entry);
+            }
+            publish();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Register entry under its name and return its ordinal: the one it was enrolled with, if any, or
+    //          else the lowest free ordinal
+    //          Return -1 and make no changes if entry is null, unnamed, or its name (ignoring case) is taken
+    public synchronized int register(T entry) {
+        int ordinal = add(entry);
+        if (ordinal >= 0) {
+            publish();
+        }
+        return ordinal;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Return entry's ordinal, giving it the lowest free ordinal first if it has none; an entry enrolled
+    //          this way is not found by name (unless it is registered later), and its ordinal is freed once it is
+    //          garbage collected
+    //          Throw IllegalArgumentException if entry is null
+    public synchronized int enroll(T entry) {
+        if (entry == null) {
+            throw new IllegalArgumentException("Cannot enroll null entry");
+        }
+        int ordinal = ordinalOf(entry);
+        if (ordinal >= 0) {
+            return ordinal;
+        }
+        int assigned = nextOrdinal();
+        enrolled.put(entry, assigned);
+        CLEANER.register(entry, () -> release(assigned));
+        return assigned;
+    }
+
+    // EFFECTS: Return the entry registered under name (case-insensitive), or null if none is
+    //          The exact-name probe allocates nothing; only a miss falls back to a lower-cased probe
+    public T find(String name) {
+        if (name == null) {
+            return null;
+        }
+        Snapshot<T> current = snapshot;
+        T entry = current.byName.get(name);
+        return (entry != null) ? entry : current.byLowerCaseName.get(toLowerCase(name));
+    }
+
+    // EFFECTS: Return the registered entry with the given ordinal, or null if no entry is registered with it
+    //          (the ordinal is enrolled, free, or past the end)
+    //          Throw IndexOutOfBoundsException if ordinal is negative
+    public T get(int ordinal) {
+        List<T> current = snapshot.byOrdinal;
+        if (ordinal < 0) {
+            throw new IndexOutOfBoundsException("Negative ordinal: " + ordinal);
+        }
+        return (ordinal < current.size()) ? current.get(ordinal) : null;
+    }
+
+    // EFFECTS: Return the ordinal of entry, or -1 if entry (this exact instance) is not registered or enrolled
+    public synchronized int ordinalOf(T entry) {
+        Integer ordinal = ordinals.get(entry);
+        if (ordinal == null && entry != null) {
+            ordinal = enrolled.get(entry);
+        }
+        return (ordinal != null) ? ordinal : -1;
+    }
+
+    // EFFECTS: Return one more than the largest ordinal in use by a registered or live enrolled entry
+    public synchronized int size() {
+        return byOrdinal.size();
+    }
+
+    // EFFECTS: Return an immutable list of the registered entries in ordinal order, as of this call
+    public List<T> asList() {
+        return snapshot.registered;
+    }
+
+    // EFFECTS: Return an immutable map of the registered entries by name, in registration order, as of this call
+    public Map<String, T> asMap() {
+        return snapshot.byName;
+    }
+
+    // HELPER: for NameRegistry, register
+    // MODIFIES: this
+    // EFFECTS: Add entry under its name (without publishing it) and return its ordinal, or -1 with no changes if
+    //          entry is null, unnamed, or its name (ignoring case) is taken; the caller holds this registry's lock
+    private int add(T entry) {
+        String name = (entry != null) ? naming.apply(entry) : null;
+        if (name == null || byLowerCaseName.containsKey(toLowerCase(name))) {
+            return -1;
+        }
+        Integer enrolledOrdinal = enrolled.remove(entry);
+        int ordinal = (enrolledOrdinal != null) ? enrolledOrdinal : nextOrdinal();
+        byOrdinal.set(ordinal, entry);
+        ordinals.put(entry, ordinal);
+        byName.put(name, entry);
+        byLowerCaseName.put(toLowerCase(name), entry);
+        return ordinal;
+    }
+
+    // HELPER: for NameRegistry, register
+    // MODIFIES: this
+    // EFFECTS: Publish a snapshot of the registered entries to readers; the caller holds this registry's lock
+    private void publish() {
+        snapshot = new Snapshot<T>(byOrdinal, byName, byLowerCaseName);
+    }
+
+    // HELPER: for add, enroll
+    // MODIFIES: this
+    // EFFECTS: Take and return the lowest free ordinal, or a new one past the end if none is free
+    private int nextOrdinal() {
+        int free = freeOrdinals.nextSetBit(0);
+        if (free >= 0) {
+            freeOrdinals.clear(free);
+            return free;
+        }
+        byOrdinal.add(null);
+        return byOrdinal.size() - 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Free the ordinal of an enrolled entry that was garbage collected (run by CLEANER), dropping free
+    //          ordinals from the end so size() shrinks back
+    private synchronized void release(int ordinal) {
+        freeOrdinals.set(ordinal);
+        int last = byOrdinal.size() - 1;
+        while (last >= 0 && freeOrdinals.get(last)) {
+            freeOrdinals.clear(last);
+            byOrdinal.remove(last);
+            last--;
+        }
+    }
+
+    // EFFECTS: Return name lower-cased independently of the default locale
+    private static String toLowerCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,498 @@
+package utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * REPRESENTS: an incrementally maintained search index over a set of names (i.e. exercise or workout names)
+ *
+ * USED BY:
+ *      1. ExerciseLibrary and WorkoutLibrary to answer type-ahead searches over their names
+ *
+ * PURPOSE: Answer case-insensitive prefix, substring, and typo-tolerant searches without scanning every name
+ *          - Prefix: sorted maps of whole names and of their individual words
+ *          - Substring: posting lists of the ids of names containing each character bigram; the rarest
+ *            bigram of the query supplies the candidates, which are then verified
+ *          - Typo-tolerant: each query word is matched against the vocabulary of indexed words (which has
+ *            its own bigram posting lists, so only words sharing enough bigrams are compared), allowing a
+ *            few edits against a prefix of the word; names must match every query word, in any order
+ *          Ranked search returns, in order: exact matches, name prefixes, word prefixes, substrings, and
+ *          near misses, stopping as soon as enough results are found
+ *          Within a tier only the best limit results are kept (bounded heap), never a full sort
+ *
+ * NOTE: Not synchronized, and searches reuse scratch buffers; use from one thread (i.e. the Swing EDT)
+ *       Removed names leave stale ids in posting lists until enough accumulate to rebuild the index
+ *
+ * MUTABILITY: Mutable
+ */
+public class NameSearchIndex {
+    private static final int MIN_REMOVED_BEFORE_REBUILD = 1024;
+
+    private List<String> names; // id -> name (null once removed)
+    private List<String> lowerNames; // id -> lower-cased name (null once removed)
+    private Map<String, Integer> ids; // name -> id
+    private NavigableMap<String, Set<Integer>> byLowerName;
+    private NavigableMap<String, Set<Integer>> byWord;
+    private Map<Integer, IntList> postings; // bigram -> ascending ids of names containing it
+    private List<String> words; // word id -> word (every word ever indexed since the last rebuild)
+    private Map<String, Integer> wordIds; // word -> word id
+    private Map<Integer, IntList> wordPostings; // bigram -> ids of words containing it
+    private int numRemoved;
+
+    // Scratch space reused across searches
+    private int[] counts;
+    private int[] previousRow;
+    private int[] currentRow;
+    private int[] beforePreviousRow;
+
+    // EFFECTS: Create an empty index
+    public NameSearchIndex() {
+        clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove every name from this index
+    public void clear() {
+        names = new ArrayList<String>();
+        lowerNames = new ArrayList<String>();
+        ids = new HashMap<String, Integer>();
+        byLowerName = new TreeMap<String, Set<Integer>>();
+        byWord = new TreeMap<String, Set<Integer>>();
+        postings = new HashMap<Integer, IntList>();
+        words = new ArrayList<String>();
+        wordIds = new HashMap<String, Integer>();
+        wordPostings = new HashMap<Integer, IntList>();
+        numRemoved = 0;
+        counts = new int[16];
+        previousRow = new int[16];
+        currentRow = new int[16];
+        beforePreviousRow = new int[16];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Add name to this index; return false (and do nothing) if name is null or already indexed
+    public boolean add(String name) {
+        if (name == null || ids.containsKey(name)) {
+            return false;
+        }
+        int id = names.size();
+        String lowerName = toLowerCase(name);
+        names.add(name);
+        lowerNames.add(lowerName);
+        ids.put(name, id);
+        byLowerName.computeIfAbsent(lowerName, k -> new TreeSet<Integer>()).add(id);
+        for (String word : splitWords(lowerName)) {
+            byWord.computeIfAbsent(word, k -> new TreeSet<Integer>()).add(id);
+            addToVocabulary(word);
+        }
+        for (int bigram : distinctBigrams(lowerName)) {
+            postings.computeIfAbsent(bigram, k -> new IntList()).add(id);
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Remove name from this index; return false if name is not indexed
+    public boolean remove(String name) {
+        Integer id = (name != null) ? ids.remove(name) : null;
+        if (id == null) {
+            return false;
+        }
+        String lowerName = lowerNames.get(id);
+        removeId(byLowerName, lowerName, id);
+        for (String word : splitWords(lowerName)) {
+            removeId(byWord, word, id);
+        }
+        names.set(id, null);
+        lowerNames.set(id, null);
+        numRemoved++;
+        if (numRemoved >= MIN_REMOVED_BEFORE_REBUILD && numRemoved > ids.size()) {
+            rebuild();
+        }
+        return true;
+    }
+
+    // EFFECTS: Return true if name is indexed
+    public boolean contains(String name) {
+        return ids.containsKey(name);
+    }
+
+    // EFFECTS: Return the number of indexed names
+    public int size() {
+        return ids.size();
+    }
+
+    // EFFECTS: Return up to limit names starting with prefix (ignoring case), in alphabetical order
+    public List<String> searchPrefix(String prefix, int limit) {
+        Set<Integer> found = new LinkedHashSet<Integer>();
+        collectPrefix(byLowerName, toLowerCase(prefix), found, limit);
+        return toNames(found);
+    }
+
+    // EFFECTS: Return up to limit names containing text (ignoring case), shortest first, then alphabetically
+    public List<String> searchSubstring(String text, int limit) {
+        Set<Integer> found = new LinkedHashSet<Integer>();
+        collectSubstring(toLowerCase(text), found, limit);
+        return toNames(found);
+    }
+
+    // EFFECTS: Return up to limit names best matching query (ignoring case), ranked as:
+    //          1. exact matches, 2. names starting with query, 3. names with a word starting with query,
+    //          4. names containing query, 5. names within a small edit distance of containing query
+    //          A blank query returns the first limit names alphabetically
+    public List<String> search(String query, int limit) {
+        Set<Integer> found = new LinkedHashSet<Integer>();
+        String lowerQuery = (query != null) ? toLowerCase(query.trim()) : "";
+        if (limit <= 0) {
+            return new ArrayList<String>();
+        }
+        if (lowerQuery.isEmpty()) {
+            collectPrefix(byLowerName, "", found, limit);
+            return toNames(found);
+        }
+
+        Set<Integer> exact = byLowerName.get(lowerQuery);
+        if (exact != null) {
+            addUpTo(found, exact, limit);
+        }
+        collectPrefix(byLowerName, lowerQuery, found, limit);
+        collectPrefix(byWord, lowerQuery, found, limit);
+        collectSubstring(lowerQuery, found, limit);
+        collectFuzzy(lowerQuery, found, limit);
+        return toNames(found);
+    }
+
+    // HELPER: for searchPrefix, search
+    // MODIFIES: found
+    // EFFECTS: Add ids under keys of map starting with prefix, in key order, until found holds limit ids
+    private void collectPrefix(NavigableMap<String, Set<Integer>> map, String prefix, Set<Integer> found,
+            int limit) {
+        if (found.size() >= limit) {
+            return;
+        }
+        Map<String, Set<Integer>> matching = prefix.isEmpty() ? map
+                : map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (Set<Integer> matchingIds : matching.values()) {
+            if (!addUpTo(found, matchingIds, limit)) {
+                return;
+            }
+        }
+    }
+
+    // HELPER: for searchSubstring, search
+    // MODIFIES: found
+    // EFFECTS: Add ids of names containing lowerText (of at least 2 characters), shortest first, then
+    //          alphabetically, until found holds limit ids
+    //          Candidates come from the posting list of lowerText's rarest bigram
+    private void collectSubstring(String lowerText, Set<Integer> found, int limit) {
+        if (found.size() >= limit || lowerText.length() < 2) {
+            return;
+        }
+        IntList rarest = null;
+        for (int bigram : distinctBigrams(lowerText)) {
+            IntList posting = postings.get(bigram);
+            if (posting == null) {
+                return; // Some bigram occurs in no name
+            }
+            if (rarest == null || posting.size < rarest.size) {
+                rarest = posting;
+            }
+        }
+        TopResults top = new TopResults(limit - found.size());
+        for (int i = 0; i < rarest.size; i++) {
+            int id = rarest.data[i];
+            String lowerName = lowerNames.get(id);
+            if (lowerName != null && lowerName.contains(lowerText) && !found.contains(id)) {
+                top.offer(id, 0);
+            }
+        }
+        addUpTo(found, top.drain(), limit);
+    }
+
+    // HELPER: for search
+    // MODIFIES: found
+    // EFFECTS: Add ids of names in which every word of lowerQuery nearly matches the start of some word,
+    //          fewest total edits first (then shortest, then alphabetically), until found holds limit ids
+    private void collectFuzzy(String lowerQuery, Set<Integer> found, int limit) {
+        if (found.size() >= limit) {
+            return;
+        }
+        Map<Integer, Integer> matches = null; // name id -> summed edits over the query words so far
+        for (String token : splitWords(lowerQuery)) {
+            Map<Integer, Integer> tokenMatches = matchWord(token);
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                Map<Integer, Integer> both = new HashMap<Integer, Integer>();
+                for (Map.Entry<Integer, Integer> entry : tokenMatches.entrySet()) {
+                    Integer edits = matches.get(entry.getKey());
+                    if (edits != null) {
+                        both.put(entry.getKey(), edits + entry.getValue());
+                    }
+                }
+                matches = both;
+            }
+            if (matches.isEmpty()) {
+                return;
+            }
+        }
+        if (matches == null) {
+            return;
+        }
+        TopResults top = new TopResults(limit - found.size());
+        for (Map.Entry<Integer, Integer> entry : matches.entrySet()) {
+            if (!found.contains(entry.getKey())) {
+                top.offer(entry.getKey(), entry.getValue());
+            }
+        }
+        addUpTo(found, top.drain(), limit);
+    }
+
+    // HELPER: for collectFuzzy
+    // EFFECTS: Return the ids of names with a word starting within a few edits of token, each mapped to its
+    //          fewest edits; tokens of up to 3 characters must match exactly, longer ones allow 1 edit, and
+    //          those of 8 or more allow 2
+    //          Each edit (at worst a transposition) changes at most 3 bigrams, so a word within k edits of
+    //          token still shares at least (distinct bigrams of token - 3k) of them; only vocabulary words
+    //          sharing that many are compared
+    private Map<Integer, Integer> matchWord(String token) {
+        Map<Integer, Integer> matches = new HashMap<Integer, Integer>();
+        int length = token.length();
+        int maxEdits = (length <= 3) ? 0 : (length <= 7) ? 1 : 2;
+        if (maxEdits == 0) {
+            for (Set<Integer> nameIds : byWord.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                for (int id : nameIds) {
+                    matches.put(id, 0);
+                }
+            }
+            return matches;
+        }
+
+        int[] bigrams = distinctBigrams(token);
+        int minShared = Math.max(1, bigrams.length - 3 * maxEdits);
+        if (counts.length < words.size()) {
+            counts = new int[Math.max(words.size(), counts.length * 2)];
+        }
+        IntList touched = new IntList();
+        for (int bigram : bigrams) {
+            IntList posting = wordPostings.get(bigram);
+            for (int i = 0; posting != null && i < posting.size; i++) {
+                if (counts[posting.data[i]]++ == 0) {
+                    touched.add(posting.data[i]);
+                }
+            }
+        }
+        for (int i = 0; i < touched.size; i++) {
+            int wordId = touched.data[i];
+            Set<Integer> nameIds = byWord.get(words.get(wordId)); // null once no name has the word
+            if (counts[wordId] >= minShared && nameIds != null) {
+                int edits = prefixDistance(token, words.get(wordId));
+                if (edits <= maxEdits) {
+                    for (int id : nameIds) {
+                        matches.merge(id, edits, Math::min);
+                    }
+                }
+            }
+            counts[wordId] = 0;
+        }
+        return matches;
+    }
+
+    // EFFECTS: Return the smallest edit distance between pattern and any prefix of text, where an edit is an
+    //          insertion, deletion, substitution, or transposition of adjacent characters
+    private int prefixDistance(String pattern, String text) {
+        int m = pattern.length();
+        if (previousRow.length <= m) {
+            previousRow = new int[m + 1];
+            currentRow = new int[m + 1];
+            beforePreviousRow = new int[m + 1];
+        }
+        int[] beforePrevious = beforePreviousRow;
+        int[] previous = previousRow;
+        int[] current = currentRow;
+        for (int i = 0; i <= m; i++) {
+            previous[i] = i;
+        }
+        int best = previous[m];
+        for (int j = 0; j < text.length(); j++) {
+            char c = text.charAt(j);
+            current[0] = j + 1;
+            for (int i = 1; i <= m; i++) {
+                int substitution = previous[i - 1] + ((pattern.charAt(i - 1) == c) ? 0 : 1);
+                current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+                if (i > 1 && j > 0 && pattern.charAt(i - 1) == text.charAt(j - 1)
+                        && pattern.charAt(i - 2) == c) {
+                    current[i] = Math.min(current[i], beforePrevious[i - 2] + 1);
+                }
+            }
+            best = Math.min(best, current[m]);
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return best;
+    }
+
+    // HELPER: for add
+    // MODIFIES: this
+    // EFFECTS: Add word to the vocabulary (with its bigram postings) if it is not already there
+    private void addToVocabulary(String word) {
+        if (wordIds.containsKey(word)) {
+            return;
+        }
+        int wordId = words.size();
+        words.add(word);
+        wordIds.put(word, wordId);
+        for (int bigram : distinctBigrams(word)) {
+            wordPostings.computeIfAbsent(bigram, k -> new IntList()).add(wordId);
+        }
+    }
+
+    // HELPER: for remove
+    // MODIFIES: this
+    // EFFECTS: Re-add every indexed name so stale ids are dropped from the posting lists
+    private void rebuild() {
+        List<String> live = new ArrayList<String>(ids.keySet());
+        clear();
+        for (String name : live) {
+            add(name);
+        }
+    }
+
+    // MODIFIES: found
+    // EFFECTS: Add ids to found until it holds limit ids; return false if the limit was reached
+    private static boolean addUpTo(Set<Integer> found, Iterable<Integer> ids, int limit) {
+        for (Integer id : ids) {
+            if (found.size() >= limit) {
+                return false;
+            }
+            found.add(id);
+        }
+        return found.size() < limit;
+    }
+
+    // EFFECTS: Return the names of ids, in order
+    private List<String> toNames(Set<Integer> found) {
+        List<String> result = new ArrayList<String>(found.size());
+        for (int id : found) {
+            result.add(names.get(id));
+        }
+        return result;
+    }
+
+    // MODIFIES: map
+    // EFFECTS: Remove id from the set map holds under key, removing the set once it is empty
+    private static void removeId(Map<String, Set<Integer>> map, String key, int id) {
+        Set<Integer> keyIds = map.get(key);
+        if (keyIds != null) {
+            keyIds.remove(id);
+            if (keyIds.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    // EFFECTS: Return the distinct words (runs of letters or digits) of lowerName, in order
+    private static Set<String> splitWords(String lowerName) {
+        Set<String> words = new LinkedHashSet<String>();
+        for (String word : lowerName.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // EFFECTS: Return the distinct character bigrams of text, each packed into an int
+    private static int[] distinctBigrams(String text) {
+        int[] bigrams = new int[Math.max(0, text.length() - 1)];
+        for (int i = 0; i < bigrams.length; i++) {
+            bigrams[i] = (text.charAt(i) << 16) | text.charAt(i + 1);
+        }
+        Arrays.sort(bigrams);
+        int distinct = 0;
+        for (int i = 0; i < bigrams.length; i++) {
+            if (i == 0 || bigrams[i] != bigrams[i - 1]) {
+                bigrams[distinct++] = bigrams[i];
+            }
+        }
+        return Arrays.copyOf(bigrams, distinct);
+    }
+
+    // EFFECTS: Return text lower-cased independently of the default locale ("" if text is null)
+    private static String toLowerCase(String text) {
+        return (text != null) ? text.toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * REPRESENTS: the best (fewest edits, then shortest name, then alphabetical) ids offered so far,
+     *             up to a fixed capacity, kept in a max-heap whose root is the worst kept result
+     */
+    private class TopResults {
+        private final int capacity;
+        private final PriorityQueue<int[]> heap; // {id, edits}
+        private final Comparator<int[]> order = Comparator.<int[]>comparingInt(result -> result[1])
+                .thenComparingInt(result -> names.get(result[0]).length())
+                .thenComparing(result -> names.get(result[0]));
+
+        // EFFECTS: Create an empty collection keeping at most capacity results
+        private TopResults(int capacity) {
+            this.capacity = Math.max(capacity, 0);
+            this.heap = new PriorityQueue<int[]>(Math.max(this.capacity, 1), order.reversed());
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Keep id if it ranks among the best capacity results offered so far
+        private void offer(int id, int edits) {
+            int[] result = new int[] {id, edits};
+            if (heap.size() < capacity) {
+                heap.add(result);
+            } else if (capacity > 0 && order.compare(result, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(result);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Remove and return the kept ids, best first
+        private List<Integer> drain() {
+            List<int[]> results = new ArrayList<int[]>(heap);
+            heap.clear();
+            results.sort(order);
+            List<Integer> ids = new ArrayList<Integer>(results.size());
+            for (int[] result : results) {
+                ids.add(result[0]);
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * REPRESENTS: a growable array of ints (a posting list), avoiding boxing one Integer per entry
+     */
+    private static class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        // MODIFIES: this
+        // EFFECTS: Append value
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package utility;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * REPRESENTS: an immutable map (a hash array mapped trie) of non-null keys to non-null values
+ *
+ * USED BY:
+ *      1. ExerciseLibrary and WorkoutLibrary, as their name -> exercise/workout plan maps
+ *      2. Readers of those libraries (savers, analytics, UI lists), which keep a version as a snapshot
+ *
+ * PURPOSE: Make every version of a library map a constant-time snapshot: with and without return a new version
+ *          that shares every untouched branch with this one (copying only the O(log32 n) nodes on the key's path),
+ *          so nothing ever needs a defensive copy and a version can be read from any thread while newer versions
+ *          are made
+ *          - Each node holds up to 32 slots, selected by 5 bits of the key's hash and compressed by a bitmap,
+ *            so get, with, and without visit at most 7 nodes
+ *          - Keys whose whole hashes are equal share one collision node
+ *          - As a Map it is read-only (put, remove, and clear throw UnsupportedOperationException)
+ *
+ * MUTABILITY: Immutable (safe to read from any thread)
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<Object, Object> EMPTY = new PersistentHashMap<Object, Object>(null, 0);
+
+    private final Node root; // null if empty
+    private final int size;
+    private Set<Map.Entry<K, V>> entries;
+
+    // EFFECTS: Create a map of the trie under root, holding size entries
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    // EFFECTS: Return the empty map
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    // EFFECTS: Return a map with every entry of this one, and key mapped to value (replacing key's previous
+    //          value); return this map itself if key is already mapped to this exact value
+    //          Throw IllegalArgumentException if key or value is null
+    public PersistentHashMap<K, V> with(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Keys and values cannot be null");
+        }
+        Leaf leaf = new Leaf(hash(key), key, value);
+        if (root == null) {
+            return new PersistentHashMap<K, V>(Node.of(leaf, 0), 1);
+        }
+        boolean[] added = new boolean[1];
+        Node newRoot = root.with(leaf, 0, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<K, V>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    // EFFECTS: Return a map with every entry of this one except key's; return this map itself if key is absent
+    public PersistentHashMap<K, V> without(Object key) {
+        if (key == null || root == null) {
+            return this;
+        }
+        Object newRoot = root.without(key, hash(key), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        if (newRoot == null) {
+            return empty();
+        }
+        return new PersistentHashMap<K, V>(Node.asRoot(newRoot), size - 1);
+    }
+
+    // EFFECTS: Return the value key is mapped to, or null if key is absent
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Leaf leaf = find(key);
+        return (leaf != null) ? (V) leaf.value : null;
+    }
+
+    // EFFECTS: Return true if key is mapped to a value
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    // EFFECTS: Return the number of entries
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: Return a read-only view of the entries, in no particular order
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entries == null) {
+            entries = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator<K, V>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entries;
+    }
+
+    // HELPER: for get, containsKey
+    // EFFECTS: Return the leaf holding key, or null if key is absent
+    private Leaf find(Object key) {
+        if (key == null || root == null) {
+            return null;
+        }
+        int hash = hash(key);
+        Object slot = root;
+        for (int shift = 0; slot instanceof Node; shift += BITS) {
+            slot = ((Node) slot).slotFor(hash, shift);
+        }
+        if (slot instanceof Leaf) {
+            Leaf leaf = (Leaf) slot;
+            return (leaf.hash == hash && leaf.key.equals(key)) ? leaf : null;
+        }
+        return (slot instanceof Collision) ? ((Collision) slot).find(key, hash) : null;
+    }
+
+    // HELPER: for with, without, find
+    // EFFECTS: Return key's hash code with its high bits folded into the low bits the trie branches on first
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // HELPER: for Node
+    // EFFECTS: Return the bit selecting hash's slot at the trie level of shift
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    // HELPER: for Node
+    // EFFECTS: Return the hash of slot, a Leaf or Collision
+    private static int hashOf(Object slot) {
+        return (slot instanceof Leaf) ? ((Leaf) slot).hash : ((Collision) slot).hash;
+    }
+
+    /**
+     * REPRESENTS: one key-value entry (also the entries the map's iterator returns)
+     */
+    private static final class Leaf implements Map.Entry<Object, Object> {
+        private final int hash;
+        private final Object key;
+        private final Object value;
+
+        // EFFECTS: Create an entry of key, with the given hash, mapped to value
+        Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        // EFFECTS: Throw UnsupportedOperationException (the map is immutable)
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException("PersistentHashMap entries are immutable");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return key.equals(other.getKey()) && value.equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * REPRESENTS: the entries of two or more keys with the same hash
+     */
+    private static final class Collision {
+        private final int hash;
+        private final Leaf[] leaves;
+
+        // EFFECTS: Create a collision node of leaves, all of the given hash
+        Collision(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        // EFFECTS: Return the leaf of key (of the given hash), or null if absent
+        Leaf find(Object key, int hash) {
+            if (hash != this.hash) {
+                return null;
+            }
+            for (Leaf leaf : leaves) {
+                if (leaf.key.equals(key)) {
+                    return leaf;
+                }
+            }
+            return null;
+        }
+
+        // REQUIRES: leaf.hash == hash
+        // EFFECTS: Return a collision node with leaf added, or replacing the leaf of the same key (setting added[0]
+        //          only if it was absent); return this if that leaf has this exact value already
+        Collision with(Leaf leaf, boolean[] added) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(leaf.key)) {
+                    if (leaves[i].value == leaf.value) {
+                        return this;
+                    }
+                    Leaf[] copy = leaves.clone();
+                    copy[i] = leaf;
+                    return new Collision(hash, copy);
+                }
+            }
+            Leaf[] copy = new Leaf[leaves.length + 1];
+            System.arraycopy(leaves, 0, copy, 0, leaves.length);
+            copy[leaves.length] = leaf;
+            added[0] = true;
+            return new Collision(hash, copy);
+        }
+
+        // EFFECTS: Return this node without key's leaf: this if key is absent, or the single remaining Leaf
+        Object without(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(key)) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    Leaf[] copy = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, copy, 0, i);
+                    System.arraycopy(leaves, i + 1, copy, i, leaves.length - i - 1);
+                    return new Collision(hash, copy);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * REPRESENTS: one trie level: the occupied slots among 32, each a Leaf, Collision, or child Node
+     *
+     * NOTE: slots is ordered by slot number; a slot's position is the number of occupied slots before it
+     *       (the bits of bitmap below its bit)
+     */
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] slots;
+
+        // EFFECTS: Create a node of slots, occupying the slot numbers whose bits are set in bitmap
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        // EFFECTS: Return a node at the level of shift holding only slot (a Leaf or Collision)
+        static Node of(Object slot, int shift) {
+            return new Node(bitFor(hashOf(slot), shift), new Object[] {slot});
+        }
+
+        // EFFECTS: Return slot as a root Node (a lone Leaf or Collision is wrapped in one)
+        static Node asRoot(Object slot) {
+            return (slot instanceof Node) ? (Node) slot : of(slot, 0);
+        }
+
+        // EFFECTS: Return the slot hash selects at this level (of shift), or null if it is unoccupied
+        Object slotFor(int hash, int shift) {
+            int bit = bitFor(hash, shift);
+            return ((bitmap & bit) == 0) ? null : slots[position(bit)];
+        }
+
+        // EFFECTS: Return a node with leaf added under this one, or replacing the leaf of the same key (setting
+        //          added[0] only if it was absent); return this if that leaf has this exact value already
+        Node with(Leaf leaf, int shift, boolean[] added) {
+            int bit = bitFor(leaf.hash, shift);
+            int position = position(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                Object[] copy = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, copy, 0, position);
+                copy[position] = leaf;
+                System.arraycopy(slots, position, copy, position + 1, slots.length - position);
+                return new Node(bitmap | bit, copy);
+            }
+            Object slot = slots[position];
+            Object replacement;
+            if (slot instanceof Node) {
+                replacement = ((Node) slot).with(leaf, shift + BITS, added);
+            } else if (slot instanceof Leaf && ((Leaf) slot).key.equals(leaf.key)) {
+                replacement = (((Leaf) slot).value == leaf.value) ? slot : leaf;
+            } else if (hashOf(slot) == leaf.hash) {
+                replacement = collide(slot, leaf, added);
+            } else {
+                added[0] = true;
+                replacement = split(slot, leaf, shift + BITS);
+            }
+            return (replacement == slot) ? this : replacing(position, replacement);
+        }
+
+        // EFFECTS: Return this node without key's leaf, as: this if key is absent, null if nothing is left, the single
+        //          remaining Leaf or Collision (for the parent to hold directly), or a new Node
+        Object without(Object key, int hash, int shift) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int position = position(bit);
+            Object slot = slots[position];
+            Object replacement;
+            if (slot instanceof Node) {
+                replacement = ((Node) slot).without(key, hash, shift + BITS);
+            } else if (slot instanceof Leaf) {
+                replacement = ((Leaf) slot).key.equals(key) ? null : slot;
+            } else {
+                replacement = (hash == ((Collision) slot).hash) ? ((Collision) slot).without(key) : slot;
+            }
+            if (replacement == slot) {
+                return this;
+            }
+            if (replacement != null) {
+                return replacing(position, replacement);
+            }
+            if (slots.length == 1) {
+                return null;
+            }
+            if (slots.length == 2 && !(slots[1 - position] instanceof Node)) {
+                return slots[1 - position];
+            }
+            Object[] copy = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, copy, 0, position);
+            System.arraycopy(slots, position + 1, copy, position, slots.length - position - 1);
+            return new Node(bitmap & ~bit, copy);
+        }
+
+        // HELPER: for with, without
+        // EFFECTS: Return the position in slots of the slot selected by bit
+        private int position(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        // HELPER: for with, without
+        // EFFECTS: Return a copy of this node with the slot at position replaced by replacement
+        private Node replacing(int position, Object replacement) {
+            Object[] copy = slots.clone();
+            copy[position] = replacement;
+            return new Node(bitmap, copy);
+        }
+
+        // HELPER: for with
+        // REQUIRES: slot (a Leaf of another key, or a Collision) has the same hash as leaf
+        // EFFECTS: Return the collision node of slot's leaves and leaf
+        private static Collision collide(Object slot, Leaf leaf, boolean[] added) {
+            if (slot instanceof Collision) {
+                return ((Collision) slot).with(leaf, added);
+            }
+            added[0] = true;
+            return new Collision(leaf.hash, new Leaf[] {(Leaf) slot, leaf});
+        }
+
+        // HELPER: for with
+        // REQUIRES: slot (a Leaf or Collision) and leaf have different hashes, equal in the bits below shift
+        // EFFECTS: Return the subtrie at the level of shift holding slot and leaf
+        private static Node split(Object slot, Leaf leaf, int shift) {
+            int slotBit = bitFor(hashOf(slot), shift);
+            int leafBit = bitFor(leaf.hash, shift);
+            if (slotBit == leafBit) {
+                return new Node(slotBit, new Object[] {split(slot, leaf, shift + BITS)});
+            }
+            Object[] pair = (Integer.compareUnsigned(slotBit, leafBit) < 0)
+                    ? new Object[] {slot, leaf} : new Object[] {leaf, slot};
+            return new Node(slotBit | leafBit, pair);
+        }
+    }
+
+    /**
+     * REPRESENTS: a depth-first walk over the leaves of a trie
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Deque<Object[]> slotStack;
+        private final Deque<Integer> positionStack;
+        private Leaf[] collisionLeaves;
+        private int collisionPosition;
+        private Leaf next;
+
+        // EFFECTS: Create an iterator over the leaves under root (none if root is null)
+        EntryIterator(Node root) {
+            slotStack = new ArrayDeque<Object[]>();
+            positionStack = new ArrayDeque<Integer>();
+            if (root != null) {
+                slotStack.push(root.slots);
+                positionStack.push(0);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Leaf current = next;
+            advance();
+            return (Map.Entry<K, V>) (Map.Entry<?, ?>) current;
+        }
+
+        // HELPER: for EntryIterator, next
+        // MODIFIES: this
+        // EFFECTS: Move next to the following leaf (null once every leaf has been returned)
+        private void advance() {
+            if (collisionLeaves != null && collisionPosition < collisionLeaves.length) {
+                next = collisionLeaves[collisionPosition++];
+                return;
+            }
+            collisionLeaves = null;
+            while (!slotStack.isEmpty()) {
+                Object[] slots = slotStack.peek();
+                int position = positionStack.pop();
+                if (position == slots.length) {
+                    slotStack.pop();
+                    continue;
+                }
+                positionStack.push(position + 1);
+                Object slot = slots[position];
+                if (slot instanceof Node) {
+                    slotStack.push(((Node) slot).slots);
+                    positionStack.push(0);
+                } else if (slot instanceof Leaf) {
+                    next = (Leaf) slot;
+                    return;
+                } else {
+                    collisionLeaves = ((Collision) slot).leaves;
+                    collisionPosition = 1;
+                    next = collisionLeaves[0];
+                    return;
+                }
+            }
+            next = null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package utility;
 
+import model.equipment.CustomEquipment;
 import model.equipment.Equipment;
 import model.equipment.bodyweight.BodyWeight;
 import model.equipment.cardio.Treadmill;
@@ -12,14 +13,30 @@ import model.muscle.MuscleGroup;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeSet;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import persistence.JsonManager;
 
 /**
  * REPRESENTS: A centralized repository of all predefined Muscles, MuscleGroups, and Equipment.
+ * 
+ * NOTE: Name lookups are served from registries built once at class initialization (see NameRegistry),
+ *       so resolving names while loading saved data does not allocate.
+ *       The registries can be extended at startup with user-defined Equipment, Muscles, and MuscleGroups
+ *       (see loadDefinitions); extra entries receive the next dense ordinals after the built-in ones.
+ *       The muscle registry is the only source of Muscle ordinals: a Muscle built elsewhere (i.e. in tests)
+ *       is enrolled in it when its ordinal is first needed (see enrollMuscle), without becoming findable by name
+ *       or being kept reachable by the registry.
  */
 public class PredefinedData {
+    // Optional; custom-definitions.example.json beside it is a sample (see loadDefinitions for the format)
+    public static final String DEFAULT_DEFINITIONS_PATH = "./src/main/data/custom-definitions.json";
+
     // Equipment instances
     private static final Treadmill TREADMILL = new Treadmill();
     private static final BodyWeight BODYWEIGHT = new BodyWeight();
@@ -65,6 +82,14 @@ public class PredefinedData {
     private static final Muscle TFL = new Muscle("Tensor Fasciae Latae");
     private static final Muscle IT_BAND = new Muscle("IT Band");
 
+    // Declared before any MuscleGroup, whose construction asks each of its muscles for its ordinal (see enrollMuscle)
+    private static final NameRegistry<Muscle> MUSCLES = new NameRegistry<Muscle>(List.of(
+            BICEP, BRACHIALIS, TRICEP, FOREARM_FLEXORS, FOREARM_EXTENSORS, BRACHIORADIALIS,
+            QUAD, HAMSTRING, GLUTE, CALF, ABS, OBLIQUES, REAR_DELTOID, FRONT_DELTOID, SIDE_DELTOID,
+            UPPER_CHEST, MIDDLE_CHEST, LOWER_CHEST, UPPER_BACK_MUSCLE, MID_BACK_MUSCLE, LOWER_BACK_MUSCLE,
+            LATS, TRAPS, HIP_FLEXOR, HIP_ADDUCTOR, HIP_ABDUCTOR, PIRIFORMIS, TFL, IT_BAND),
+            Muscle::getName);
+
     // Specific Muscle Groups
     private static final MuscleGroup CHEST = 
             new MuscleGroup("Chest", new ArrayList<Muscle>(List.of(UPPER_CHEST, MIDDLE_CHEST, LOWER_CHEST)));
@@ -119,99 +144,146 @@ public class PredefinedData {
                     new ArrayList<Muscle>(List.of(UPPER_BACK_MUSCLE, MID_BACK_MUSCLE, LATS, 
                             REAR_DELTOID, BICEP, BRACHIORADIALIS)));
 
-    // EFFECTS: Returns an unmodifiable map containing all predefined MuscleGroup instances mapped by name
-    // @SupressWarnings("methodLength")
+    // Registries are built once; PredefinedData instances only provide access to them
+    private static final NameRegistry<MuscleGroup> MUSCLE_GROUPS = new NameRegistry<MuscleGroup>(List.of(
+            // Compound groups
+            DEADLIFT, SQUAT, BENCH, OVERHEAD_PRESS, LUNGE, ROW,
+            // Specific groups
+            CHEST, SHOULDER, BICEPS, TRICEPS, FOREARMS, UPPER_BACK, MID_BACK, LOWER_BACK,
+            CORE, QUADS, HAMSTRINGS, CALVES, HIPS),
+            MuscleGroup::getName);
+
+    private static final NameRegistry<Equipment> EQUIPMENT = new NameRegistry<Equipment>(List.of(
+            TREADMILL, BODYWEIGHT, DUMBBELL, BARBELL, CABLE, MACHINE),
+            Equipment::getEquipmentName);
+
+    // EFFECTS: Returns an unmodifiable map containing all predefined Muscle instances mapped by name
+    //          (built-in entries first, then registered ones, in registration order)
     public Map<String, Muscle> getAllMuscles() {
-        Map<String, Muscle> muscles = new HashMap<String, Muscle>();
-        // Basic muscles
-        muscles.put("Biceps", BICEP);
-        muscles.put("Brachialis", BRACHIALIS);
-        muscles.put("Triceps", TRICEP);
-        muscles.put("Forearm Flexors", FOREARM_FLEXORS);
-        muscles.put("Forearm Extensors", FOREARM_EXTENSORS);
-        muscles.put("Brachioradialis", BRACHIORADIALIS);
-        muscles.put("Quadriceps", QUAD);
-        muscles.put("Hamstrings", HAMSTRING);
-        muscles.put("Glutes", GLUTE);
-        muscles.put("Calves", CALF);
-        muscles.put("Abs", ABS);
-        muscles.put("Obliques", OBLIQUES);
-        muscles.put("Rear Deltoid", REAR_DELTOID);
-        muscles.put("Front Deltoid", FRONT_DELTOID);
-        muscles.put("Side Deltoid", SIDE_DELTOID);
-        muscles.put("Upper Chest", UPPER_CHEST);
-        muscles.put("Middle Chest", MIDDLE_CHEST);
-        muscles.put("Lower Chest", LOWER_CHEST);
-        muscles.put("Upper Back", UPPER_BACK_MUSCLE);
-        muscles.put("Mid Back", MID_BACK_MUSCLE);
-        muscles.put("Lower Back", LOWER_BACK_MUSCLE);
-        muscles.put("Lats", LATS);
-        muscles.put("Traps", TRAPS);
-        muscles.put("Hip Flexor", HIP_FLEXOR);
-        muscles.put("Hip Adductor", HIP_ADDUCTOR);
-        muscles.put("Hip Abductor", HIP_ABDUCTOR);
-        muscles.put("Piriformis", PIRIFORMIS);
-        muscles.put("Tensor Fasciae Latae", TFL);
-        muscles.put("IT Band", IT_BAND);
-        return Collections.unmodifiableMap(muscles);
-    }
-
-    // EFFECTS: Return an unmodifiable map containing all predefined Muscle instances mapped by name
+        return MUSCLES.asMap();
+    }
+
+    // EFFECTS: Return an unmodifiable map containing all predefined MuscleGroup instances mapped by name
     public Map<String, MuscleGroup> getAllMuscleGroups() {
-        Map<String, MuscleGroup> groups = new HashMap<String, MuscleGroup>();
-        // Compound groups
-        groups.put("Deadlift Muscles", DEADLIFT);
-        groups.put("Squat Muscles", SQUAT);
-        groups.put("Bench Muscles", BENCH);
-        groups.put("Overhead Press Muscles", OVERHEAD_PRESS);
-        groups.put("Lunge Muscles", LUNGE);
-        groups.put("Row Muscles", ROW);
-        // Specific groups
-        groups.put("Chest", CHEST);
-        groups.put("Shoulders", SHOULDER);
-        groups.put("Biceps", BICEPS);
-        groups.put("Triceps", TRICEPS);
-        groups.put("Forearms", FOREARMS);
-        groups.put("Upper Back", UPPER_BACK);
-        groups.put("Mid Back", MID_BACK);
-        groups.put("Lower Back", LOWER_BACK);
-        groups.put("Core", CORE);
-        groups.put("Quadriceps", QUADS);
-        groups.put("Hamstrings", HAMSTRINGS);
-        groups.put("Calves", CALVES);
-        groups.put("Hips", HIPS);
-        return Collections.unmodifiableMap(groups);
+        return MUSCLE_GROUPS.asMap();
     }
     
     // EFFECTS: Returns an unmodifiable map containing all predefined Equipment instances mapped by name
     public Map<String, Equipment> getAllEquipment() {
-        Map<String, Equipment> equipment = new HashMap<String, Equipment>();
-        equipment.put("Treadmill", TREADMILL);
-        equipment.put("Bodyweight", BODYWEIGHT);
-        equipment.put("Dumbbell", DUMBBELL);
-        equipment.put("Barbell", BARBELL);
-        equipment.put("Cable", CABLE);
-        equipment.put("Machine", MACHINE);
-        return Collections.unmodifiableMap(equipment);
+        return EQUIPMENT.asMap();
     }
 
-    // EFFECTS: Returns the Muscle instance corresponding to the given name, or null if not found
+    // EFFECTS: Returns the Muscle instance corresponding to the given name (case-insensitive), or null if not found
     public Muscle findMuscle(String name) {
-        return getAllMuscles().get(name);
+        return MUSCLES.find(name);
     }
 
-    // EFFECTS: Returns the MuscleGroup instance corresponding to the given name, or default if not found
+    // EFFECTS: Returns the MuscleGroup instance corresponding to the given name (case-insensitive),
+    //          or default if not found
     public MuscleGroup findMuscleGroup(String name) {
-        MuscleGroup findMuscleGroup = getAllMuscleGroups().get(name);
+        MuscleGroup findMuscleGroup = MUSCLE_GROUPS.find(name);
         return (findMuscleGroup != null) ? findMuscleGroup : defaultMuscleGroup();
     }
 
-    // EFFECTS: Returns the Equipment instance corresponding to the given name, or default if not found
+    // EFFECTS: Returns the Equipment instance corresponding to the given name (case-insensitive),
+    //          or default if not found
     public Equipment findEquipment(String name) {
-        Equipment findEquipment = getAllEquipment().get(name);
+        Equipment findEquipment = EQUIPMENT.find(name);
         return (findEquipment != null) ? findEquipment : defaultEquipment();
     }
 
+    // EFFECTS: Return the dense ordinal of the given Muscle (see Muscle.getOrdinal), or -1 if it has none yet
+    public int getMuscleOrdinal(Muscle muscle) {
+        return MUSCLES.ordinalOf(muscle);
+    }
+
+    // MODIFIES: PredefinedData (shared registries)
+    // EFFECTS: Return muscle's ordinal in the shared muscle registry, enrolling it with the lowest free ordinal
+    //          if it has none (it is not made findable by name, and its ordinal is freed once it is garbage
+    //          collected); used by Muscle.getOrdinal
+    //          Throw IllegalArgumentException if muscle is null
+    public static int enrollMuscle(Muscle muscle) {
+        return MUSCLES.enroll(muscle);
+    }
+
+    // EFFECTS: Return the dense ordinal of the given predefined MuscleGroup, or -1 if it is not predefined
+    public int getMuscleGroupOrdinal(MuscleGroup muscleGroup) {
+        return MUSCLE_GROUPS.ordinalOf(muscleGroup);
+    }
+
+    // EFFECTS: Return the dense ordinal of the given predefined Equipment, or -1 if it is not predefined
+    public int getEquipmentOrdinal(Equipment equipment) {
+        return EQUIPMENT.ordinalOf(equipment);
+    }
+
+    // MODIFIES: PredefinedData (shared registries)
+    // EFFECTS: Register equipment so it can be found by name; return its ordinal
+    //          Return -1 and make no changes if equipment is null or its name (ignoring case) is taken
+    public int registerEquipment(Equipment equipment) {
+        return EQUIPMENT.register(equipment);
+    }
+
+    // MODIFIES: PredefinedData (shared registries)
+    // EFFECTS: Register muscle so it can be found by name; return its ordinal
+    //          Return -1 and make no changes if muscle is null or its name (ignoring case) is taken
+    public int registerMuscle(Muscle muscle) {
+        return MUSCLES.register(muscle);
+    }
+
+    // MODIFIES: PredefinedData (shared registries)
+    // EFFECTS: Register muscleGroup so it can be found by name; return its ordinal
+    //          Return -1 and make no changes if muscleGroup is null or its name (ignoring case) is taken
+    public int registerMuscleGroup(MuscleGroup muscleGroup) {
+        return MUSCLE_GROUPS.register(muscleGroup);
+    }
+
+    // MODIFIES: PredefinedData (shared registries)
+    // EFFECTS: Register the user-defined Equipment, Muscles, and MuscleGroups in the definitions file at path
+    //          and return how many were registered; return 0 if the file does not exist
+    //          Expected format (every section optional; entries keyed by name):
+    //              "equipment":    { "Kettlebell": { "type": "Strength Equipment", "weightBased": true } }
+    //              "muscles":      { "Serratus Anterior": {} }
+    //              "muscleGroups": { "Swing Muscles": { "muscles": ["Glutes", "Hamstrings"] } }
+    //          Muscles are registered before MuscleGroups, which may reference built-in or new muscles;
+    //          blank names, unknown muscle names, and names that are already taken are skipped
+    //          Throw JSONException if the file cannot be read or parsed
+    public int loadDefinitions(String path) throws JSONException {
+        Map<String, JSONObject> data = JsonManager.loadData(path);
+        int registered = 0;
+        JSONObject equipmentJson = data.getOrDefault("equipment", new JSONObject());
+        for (String name : new TreeSet<String>(equipmentJson.keySet())) {
+            JSONObject definition = equipmentJson.optJSONObject(name, new JSONObject());
+            String type = definition.optString("type", CustomEquipment.STRENGTH_TYPE);
+            boolean weightBased = definition.optBoolean("weightBased", type.equals(CustomEquipment.STRENGTH_TYPE));
+            if (!name.trim().isEmpty() && !type.trim().isEmpty()) {
+                registered += (registerEquipment(new CustomEquipment(name, type, weightBased)) >= 0) ? 1 : 0;
+            }
+        }
+        JSONObject musclesJson = data.getOrDefault("muscles", new JSONObject());
+        for (String name : new TreeSet<String>(musclesJson.keySet())) {
+            if (!name.trim().isEmpty()) {
+                registered += (registerMuscle(new Muscle(name)) >= 0) ? 1 : 0;
+            }
+        }
+        JSONObject groupsJson = data.getOrDefault("muscleGroups", new JSONObject());
+        for (String name : new TreeSet<String>(groupsJson.keySet())) {
+            JSONObject definition = groupsJson.optJSONObject(name, new JSONObject());
+            registered += (registerMuscleGroup(new MuscleGroup(name, findMuscles(definition))) >= 0) ? 1 : 0;
+        }
+        return registered;
+    }
+
+    // HELPER: for loadDefinitions
+    // EFFECTS: Return the registered muscles named in definition's "muscles" array (unknown names are null)
+    private List<Muscle> findMuscles(JSONObject definition) {
+        JSONArray names = definition.optJSONArray("muscles", new JSONArray());
+        List<Muscle> muscles = new ArrayList<Muscle>();
+        for (int i = 0; i < names.length(); i++) {
+            muscles.add(findMuscle(names.optString(i, null)));
+        }
+        return muscles;
+    }
+
     // EFFECTS: Return null initiated MuscleGroup as default
     private MuscleGroup defaultMuscleGroup() {
         return new MuscleGroup(null, null);
@@ -219,6 +291,6 @@ public class PredefinedData {
 
     // EFFECTS: Return Bodyweight Equipment (no equipment) as default
     private Equipment defaultEquipment() {
-        return getAllEquipment().get("Bodyweight");
+        return BODYWEIGHT;
     }
 }
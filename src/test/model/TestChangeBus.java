@@ -0,0 +1,164 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.change.ChangeBus;
+import model.change.ChangeKind;
+import model.change.ModelChange;
+import model.change.ModelChangeListener;
+import model.equipment.strength.Barbell;
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.RestDay;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import model.workout.WorkoutLibrary;
+import model.workout.WorkoutPlan;
+import utility.PredefinedData;
+
+/** This class tests that ChangeBus coalesces changes into batches delivered through each subscriber's executor,
+ *  and that the libraries, Workout, and WeeklySchedule publish their changes. */
+public class TestChangeBus {
+    private List<Runnable> queued;
+    private List<List<ModelChange<Exercise>>> batches;
+    private ModelChangeListener<Exercise> recorder;
+    private Exercise squat;
+    private Exercise lunge;
+
+    @BeforeEach
+    void runBefore() {
+        queued = new ArrayList<Runnable>();
+        batches = new ArrayList<List<ModelChange<Exercise>>>();
+        recorder = batches::add;
+        MuscleGroup legs = new MuscleGroup("Legs", Arrays.asList(new Muscle("Quadriceps")));
+        squat = new StrengthExercise("Squat", 4, 5, 3.0, 2.0, new Barbell(), legs);
+        lunge = new StrengthExercise("Lunge", 3, 10, 2.0, 1.0, new Barbell(), legs);
+    }
+
+    // EFFECTS: Run every queued delivery, as the EDT would
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<Runnable>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    // EFFECTS: Return the kinds of changes in batch, in order
+    private static List<ChangeKind> kinds(List<? extends ModelChange<?>> batch) {
+        List<ChangeKind> kinds = new ArrayList<ChangeKind>();
+        for (ModelChange<?> change : batch) {
+            kinds.add(change.getKind());
+        }
+        return kinds;
+    }
+
+    @Test
+    void testCoalescedDelivery() {
+        ChangeBus<Exercise> bus = new ChangeBus<Exercise>(this);
+        bus.subscribe(recorder, queued::add);
+        bus.publish(ChangeKind.ADDED, squat, -1);
+        bus.publish(ChangeKind.MODIFIED, squat, -1);
+        bus.publish(ChangeKind.ADDED, lunge, -1);
+        bus.publish(ChangeKind.REMOVED, lunge, -1);
+        assertEquals(1, queued.size());
+        assertTrue(batches.isEmpty());
+
+        runQueued();
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList(ChangeKind.ADDED), kinds(batches.get(0)));
+        assertSame(squat, batches.get(0).get(0).getSubject());
+        assertSame(this, batches.get(0).get(0).getSource());
+
+        bus.publish(ChangeKind.REMOVED, squat, -1);
+        bus.publish(ChangeKind.RELOADED, null, -1);
+        bus.publish(ChangeKind.ADDED, lunge, -1);
+        runQueued();
+        assertEquals(Arrays.asList(ChangeKind.RELOADED, ChangeKind.ADDED), kinds(batches.get(1)));
+
+        bus.unsubscribe(recorder);
+        bus.publish(ChangeKind.ADDED, squat, -1);
+        runQueued();
+        assertEquals(2, batches.size());
+        assertFalse(bus.hasSubscribers());
+    }
+
+    @Test
+    void testScheduledCoalescesByDay() {
+        WeeklySchedule schedule = new WeeklySchedule();
+        List<List<ModelChange<WorkoutPlan>>> scheduled = new ArrayList<List<ModelChange<WorkoutPlan>>>();
+        schedule.getChanges().subscribe(scheduled::add, queued::add);
+        Workout legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(squat)));
+        schedule.setScheduleForDay(0, legDay);
+        schedule.setScheduleForDay(2, legDay);
+        schedule.clearScheduleForDay(0);
+        runQueued();
+        List<ModelChange<WorkoutPlan>> batch = scheduled.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(2, batch.get(0).getIndex());
+        assertSame(legDay, batch.get(0).getSubject());
+        assertEquals(0, batch.get(1).getIndex());
+        assertTrue(batch.get(1).getSubject() instanceof RestDay);
+        assertTrue(batch.get(1).is(ChangeKind.SCHEDULED));
+        assertEquals("scheduled Leg Day @2", new ModelChange<String>(schedule, ChangeKind.SCHEDULED, "Leg Day", 2)
+                .toString());
+        assertThrows(IllegalArgumentException.class, () -> new ModelChange<String>(schedule, null, "Leg Day", 2));
+        schedule.deactivateAllMetrics();
+    }
+
+    @Test
+    void testLibrariesPublish() {
+        ExerciseLibrary exerciseLibrary = new ExerciseLibrary();
+        exerciseLibrary.getChanges().subscribe(recorder);
+        exerciseLibrary.addExercise(squat);
+        exerciseLibrary.addExercise(squat);
+        exerciseLibrary.removeExercise("Squat");
+        exerciseLibrary.fromJson(new JSONObject().put("exercises", new ArrayList<Object>()), new PredefinedData());
+        assertEquals(3, batches.size());
+        assertEquals(ChangeKind.ADDED, batches.get(0).get(0).getKind());
+        assertEquals(ChangeKind.REMOVED, batches.get(1).get(0).getKind());
+        assertEquals(ChangeKind.RELOADED, batches.get(2).get(0).getKind());
+
+        WorkoutLibrary workoutLibrary = new WorkoutLibrary();
+        List<ChangeKind> workoutKinds = new ArrayList<ChangeKind>();
+        workoutLibrary.getChanges().subscribe(changes -> workoutKinds.addAll(kinds(changes)));
+        Workout legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(squat)));
+        Workout copy = new Workout("Copy", new ArrayList<Exercise>(Arrays.asList(squat, lunge)));
+        workoutLibrary.addWorkout(legDay);
+        workoutLibrary.addWorkout(copy);
+        assertNull(workoutLibrary.findDuplicate(copy));
+        legDay.addExercise(lunge);
+        assertSame(legDay, workoutLibrary.findDuplicate(copy));
+        workoutLibrary.removeWorkout("Leg Day");
+        legDay.removeExercise("Lunge");
+        assertEquals(Arrays.asList(ChangeKind.ADDED, ChangeKind.ADDED, ChangeKind.MODIFIED, ChangeKind.REMOVED),
+                workoutKinds);
+        assertNull(workoutLibrary.findDuplicate(copy));
+    }
+
+    @Test
+    void testWorkoutPublishes() {
+        Workout legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(squat)));
+        legDay.getChanges().subscribe(recorder);
+        legDay.addExercise(lunge);
+        legDay.addExercise(lunge);
+        legDay.removeExercise("Squat");
+        legDay.removeExercise("Missing");
+        legDay.setExercises(new ArrayList<Exercise>(Arrays.asList(squat)));
+        assertEquals(3, batches.size());
+        assertSame(lunge, batches.get(0).get(0).getSubject());
+        assertSame(squat, batches.get(1).get(0).getSubject());
+        assertEquals(ChangeKind.REMOVED, batches.get(1).get(0).getKind());
+        assertEquals(ChangeKind.RELOADED, batches.get(2).get(0).getKind());
+        assertThrows(IllegalArgumentException.class, () -> legDay.getChanges().subscribe(null));
+    }
+}
@@ -0,0 +1,201 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.MetricsContext;
+import model.equipment.strength.Barbell;
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.exercise.StrengthExercise;
+import model.history.Command;
+import model.history.CommandLog;
+import model.history.Commands;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.RestDay;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import model.workout.WorkoutLibrary;
+
+/** This class tests that Commands revert exactly what they apply, sharing the model's own objects, and that
+ *  CommandLog undoes and redoes them in order within its footprint budget. */
+public class TestCommandLog {
+    private Muscle quad;
+    private Exercise squat;
+    private Exercise lunge;
+    private Exercise press;
+    private Workout legDay;
+    private Workout fullBody;
+    private ExerciseLibrary exerciseLibrary;
+    private WorkoutLibrary workoutLibrary;
+    private WeeklySchedule schedule;
+    private CommandLog log;
+
+    @BeforeEach
+    void runBefore() {
+        quad = new Muscle("Quadriceps");
+        MuscleGroup legs = new MuscleGroup("Legs", Arrays.asList(quad));
+        squat = new StrengthExercise("Squat", 4, 5, 3.0, 2.0, new Barbell(), legs);
+        lunge = new StrengthExercise("Lunge", 3, 10, 2.0, 1.0, new Barbell(), legs);
+        press = new StrengthExercise("Press", 5, 5, 2.0, 3.0, new Barbell(), legs);
+        legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(lunge, squat, press)));
+        fullBody = new Workout("Full Body", new ArrayList<Exercise>(Arrays.asList(squat)));
+        exerciseLibrary = new ExerciseLibrary();
+        exerciseLibrary.addExercise(squat);
+        exerciseLibrary.addExercise(lunge);
+        exerciseLibrary.addExercise(press);
+        workoutLibrary = new WorkoutLibrary();
+        workoutLibrary.addWorkout(legDay);
+        workoutLibrary.addWorkout(fullBody);
+        schedule = new WeeklySchedule(new MetricsContext());
+        log = new CommandLog();
+    }
+
+    @Test
+    void testDeleteExerciseUndoRedo() {
+        log.execute(Commands.deleteExercise(exerciseLibrary, workoutLibrary, "Squat"));
+        assertFalse(exerciseLibrary.containsExercise("Squat"));
+        assertEquals(Arrays.asList(lunge, press), legDay.getExercises());
+        assertTrue(fullBody.getExercises().isEmpty());
+        assertEquals("Delete exercise 'Squat'", log.getUndoDescription());
+
+        assertTrue(log.undo());
+        assertSame(squat, exerciseLibrary.getExercise("Squat"));
+        assertEquals(Arrays.asList(lunge, squat, press), legDay.getExercises());
+        assertEquals(Arrays.asList(squat), fullBody.getExercises());
+        assertFalse(log.canUndo());
+        assertEquals("Delete exercise 'Squat'", log.getRedoDescription());
+
+        assertTrue(log.redo());
+        assertFalse(exerciseLibrary.containsExercise("Squat"));
+        assertEquals(Arrays.asList(lunge, press), legDay.getExercises());
+        assertFalse(log.redo());
+        assertNull(log.getRedoDescription());
+    }
+
+    @Test
+    void testDeleteWorkoutRestoresSchedule() {
+        log.execute(Commands.scheduleDay(schedule, 0, legDay));
+        log.execute(Commands.scheduleDay(schedule, 3, legDay));
+        double sets = schedule.getMetricsContext().getAggregatedMetrics(quad).get("totalSets");
+        assertEquals(24.0, sets);
+
+        log.execute(Commands.deleteWorkout(workoutLibrary, schedule, "Leg Day"));
+        assertNull(workoutLibrary.getWorkout("Leg Day"));
+        assertTrue(schedule.getScheduleForDay(0) instanceof RestDay);
+        assertTrue(schedule.getScheduleForDay(3) instanceof RestDay);
+        assertEquals(0.0, schedule.getMetricsContext().getAggregatedMetrics(quad).get("totalSets"));
+
+        log.undo();
+        assertSame(legDay, workoutLibrary.getWorkout("Leg Day"));
+        assertSame(legDay, schedule.getScheduleForDay(0));
+        assertSame(legDay, schedule.getScheduleForDay(3));
+        assertEquals(sets, schedule.getMetricsContext().getAggregatedMetrics(quad).get("totalSets"));
+
+        log.undo();
+        log.undo();
+        assertTrue(schedule.getScheduleForDay(0) instanceof RestDay);
+        assertEquals(0.0, schedule.getMetricsContext().getAggregatedMetrics(quad).get("totalSets"));
+        assertFalse(log.undo());
+        schedule.deactivateAllMetrics();
+    }
+
+    @Test
+    void testWorkoutAndLibraryCommands() {
+        Exercise row = new StrengthExercise("Row", 3, 8, 2.0, 2.0, new Barbell(), null);
+        log.execute(Commands.addExercise(exerciseLibrary, row));
+        log.execute(Commands.addExerciseToWorkout(fullBody, row));
+        log.execute(Commands.addExerciseToWorkout(fullBody, row));
+        log.execute(Commands.setWorkoutExercises(legDay, Arrays.asList(press)));
+        log.execute(Commands.removeExerciseFromWorkout(fullBody, "Squat"));
+        Workout pull = new Workout("Pull", new ArrayList<Exercise>(Arrays.asList(row)));
+        log.execute(Commands.addWorkout(workoutLibrary, pull));
+        log.execute(Commands.clearDay(schedule, 6));
+        assertEquals(Arrays.asList(row), fullBody.getExercises());
+        assertEquals(Arrays.asList(press), legDay.getExercises());
+        assertEquals(7, log.getNumUndoable());
+
+        while (log.undo()) {
+            // Undo everything
+        }
+        assertEquals(Arrays.asList(squat), fullBody.getExercises());
+        assertEquals(Arrays.asList(lunge, squat, press), legDay.getExercises());
+        assertFalse(exerciseLibrary.containsExercise("Row"));
+        assertNull(workoutLibrary.getWorkout("Pull"));
+        assertEquals(7, log.getNumRedoable());
+
+        log.redo();
+        log.execute(Commands.addExerciseToWorkout(legDay, row));
+        assertFalse(log.canRedo());
+        assertEquals(0, log.getNumRedoable());
+    }
+
+    @Test
+    void testFailedCommandChangesNothing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> log.execute(Commands.deleteExercise(exerciseLibrary, workoutLibrary, "Missing")));
+        assertThrows(IllegalArgumentException.class, () -> log.execute(Commands.addExercise(exerciseLibrary, squat)));
+        assertThrows(IllegalArgumentException.class, () -> log.execute(Commands.addWorkout(workoutLibrary, legDay)));
+        assertThrows(IllegalArgumentException.class, () -> log.execute(null));
+        assertThrows(IllegalArgumentException.class, () -> Commands.clearDay(schedule, 7));
+        assertThrows(IllegalArgumentException.class, () -> Commands.scheduleDay(null, 0, legDay));
+        assertThrows(IllegalArgumentException.class, () -> Commands.setWorkoutExercises(legDay, Arrays.asList(
+                squat, null)));
+        assertThrows(IllegalArgumentException.class, () -> new CommandLog(0));
+
+        exerciseLibrary.removeExercise("Squat");
+        Command delete = Commands.deleteExercise(exerciseLibrary, workoutLibrary, "Squat");
+        assertThrows(IllegalArgumentException.class, () -> log.execute(delete));
+        assertEquals(Arrays.asList(lunge, squat, press), legDay.getExercises());
+        assertEquals(Arrays.asList(squat), fullBody.getExercises());
+        assertFalse(log.canUndo());
+        assertEquals(0, log.getFootprint());
+    }
+
+    @Test
+    void testFootprintBudget() {
+        CommandLog small = new CommandLog(5);
+        for (int day = 0; day < 7; day++) {
+            small.execute(Commands.scheduleDay(schedule, day, fullBody)); // Footprint 2 each
+        }
+        assertEquals(2, small.getNumUndoable());
+        assertEquals(4, small.getFootprint());
+        small.undo();
+        assertEquals(4, small.getFootprint());
+        small.execute(Commands.clearDay(schedule, 0));
+        assertEquals(3, small.getFootprint());
+        assertFalse(small.canRedo());
+
+        CommandLog tiny = new CommandLog(1);
+        tiny.execute(Commands.deleteExercise(exerciseLibrary, workoutLibrary, "Squat"));
+        assertEquals(1, tiny.getNumUndoable());
+        assertTrue(tiny.getFootprint() > 1);
+        tiny.clear();
+        assertEquals(0, tiny.getFootprint());
+        assertFalse(tiny.canUndo());
+        schedule.deactivateAllMetrics();
+    }
+
+    @Test
+    void testInsertExercise() {
+        Workout repeated = new Workout("Repeated", new ArrayList<Exercise>(Arrays.asList(squat, lunge, squat)));
+        log.execute(Commands.removeExerciseFromWorkout(repeated, "Squat"));
+        assertEquals(Arrays.asList(lunge), repeated.getExercises());
+        log.undo();
+        assertEquals(Arrays.asList(squat, lunge, squat), repeated.getExercises());
+
+        repeated.insertExercise(3, press);
+        assertSame(press, repeated.getExercises().get(3));
+        assertThrows(IllegalArgumentException.class, () -> repeated.insertExercise(5, press));
+        assertThrows(IllegalArgumentException.class, () -> repeated.insertExercise(-1, press));
+        assertThrows(IllegalArgumentException.class, () -> repeated.insertExercise(0, null));
+        assertEquals("Monday", WeeklySchedule.getDayName(0));
+        assertThrows(IllegalArgumentException.class, () -> WeeklySchedule.getDayName(-1));
+    }
+}
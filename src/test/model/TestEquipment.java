@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import model.equipment.CustomEquipment;
 import model.equipment.Equipment;
 import model.equipment.bodyweight.BodyWeight;
 import model.equipment.cardio.Treadmill;
@@ -61,4 +62,17 @@ public class TestEquipment {
         assertTrue(dumbbell.isWeightBased());
         assertTrue(machine.isWeightBased());
     }
+
+    @Test
+    void testCustomEquipment() {
+        Equipment kettlebell = new CustomEquipment("Kettlebell", CustomEquipment.STRENGTH_TYPE, true);
+        Equipment rower = new CustomEquipment("Rower", CustomEquipment.CARDIO_TYPE, false);
+        assertEquals("Kettlebell", kettlebell.getEquipmentName());
+        assertEquals("Strength Equipment", kettlebell.getEquipmentType());
+        assertTrue(kettlebell.isWeightBased());
+        assertEquals("Cardio Equipment", rower.getEquipmentType());
+        assertFalse(rower.isWeightBased());
+        assertThrows(IllegalArgumentException.class, () -> new CustomEquipment(null, "Strength Equipment", true));
+        assertThrows(IllegalArgumentException.class, () -> new CustomEquipment("Sled", " ", true));
+    }
 }
@@ -0,0 +1,42 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import model.log.Event;
+import model.log.EventLog;
+
+/** This class tests that EventLog iterates over a snapshot of its events. */
+public class TestEventLog {
+
+    @AfterEach
+    void runAfter() {
+        EventLog.getInstance().clear();
+    }
+
+    @Test
+    void testIteratorIsSnapshot() {
+        EventLog log = EventLog.getInstance();
+        log.clear();
+        log.logEvent(new Event("First"));
+        Iterator<Event> it = log.iterator();
+        log.logEvent(new Event("Second")); // Would invalidate an iterator over the live list
+
+        List<String> descriptions = new ArrayList<String>();
+        it.forEachRemaining(event -> descriptions.add(event.getDescription()));
+        assertEquals(List.of("Event log cleared.", "First"), descriptions);
+
+        int count = 0;
+        for (Event event : log) {
+            log.logEvent(new Event("During " + event.getDescription()));
+            count++;
+        }
+        assertEquals(3, count);
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import model.association.AssociatorBatch;
 import model.association.ExerciseAssociator;
 import model.equipment.strength.*;
 import model.equipment.cardio.Treadmill;
@@ -56,6 +57,50 @@ public class TestExerciseAssociator {
         initializeMockData();
     }
 
+    @Test
+    void testFilterValidMetrics() {
+        Map<String, Double> filtered = ExerciseAssociator.filterValidMetrics(mixedInfo);
+        for (String key : filtered.keySet()) {
+            assertTrue(ExerciseAssociator.createZeroValueMetricsMap().containsKey(key));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> filtered.put("totalSets", 1.0));
+        assertTrue(ExerciseAssociator.filterValidMetrics(invalidInfo).isEmpty());
+    }
+
+    @Test
+    void testBatchMatchesIndividualRegistration() {
+        Map<String, Double> filtered = ExerciseAssociator.filterValidMetrics(strengthInfo1);
+        AssociatorBatch batch = new AssociatorBatch();
+        batch.add(barbell, "BenchPress", "Monday", filtered);
+        batch.add(barbell, "BenchPress", "Wednesday", filtered);
+        batch.add(bicep, "BenchPress", "Monday", filtered);
+        assertEquals(2, batch.getNumAssociators());
+        assertEquals(3, batch.apply());
+        assertEquals(0, batch.getNumAssociators());
+
+        cable.registerExercise("BenchPress", "Monday", strengthInfo1);
+        cable.registerExercise("BenchPress", "Wednesday", strengthInfo1);
+        assertEquals(cable.getAggregatedExerciseMetrics(), barbell.getAggregatedExerciseMetrics());
+        assertTrue(bicep.containsExercise("BenchPress", "Monday"));
+        assertEquals(1, bicep.getNumAssociatedExercises());
+    }
+
+    @Test
+    void testBatchKeepsFirstRegistration() {
+        barbell.registerExercise("BenchPress", "Monday", strengthInfo1);
+        AssociatorBatch batch = new AssociatorBatch();
+        batch.add(barbell, "BenchPress", "Monday", ExerciseAssociator.filterValidMetrics(strengthInfo2));
+        batch.add(barbell, "Squat", "Monday", ExerciseAssociator.filterValidMetrics(strengthInfo1));
+        batch.add(barbell, "Squat", "Monday", ExerciseAssociator.filterValidMetrics(strengthInfo2));
+        batch.add(barbell, null, "Monday", ExerciseAssociator.filterValidMetrics(strengthInfo2));
+        batch.add(null, "Deadlift", "Monday", ExerciseAssociator.filterValidMetrics(strengthInfo2));
+        assertEquals(1, batch.apply());
+
+        assertEquals(2, barbell.getNumAssociatedExercises());
+        assertEquals(2 * strengthInfo1.get("totalSets"),
+                barbell.getAggregatedExerciseMetrics().get("totalSets"), TEST_PRECISION);
+    }
+
     // Testing ALL extensions of ExerciseAssociator within this program
     // Allows for detecting incorrect ExerciseAssociator implementation and improperly overridden implementations
 
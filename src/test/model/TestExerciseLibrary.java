@@ -3,6 +3,7 @@ package model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -200,4 +201,114 @@ public class TestExerciseLibrary {
         assertSame(first, third);
         assertSame(first, strengthExercise);
     }
+
+    @Test
+    void testQueryBySingleCriterion() {
+        addAllExercises();
+        assertEquals(List.of(strengthExercise), library.query(new ExerciseQuery().ofType("Strength")));
+        assertEquals(List.of(enduranceExercise), library.query(new ExerciseQuery().usingEquipment(treadmill)));
+        assertEquals(List.of(intervalExercise), library.query(new ExerciseQuery().targetingMuscleGroup("Abs & Arms")));
+        assertEquals(List.of(enduranceExercise), library.query(new ExerciseQuery().targetingMuscle("Quads")));
+        assertTrue(library.query(new ExerciseQuery().targetingMuscle("Wings")).isEmpty());
+        assertEquals(1, library.countByType("Interval"));
+        assertEquals(0, library.countByType("Yoga"));
+    }
+
+    @Test
+    void testQueryCombinedCriteria() {
+        addAllExercises();
+        Exercise hammerCurls = new StrengthExercise("Hammer Curls", 3, 10, 2, 1, dumbbell,
+                strengthExercise.getMusclesTargeted());
+        library.addExercise(hammerCurls);
+
+        ExerciseQuery curls = new ExerciseQuery().ofType("Strength").usingEquipment("Dumbbell").targetingMuscle("Biceps");
+        assertEquals(List.of(hammerCurls, strengthExercise), library.query(curls)); // Ordered by duration
+
+        curls.withDurationUnder(hammerCurls.getDuration() + 1);
+        assertEquals(List.of(hammerCurls), library.query(curls));
+        assertTrue(library.query(curls.usingEquipment(treadmill)).isEmpty());
+    }
+
+    @Test
+    void testQueryByDurationOnly() {
+        addAllExercises();
+        List<Exercise> all = library.query(new ExerciseQuery());
+        assertEquals(3, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getDuration() <= all.get(i).getDuration());
+        }
+
+        double intervalDuration = intervalExercise.getDuration();
+        assertEquals(List.of(intervalExercise), library.query(new ExerciseQuery()
+                .withDurationAtLeast(intervalDuration).withDurationUnder(intervalDuration + 1)));
+        assertTrue(library.getExercisesInDurationRange(10, 5).isEmpty());
+    }
+
+    @Test
+    void testIndexesFollowRemoval() {
+        addAllExercises();
+        library.removeExercise("Treadmill Run");
+        assertTrue(library.query(new ExerciseQuery().usingEquipment(treadmill)).isEmpty());
+        assertTrue(library.query(new ExerciseQuery().targetingMuscle("Heart")).isEmpty());
+        assertFalse(library.getIndexedTypes().contains("Endurance"));
+        assertEquals(2, library.query(new ExerciseQuery()).size());
+
+        // Re-adding the same name indexes it again
+        library.addExercise(enduranceExercise);
+        assertEquals(List.of(enduranceExercise), library.query(new ExerciseQuery().ofType("Endurance")));
+    }
+
+    @Test
+    void testContentDuplicates() {
+        addAllExercises();
+        MuscleGroup sameMuscles = new MuscleGroup("Arms", List.of(new Muscle("Biceps")));
+        Exercise copy = new StrengthExercise("Dumbbell Curls 2", 4, 8, 2, 120, dumbbell, sameMuscles);
+        Exercise heavier = new StrengthExercise("Heavy Curls", 5, 8, 2, 120, dumbbell, sameMuscles);
+        Exercise otherEquipment = new StrengthExercise("Cable Curls", 4, 8, 2, 120, bodyweight, sameMuscles);
+        assertEquals(strengthExercise.contentHash(), copy.contentHash());
+        assertTrue(strengthExercise.hasSameContent(copy));
+        assertFalse(strengthExercise.hasSameContent(heavier));
+        assertFalse(strengthExercise.hasSameContent(otherEquipment));
+        assertFalse(strengthExercise.hasSameContent(null));
+
+        assertEquals(strengthExercise, library.findDuplicate(copy));
+        assertNull(library.findDuplicate(strengthExercise));
+        assertNull(library.findDuplicate(heavier));
+        assertEquals(strengthExercise, library.addOrShare(copy));
+        assertFalse(library.containsExercise("Dumbbell Curls 2"));
+        assertEquals(heavier, library.addOrShare(heavier));
+        assertTrue(library.containsExercise("Heavy Curls"));
+        assertNull(library.addOrShare(new StrengthExercise("Heavy Curls", 9, 8, 2, 120, dumbbell, sameMuscles)));
+
+        assertTrue(library.getDuplicateGroups().isEmpty());
+        library.addExercise(copy);
+        assertEquals(List.of(List.of(strengthExercise, copy)), library.getDuplicateGroups());
+        library.removeExercise("Dumbbell Curls");
+        assertEquals(copy, library.findDuplicate(strengthExercise));
+        assertTrue(library.getDuplicateGroups().isEmpty());
+    }
+
+    @Test
+    void testReplaceContents() {
+        addAllExercises();
+        ExerciseLibrary loaded = new ExerciseLibrary();
+        loaded.addExercise(new StrengthExercise("Loaded Curls", 4, 8, 2, 120, dumbbell,
+                new MuscleGroup("Arms", List.of(new Muscle("Biceps")))));
+        library.replaceContents(loaded);
+        assertEquals(1, library.getNumExercises());
+        assertTrue(library.containsExercise("Loaded Curls"));
+        assertFalse(library.containsExercise("Dumbbell Curls"));
+        assertEquals("Loaded Curls", library.searchExercises("loaded", 5).get(0).getName());
+        assertEquals(1, library.countByType("Strength"));
+        assertEquals(0, loaded.getNumExercises());
+        assertTrue(loaded.searchExercises("loaded", 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> library.replaceContents(library));
+        assertThrows(IllegalArgumentException.class, () -> library.replaceContents(null));
+    }
+
+    private void addAllExercises() {
+        library.addExercise(strengthExercise);
+        library.addExercise(enduranceExercise);
+        library.addExercise(intervalExercise);
+    }
 }
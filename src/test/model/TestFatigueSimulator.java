@@ -0,0 +1,151 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.equipment.strength.Barbell;
+import model.exercise.Exercise;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.AthleteProfile;
+import model.workout.FatigueReport;
+import model.workout.FatigueSimulator;
+import model.workout.TrainingCalendar;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+
+/** This class tests that FatigueSimulator accumulates per-muscle fatigue with exponential recovery, matching an
+ *  hour-by-hour simulation, and reports recovery for many athletes quickly. */
+public class TestFatigueSimulator {
+    private Muscle quad;
+    private Muscle chest;
+    private Workout legDay;
+    private WeeklySchedule schedule;
+    private FatigueSimulator simulator;
+
+    @BeforeEach
+    void runBefore() {
+        Barbell barbell = new Barbell();
+        quad = new Muscle("Quadriceps");
+        chest = new Muscle("Chest");
+        MuscleGroup legs = new MuscleGroup("Legs", Arrays.asList(quad));
+        legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise("Squat", 4, 5, 3.0, 2.0, barbell, legs))));
+        schedule = new WeeklySchedule();
+        simulator = new FatigueSimulator("totalSets", 2);
+    }
+
+    @Test
+    void testSingleSessionRecovers() {
+        schedule.setScheduleForDay(0, legDay);
+        FatigueReport report = simulator.simulate(schedule, 1, new AthleteProfile("Alex"));
+        assertEquals("Alex", report.getAthleteName());
+        assertEquals(168, report.getNumHours());
+        assertEquals(Arrays.asList(quad), report.getTrainedMuscles());
+        assertEquals(4.0, report.getPeakFatigue(quad), TEST_PRECISION);
+        assertEquals(18 + 72, report.getRecoveryHour(quad));
+        assertEquals(72, report.getHoursFatigued(quad));
+        assertEquals(4.0 * Math.pow(2, -150.0 / 24), report.getFatigue(quad), TEST_PRECISION);
+        assertTrue(report.isRecovered(quad));
+        assertEquals(0, report.getNumUnrecoveredSessions(quad));
+        assertEquals(0.0, report.getPeakFatigue(chest), TEST_PRECISION);
+        assertEquals(0, report.getRecoveryHour(chest));
+    }
+
+    @Test
+    void testMatchesHourlySimulation() {
+        schedule.setScheduleForDay(0, legDay);
+        schedule.setScheduleForDay(1, legDay);
+        schedule.setScheduleForDay(4, legDay);
+        AthleteProfile profile = new AthleteProfile("Sam").withRecoveryHalfLife(quad, 30).withTrainingHour(7)
+                .withLoadScale(1.5).withRecoveryThreshold(1.0);
+        FatigueReport report = simulator.simulate(schedule, 3, profile);
+
+        double fatigue = 0.0;
+        double peak = 0.0;
+        long fatigued = 0;
+        int unrecovered = 0;
+        double decay = Math.pow(2, -1.0 / 30);
+        for (long hour = 0; hour < 21 * 24; hour++) {
+            int day = (int) (hour / 24);
+            if (hour % 24 == 7 && (day % 7 == 0 || day % 7 == 1 || day % 7 == 4)) {
+                unrecovered += (fatigue > 1.0) ? 1 : 0;
+                fatigue += 6.0;
+                peak = Math.max(peak, fatigue);
+            }
+            fatigued += (fatigue > 1.0 + TEST_PRECISION) ? 1 : 0;
+            fatigue *= decay;
+        }
+        assertEquals(peak, report.getPeakFatigue(quad), TEST_PRECISION);
+        assertEquals(fatigue, report.getFatigue(quad), TEST_PRECISION);
+        assertEquals(fatigued, report.getHoursFatigued(quad));
+        assertEquals(unrecovered, report.getNumUnrecoveredSessions(quad));
+        assertTrue(report.getRecoveryHour(quad) > report.getNumHours());
+        assertFalse(report.isRecovered(quad));
+    }
+
+    @Test
+    void testCalendarMatchesSchedule() {
+        schedule.setScheduleForDay(2, legDay);
+        TrainingCalendar calendar = new TrainingCalendar(LocalDate.of(2025, 1, 6), 4);
+        calendar.repeatSchedule(schedule, calendar.getStartDate(), calendar.getEndDate());
+        AthleteProfile profile = new AthleteProfile("Jo").withRecoveryHalfLife(12);
+        FatigueReport fromCalendar = simulator.simulate(calendar, profile);
+        FatigueReport fromSchedule = simulator.simulate(schedule, 4, profile);
+        assertEquals(fromSchedule.getRecoveryHour(quad), fromCalendar.getRecoveryHour(quad));
+        assertEquals(fromSchedule.getHoursFatigued(quad), fromCalendar.getHoursFatigued(quad));
+        assertEquals(fromSchedule.getFatigue(quad), fromCalendar.getFatigue(quad), TEST_PRECISION);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        AthleteProfile profile = new AthleteProfile("Alex");
+        assertThrows(IllegalArgumentException.class, () -> new FatigueSimulator("notAMetric", 1));
+        assertThrows(IllegalArgumentException.class, () -> new FatigueSimulator("totalSets", 0));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate((WeeklySchedule) null, 1, profile));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(schedule, 0, profile));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(schedule, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate((TrainingCalendar) null, profile));
+        assertThrows(IllegalArgumentException.class, () -> new AthleteProfile(null));
+        assertThrows(IllegalArgumentException.class, () -> profile.withRecoveryHalfLife(0));
+        assertThrows(IllegalArgumentException.class, () -> profile.withRecoveryHalfLife(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> profile.withLoadScale(-1));
+        assertThrows(IllegalArgumentException.class, () -> profile.withTrainingHour(24));
+        assertThrows(IllegalArgumentException.class, () -> profile.withRecoveryThreshold(0));
+    }
+
+    @Test
+    void testYearForManyAthletesIsFast() {
+        List<Muscle> muscles = new ArrayList<Muscle>();
+        for (int i = 0; i < 29; i++) {
+            muscles.add(new Muscle("Muscle " + i));
+        }
+        Barbell barbell = new Barbell();
+        for (int day = 0; day < 6; day++) {
+            MuscleGroup group = new MuscleGroup("Group " + day, muscles.subList(day * 5, Math.min(29, day * 5 + 5)));
+            schedule.setScheduleForDay(day, new Workout("Day " + day, new ArrayList<Exercise>(Arrays.asList(
+                    new StrengthExercise("Exercise " + day, 3 + day, 8, 2.0, 1.5, barbell, group)))));
+        }
+        List<AthleteProfile> profiles = new ArrayList<AthleteProfile>();
+        for (int i = 0; i < 5000; i++) {
+            profiles.add(new AthleteProfile("Athlete " + i).withRecoveryHalfLife(12 + i % 48)
+                    .withTrainingHour(i % 24));
+        }
+        List<FatigueReport> reports = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> new FatigueSimulator().simulateAll(schedule, 52, profiles));
+        assertEquals(5000, reports.size());
+        assertEquals("Athlete 4999", reports.get(4999).getAthleteName());
+        assertEquals(29, reports.get(0).getTrainedMuscles().size());
+        assertTrue(reports.get(0).getHoursFatigued(muscles.get(0)) > 0);
+    }
+}
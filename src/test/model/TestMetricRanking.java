@@ -0,0 +1,127 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.MetricRanking;
+import model.association.MetricsContext;
+import model.equipment.strength.Barbell;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+
+/** This class tests that a MetricRanking created by a MetricsContext answers top-K and bottom-K queries
+ *  and stays ordered as registrations in that context change. */
+public class TestMetricRanking {
+    private MetricsContext metrics;
+    private Muscle quad;
+    private Muscle hamstring;
+    private Muscle glute;
+    private Muscle calf;
+    private MetricRanking<Muscle> ranking;
+
+    @BeforeEach
+    void runBefore() {
+        metrics = new MetricsContext();
+        quad = new Muscle("Quadriceps");
+        hamstring = new Muscle("Hamstrings");
+        glute = new Muscle("Glutes");
+        calf = new Muscle("Calves");
+        ranking = metrics.createRanking(Arrays.asList(quad, hamstring, glute, calf, quad, null));
+    }
+
+    @Test
+    void testUnusedMembersRankInGivenOrder() {
+        assertEquals(4, ranking.size()); // Duplicates and nulls are skipped
+        assertTrue(ranking.contains(glute));
+        assertEquals(List.of(quad, hamstring, glute), ranking.getBottom("totalDuration", 3));
+        assertEquals(List.of(calf, glute), ranking.getTop("totalDuration", 2));
+        assertEquals(0.0, ranking.getMaxValue("totalDuration"), TEST_PRECISION);
+        assertEquals(4, ranking.getBottom("totalSets", 10).size());
+        assertTrue(ranking.getTop("totalSets", 0).isEmpty());
+    }
+
+    @Test
+    void testHasMembers() {
+        assertTrue(ranking.hasMembers(Arrays.asList(calf, glute, hamstring, quad)));
+        assertTrue(ranking.hasMembers(Arrays.asList(quad, hamstring, glute, calf, glute, null)));
+        assertFalse(ranking.hasMembers(Arrays.asList(quad, hamstring, glute)));
+        assertFalse(ranking.hasMembers(Arrays.asList(quad, hamstring, glute, new Muscle("Calves"))));
+        assertFalse(ranking.hasMembers(Arrays.asList(quad, hamstring, glute, calf, new Muscle("Abs"))));
+    }
+
+    @Test
+    void testRankingFollowsRegistrations() {
+        metrics.register(quad, "Squat", "Monday", durationInfo(600.0));
+        metrics.register(glute, "Hip Thrust", "Monday", durationInfo(300.0));
+        metrics.register(quad, "Lunge", "Friday", durationInfo(120.0));
+        assertEquals(List.of(quad, glute), ranking.getTop("totalDuration", 2));
+        assertEquals(List.of(hamstring, calf), ranking.getBottom("totalDuration", 2));
+        assertEquals(720.0, ranking.getMaxValue("totalDuration"), TEST_PRECISION);
+        assertEquals(720.0, metrics.getTotal(quad, "totalDuration"), TEST_PRECISION);
+
+        metrics.unregister(quad, "Squat", "Monday");
+        assertEquals(List.of(glute, quad), ranking.getTop("totalDuration", 2));
+        assertEquals(300.0, ranking.getMaxValue("totalDuration"), TEST_PRECISION);
+
+        metrics.clear(glute);
+        assertEquals(List.of(hamstring, glute, calf, quad), ranking.getBottom("totalDuration", 4));
+        metrics.clear();
+        assertEquals(List.of(quad, hamstring, glute, calf), ranking.getBottom("totalDuration", 4));
+        assertEquals(0.0, metrics.getTotal(quad, "totalDuration"), TEST_PRECISION);
+    }
+
+    @Test
+    void testRankingFollowsScheduleEdits() {
+        MuscleGroup legs = new MuscleGroup("Legs", Arrays.asList(quad, glute));
+        Workout legDay = new Workout("Leg Day",
+                Arrays.asList(new StrengthExercise("Squat", 3, 5, 3.0, 2.0, new Barbell(), legs)));
+        WeeklySchedule schedule = new WeeklySchedule(metrics);
+
+        schedule.setScheduleForDay(0, legDay);
+        assertEquals(List.of(hamstring, calf), ranking.getBottom("totalDuration", 2));
+        assertEquals(3.0, ranking.getMaxValue("totalSets"), TEST_PRECISION);
+        schedule.setScheduleForDay(3, legDay);
+        assertEquals(6.0, ranking.getMaxValue("totalSets"), TEST_PRECISION);
+
+        schedule.clearScheduleForDay(0);
+        schedule.clearScheduleForDay(3);
+        assertEquals(List.of(quad, hamstring), ranking.getBottom("totalDuration", 2));
+        assertEquals(0.0, ranking.getMaxValue("totalSets"), TEST_PRECISION);
+    }
+
+    @Test
+    void testClosedRankingIsNotMaintained() {
+        MetricRanking<Muscle> other = metrics.createRanking(Arrays.asList(calf, quad));
+        metrics.closeRanking(ranking);
+        metrics.closeRanking(ranking); // Closing twice does nothing
+        metrics.register(calf, "Calf Raise", "Monday", durationInfo(60.0));
+        assertEquals(List.of(calf), other.getTop("totalDuration", 1));
+        assertEquals(60.0, other.getMaxValue("totalDuration"), TEST_PRECISION);
+        assertSame(metrics, other.getMetricsContext());
+    }
+
+    @Test
+    void testInvalidMetric() {
+        assertThrows(IllegalArgumentException.class, () -> ranking.getTop("notAMetric", 1));
+        assertThrows(IllegalArgumentException.class, () -> ranking.getBottom(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> metrics.getTotal(quad, "notAMetric"));
+    }
+
+    // EFFECTS: Return exercise info with only the given total duration
+    private Map<String, Double> durationInfo(double seconds) {
+        Map<String, Double> info = new HashMap<String, Double>();
+        info.put("totalDuration", seconds);
+        return info;
+    }
+}
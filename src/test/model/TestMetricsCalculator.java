@@ -0,0 +1,112 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.ExerciseAssociator;
+import model.association.MetricsContext;
+import model.equipment.strength.Barbell;
+import model.equipment.strength.Dumbbell;
+import model.exercise.Exercise;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.MetricsCalculator;
+import model.workout.MetricsTable;
+import model.workout.RestDay;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import model.workout.WorkoutPlan;
+
+/** This class tests that MetricsCalculator reproduces a WeeklySchedule's MetricsContext metrics without
+ *  registering anything, including for many candidate schedules calculated at once. */
+public class TestMetricsCalculator {
+    private Muscle quad;
+    private Muscle glute;
+    private Muscle chest;
+    private MuscleGroup legs;
+    private MuscleGroup lowerBody;
+    private Barbell barbell;
+    private Dumbbell dumbbell;
+    private Workout legDay;
+    private Workout pushDay;
+
+    @BeforeEach
+    void runBefore() {
+        quad = new Muscle("Quadriceps");
+        glute = new Muscle("Glutes");
+        chest = new Muscle("Chest");
+        legs = new MuscleGroup("Legs", Arrays.asList(quad, glute));
+        lowerBody = new MuscleGroup("Lower Body", Arrays.asList(glute));
+        MuscleGroup push = new MuscleGroup("Push", Arrays.asList(chest));
+        barbell = new Barbell();
+        dumbbell = new Dumbbell();
+        legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise("Squat", 4, 5, 3.0, 2.0, barbell, legs),
+                new StrengthExercise("Hip Thrust", 3, 10, 2.0, 1.5, barbell, lowerBody),
+                new StrengthExercise("Squat", 2, 8, 3.0, 2.0, dumbbell, legs))));
+        pushDay = new Workout("Push Day", new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise("Press", 5, 5, 2.0, 3.0, barbell, push))));
+    }
+
+    @Test
+    void testMatchesScheduleMetrics() {
+        WeeklySchedule schedule = new WeeklySchedule(new MetricsContext());
+        schedule.setScheduleForDay(0, legDay);
+        schedule.setScheduleForDay(2, pushDay);
+        schedule.setScheduleForDay(4, legDay);
+        MetricsContext context = schedule.getMetricsContext();
+
+        MetricsTable table = MetricsCalculator.calculate(schedule);
+        for (ExerciseAssociator associator : Arrays.asList(quad, glute, chest, barbell, dumbbell)) {
+            assertEquals(context.getAggregatedMetrics(associator), table.getMetrics(associator));
+        }
+        for (MuscleGroup group : Arrays.asList(legs, lowerBody)) {
+            assertEquals(group.getGroupMetrics(context), table.getGroupMetrics(group));
+        }
+        assertEquals(8.0, table.getTotal(quad, "totalSets"), TEST_PRECISION);
+        assertEquals(4.0, table.getTotal(dumbbell, "totalSets"), TEST_PRECISION);
+        assertEquals(5, table.getAssociators().size());
+        assertEquals(3, table.getMuscleGroups().size());
+        assertThrows(IllegalArgumentException.class, () -> table.getTotal(quad, "notAMetric"));
+        assertTrue(table.getGroupMetrics(new MuscleGroup("Empty", new ArrayList<Muscle>())).isEmpty());
+    }
+
+    @Test
+    void testDoesNotRegister() {
+        MetricsContext fresh = new MetricsContext();
+        fresh.run(() -> MetricsCalculator.calculate(Arrays.asList(legDay, null, new RestDay("Rest Day"))));
+        assertTrue(fresh.getAssociators().isEmpty());
+        assertEquals(0.0, MetricsContext.current().getTotal(quad, "totalSets"), TEST_PRECISION);
+        assertThrows(IllegalArgumentException.class, () -> MetricsCalculator.calculate((WeeklySchedule) null));
+        assertThrows(IllegalArgumentException.class, () -> MetricsCalculator.calculate((List<WorkoutPlan>) null));
+    }
+
+    @Test
+    void testCalculateAllCandidates() {
+        List<List<WorkoutPlan>> candidates = new ArrayList<List<WorkoutPlan>>();
+        for (int i = 0; i < 500; i++) {
+            List<WorkoutPlan> week = new ArrayList<WorkoutPlan>();
+            for (int day = 0; day < 7; day++) {
+                week.add((day + i) % 3 == 0 ? legDay : (day + i) % 3 == 1 ? pushDay : null);
+            }
+            candidates.add(week);
+        }
+        List<MetricsTable> tables = MetricsCalculator.calculateAll(candidates);
+        assertEquals(500, tables.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(MetricsCalculator.calculate(candidates.get(i)).getMetrics(quad),
+                    tables.get(i).getMetrics(quad));
+        }
+        assertEquals(3 * 4.0, tables.get(0).getTotal(quad, "totalSets"), TEST_PRECISION);
+        assertEquals(2 * 4.0, tables.get(1).getTotal(quad, "totalSets"), TEST_PRECISION);
+        assertThrows(IllegalArgumentException.class, () -> MetricsCalculator.calculateAll(null));
+    }
+}
@@ -0,0 +1,148 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.AssociatorBatch;
+import model.association.ExerciseAssociator;
+import model.association.MetricsContext;
+import model.equipment.strength.Barbell;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+
+/** This class tests that MetricsContext keeps the metrics registered against shared ExerciseAssociator
+ *  definitions isolated per context, and that ExerciseAssociator methods follow the thread's current context. */
+public class TestMetricsContext {
+    private MetricsContext first;
+    private MetricsContext second;
+    private ExerciseAssociator barbell;
+    private Muscle quad;
+    private Map<String, Double> strengthInfo;
+
+    @BeforeEach
+    void runBefore() {
+        first = new MetricsContext();
+        second = new MetricsContext();
+        barbell = new Barbell();
+        quad = new Muscle("Quadriceps");
+
+        strengthInfo = new HashMap<String, Double>();
+        strengthInfo.put("totalSets", 3.0);
+        strengthInfo.put("totalDuration", 300.0);
+        strengthInfo.put("notAMetric", 1.0);
+    }
+
+    @Test
+    void testRegisterIsIsolatedPerContext() {
+        assertTrue(first.register(barbell, "Squat", "Monday", strengthInfo));
+        assertFalse(first.register(barbell, "Squat", "Monday", strengthInfo));
+        assertTrue(first.contains(barbell, "Squat", "Monday"));
+        assertFalse(second.contains(barbell, "Squat", "Monday"));
+        assertFalse(barbell.containsExercise("Squat", "Monday")); // Default context
+
+        assertEquals(3.0, first.getAggregatedMetrics(barbell).get("totalSets"), TEST_PRECISION);
+        assertEquals(0.0, second.getAggregatedMetrics(barbell).get("totalSets"), TEST_PRECISION);
+        assertFalse(first.getRawMetrics(barbell).get("Squat-Monday").containsKey("notAMetric"));
+        assertEquals(1, first.getNumAssociators());
+        assertEquals(0, second.getNumAssociators());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertFalse(first.register(null, "Squat", "Monday", strengthInfo));
+        assertFalse(first.register(barbell, null, "Monday", strengthInfo));
+        assertFalse(first.register(barbell, "Squat", null, strengthInfo));
+        assertFalse(first.register(barbell, "Squat", "Monday", null));
+        assertFalse(first.unregister(barbell, "Squat", "Monday"));
+        assertFalse(first.contains(barbell, null, "Monday"));
+        assertEquals(0, first.getNumAssociators());
+    }
+
+    @Test
+    void testUnregisterAndClear() {
+        first.register(barbell, "Squat", "Monday", strengthInfo);
+        first.register(quad, "Squat", "Monday", strengthInfo);
+        assertTrue(first.unregister(barbell, "Squat", "Monday"));
+        assertEquals(0, first.getNumAssociatedExercises(barbell));
+        assertEquals(1, first.getNumAssociators()); // Empty associators are dropped
+
+        first.clear();
+        assertEquals(0, first.getNumAssociators());
+        assertEquals(0, first.getNumAssociatedExercises(quad));
+    }
+
+    @Test
+    void testUnregisterKeepsTotals() {
+        first.register(barbell, "Squat", "Monday", strengthInfo);
+        first.register(barbell, "Squat", "Friday", strengthInfo);
+        first.register(barbell, "Deadlift", "Friday", strengthInfo);
+        assertEquals(9.0, first.getTotal(barbell, "totalSets"), TEST_PRECISION);
+
+        assertTrue(first.unregister(barbell, "Squat", "Friday"));
+        assertEquals(6.0, first.getTotal(barbell, "totalSets"), TEST_PRECISION);
+        assertEquals(600.0, first.getAggregatedMetrics(barbell).get("totalDuration"), TEST_PRECISION);
+
+        first.unregister(barbell, "Squat", "Monday");
+        first.unregister(barbell, "Deadlift", "Friday");
+        assertEquals(0.0, first.getTotal(barbell, "totalSets"));
+        assertEquals(0.0, first.getTotal(barbell, "totalDuration"));
+    }
+
+    @Test
+    void testRunBindsCurrentContext() {
+        assertSame(MetricsContext.getDefault(), MetricsContext.current());
+        first.run(() -> {
+            assertSame(first, MetricsContext.current());
+            assertTrue(barbell.registerExercise("Squat", "Monday", strengthInfo));
+            second.run(() -> assertFalse(barbell.containsExercise("Squat", "Monday")));
+            assertSame(first, MetricsContext.current()); // Restored after nested run
+        });
+        assertSame(MetricsContext.getDefault(), MetricsContext.current());
+        assertTrue(first.contains(barbell, "Squat", "Monday"));
+        assertFalse(barbell.containsExercise("Squat", "Monday"));
+    }
+
+    @Test
+    void testBatchAppliesToGivenContext() {
+        AssociatorBatch batch = new AssociatorBatch();
+        batch.add(barbell, "Squat", "Monday", ExerciseAssociator.filterValidMetrics(strengthInfo));
+        batch.add(quad, "Squat", "Monday", ExerciseAssociator.filterValidMetrics(strengthInfo));
+        assertEquals(2, batch.apply(second));
+        assertTrue(second.contains(quad, "Squat", "Monday"));
+        assertFalse(first.contains(quad, "Squat", "Monday"));
+    }
+
+    @Test
+    void testSchedulesWithSeparateContexts() {
+        MuscleGroup legs = new MuscleGroup("Legs", Arrays.asList(quad));
+        Workout legDay = new Workout("Leg Day",
+                Arrays.asList(new StrengthExercise("Squat", 3, 5, 3.0, 2.0, (Barbell) barbell, legs)));
+
+        WeeklySchedule firstSchedule = new WeeklySchedule(first);
+        WeeklySchedule secondSchedule = new WeeklySchedule(second);
+        assertSame(first, firstSchedule.getMetricsContext());
+        firstSchedule.setScheduleForDay(0, legDay);
+        secondSchedule.setScheduleForDay(2, legDay);
+
+        assertTrue(first.contains(barbell, "Squat", "Monday"));
+        assertFalse(first.contains(barbell, "Squat", "Wednesday"));
+        assertTrue(second.contains(quad, "Squat", "Wednesday"));
+        assertEquals(3.0, legs.getGroupMetrics(first).get("totalSets"), TEST_PRECISION);
+        assertEquals(0.0, legs.getGroupMetrics().get("totalSets"), TEST_PRECISION);
+
+        firstSchedule.clearScheduleForDay(0);
+        assertEquals(0, first.getNumAssociators());
+        assertTrue(second.contains(barbell, "Squat", "Wednesday"));
+        assertThrows(IllegalArgumentException.class, () -> new WeeklySchedule(null));
+    }
+}
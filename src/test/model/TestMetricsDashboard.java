@@ -0,0 +1,126 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.MetricsContext;
+import model.equipment.strength.Barbell;
+import model.exercise.Exercise;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.MetricsDashboard;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import model.workout.WorkoutLibrary;
+
+/** This class tests that MetricsDashboard serves the schedule's metrics from its cache until the schedule's
+ *  version changes, and that WeeklySchedule changes its version on every metric-affecting change. */
+public class TestMetricsDashboard {
+    private Muscle quad;
+    private Muscle chest;
+    private MuscleGroup legs;
+    private MuscleGroup push;
+    private Barbell barbell;
+    private Workout legDay;
+    private Workout pushDay;
+    private WeeklySchedule schedule;
+    private MetricsDashboard dashboard;
+
+    @BeforeEach
+    void runBefore() {
+        quad = new Muscle("Quadriceps");
+        chest = new Muscle("Chest");
+        legs = new MuscleGroup("Legs", Arrays.asList(quad));
+        push = new MuscleGroup("Push", Arrays.asList(chest));
+        barbell = new Barbell();
+        legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise("Squat", 4, 5, 3.0, 2.0, barbell, legs))));
+        pushDay = new Workout("Push Day", new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise("Press", 5, 5, 2.0, 3.0, barbell, push))));
+        schedule = new WeeklySchedule(new MetricsContext());
+        dashboard = new MetricsDashboard(schedule);
+    }
+
+    @Test
+    void testConstructor() {
+        assertSame(schedule, dashboard.getSchedule());
+        assertThrows(IllegalArgumentException.class, () -> new MetricsDashboard(null));
+        assertThrows(IllegalArgumentException.class, () -> dashboard.getGroupMetrics(null));
+        assertThrows(IllegalArgumentException.class, () -> dashboard.getMetrics(null));
+    }
+
+    @Test
+    void testMatchesContextAndCaches() {
+        schedule.setScheduleForDay(0, legDay);
+        schedule.setScheduleForDay(2, pushDay);
+        MetricsContext context = schedule.getMetricsContext();
+
+        Map<String, Double> legMetrics = dashboard.getGroupMetrics(legs);
+        Map<String, Double> barbellMetrics = dashboard.getMetrics(barbell);
+        assertEquals(legs.getGroupMetrics(context), legMetrics);
+        assertEquals(context.getAggregatedMetrics(barbell), barbellMetrics);
+        assertSame(legMetrics, dashboard.getGroupMetrics(legs));
+        assertSame(barbellMetrics, dashboard.getMetrics(barbell));
+        assertThrows(UnsupportedOperationException.class, () -> legMetrics.put("totalSets", 0.0));
+
+        double legDuration = legMetrics.get("totalDuration");
+        double pushDuration = dashboard.getGroupMetrics(push).get("totalDuration");
+        assertEquals(Math.max(legDuration, pushDuration),
+                dashboard.getMaxGroupMetric(Arrays.asList(legs, push), "totalDuration"), TEST_PRECISION);
+        assertEquals(0.0, dashboard.getMaxGroupMetric(new ArrayList<MuscleGroup>(), "totalDuration"));
+        assertEquals(Math.max(dashboard.getMetrics(quad).get("totalDuration"),
+                dashboard.getMetrics(chest).get("totalDuration")),
+                dashboard.getMaxMetric(Arrays.asList(quad, chest), "totalDuration"), TEST_PRECISION);
+        assertEquals(barbellMetrics.get("totalDuration"),
+                dashboard.getMaxMetric(Arrays.asList(barbell, quad), "totalDuration"), TEST_PRECISION);
+        assertEquals(0.0, dashboard.getMaxMetric(new ArrayList<Muscle>(), "totalDuration"));
+    }
+
+    @Test
+    void testInvalidatedByScheduleChanges() {
+        schedule.setScheduleForDay(0, legDay);
+        Map<String, Double> before = dashboard.getGroupMetrics(legs);
+        assertEquals(4.0, before.get("totalSets"), TEST_PRECISION);
+
+        schedule.setScheduleForDay(3, legDay);
+        Map<String, Double> after = dashboard.getGroupMetrics(legs);
+        assertNotSame(before, after);
+        assertEquals(8.0, after.get("totalSets"), TEST_PRECISION);
+        assertEquals(8.0, dashboard.getMetrics(quad).get("totalSets"), TEST_PRECISION);
+
+        schedule.clearScheduleForDay(0);
+        assertEquals(4.0, dashboard.getMetrics(quad).get("totalSets"), TEST_PRECISION);
+        schedule.deactivateAllMetrics();
+        assertEquals(0.0, dashboard.getMetrics(quad).get("totalSets"), TEST_PRECISION);
+        schedule.activateAllMetrics();
+        assertEquals(4.0, dashboard.getMetrics(quad).get("totalSets"), TEST_PRECISION);
+        schedule.deactivateAllMetrics();
+    }
+
+    @Test
+    void testVersion() {
+        int version = schedule.getVersion();
+        schedule.getWeeklySchedule();
+        schedule.getWeekSummary();
+        schedule.toJson();
+        assertEquals(version, schedule.getVersion());
+
+        schedule.setScheduleForDay(1, legDay);
+        assertNotEquals(version, schedule.getVersion());
+        version = schedule.getVersion();
+        schedule.clearScheduleForDay(1);
+        assertNotEquals(version, schedule.getVersion());
+        version = schedule.getVersion();
+        schedule.fromJson(new JSONObject(), new WorkoutLibrary());
+        assertNotEquals(version, schedule.getVersion());
+    }
+}
@@ -3,6 +3,7 @@ package model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -212,4 +213,64 @@ public class TestMuscleGroup {
         assertEquals(4.0, metrics.get("totalSets"), TEST_PRECISION);
         assertEquals(8.0, metrics.get("totalReps"), TEST_PRECISION);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMembershipAndIntersects() {
+        Muscle chest = multiMuscleList.get(0);
+        assertTrue(multiMuscleGroup.containsMuscle(chest));
+        assertFalse(singleMuscleGroup.containsMuscle(chest));
+        assertFalse(multiMuscleGroup.containsMuscle(new Muscle("Chest"))); // Different instance
+        assertFalse(multiMuscleGroup.containsMuscle(null));
+
+        MuscleGroup chestGroup = new MuscleGroup("Chest Group", List.of(chest));
+        assertTrue(multiMuscleGroup.intersects(chestGroup));
+        assertTrue(chestGroup.intersects(multiMuscleGroup));
+        assertFalse(multiMuscleGroup.intersects(singleMuscleGroup));
+        assertFalse(multiMuscleGroup.intersects(emptyGroup));
+        assertFalse(multiMuscleGroup.intersects((MuscleGroup) null));
+    }
+
+    @Test
+    void testCovers() {
+        MuscleGroup chestGroup = new MuscleGroup("Chest Group", List.of(multiMuscleList.get(0)));
+        assertTrue(multiMuscleGroup.covers(chestGroup));
+        assertTrue(multiMuscleGroup.covers(multiMuscleGroup));
+        assertTrue(multiMuscleGroup.covers(emptyGroup));
+        assertFalse(chestGroup.covers(multiMuscleGroup));
+        assertFalse(multiMuscleGroup.covers(singleMuscleGroup));
+        assertFalse(multiMuscleGroup.covers(null));
+    }
+
+    @Test
+    void testUnion() {
+        MuscleGroup union = multiMuscleGroup.union("Push And Biceps", singleMuscleGroup);
+        assertEquals("Push And Biceps", union.getName());
+        assertEquals(4, union.getMuscles().size());
+        assertTrue(union.covers(multiMuscleGroup));
+        assertTrue(union.covers(singleMuscleGroup));
+        assertEquals(3, multiMuscleGroup.getMuscles().size()); // Operands are unchanged
+        assertThrows(IllegalArgumentException.class, () -> multiMuscleGroup.union("Bad", null));
+    }
+
+    @Test
+    void testMuscleMask() {
+        BitSet mask = new BitSet();
+        singleMuscleGroup.addToMask(mask);
+        multiMuscleGroup.addToMask(mask);
+        assertEquals(4, mask.cardinality());
+        assertTrue(mask.get(singleMuscleList.get(0).getOrdinal()));
+        assertTrue(multiMuscleGroup.intersects(mask));
+        assertFalse(emptyGroup.intersects(mask));
+
+        // Returned mask and muscle set are copies/views that cannot alter the group
+        multiMuscleGroup.getMuscleMask().clear();
+        assertEquals(3, multiMuscleGroup.getMuscleMask().cardinality());
+        assertThrows(UnsupportedOperationException.class, () -> multiMuscleGroup.getMuscles().clear());
+    }
+
+    @Test
+    void testMuscleOrdinalsAreUnique() {
+        assertNotEquals(multiMuscleList.get(0).getOrdinal(), multiMuscleList.get(1).getOrdinal());
+        assertNotEquals(new Muscle("Biceps").getOrdinal(), singleMuscleList.get(0).getOrdinal());
+    }
+}
@@ -0,0 +1,107 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import utility.NameSearchIndex;
+
+/** This class tests NameSearchIndex's prefix, substring, and typo-tolerant searches, their ranking,
+ *  and that the index stays consistent as names are added and removed. */
+public class TestNameSearchIndex {
+    private NameSearchIndex index;
+
+    @BeforeEach
+    void runBefore() {
+        index = new NameSearchIndex();
+        index.add("Barbell Squat");
+        index.add("Front Squat");
+        index.add("Squat");
+        index.add("Bench Press");
+        index.add("Incline Bench Press");
+        index.add("Deadlift");
+        index.add("Squat Jumps");
+    }
+
+    @Test
+    void testAddAndRemove() {
+        assertEquals(7, index.size());
+        assertFalse(index.add("Squat"));
+        assertFalse(index.add(null));
+        assertTrue(index.contains("Deadlift"));
+        assertTrue(index.remove("Deadlift"));
+        assertFalse(index.remove("Deadlift"));
+        assertFalse(index.contains("Deadlift"));
+        assertTrue(index.search("dead", 10).isEmpty());
+        assertTrue(index.searchSubstring("lift", 10).isEmpty());
+    }
+
+    @Test
+    void testSearchPrefix() {
+        assertEquals(List.of("Squat", "Squat Jumps"), index.searchPrefix("SQU", 10));
+        assertEquals(List.of("Bench Press"), index.searchPrefix("bench", 10));
+        assertEquals(List.of("Barbell Squat"), index.searchPrefix("b", 1));
+        assertTrue(index.searchPrefix("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testSearchSubstring() {
+        assertEquals(List.of("Squat", "Front Squat", "Squat Jumps", "Barbell Squat"),
+                index.searchSubstring("quat", 10)); // Shortest first, then alphabetical
+        assertEquals(List.of("Bench Press", "Incline Bench Press"), index.searchSubstring("ch pr", 10));
+        assertTrue(index.searchSubstring("qq", 10).isEmpty());
+        assertTrue(index.searchSubstring("q", 10).isEmpty()); // Too short for a substring search
+    }
+
+    @Test
+    void testRankedSearch() {
+        // Exact, then name prefix, then word prefix
+        assertEquals(List.of("Squat", "Squat Jumps", "Barbell Squat", "Front Squat"), index.search("squat", 10));
+        assertEquals(List.of("Squat", "Squat Jumps"), index.search(" squat ", 2));
+        // Word prefix, then substring
+        assertEquals(List.of("Bench Press", "Incline Bench Press"), index.search("press", 10));
+        assertEquals(List.of("Incline Bench Press"), index.search("line", 10));
+        // Blank query lists names alphabetically
+        assertEquals(List.of("Barbell Squat", "Bench Press"), index.search("", 2));
+        assertTrue(index.search("squat", 0).isEmpty());
+    }
+
+    @Test
+    void testTypoTolerantSearch() {
+        assertEquals("Deadlift", index.search("deadlfit", 10).get(0));
+        assertEquals(List.of("Bench Press", "Incline Bench Press"), index.search("bnech", 10));
+        assertTrue(index.search("sqat", 10).contains("Squat"));
+        assertEquals("Squat", index.search("sqat", 10).get(0)); // Nearest and shortest first
+        assertTrue(index.search("zzzz", 10).isEmpty());
+        assertTrue(index.search("sqt", 10).isEmpty()); // Short queries are not fuzzy-matched
+    }
+
+    @Test
+    void testRebuildAfterManyRemovals() {
+        for (int i = 0; i < 3000; i++) {
+            index.add("Generated Exercise " + i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            assertTrue(index.remove("Generated Exercise " + i));
+        }
+        assertEquals(7, index.size());
+        assertTrue(index.search("generated", 10).isEmpty());
+        assertEquals(List.of("Squat", "Squat Jumps"), index.searchPrefix("squat", 10));
+        assertTrue(index.add("Generated Exercise 1"));
+        assertEquals(List.of("Generated Exercise 1"), index.search("generated", 10));
+    }
+
+    @Test
+    void testLargeIndex() {
+        for (int i = 0; i < 100000; i++) {
+            index.add("Exercise Variation " + i);
+        }
+        assertEquals(100007, index.size());
+        assertEquals(List.of("Exercise Variation 99999"), index.search("exercise variation 99999", 1));
+        assertEquals(20, index.search("variation 12", 20).size());
+        assertEquals("Exercise Variation 4321", index.search("variaton 4321", 5).get(0));
+    }
+}
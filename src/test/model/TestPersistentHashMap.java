@@ -0,0 +1,150 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.exercise.StrengthExercise;
+import model.equipment.strength.Barbell;
+import model.workout.Workout;
+import model.workout.WorkoutLibrary;
+import model.workout.WorkoutPlan;
+import utility.PersistentHashMap;
+
+/** This class tests that PersistentHashMap versions behave as maps and are unaffected by later versions, and that
+ *  the libraries hand them out as snapshots. */
+public class TestPersistentHashMap {
+
+    /** A key whose hash is chosen by the test, to force collisions and deep tries. */
+    private static final class Key {
+        private final String name;
+        private final int hash;
+
+        Key(String name, int hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    void testWithAndWithout() {
+        PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+        PersistentHashMap<String, Integer> one = empty.with("a", 1);
+        PersistentHashMap<String, Integer> two = one.with("b", 2);
+        PersistentHashMap<String, Integer> replaced = two.with("a", 3);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertEquals(Integer.valueOf(1), one.get("a"));
+        assertNull(one.get("b"));
+        assertEquals(2, replaced.size());
+        assertEquals(Integer.valueOf(3), replaced.get("a"));
+        assertEquals(Integer.valueOf(1), two.get("a")); // Older version unchanged
+        assertSame(two, two.with("b", two.get("b")));
+        assertSame(two, two.without("missing"));
+        assertSame(two, two.without(null));
+
+        PersistentHashMap<String, Integer> removed = replaced.without("a");
+        assertEquals(1, removed.size());
+        assertFalse(removed.containsKey("a"));
+        assertTrue(replaced.containsKey("a"));
+        assertTrue(removed.without("b").isEmpty());
+        assertEquals(Map.of("a", 3, "b", 2), replaced);
+
+        assertThrows(IllegalArgumentException.class, () -> one.with(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> one.with("c", null));
+        assertThrows(UnsupportedOperationException.class, () -> one.put("c", 1));
+        assertThrows(UnsupportedOperationException.class, () -> one.entrySet().iterator().next().setValue(2));
+    }
+
+    @Test
+    void testManyKeysMatchHashMap() {
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 5000; i++) {
+            map = map.with(i * 31, i);
+            expected.put(i * 31, i);
+        }
+        PersistentHashMap<Integer, Integer> full = map;
+        for (int i = 0; i < 5000; i += 3) {
+            map = map.without(i * 31);
+            expected.remove(i * 31);
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.size(), map.size());
+        assertEquals(5000, full.size());
+        assertEquals(Integer.valueOf(4998), full.get(4998 * 31));
+        int iterated = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            iterated++;
+        }
+        assertEquals(expected.size(), iterated);
+    }
+
+    @Test
+    void testCollisionsAndDeepTries() {
+        Key a = new Key("a", 7);
+        Key b = new Key("b", 7);
+        Key c = new Key("c", 7);
+        Key deep = new Key("deep", 7 | (1 << 30)); // Shares 7's low fragments, so it sits deeper in the trie
+        PersistentHashMap<Key, String> map = PersistentHashMap.<Key, String>empty()
+                .with(a, "A").with(b, "B").with(deep, "D").with(c, "C");
+
+        assertEquals(4, map.size());
+        assertEquals("B", map.get(b));
+        assertEquals("D", map.get(deep));
+        assertEquals("X", map.with(b, "X").get(b));
+        assertEquals(4, map.with(b, "X").size());
+        assertNull(map.get(new Key("e", 7)));
+
+        PersistentHashMap<Key, String> fewer = map.without(a).without(c);
+        assertEquals(2, fewer.size());
+        assertEquals("B", fewer.get(b));
+        assertEquals("D", fewer.get(deep));
+        PersistentHashMap<Key, String> last = fewer.without(deep);
+        assertEquals(Map.of(b, "B"), last);
+        assertEquals(Map.of(deep, "D"), fewer.without(b));
+        assertEquals(4, map.size());
+        assertEquals(4, map.values().size());
+    }
+
+    @Test
+    void testLibrarySnapshots() {
+        Exercise squat = new StrengthExercise("Squat", 4, 5, 3.0, 2.0, new Barbell(), null);
+        Exercise press = new StrengthExercise("Press", 5, 5, 2.0, 3.0, new Barbell(), null);
+        ExerciseLibrary exerciseLibrary = new ExerciseLibrary();
+        exerciseLibrary.addExercise(squat);
+        Map<String, Exercise> before = exerciseLibrary.getAllExercises();
+        exerciseLibrary.addExercise(press);
+        exerciseLibrary.removeExercise("Squat");
+        assertEquals(Map.of("Squat", squat), before);
+        assertEquals(Map.of("Press", press), exerciseLibrary.getAllExercises());
+        assertThrows(UnsupportedOperationException.class, () -> before.remove("Squat"));
+
+        Workout legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(squat)));
+        WorkoutLibrary workoutLibrary = new WorkoutLibrary();
+        Map<String, WorkoutPlan> empty = workoutLibrary.getWorkoutsByName();
+        workoutLibrary.addWorkout(legDay);
+        assertTrue(empty.isEmpty());
+        assertSame(legDay, workoutLibrary.getWorkoutsByName().get("Leg Day"));
+        assertSame(workoutLibrary.getWorkoutsByName(), workoutLibrary.getWorkoutsByName());
+    }
+}
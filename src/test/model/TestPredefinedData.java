@@ -0,0 +1,203 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.ExerciseAssociator;
+import model.equipment.CustomEquipment;
+import model.equipment.Equipment;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import utility.NameRegistry;
+import utility.PredefinedData;
+
+/** This class tests that PredefinedData resolves the same shared Muscle, MuscleGroup, and Equipment
+ *  instances by name (case-insensitively), falls back to defaults, and assigns dense ordinals. */
+public class TestPredefinedData {
+    private PredefinedData predefinedData;
+
+    @BeforeEach
+    void runBefore() {
+        predefinedData = new PredefinedData();
+    }
+
+    @Test
+    void testRegistrySizes() {
+        // Other tests may register extra definitions (registries are shared and append-only)
+        assertTrue(predefinedData.getAllMuscles().size() >= 29);
+        assertTrue(predefinedData.getAllMuscleGroups().size() >= 19);
+        assertTrue(predefinedData.getAllEquipment().size() >= 6);
+        assertEquals(28, predefinedData.getMuscleOrdinal(predefinedData.findMuscle("IT Band")));
+        assertEquals(18, predefinedData.getMuscleGroupOrdinal(predefinedData.findMuscleGroup("Hips")));
+        assertEquals(5, predefinedData.getEquipmentOrdinal(predefinedData.findEquipment("Machine")));
+    }
+
+    @Test
+    void testMapsAreSharedAndUnmodifiable() {
+        Map<String, Equipment> equipment = predefinedData.getAllEquipment();
+        assertSame(equipment, new PredefinedData().getAllEquipment());
+        assertThrows(UnsupportedOperationException.class, () -> equipment.remove("Barbell"));
+    }
+
+    @Test
+    void testFindReturnsSharedInstances() {
+        assertSame(predefinedData.getAllEquipment().get("Barbell"), predefinedData.findEquipment("Barbell"));
+        assertSame(predefinedData.findMuscleGroup("Chest"), new PredefinedData().findMuscleGroup("Chest"));
+        assertEquals("Lats", predefinedData.findMuscle("Lats").getName());
+    }
+
+    @Test
+    void testFindIsCaseInsensitive() {
+        assertSame(predefinedData.findEquipment("Barbell"), predefinedData.findEquipment("barbell"));
+        assertSame(predefinedData.findMuscleGroup("Squat Muscles"), predefinedData.findMuscleGroup("SQUAT muscles"));
+        assertSame(predefinedData.findMuscle("IT Band"), predefinedData.findMuscle("it band"));
+    }
+
+    @Test
+    void testFindDefaults() {
+        assertNull(predefinedData.findMuscle("Wings"));
+        assertNull(predefinedData.findMuscle(null));
+        assertEquals("Bodyweight", predefinedData.findEquipment("Jetpack").getEquipmentName());
+        assertEquals("Bodyweight", predefinedData.findEquipment(null).getEquipmentName());
+        MuscleGroup unknown = predefinedData.findMuscleGroup("Wings");
+        assertEquals("Unnamed MuscleGroup", unknown.getName());
+        assertTrue(unknown.getMuscles().isEmpty());
+    }
+
+    @Test
+    void testOrdinalsAreDense() {
+        // Muscles built outside PredefinedData (i.e. by other tests) may hold ordinals between registered ones
+        Set<Integer> seen = new HashSet<Integer>();
+        for (Muscle muscle : predefinedData.getAllMuscles().values()) {
+            int ordinal = predefinedData.getMuscleOrdinal(muscle);
+            assertEquals(ordinal, muscle.getOrdinal()); // One ordinal source
+            assertTrue(seen.add(ordinal));
+        }
+        assertEquals(0, predefinedData.getMuscleOrdinal(predefinedData.findMuscle("Biceps")));
+        assertEquals(0, predefinedData.getMuscleGroupOrdinal(predefinedData.findMuscleGroup("Deadlift Muscles")));
+        assertEquals(0, predefinedData.getEquipmentOrdinal(predefinedData.findEquipment("Treadmill")));
+        assertEquals(-1, predefinedData.getMuscleOrdinal(new Muscle("Biceps")));
+
+        // An unregistered muscle takes an ordinal only once it is needed, and is not findable by name
+        Muscle first = new Muscle("Test Enrolled");
+        Muscle unused = new Muscle("Test Unused");
+        Muscle enrolled = new Muscle("Test Enrolled");
+        assertNotEquals(first.getOrdinal(), enrolled.getOrdinal());
+        assertEquals(-1, predefinedData.getMuscleOrdinal(unused)); // Uses up no ordinal
+        assertEquals(enrolled.getOrdinal(), predefinedData.getMuscleOrdinal(enrolled));
+        assertNull(predefinedData.findMuscle("Test Enrolled"));
+    }
+
+    @Test
+    void testReadersSeeImmutableSnapshots() {
+        NameRegistry<Muscle> registry = new NameRegistry<Muscle>(List.of(new Muscle("Biceps")), Muscle::getName);
+        Map<String, Muscle> before = registry.asMap();
+        List<Muscle> listBefore = registry.asList();
+        Muscle triceps = new Muscle("Triceps");
+        assertEquals(1, registry.register(triceps));
+
+        assertEquals(1, before.size()); // Not a live view
+        assertEquals(1, listBefore.size());
+        assertEquals(2, registry.asMap().size());
+        assertSame(triceps, registry.find("TRICEPS"));
+        assertSame(triceps, registry.get(1));
+        assertNull(registry.get(5));
+        assertThrows(UnsupportedOperationException.class, () -> registry.asMap().clear());
+        assertThrows(UnsupportedOperationException.class, () -> registry.asList().clear());
+    }
+
+    @Test
+    void testEnrolledEntriesAreNotRetained() throws InterruptedException {
+        NameRegistry<Muscle> registry = new NameRegistry<Muscle>(List.of(new Muscle("Biceps")), Muscle::getName);
+        Muscle kept = new Muscle("Kept");
+        assertEquals(1, registry.enroll(kept));
+        assertEquals(2, registry.enroll(new Muscle("Dropped")));
+        assertEquals(3, registry.size());
+        assertEquals(List.of(registry.get(0)), registry.asList()); // Enrolled entries are not listed
+
+        // Once the dropped muscle is collected its ordinal is freed, and size shrinks back
+        for (int i = 0; i < 100 && registry.size() > 2; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(2, registry.size());
+        assertEquals(1, registry.ordinalOf(kept));
+        assertEquals(2, registry.enroll(new Muscle("Reused")));
+    }
+
+    @Test
+    void testRegisterRejectsDuplicateNames() {
+        assertEquals(-1, predefinedData.registerEquipment(new CustomEquipment("barbell", "Strength Equipment", true)));
+        assertEquals(-1, predefinedData.registerMuscle(new Muscle("LATS")));
+        assertEquals(-1, predefinedData.registerMuscleGroup(null));
+        assertTrue(predefinedData.findEquipment("Barbell") instanceof ExerciseAssociator);
+        assertFalse(predefinedData.findEquipment("Barbell") instanceof CustomEquipment);
+    }
+
+    @Test
+    void testLoadDefinitionsFromMissingFile() {
+        assertEquals(0, predefinedData.loadDefinitions("./data/no-such-definitions.json"));
+    }
+
+    @Test
+    void testLoadDefinitions() throws Exception {
+        File file = new File("./data/test-definitions.json");
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), ("{"
+                + "\"equipment\": {"
+                + "    \"Test Kettlebell\": {\"type\": \"Strength Equipment\"},"
+                + "    \"Test Rower\": {\"type\": \"Cardio Equipment\"},"
+                + "    \"Barbell\": {}"
+                + "},"
+                + "\"muscles\": {\"Test Serratus\": {}},"
+                + "\"muscleGroups\": {\"Test Swing Muscles\": {\"muscles\": "
+                + "    [\"Glutes\", \"Hamstrings\", \"Test Serratus\", \"Wings\"]}}"
+                + "}").getBytes());
+        try {
+            int equipmentBefore = predefinedData.getAllEquipment().size();
+            assertEquals(4, predefinedData.loadDefinitions(file.getPath())); // Barbell already exists
+
+            Equipment kettlebell = predefinedData.findEquipment("test kettlebell");
+            assertEquals("Test Kettlebell", kettlebell.getEquipmentName());
+            assertTrue(kettlebell.isWeightBased());
+            assertTrue(kettlebell instanceof ExerciseAssociator);
+            assertFalse(predefinedData.findEquipment("Test Rower").isWeightBased());
+            assertEquals(equipmentBefore + 2, predefinedData.getAllEquipment().size());
+            assertTrue(predefinedData.getEquipmentOrdinal(kettlebell) >= 6);
+
+            Muscle serratus = predefinedData.findMuscle("Test Serratus");
+            assertTrue(predefinedData.getMuscleOrdinal(serratus) >= 29);
+            MuscleGroup swing = predefinedData.findMuscleGroup("Test Swing Muscles");
+            assertEquals(3, swing.getMuscles().size());
+            assertTrue(swing.getMuscles().contains(serratus));
+            assertTrue(swing.getMuscles().contains(predefinedData.findMuscle("Glutes")));
+
+            // Loading again registers nothing new
+            assertEquals(0, predefinedData.loadDefinitions(file.getPath()));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testLoadDefinitionsCorruptedFile() throws Exception {
+        File file = new File("./data/test-corrupted-definitions.json");
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), "not json".getBytes());
+        try {
+            assertThrows(JSONException.class, () -> predefinedData.loadDefinitions(file.getPath()));
+        } finally {
+            file.delete();
+        }
+    }
+}
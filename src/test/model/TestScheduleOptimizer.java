@@ -0,0 +1,178 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.equipment.strength.Barbell;
+import model.exercise.Exercise;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.OptimizedSchedule;
+import model.workout.RestDay;
+import model.workout.ScheduleConstraints;
+import model.workout.ScheduleOptimizer;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import model.workout.WorkoutLibrary;
+
+/** This class tests that ScheduleOptimizer finds the best-balanced week satisfying rest day, recovery,
+ *  and duration constraints, deterministically and quickly for a large library. */
+public class TestScheduleOptimizer {
+    private Barbell barbell;
+    private Muscle quad;
+    private Muscle chest;
+    private WorkoutLibrary library;
+    private ScheduleOptimizer optimizer;
+
+    @BeforeEach
+    void runBefore() {
+        barbell = new Barbell();
+        quad = new Muscle("Quadriceps");
+        chest = new Muscle("Chest");
+        library = new WorkoutLibrary();
+        optimizer = new ScheduleOptimizer(2);
+    }
+
+    @Test
+    void testPicksBalancedWeek() {
+        Workout legs = workout("Legs", quad, 3);
+        Workout heavyLegs = workout("Heavy Legs", quad, 6);
+        Workout push = workout("Push", chest, 3);
+        library.addWorkout(heavyLegs);
+        library.addWorkout(legs);
+        library.addWorkout(push);
+
+        OptimizedSchedule result = optimizer.optimize(library, new ScheduleConstraints().withNumRestDays(5));
+        assertEquals(0.0, result.getVariance(), TEST_PRECISION);
+        assertEquals(legs, result.getPlan(0));
+        assertEquals(push, result.getPlan(1));
+        for (int day = 2; day < 7; day++) {
+            assertTrue(result.getPlan(day) instanceof RestDay);
+        }
+        assertEquals(3.0, result.getMuscleVolumes().get(quad), TEST_PRECISION);
+        assertEquals(3.0, result.getMuscleVolumes().get(chest), TEST_PRECISION);
+        assertEquals(7, result.getPlans().size());
+        assertThrows(IllegalArgumentException.class, () -> result.getPlan(7));
+    }
+
+    @Test
+    void testFixedRestDaysAndDuration() {
+        Workout legs = workout("Legs", quad, 3);
+        Workout push = workout("Push", chest, 3);
+        Workout longPush = workout("Long Push", chest, 30);
+        library.addWorkout(legs);
+        library.addWorkout(push);
+        library.addWorkout(longPush);
+
+        ScheduleConstraints constraints = new ScheduleConstraints().withRestDay(0).withRestDay(2).withNumRestDays(5)
+                .withMaximumDailyDuration(legs.getDuration());
+        assertEquals(5, constraints.getNumRestDays());
+        OptimizedSchedule result = optimizer.optimize(library, constraints);
+        assertEquals(legs, result.getPlan(1));
+        assertEquals(push, result.getPlan(3));
+        assertTrue(result.getPlan(0) instanceof RestDay);
+        assertTrue(result.getPlan(2) instanceof RestDay);
+        assertFalse(result.getPlans().contains(longPush));
+    }
+
+    @Test
+    void testRecoveryConstraints() {
+        Workout legs = workout("Legs", quad, 3);
+        Workout moreLegs = workout("More Legs", quad, 3);
+        Workout push = workout("Push", chest, 6);
+        library.addWorkout(legs);
+        library.addWorkout(moreLegs);
+        library.addWorkout(push);
+
+        ScheduleConstraints constraints = new ScheduleConstraints().withNumRestDays(4).withMinimumRecoveryHours(48);
+        OptimizedSchedule result = optimizer.optimize(library, constraints);
+        assertEquals(0.0, result.getVariance(), TEST_PRECISION);
+        int first = result.getPlans().indexOf(legs);
+        int second = result.getPlans().indexOf(moreLegs);
+        int apart = Math.abs(first - second);
+        assertTrue(Math.min(apart, 7 - apart) >= 2);
+
+        assertNull(optimizer.optimize(library, constraints.withMinimumRecoveryHours(quad, 96)));
+        assertNull(optimizer.optimize(library, new ScheduleConstraints().withNumRestDays(3)));
+    }
+
+    @Test
+    void testRepeatedWorkoutsAndApply() {
+        Workout legs = workout("Legs", quad, 3);
+        Workout push = workout("Push", chest, 3);
+        library.addWorkout(legs);
+        library.addWorkout(push);
+
+        ScheduleConstraints constraints = new ScheduleConstraints().withNumRestDays(1).withMaximumUsesPerWorkout(3)
+                .withMinimumRecoveryHours(24);
+        OptimizedSchedule result = optimizer.optimize(library, constraints);
+        assertEquals(9.0, result.getMuscleVolumes().get(quad), TEST_PRECISION);
+        assertEquals(9.0, result.getMuscleVolumes().get(chest), TEST_PRECISION);
+
+        WeeklySchedule schedule = new WeeklySchedule();
+        result.applyTo(schedule);
+        for (int day = 0; day < 7; day++) {
+            assertEquals(result.getPlan(day), schedule.getScheduleForDay(day));
+        }
+        assertEquals(0.0, optimizer.optimize(library, new ScheduleConstraints().withNumRestDays(7)).getVariance(),
+                TEST_PRECISION);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleOptimizer(0));
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(null, new ScheduleConstraints()));
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(library, null));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleConstraints().withRestDay(7));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleConstraints().withNumRestDays(8));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleConstraints().withMaximumDailyDuration(0));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleConstraints().withMaximumUsesPerWorkout(0));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleConstraints().balancing("notAMetric"));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleConstraints().withMinimumRecoveryHours(-1));
+        library.addWorkout(workout("Legs", quad, 3));
+        OptimizedSchedule result = optimizer.optimize(library, new ScheduleConstraints().withNumRestDays(6));
+        assertThrows(IllegalArgumentException.class, () -> result.applyTo(null));
+    }
+
+    @Test
+    void testLargeLibraryIsFastAndDeterministic() {
+        List<Muscle> muscles = new ArrayList<Muscle>();
+        for (int i = 0; i < 12; i++) {
+            muscles.add(new Muscle("Muscle " + i));
+        }
+        for (int i = 0; i < 50; i++) {
+            MuscleGroup group = new MuscleGroup("Group " + i, Arrays.asList(muscles.get(i % 12),
+                    muscles.get((i * 5 + 1) % 12), muscles.get((i * 7 + 3) % 12)));
+            library.addWorkout(new Workout("Workout " + i, new ArrayList<Exercise>(Arrays.asList(
+                    new StrengthExercise("Exercise " + i, 2 + i % 4, 5, 3.0, 2.0, barbell, group)))));
+        }
+        ScheduleConstraints constraints = new ScheduleConstraints().withNumRestDays(2).withMinimumRecoveryHours(48);
+
+        OptimizedSchedule parallel = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> new ScheduleOptimizer().optimize(library, constraints));
+        OptimizedSchedule sequential = new ScheduleOptimizer(1).optimize(library, constraints);
+        assertNotNull(parallel);
+        for (int day = 0; day < 7; day++) {
+            if (!(sequential.getPlan(day) instanceof RestDay)) {
+                assertEquals(sequential.getPlan(day), parallel.getPlan(day));
+            }
+        }
+        assertEquals(sequential.getVariance(), parallel.getVariance(), TEST_PRECISION);
+    }
+
+    // EFFECTS: Return a workout of one strength exercise doing sets sets training muscle
+    private Workout workout(String name, Muscle muscle, int sets) {
+        MuscleGroup group = new MuscleGroup(name + " Group", Arrays.asList(muscle));
+        return new Workout(name, new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise(name + " Exercise", sets, 5, 3.0, 2.0, barbell, group))));
+    }
+}
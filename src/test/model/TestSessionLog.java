@@ -0,0 +1,134 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.session.ExerciseHistory;
+import model.session.LoggedSet;
+import model.session.SessionLog;
+
+/** This class tests that SessionLog stores performed sets, keeps each exercise's personal records and daily
+ *  progress current as sets are logged, and survives a JSON round trip. */
+public class TestSessionLog {
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 18, 0);
+
+    private SessionLog log;
+
+    @BeforeEach
+    void runBefore() {
+        log = new SessionLog();
+    }
+
+    @Test
+    void testLoggedSet() {
+        LoggedSet set = new LoggedSet("Squat", MONDAY, 5, 100.0, 40.0);
+        assertEquals(500.0, set.getVolume(), TEST_PRECISION);
+        assertEquals(100.0 * (1 + 5 / 30.0), set.getEstimatedOneRepMax(), TEST_PRECISION);
+        assertEquals(140.0, LoggedSet.estimateOneRepMax(1, 140.0), TEST_PRECISION);
+        assertEquals(0.0, LoggedSet.estimateOneRepMax(0, 140.0), TEST_PRECISION);
+        assertThrows(IllegalArgumentException.class, () -> new LoggedSet(" ", MONDAY, 5, 100.0, 40.0));
+        assertThrows(IllegalArgumentException.class, () -> new LoggedSet("Squat", null, 5, 100.0, 40.0));
+        assertThrows(IllegalArgumentException.class, () -> new LoggedSet("Squat", MONDAY, -1, 100.0, 40.0));
+        assertThrows(IllegalArgumentException.class, () -> log.logSet(null));
+    }
+
+    @Test
+    void testPersonalRecords() {
+        assertTrue(log.logSet(new LoggedSet("Squat", MONDAY, 5, 100.0, 40.0)));
+        assertFalse(log.logSet(new LoggedSet("Squat", MONDAY.plusMinutes(3), 5, 100.0, 40.0)));
+        assertTrue(log.logSet(new LoggedSet("Squat", MONDAY.plusMinutes(6), 8, 90.0, 50.0))); // Reps at 90
+        assertTrue(log.logSet(new LoggedSet("Squat", MONDAY.plusDays(2), 1, 120.0, 10.0))); // Load and 1RM
+        assertFalse(log.logSet(new LoggedSet("Squat", MONDAY.plusDays(2), 3, 80.0, 20.0))); // Dominated
+
+        ExerciseHistory squat = log.getHistory("Squat");
+        assertEquals(120.0, squat.getBestLoad(), TEST_PRECISION);
+        assertEquals(120.0, squat.getBestEstimatedOneRepMax(), TEST_PRECISION);
+        assertEquals(8, squat.getBestReps(80.0));
+        assertEquals(5, squat.getBestReps(95.0));
+        assertEquals(1, squat.getBestReps(120.0));
+        assertEquals(0, squat.getBestReps(125.0));
+        assertEquals(List.of(90.0, 100.0, 120.0), List.copyOf(squat.getRepRecords().keySet()));
+        assertEquals(5, squat.getNumSets());
+        assertNull(log.getHistory("Deadlift"));
+    }
+
+    @Test
+    void testDailyProgress() {
+        log.logSet(new LoggedSet("Squat", MONDAY, 5, 100.0, 40.0));
+        log.logSet(new LoggedSet("Squat", MONDAY.plusMinutes(3), 5, 100.0, 40.0));
+        log.logSet(new LoggedSet("Bench Press", MONDAY.plusMinutes(20), 8, 60.0, 30.0));
+        log.logSet(new LoggedSet("Squat", MONDAY.plusDays(7), 3, 110.0, 30.0));
+
+        ExerciseHistory squat = log.getHistory("Squat");
+        NavigableMap<LocalDate, Double> volume = squat.getDailyVolume(LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31));
+        assertEquals(List.of(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 13)), List.copyOf(volume.keySet()));
+        assertEquals(1000.0, volume.get(LocalDate.of(2025, 1, 6)), TEST_PRECISION);
+        assertEquals(2.0, squat.getDailySets(MONDAY.toLocalDate(), MONDAY.toLocalDate())
+                .get(MONDAY.toLocalDate()), TEST_PRECISION);
+        assertEquals(110.0 * 1.1, squat.getDailyBestEstimatedOneRepMax(LocalDate.of(2025, 1, 13),
+                LocalDate.of(2025, 1, 13)).get(LocalDate.of(2025, 1, 13)), TEST_PRECISION);
+        assertEquals(2, squat.getNumTrainingDays());
+        assertTrue(squat.getDailyVolume(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)).isEmpty());
+        assertEquals(List.of("Squat", "Bench Press"), List.copyOf(log.getLoggedExercises()));
+    }
+
+    @Test
+    void testManySetsAcrossChunks() {
+        for (int i = 0; i < 10000; i++) {
+            String name = (i % 2 == 0) ? "Squat" : "Row";
+            log.logSet(new LoggedSet(name, MONDAY.plusHours(i), 5, 50.0 + (i % 50), 30.0));
+        }
+        assertEquals(10000, log.size());
+        LoggedSet last = log.getSet(9999);
+        assertEquals("Row", last.getExerciseName());
+        assertEquals(MONDAY.plusHours(9999), last.getPerformedAt());
+        assertThrows(IndexOutOfBoundsException.class, () -> log.getSet(10000));
+
+        List<LoggedSet> window = log.getSets("Squat", MONDAY.plusHours(5000), MONDAY.plusHours(5009));
+        assertEquals(5, window.size());
+        assertEquals(MONDAY.plusHours(5000), window.get(0).getPerformedAt());
+        assertTrue(log.getSets("Squat", MONDAY.minusDays(10), MONDAY.minusDays(1)).isEmpty());
+        assertTrue(log.getSets("Deadlift", MONDAY, MONDAY.plusYears(2)).isEmpty());
+        assertEquals(99.0, log.getHistory("Row").getBestLoad(), TEST_PRECISION);
+    }
+
+    @Test
+    void testJsonRoundTrip() {
+        log.logSet(new LoggedSet("Squat", MONDAY, 5, 100.0, 40.0));
+        log.logSet(new LoggedSet("Pull Up", MONDAY.plusMinutes(10), 12, 0.0, 35.0));
+        log.logSet(new LoggedSet("Squat", MONDAY.plusDays(2), 1, 120.0, 10.0));
+
+        JSONObject json = log.toJson();
+        SessionLog loaded = new SessionLog();
+        loaded.fromJson(json, null);
+        assertEquals(3, loaded.size());
+        assertEquals(120.0, loaded.getHistory("Squat").getBestLoad(), TEST_PRECISION);
+        assertEquals(12, loaded.getHistory("Pull Up").getBestReps(0.0));
+        assertEquals(MONDAY.plusMinutes(10), loaded.getSet(1).getPerformedAt());
+
+        // Rows with an unknown exercise id or negative reps are skipped; the rest still load
+        JSONObject chunk = json.getJSONArray("chunks").getJSONObject(0);
+        chunk.getJSONArray("exercise").put(0, 7);
+        chunk.getJSONArray("reps").put(2, -3);
+        loaded.fromJson(json, null);
+        assertEquals(1, loaded.size());
+        assertEquals("Pull Up", loaded.getSet(0).getExerciseName());
+
+        chunk.put("load", new JSONArray());
+        loaded.fromJson(json, null);
+        assertEquals(0, loaded.size());
+        loaded.fromJson(new JSONObject(), null);
+        assertEquals(0, loaded.size());
+    }
+}
@@ -0,0 +1,165 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.MetricsContext;
+import model.equipment.strength.Barbell;
+import model.equipment.strength.Dumbbell;
+import model.exercise.Exercise;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.RestDay;
+import model.workout.TrainingCalendar;
+import model.workout.WeeklySchedule;
+import model.workout.Workout;
+import utility.FenwickTree;
+
+/** This class tests that TrainingCalendar assigns plans to dates and answers range and monthly totals
+ *  per associator, staying correct as dates are reassigned, cleared, and refreshed. */
+public class TestTrainingCalendar {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    private Barbell barbell;
+    private Dumbbell dumbbell;
+    private Muscle quad;
+    private Muscle chest;
+    private Workout legDay;
+    private Workout chestDay;
+    private TrainingCalendar calendar;
+
+    @BeforeEach
+    void runBefore() {
+        barbell = new Barbell();
+        dumbbell = new Dumbbell();
+        quad = new Muscle("Quadriceps");
+        chest = new Muscle("Chest");
+        MuscleGroup legs = new MuscleGroup("Legs", Arrays.asList(quad));
+        MuscleGroup chestGroup = new MuscleGroup("Chest", Arrays.asList(chest));
+        legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise("Squat", 3, 5, 3.0, 2.0, barbell, legs),
+                new StrengthExercise("Lunge", 2, 10, 2.0, 1.0, dumbbell, legs))));
+        chestDay = new Workout("Chest Day", new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise("Bench Press", 4, 8, 2.0, 2.0, barbell, chestGroup))));
+        calendar = new TrainingCalendar(MONDAY, 12);
+    }
+
+    @Test
+    void testConstruction() {
+        assertEquals(84, calendar.getNumDays());
+        assertEquals(MONDAY.plusDays(83), calendar.getEndDate());
+        assertTrue(calendar.contains(MONDAY));
+        assertFalse(calendar.contains(MONDAY.minusDays(1)));
+        assertFalse(calendar.contains(null));
+        assertNull(calendar.getPlan(MONDAY));
+        assertThrows(IllegalArgumentException.class, () -> new TrainingCalendar(null, 4));
+        assertThrows(IllegalArgumentException.class, () -> new TrainingCalendar(MONDAY, 0));
+        assertThrows(IllegalArgumentException.class, () -> calendar.getPlan(MONDAY.plusDays(84)));
+    }
+
+    @Test
+    void testAssignAndRangeTotals() {
+        assertNull(calendar.assign(MONDAY, legDay));
+        calendar.assign(MONDAY.plusDays(2), chestDay);
+        calendar.assign(MONDAY.plusDays(7), legDay);
+
+        assertEquals(5.0, calendar.getTotal(quad, "totalSets", MONDAY, MONDAY.plusDays(6)), TEST_PRECISION);
+        assertEquals(10.0, calendar.getTotal(quad, "totalSets", MONDAY, calendar.getEndDate()), TEST_PRECISION);
+        assertEquals(5.0, calendar.getTotal(quad, "totalSets", MONDAY.plusDays(1), MONDAY.plusDays(7)),
+                TEST_PRECISION);
+        assertEquals(7.0, calendar.getTotal(barbell, "totalSets", MONDAY, MONDAY.plusDays(6)), TEST_PRECISION);
+        assertEquals(0.0, calendar.getTotal(chest, "totalSets", MONDAY.plusDays(3), MONDAY.plusDays(6)),
+                TEST_PRECISION);
+        assertEquals(3, calendar.getNumAssignedDays());
+
+        Map<String, Double> totals = calendar.getTotals(quad, MONDAY, MONDAY);
+        assertEquals(35.0, totals.get("totalReps"), TEST_PRECISION); // 3 x 5 + 2 x 10
+        assertEquals(0.0, totals.get("totalIntervalDuration"), TEST_PRECISION);
+    }
+
+    @Test
+    void testReassignAndClear() {
+        calendar.assign(MONDAY, legDay);
+        assertSame(legDay, calendar.assign(MONDAY, chestDay));
+        assertEquals(0.0, calendar.getTotal(quad, "totalSets", MONDAY, MONDAY), TEST_PRECISION);
+        assertEquals(4.0, calendar.getTotal(chest, "totalSets", MONDAY, MONDAY), TEST_PRECISION);
+
+        assertSame(chestDay, calendar.clear(MONDAY));
+        calendar.assign(MONDAY.plusDays(1), new RestDay("Recovery"));
+        assertEquals(0.0, calendar.getTotal(chest, "totalSets", MONDAY, calendar.getEndDate()), TEST_PRECISION);
+        assertEquals(1, calendar.getNumAssignedDays());
+    }
+
+    @Test
+    void testRangesAreClampedToCalendar() {
+        calendar.assign(MONDAY, legDay);
+        calendar.assign(calendar.getEndDate(), legDay);
+        assertEquals(10.0, calendar.getTotal(quad, "totalSets", MONDAY.minusYears(1), MONDAY.plusYears(1)),
+                TEST_PRECISION);
+        assertEquals(0.0, calendar.getTotal(quad, "totalSets", MONDAY.plusDays(1), MONDAY), TEST_PRECISION);
+        assertEquals(0.0, calendar.getTotal(quad, "totalSets", MONDAY.minusDays(9), MONDAY.minusDays(1)),
+                TEST_PRECISION);
+        assertThrows(IllegalArgumentException.class, () -> calendar.getTotal(quad, "notAMetric", MONDAY, MONDAY));
+        assertThrows(IllegalArgumentException.class, () -> calendar.getTotal(quad, "totalSets", null, MONDAY));
+        assertThrows(IllegalArgumentException.class, () -> calendar.assign(MONDAY.minusDays(1), legDay));
+    }
+
+    @Test
+    void testRepeatScheduleAndMonthlyTotals() {
+        WeeklySchedule template = new WeeklySchedule(new MetricsContext());
+        template.setScheduleForDay(0, legDay);    // Mondays
+        template.setScheduleForDay(3, chestDay);  // Thursdays
+        calendar.repeatSchedule(template, MONDAY.minusDays(3), calendar.getEndDate());
+
+        assertEquals(84, calendar.getNumAssignedDays()); // Rest days are assigned too
+        assertTrue(calendar.getPlan(MONDAY.plusDays(1)) instanceof RestDay);
+        assertSame(chestDay, calendar.getPlan(MONDAY.plusDays(3)));
+        assertEquals(60.0, calendar.getTotal(quad, "totalSets", MONDAY, calendar.getEndDate()), TEST_PRECISION);
+
+        Map<YearMonth, Double> monthly = calendar.getMonthlyTotals(quad, "totalSets");
+        assertEquals(Arrays.asList(YearMonth.of(2025, 1), YearMonth.of(2025, 2), YearMonth.of(2025, 3)),
+                new ArrayList<YearMonth>(monthly.keySet()));
+        assertEquals(20.0, monthly.get(YearMonth.of(2025, 1)), TEST_PRECISION); // Jan 6, 13, 20, 27
+        assertEquals(20.0, monthly.get(YearMonth.of(2025, 2)), TEST_PRECISION); // Feb 3, 10, 17, 24
+        assertEquals(20.0, monthly.get(YearMonth.of(2025, 3)), TEST_PRECISION); // Mar 3, 10, 17, 24
+        assertEquals(84.0, calendar.getTotal(barbell, "totalSets", MONDAY, calendar.getEndDate()), TEST_PRECISION);
+    }
+
+    @Test
+    void testRefreshAfterWorkoutEdit() {
+        calendar.assign(MONDAY, legDay);
+        calendar.assign(MONDAY.plusDays(7), legDay);
+        legDay.removeExercise("Lunge");
+        assertEquals(10.0, calendar.getTotal(quad, "totalSets", MONDAY, calendar.getEndDate()), TEST_PRECISION);
+
+        assertEquals(2, calendar.refresh(legDay));
+        assertEquals(6.0, calendar.getTotal(quad, "totalSets", MONDAY, calendar.getEndDate()), TEST_PRECISION);
+        assertEquals(0.0, calendar.getTotal(dumbbell, "totalSets", MONDAY, calendar.getEndDate()), TEST_PRECISION);
+        assertEquals(0, calendar.refresh(chestDay));
+    }
+
+    @Test
+    void testFenwickTree() {
+        FenwickTree tree = new FenwickTree(10);
+        for (int i = 0; i < 10; i++) {
+            tree.add(i, i);
+        }
+        assertEquals(45.0, tree.prefixSum(10), TEST_PRECISION);
+        assertEquals(12.0, tree.rangeSum(3, 5), TEST_PRECISION);
+        assertEquals(7.0, tree.get(7), TEST_PRECISION);
+        assertEquals(0.0, tree.rangeSum(5, 3), TEST_PRECISION);
+        assertEquals(45.0, tree.rangeSum(-4, 40), TEST_PRECISION);
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.add(10, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new FenwickTree(-1));
+    }
+}
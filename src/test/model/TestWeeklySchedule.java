@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import model.workout.*;
 import model.exercise.*;
 import model.association.ExerciseAssociator;
+import model.association.MetricsContext;
 import model.equipment.*;
 import model.equipment.strength.*;
 import model.equipment.cardio.*;
@@ -173,6 +174,29 @@ class TestWeeklySchedule {
         assertEquals(1800.0, finalQuadMetrics.get("totalEnduranceDuration"), TEST_PRECISION);
     }
 
+    @Test
+    void testReplaceContents() {
+        schedule.setScheduleForDay(0, strengthWorkout);
+        WeeklySchedule staged = new WeeklySchedule(new MetricsContext());
+        staged.setScheduleForDay(2, cardioWorkout);
+        staged.setScheduleForDay(4, restDay);
+        int version = schedule.getVersion();
+
+        schedule.replaceContents(staged);
+        assertNotEquals(version, schedule.getVersion());
+        assertSame(cardioWorkout, schedule.getScheduleForDay(2));
+        assertSame(restDay, schedule.getScheduleForDay(4));
+        assertTrue(schedule.getScheduleForDay(0) instanceof RestDay);
+        assertEquals(0.0, chest.getAggregatedExerciseMetrics().getOrDefault("totalSets", 0.0), TEST_PRECISION);
+        assertEquals(1800.0, quad.getAggregatedExerciseMetrics().get("totalEnduranceDuration"), TEST_PRECISION);
+
+        assertTrue(staged.getScheduleForDay(2) instanceof RestDay); // Staged schedule was emptied
+        assertEquals(0, staged.getMetricsContext().getNumAssociatedExercises(quad));
+        assertThrows(IllegalArgumentException.class, () -> schedule.replaceContents(null));
+        assertThrows(IllegalArgumentException.class, () -> schedule.replaceContents(schedule));
+        schedule.deactivateAllMetrics();
+    }
+
     @Test
     void testInvalidScheduleOperations() {
         assertThrows(IllegalArgumentException.class, () -> schedule.setScheduleForDay(-1, strengthWorkout));
@@ -0,0 +1,120 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.ExerciseAssociator;
+import model.equipment.strength.Barbell;
+import model.exercise.Exercise;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.RestDay;
+import model.workout.WorkloadModel;
+import model.workout.Workout;
+
+/** This class tests that WorkloadModel keeps exponentially weighted acute and chronic loads per associator,
+ *  folds in sessions recorded in any order, and flags risky acute:chronic ratios. */
+public class TestWorkloadModel {
+    private static final LocalDate START = LocalDate.of(2025, 1, 6);
+
+    private WorkloadModel model;
+    private Barbell barbell;
+    private Muscle quad;
+    private Muscle chest;
+
+    @BeforeEach
+    void runBefore() {
+        model = new WorkloadModel();
+        barbell = new Barbell();
+        quad = new Muscle("Quadriceps");
+        chest = new Muscle("Chest");
+    }
+
+    @Test
+    void testSingleSessionDecays() {
+        model.recordMetrics(START, quad, Map.of("totalSets", 10.0, "notAMetric", 5.0));
+        assertEquals(2.5, model.getAcuteLoad(quad, "totalSets", START), TEST_PRECISION);
+        assertEquals(10.0 * 2 / 29, model.getChronicLoad(quad, "totalSets", START), TEST_PRECISION);
+        assertEquals(2.5 * Math.pow(0.75, 7), model.getAcuteLoad(quad, "totalSets", START.plusDays(7)),
+                TEST_PRECISION);
+        assertEquals(2.5, model.getAcuteLoad(quad, "totalSets", START.minusDays(3)), TEST_PRECISION);
+        assertEquals(0.0, model.getAcuteLoad(quad, "totalReps", START), TEST_PRECISION);
+        assertEquals(0.0, model.getAcuteLoad(chest, "totalSets", START), TEST_PRECISION);
+        assertEquals(0.0, model.getAcuteChronicRatio(chest, "totalSets", START), TEST_PRECISION);
+        assertEquals(START, model.getLoadDay(quad));
+        assertNull(model.getLoadDay(chest));
+    }
+
+    @Test
+    void testLateSessionsFoldInExactly() {
+        WorkloadModel inOrder = new WorkloadModel();
+        for (int day = 0; day < 20; day += 3) {
+            inOrder.recordMetrics(START.plusDays(day), quad, Map.of("totalReps", 30.0 + day));
+        }
+        for (int day = 18; day >= 0; day -= 3) {
+            model.recordMetrics(START.plusDays(day), quad, Map.of("totalReps", 30.0 + day));
+        }
+        LocalDate asOf = START.plusDays(25);
+        assertEquals(inOrder.getAcuteLoad(quad, "totalReps", asOf), model.getAcuteLoad(quad, "totalReps", asOf),
+                TEST_PRECISION);
+        assertEquals(inOrder.getChronicLoad(quad, "totalReps", asOf), model.getChronicLoad(quad, "totalReps", asOf),
+                TEST_PRECISION);
+    }
+
+    @Test
+    void testRiskLevels() {
+        for (int day = 0; day < 60; day++) {
+            model.recordMetrics(START.plusDays(day), quad, Map.of("totalSets", 10.0));
+            model.recordMetrics(START.plusDays(day), chest, Map.of("totalSets", 10.0));
+        }
+        LocalDate steady = START.plusDays(59);
+        assertEquals(1.0, model.getAcuteChronicRatio(quad, "totalSets", steady), 0.1);
+        assertEquals(WorkloadModel.OPTIMAL, model.getRiskLevel(quad, "totalSets", steady));
+        assertTrue(model.getFlagged("totalSets", steady).isEmpty());
+
+        for (int day = 60; day < 63; day++) {
+            model.recordMetrics(START.plusDays(day), quad, Map.of("totalSets", 40.0));
+        }
+        LocalDate spike = START.plusDays(62);
+        assertEquals(WorkloadModel.HIGH_RISK, model.getRiskLevel(quad, "totalSets", spike));
+        assertEquals(WorkloadModel.UNDERTRAINED, model.getRiskLevel(chest, "totalSets", START.plusDays(75)));
+        Map<ExerciseAssociator, String> flagged = model.getFlagged("totalSets", spike);
+        assertEquals(1, flagged.size());
+        assertEquals(WorkloadModel.HIGH_RISK, flagged.get(quad));
+    }
+
+    @Test
+    void testInsufficientDataAndInvalidArguments() {
+        model.recordMetrics(START, quad, Map.of("totalSets", 10.0));
+        assertEquals(WorkloadModel.INSUFFICIENT_DATA, model.getRiskLevel(quad, "totalSets", START.plusDays(10)));
+        assertEquals(WorkloadModel.INSUFFICIENT_DATA, model.getRiskLevel(chest, "totalSets", START.plusDays(90)));
+        assertTrue(model.getFlagged("totalSets", START.plusDays(10)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> model.getAcuteLoad(quad, "notAMetric", START));
+        assertThrows(IllegalArgumentException.class, () -> model.getChronicLoad(quad, "totalSets", null));
+        assertThrows(IllegalArgumentException.class, () -> model.recordMetrics(null, quad, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> model.recordSession(START, null));
+        model.clear();
+        assertTrue(model.getTrackedAssociators().isEmpty());
+    }
+
+    @Test
+    void testRecordSession() {
+        MuscleGroup legs = new MuscleGroup("Legs", Arrays.asList(quad));
+        Workout legDay = new Workout("Leg Day", new ArrayList<Exercise>(Arrays.asList(
+                new StrengthExercise("Squat", 3, 5, 3.0, 2.0, barbell, legs))));
+        assertEquals(2, model.recordSession(START, legDay));
+        assertEquals(0, model.recordSession(START, new RestDay("Recovery")));
+        assertEquals(0.75, model.getAcuteLoad(barbell, "totalSets", START), TEST_PRECISION);
+        assertEquals(3.75, model.getAcuteLoad(quad, "totalReps", START), TEST_PRECISION);
+        assertEquals(2, model.getTrackedAssociators().size());
+    }
+}
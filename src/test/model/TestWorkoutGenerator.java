@@ -0,0 +1,129 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static utility.Utility.TEST_PRECISION;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.MetricsContext;
+import model.equipment.strength.Barbell;
+import model.exercise.Exercise;
+import model.exercise.ExerciseLibrary;
+import model.exercise.StrengthExercise;
+import model.muscle.Muscle;
+import model.muscle.MuscleGroup;
+import model.workout.GeneratedWorkouts;
+import model.workout.VolumeTargets;
+import model.workout.Workout;
+import model.workout.WorkoutGenerator;
+
+/** This class tests that WorkoutGenerator assembles workouts from an ExerciseLibrary that meet volume targets
+ *  within the time budget, measured as MuscleGroup metrics measure them, deterministically and quickly. */
+public class TestWorkoutGenerator {
+    private Barbell barbell;
+    private MuscleGroup legs;
+    private MuscleGroup push;
+    private MuscleGroup arms;
+    private ExerciseLibrary library;
+
+    @BeforeEach
+    void runBefore() {
+        barbell = new Barbell();
+        legs = new MuscleGroup("Legs", Arrays.asList(new Muscle("Quadriceps"), new Muscle("Hamstrings")));
+        push = new MuscleGroup("Push", Arrays.asList(new Muscle("Chest")));
+        arms = new MuscleGroup("Arms", Arrays.asList(new Muscle("Biceps")));
+        library = new ExerciseLibrary();
+        library.addExercise(new StrengthExercise("Squat", 3, 5, 3.0, 2.0, barbell, legs));
+        library.addExercise(new StrengthExercise("Deadlift", 3, 5, 3.0, 2.0, barbell, legs));
+        library.addExercise(new StrengthExercise("Bench Press", 3, 5, 3.0, 2.0, barbell, push));
+        library.addExercise(new StrengthExercise("Incline Press", 3, 5, 3.0, 2.0, barbell, push));
+        library.addExercise(new StrengthExercise("Curl", 3, 10, 2.0, 1.0, barbell, arms));
+    }
+
+    @Test
+    void testMeetsTargets() {
+        VolumeTargets targets = new VolumeTargets().withTarget(legs, 9).withTarget(push, 6).withNumWorkouts(2);
+        GeneratedWorkouts result = new WorkoutGenerator(library, 2, 4, 7L).generate(targets);
+        assertEquals(0.0, result.getError(), TEST_PRECISION);
+        assertEquals(9.0, result.getVolumes().get(legs), TEST_PRECISION);
+        assertEquals(6.0, result.getVolumes().get(push), TEST_PRECISION);
+
+        MetricsContext metrics = new MetricsContext();
+        for (Workout workout : result.getWorkouts()) {
+            workout.activateMetrics(workout.getName(), metrics);
+            for (Exercise exercise : workout.getExercises()) {
+                assertNotEquals("Curl", exercise.getName());
+            }
+        }
+        assertTrue(result.getWorkouts().size() <= 2);
+        assertEquals(9.0, legs.getGroupMetrics(metrics).get("totalSets"), TEST_PRECISION);
+        assertEquals(6.0, push.getGroupMetrics(metrics).get("totalSets"), TEST_PRECISION);
+    }
+
+    @Test
+    void testTimeBudget() {
+        double squatDuration = library.getExercise("Squat").getDuration();
+        VolumeTargets targets = new VolumeTargets().withTarget(legs, 9).withNumWorkouts(3)
+                .withMaximumWorkoutDuration(squatDuration * 1.5);
+        GeneratedWorkouts result = new WorkoutGenerator(library, 1, 2, 0L).generate(targets);
+        assertEquals(3, result.getWorkouts().size());
+        for (Workout workout : result.getWorkouts()) {
+            assertEquals(1, workout.getExercises().size());
+            assertTrue(workout.getDuration() <= squatDuration * 1.5);
+        }
+        assertEquals(9.0, result.getVolumes().get(legs), TEST_PRECISION);
+        assertEquals(0.0, result.getError(), TEST_PRECISION);
+
+        GeneratedWorkouts none = new WorkoutGenerator(library).generate(new VolumeTargets().withTarget(push, 6)
+                .withMaximumWorkoutDuration(1));
+        assertTrue(none.getWorkouts().isEmpty());
+        assertEquals(1.0, none.getError(), TEST_PRECISION);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new WorkoutGenerator(null));
+        assertThrows(IllegalArgumentException.class, () -> new WorkoutGenerator(library, 0, 1, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new WorkoutGenerator(library, 1, 0, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new WorkoutGenerator(library).generate(null));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeTargets().withTarget(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeTargets().withTarget(legs, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeTargets().measuredBy("notAMetric"));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeTargets().withNumWorkouts(8));
+        assertThrows(IllegalArgumentException.class, () -> new VolumeTargets().withMaximumWorkoutDuration(0));
+    }
+
+    @Test
+    void testLargeLibraryIsFastAndDeterministic() {
+        List<Muscle> muscles = new ArrayList<Muscle>();
+        for (int i = 0; i < 16; i++) {
+            muscles.add(new Muscle("Muscle " + i));
+        }
+        VolumeTargets targets = new VolumeTargets().measuredBy("totalReps").withNumWorkouts(4)
+                .withMaximumWorkoutDuration(3600);
+        for (int g = 0; g < 8; g++) {
+            targets.withTarget(new MuscleGroup("Target " + g, muscles.subList(g * 2, g * 2 + 2)), 150 + g * 10);
+        }
+        for (int i = 0; i < 200; i++) {
+            MuscleGroup group = new MuscleGroup("Group " + i, Arrays.asList(muscles.get(i % 16),
+                    muscles.get((i * 7 + 3) % 16)));
+            library.addExercise(new StrengthExercise("Exercise " + i, 2 + i % 4, 5 + i % 7, 2.0, 1.0, barbell, group));
+        }
+
+        GeneratedWorkouts parallel = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> new WorkoutGenerator(library, 4, 16, 42L).generate(targets));
+        GeneratedWorkouts sequential = new WorkoutGenerator(library, 1, 16, 42L).generate(targets);
+        assertEquals(sequential.getError(), parallel.getError(), TEST_PRECISION);
+        assertEquals(sequential.getWorkouts().size(), parallel.getWorkouts().size());
+        assertTrue(parallel.getError() < 0.01);
+        for (Workout workout : parallel.getWorkouts()) {
+            assertTrue(workout.getDuration() <= 3600);
+        }
+    }
+}
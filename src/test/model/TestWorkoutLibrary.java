@@ -3,6 +3,7 @@ package model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -218,4 +219,55 @@ public class TestWorkoutLibrary {
         
         assertEquals(2, library.getAllWorkouts().size()); // Should pass due to defensive copying
     }
+
+    @Test
+    void testContentDuplicates() {
+        library.addWorkout(strengthWorkout);
+        library.addWorkout(restDay);
+        Workout copy = new Workout("Arm Day Copy", new ArrayList<Exercise>(strengthExercises));
+        List<Exercise> reversed = new ArrayList<Exercise>(strengthExercises);
+        Collections.reverse(reversed);
+        Workout reordered = new Workout("Arm Day Reordered", reversed);
+        assertEquals(((Workout) strengthWorkout).contentHash(), copy.contentHash());
+        assertTrue(copy.hasSameContent((Workout) strengthWorkout));
+        assertFalse(reordered.hasSameContent((Workout) strengthWorkout));
+        assertFalse(copy.hasSameContent(null));
+
+        assertEquals(strengthWorkout, library.findDuplicate(copy));
+        assertNull(library.findDuplicate((Workout) strengthWorkout));
+        assertEquals(strengthWorkout, library.addOrShare(copy));
+        assertNull(library.getWorkout("Arm Day Copy"));
+        assertEquals(reordered, library.addOrShare(reordered));
+        WorkoutPlan sunday = new RestDay("Sunday");
+        assertEquals(sunday, library.addOrShare(sunday));
+        assertEquals(sunday, library.getWorkout("Sunday"));
+        assertThrows(IllegalArgumentException.class, () -> library.addOrShare(null));
+
+        library.removeWorkout(strengthWorkout.getName());
+        assertNull(library.findDuplicate(copy));
+    }
+
+    @Test
+    void testReplaceContents() {
+        library.addWorkout(strengthWorkout);
+        WorkoutLibrary loaded = new WorkoutLibrary();
+        Workout copy = new Workout("Arm Day Copy", new ArrayList<Exercise>(strengthExercises));
+        Workout cardioDay = new Workout("Cardio Copy", new ArrayList<Exercise>(cardioExercises));
+        loaded.addWorkout(copy);
+        loaded.addWorkout(cardioDay);
+
+        library.replaceContents(loaded);
+        assertEquals(2, library.getNumWorkouts());
+        assertNull(library.getWorkout(strengthWorkout.getName()));
+        assertEquals(copy, library.searchWorkouts("arm day", 1).get(0));
+        assertEquals(0, loaded.getNumWorkouts());
+        assertNull(loaded.findDuplicate((Workout) strengthWorkout));
+        assertEquals(copy, library.findDuplicate((Workout) strengthWorkout));
+
+        // The moved workouts are watched (and re-indexed when edited) by library, not loaded
+        cardioDay.setExercises(new ArrayList<Exercise>(strengthExercises));
+        assertNotNull(library.findDuplicate(copy));
+        assertThrows(IllegalArgumentException.class, () -> library.replaceContents(library));
+        assertThrows(IllegalArgumentException.class, () -> library.replaceContents(null));
+    }
 }
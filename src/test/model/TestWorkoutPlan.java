@@ -455,4 +455,19 @@ public class TestWorkoutPlan {
         assertFalse(workout.getExercises().contains(exercise1));
         assertTrue(workout.getExercises().contains(exercise2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTargetedMuscleMaskAndOverlap() {
+        Workout push = new Workout("Push", singleExerciseList);
+        Workout mixed = new Workout("Mixed", multiExerciseList);
+        Workout cardio = new Workout("Cardio", new ArrayList<Exercise>(List.of(running, hiit)));
+
+        assertEquals(2, push.getTargetedMuscleMask().cardinality());
+        assertEquals(4, mixed.getTargetedMuscleMask().cardinality());
+        assertTrue(mixed.overlapsMuscles(push));
+        assertTrue(mixed.overlapsMuscles(cardio));
+        assertFalse(push.overlapsMuscles(cardio));
+        assertFalse(push.overlapsMuscles(null));
+        assertTrue(new Workout("Empty", emptyExerciseList).getTargetedMuscleMask().isEmpty());
+    }
+}
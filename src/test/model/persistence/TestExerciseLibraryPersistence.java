@@ -188,6 +188,20 @@ public class TestExerciseLibraryPersistence {
         assertEquals(8.0, intervalInfo.get("repititions"), TEST_PRECISION);
     }
 
+    @Test
+    void testQueryIndexesRebuiltOnLoad() {
+        exerciseLibrary.addExercise(createEnduranceExercise("Stale Run", 10.0));
+        JSONObject json = new JSONObject().put("exercises", new JSONArray()
+                .put(validStrengthJson).put(validEnduranceJson).put(validIntervalJson));
+        exerciseLibrary.fromJson(json, predefinedData);
+
+        assertEquals(1, exerciseLibrary.query(new ExerciseQuery().usingEquipment("Treadmill")).size());
+        assertEquals("Running", exerciseLibrary.query(new ExerciseQuery().usingEquipment("Treadmill")).get(0).getName());
+        assertEquals(3, exerciseLibrary.query(new ExerciseQuery()).size()); // Stale entries dropped
+        assertEquals("Bench Press", exerciseLibrary.query(new ExerciseQuery()
+                .ofType("Strength").targetingMuscleGroup("Chest")).get(0).getName());
+    }
+
     @Test
     void testFullRoundTripSerialization() {
         JSONObject libraryJson = new JSONObject();
@@ -5,9 +5,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -326,7 +330,153 @@ class TestJsonManager {
             fail("JSONException should not have been thrown: " + e.getMessage());
         }
     }
-    
+
+    @Test
+    void testInterruptedSaveKeepsPreviousFile() {
+        JsonManager.saveData(mockData, TEST_PATH);
+        Map<String, JSONObject> newer = new HashMap<>();
+        newer.put("mockComponent", new JSONObject().put("test", "newer"));
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(JSONException.class, () -> JsonManager.saveData(newer, TEST_PATH));
+        } finally {
+            Thread.interrupted(); // Clear the flag for later tests
+        }
+        assertEquals("value", JsonManager.loadData(TEST_PATH).get("mockComponent").getString("test"));
+        assertFalse(hasTempFiles());
+    }
+
+    @Test
+    void testSaveAndLoadCompressed() {
+        try {
+            JsonManager.saveData(mockData, TEST_PATH, true);
+            assertTrue(JsonManager.isCompressed(TEST_PATH));
+
+            // Magic bytes must be on disk, not plain JSON text
+            byte[] bytes = Files.readAllBytes(Paths.get(TEST_PATH));
+            assertEquals((byte) 0x1f, bytes[0]);
+            assertEquals((byte) 0x8b, bytes[1]);
+
+            // Detected automatically on load
+            Map<String, JSONObject> loaded = JsonManager.loadData(TEST_PATH);
+            assertEquals(1, loaded.size());
+            assertEquals("value", loaded.get("mockComponent").getString("test"));
+            assertEquals(42, loaded.get("mockComponent").getInt("number"));
+        } catch (JSONException | IOException e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void testUncompressedSaveIsPlainJson() {
+        try {
+            JsonManager.saveData(mockData, TEST_PATH, false);
+            assertFalse(JsonManager.isCompressed(TEST_PATH));
+            String content = new String(Files.readAllBytes(Paths.get(TEST_PATH)));
+            assertTrue(content.trim().startsWith("{"));
+            assertFalse(hasTempFiles());
+        } catch (JSONException | IOException e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void testCompressedSaveIsSmallerForRepetitiveData() {
+        Map<String, JSONObject> repetitiveData = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            JSONObject component = new JSONObject();
+            component.put("name", "Component " + i);
+            component.put("equipmentName", "Barbell");
+            component.put("muscleGroupName", "Squat Muscles");
+            repetitiveData.put("comp" + i, component);
+        }
+
+        try {
+            JsonManager.saveData(repetitiveData, TEST_PATH, false);
+            long plainSize = new File(TEST_PATH).length();
+            JsonManager.saveData(repetitiveData, TEST_PATH, true);
+            long compressedSize = new File(TEST_PATH).length();
+            assertTrue(compressedSize < plainSize);
+
+            Map<String, JSONObject> loaded = JsonManager.loadData(TEST_PATH);
+            assertEquals(200, loaded.size());
+            assertEquals("Component 199", loaded.get("comp199").getString("name"));
+        } catch (JSONException e) {
+            fail("JSONException should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void testLoadFromTruncatedCompressedFile() {
+        try {
+            JsonManager.saveData(mockData, TEST_PATH, true);
+            byte[] bytes = Files.readAllBytes(Paths.get(TEST_PATH));
+            Files.write(Paths.get(TEST_PATH), java.util.Arrays.copyOf(bytes, bytes.length / 2));
+
+            JsonManager.loadData(TEST_PATH);
+            fail("JSONException should have been thrown");
+        } catch (JSONException e) {
+            // Expected exception
+        } catch (IOException e) {
+            fail("Test setup failed: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void testIsCompressedNonexistentFile() {
+        assertFalse(JsonManager.isCompressed(TEST_PATH));
+    }
+
+    @Test
+    void testLoadFromCorruptCompressedHeader() {
+        try {
+            new File(TEST_DIRECTORY).mkdirs();
+            Files.write(Paths.get(TEST_PATH), new byte[] {(byte) 0x1f, (byte) 0x8b, 0x00, 0x00});
+            JsonManager.loadData(TEST_PATH);
+            fail("JSONException should have been thrown");
+        } catch (JSONException e) {
+            assertTrue(e.getMessage().contains("Unable to read from file"));
+        } catch (IOException e) {
+            fail("Test setup failed: " + e.getMessage());
+        }
+        assertTrue(new File(TEST_PATH).delete()); // Not held open by the failed load
+    }
+
+    @Test
+    void testConcurrentSavesToSamePath() throws InterruptedException {
+        Map<String, JSONObject> other = new HashMap<>();
+        other.put("mockComponent", new JSONObject().put("test", "other"));
+        Thread background = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                JsonManager.saveData(other, TEST_PATH);
+            }
+        });
+        background.start();
+        for (int i = 0; i < 20; i++) {
+            JsonManager.saveData(mockData, TEST_PATH);
+        }
+        background.join();
+        String saved = JsonManager.loadData(TEST_PATH).get("mockComponent").getString("test");
+        assertTrue(saved.equals("value") || saved.equals("other"));
+        assertFalse(hasTempFiles());
+    }
+
+    @Test
+    void testSaveKeepsPermissions() throws IOException {
+        JsonManager.saveData(mockData, TEST_PATH);
+        Path path = Paths.get(TEST_PATH);
+        Set<PosixFilePermission> shared = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(path, shared);
+        JsonManager.saveData(mockData, TEST_PATH, true);
+        assertEquals(shared, Files.getPosixFilePermissions(path));
+        assertEquals("value", JsonManager.loadData(TEST_PATH).get("mockComponent").getString("test"));
+    }
+
+    // EFFECTS: Return true if a save left a temporary file in the test directory
+    private boolean hasTempFiles() {
+        File[] temps = new File(TEST_DIRECTORY).listFiles((dir, name) -> name.endsWith(".tmp"));
+        return temps != null && temps.length > 0;
+    }
 
     private void cleanupTestFiles() {
         // Delete file first then directory
@@ -334,6 +484,12 @@ class TestJsonManager {
         if (file.exists()) {
             file.delete();
         }
+        File[] temps = new File(TEST_DIRECTORY).listFiles((dir, name) -> name.endsWith(".tmp"));
+        if (temps != null) {
+            for (File temp : temps) {
+                temp.delete();
+            }
+        }
         
         // Also clean the default path file if it exists
         File defaultFile = new File("./data/workout-data.json");
@@ -0,0 +1,246 @@
+package model.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.association.ExerciseAssociator;
+import model.exercise.Exercise;
+import model.exercise.StrengthExercise;
+import model.workout.Workout;
+import persistence.JsonManager;
+import persistence.Profile;
+import persistence.ProfileStore;
+import utility.PredefinedData;
+
+/**
+ * This class tests the ProfileStore, which includes:
+ * 1. Registering profiles in a persistent index
+ * 2. Saving and reloading complete profiles
+ * 3. LRU eviction of loaded profiles back to disk once the cache bound is exceeded
+ * 4. Each profile's schedule metrics being activated in its own, isolated MetricsContext
+ */
+public class TestProfileStore {
+    private static final String TEST_DIRECTORY = "./data/profile-store-test";
+
+    private PredefinedData predefinedData;
+    private ProfileStore store;
+
+    @BeforeEach
+    void runBefore() {
+        cleanupTestFiles();
+        predefinedData = new PredefinedData();
+        store = new ProfileStore(TEST_DIRECTORY, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanupTestFiles();
+    }
+
+    @Test
+    void testConstructorInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ProfileStore(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ProfileStore(TEST_DIRECTORY, 0));
+    }
+
+    @Test
+    void testCreateProfile() {
+        Profile profile = store.createProfile("alice");
+        assertEquals("alice", profile.getId());
+        assertSame(profile, store.getActiveProfile());
+        assertTrue(store.containsProfile("alice"));
+        assertTrue(store.isLoaded("alice"));
+        assertEquals(List.of("alice"), store.getProfileIds());
+        assertTrue(new File(TEST_DIRECTORY, "index.json").exists());
+    }
+
+    @Test
+    void testCreateProfileInvalidId() {
+        store.createProfile("alice");
+        assertThrows(IllegalArgumentException.class, () -> store.createProfile("alice"));
+        assertThrows(IllegalArgumentException.class, () -> store.createProfile(null));
+        assertThrows(IllegalArgumentException.class, () -> store.createProfile("  "));
+    }
+
+    @Test
+    void testOpenUnknownProfile() {
+        assertThrows(IllegalArgumentException.class, () -> store.open("nobody"));
+        assertThrows(IllegalArgumentException.class, () -> store.open(null));
+    }
+
+    @Test
+    void testOpenCachedProfileReturnsSameInstance() {
+        Profile alice = store.createProfile("alice");
+        store.createProfile("bob");
+        assertSame(alice, store.open("alice"));
+        assertSame(alice, store.getActiveProfile());
+    }
+
+    @Test
+    void testIndexAndProfilePersistAcrossStores() {
+        Profile alice = store.createProfile("alice");
+        addScheduledSquat(alice, "ProfileStore Squat A");
+        store.createProfile("bob");
+        store.saveAll();
+
+        ProfileStore reopened = new ProfileStore(TEST_DIRECTORY, 100);
+        assertEquals(List.of("alice", "bob"), reopened.getProfileIds());
+        assertFalse(reopened.isLoaded("alice"));
+
+        Profile loaded = reopened.open("alice");
+        assertNotSame(alice, loaded);
+        assertTrue(loaded.getExerciseLibrary().containsExercise("ProfileStore Squat A"));
+        assertEquals("Leg Day", loaded.getWeeklySchedule().getScheduleForDay(0).getName());
+        assertTrue(loaded.getMetricsContext().contains(barbell(), "ProfileStore Squat A", "Monday"));
+    }
+
+    @Test
+    void testProfileFilesAreCompressed() {
+        store.createProfile("alice");
+        File[] files = new File(TEST_DIRECTORY).listFiles((dir, name) -> name.startsWith("profile-"));
+        assertEquals(1, files.length);
+        assertTrue(JsonManager.isCompressed(files[0].getPath()));
+    }
+
+    @Test
+    void testLeastRecentlyUsedProfileEvictedToDisk() {
+        store = new ProfileStore(TEST_DIRECTORY, 4);
+        Profile alice = store.createProfile("alice");
+        addScheduledSquat(alice, "ProfileStore Squat B");
+        store.createProfile("bob");
+        assertTrue(store.isLoaded("alice"));
+
+        store.createProfile("carol"); // alice (weight 3) + bob + carol > 4
+        assertFalse(store.isLoaded("alice"));
+        assertTrue(store.isLoaded("carol"));
+        assertTrue(store.getCachedWeight() <= 4);
+
+        // Evicted profile was written back and reloads with its data
+        Profile reloaded = store.open("alice");
+        assertNotSame(alice, reloaded);
+        assertTrue(reloaded.getExerciseLibrary().containsExercise("ProfileStore Squat B"));
+        assertSame(reloaded, store.getActiveProfile());
+    }
+
+    @Test
+    void testActiveProfileNeverEvicted() {
+        store = new ProfileStore(TEST_DIRECTORY, 1);
+        Profile alice = store.createProfile("alice");
+        addScheduledSquat(alice, "ProfileStore Squat C");
+        store.open("alice");
+        assertTrue(store.isLoaded("alice"));
+        assertSame(alice, store.getActiveProfile());
+    }
+
+    @Test
+    void testProfileMetricsAreIsolated() {
+        Profile alice = store.createProfile("alice");
+        addScheduledSquat(alice, "ProfileStore Squat D");
+        Profile bob = store.createProfile("bob");
+        addScheduledSquat(bob, "ProfileStore Squat E");
+
+        // Both profiles stay activated, each only in its own context
+        assertTrue(alice.getMetricsContext().contains(barbell(), "ProfileStore Squat D", "Monday"));
+        assertFalse(alice.getMetricsContext().contains(barbell(), "ProfileStore Squat E", "Monday"));
+        assertTrue(bob.getMetricsContext().contains(barbell(), "ProfileStore Squat E", "Monday"));
+        assertFalse(bob.getMetricsContext().contains(barbell(), "ProfileStore Squat D", "Monday"));
+        assertFalse(barbell().containsExercise("ProfileStore Squat D", "Monday")); // Default context untouched
+
+        store.open("alice");
+        assertTrue(bob.getMetricsContext().contains(barbell(), "ProfileStore Squat E", "Monday"));
+    }
+
+    @Test
+    void testDeleteProfile() {
+        Profile alice = store.createProfile("alice");
+        addScheduledSquat(alice, "ProfileStore Squat F");
+        store.deleteProfile("alice");
+        assertFalse(store.containsProfile("alice"));
+        assertFalse(store.isLoaded("alice"));
+        assertNull(store.getActiveProfile());
+        assertThrows(IllegalArgumentException.class, () -> store.deleteProfile("alice"));
+        assertTrue(new ProfileStore(TEST_DIRECTORY, 100).getProfileIds().isEmpty());
+    }
+
+    @Test
+    void testOpenCorruptedProfileKeepsPreviousActive() throws Exception {
+        store.createProfile("alice");
+        store.createProfile("bob");
+        store = new ProfileStore(TEST_DIRECTORY, 100);
+        Profile bob = store.open("bob");
+
+        File[] files = new File(TEST_DIRECTORY).listFiles((dir, name) -> name.startsWith("profile-0"));
+        java.nio.file.Files.write(files[0].toPath(), "not json".getBytes());
+        try {
+            store.open("alice");
+            fail("JSONException should have been thrown");
+        } catch (JSONException e) {
+            // Expected exception
+        }
+        assertSame(bob, store.getActiveProfile());
+    }
+
+    @Test
+    void testFailedEvictionKeepsPreviousActive() throws Exception {
+        store = new ProfileStore(TEST_DIRECTORY, 2);
+        store.createProfile("alice");
+        store.createProfile("bob");
+        Profile carol = store.createProfile("carol"); // Evicts alice
+        assertFalse(store.isLoaded("alice"));
+        assertEquals(2, store.getCachedWeight());
+
+        // bob's save file is replaced by a non-empty directory, so evicting bob cannot save it
+        File bobFile = new File(TEST_DIRECTORY, "profile-1.json.gz");
+        assertTrue(bobFile.delete());
+        assertTrue(new File(bobFile, "blocker").mkdirs());
+        try {
+            store.open("alice");
+            fail("JSONException should have been thrown");
+        } catch (JSONException e) {
+            // Expected exception
+        } finally {
+            new File(bobFile, "blocker").delete();
+            bobFile.delete();
+        }
+        assertSame(carol, store.getActiveProfile());
+        assertFalse(store.isLoaded("alice"));
+        assertTrue(store.isLoaded("bob"));
+        assertEquals(2, store.getCachedWeight());
+    }
+
+    private void addScheduledSquat(Profile profile, String exerciseName) {
+        Exercise squat = new StrengthExercise(exerciseName, 3, 5, 3.0, 2.0,
+                predefinedData.findEquipment("Barbell"), predefinedData.findMuscleGroup("Squat Muscles"));
+        profile.getExerciseLibrary().addExercise(squat);
+        Workout legDay = new Workout("Leg Day", Arrays.asList(squat));
+        profile.getWorkoutLibrary().addWorkout(legDay);
+        profile.getWeeklySchedule().setScheduleForDay(0, legDay);
+    }
+
+    private ExerciseAssociator barbell() {
+        return (ExerciseAssociator) predefinedData.findEquipment("Barbell");
+    }
+
+    private void cleanupTestFiles() {
+        File directory = new File(TEST_DIRECTORY);
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+        File parent = new File("./data");
+        if (parent.exists() && parent.isDirectory() && parent.list().length == 0) {
+            parent.delete();
+        }
+    }
+}
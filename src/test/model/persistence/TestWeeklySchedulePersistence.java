@@ -278,6 +278,30 @@ public class TestWeeklySchedulePersistence {
         }
     }
     
+    @Test
+    void testSnapshotSerialization() {
+        schedule.setScheduleForDay(0, strengthWorkout);
+        Map<String, Exercise> exercises = exerciseLibrary.getAllExercises();
+        Map<String, WorkoutPlan> workouts = workoutLibrary.getWorkoutsByName();
+        List<WorkoutPlan> week = schedule.getWeeklySchedule();
+        assertTrue(ExerciseLibrary.toJson(exercises).similar(exerciseLibrary.toJson()));
+        assertTrue(WorkoutLibrary.toJson(workouts).similar(workoutLibrary.toJson()));
+        assertTrue(WeeklySchedule.toJson(week).similar(schedule.toJson()));
+
+        // Snapshots taken before an edit still serialize the state they were taken in
+        JSONObject savedWeek = schedule.toJson();
+        exerciseLibrary.removeExercise("Running");
+        workoutLibrary.removeWorkout("Cardio Day");
+        schedule.setScheduleForDay(0, cardioWorkout);
+        assertEquals(2, ExerciseLibrary.toJson(exercises).getJSONArray("exercises").length());
+        assertEquals(3, WorkoutLibrary.toJson(workouts).getJSONArray("workouts").length());
+        assertTrue(WeeklySchedule.toJson(week).similar(savedWeek));
+
+        assertThrows(IllegalArgumentException.class, () -> WeeklySchedule.toJson(week.subList(0, 6)));
+        assertThrows(IllegalArgumentException.class, () -> WeeklySchedule.toJson((List<WorkoutPlan>) null));
+        schedule.deactivateAllMetrics();
+    }
+
     @Test
     void testInvalidWorkoutLibrary() {
         JSONObject json = validScheduleJson;
@@ -672,4 +696,37 @@ public class TestWeeklySchedulePersistence {
         assertEquals(684.0, remainingMetrics.get("totalDuration"), TEST_PRECISION);
         assertEquals(540.0, remainingMetrics.get("totalRestTimeBetween"), TEST_PRECISION);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReloadDeactivatesPreviousAssignments() {
+        schedule.setScheduleForDay(0, strengthWorkout);
+        schedule.setScheduleForDay(1, cardioWorkout);
+
+        // Reload a schedule that only has the cardio workout on Wednesday
+        JSONObject json = new JSONObject().put("schedule", new JSONArray()
+                .put(createDayJson(2, "Cardio Day")));
+        schedule.fromJson(json, workoutLibrary);
+
+        assertFalse(((ExerciseAssociator) dumbbell).containsExercise("Bench Press", "Monday"));
+        assertFalse(((ExerciseAssociator) treadmill).containsExercise("Running", "Tuesday"));
+        assertTrue(((ExerciseAssociator) treadmill).containsExercise("Running", "Wednesday"));
+        assertEquals(1, ((ExerciseAssociator) treadmill).getNumAssociatedExercises());
+        assertEquals(1800.0, legs.getGroupMetrics().get("totalEnduranceDuration"), TEST_PRECISION);
+    }
+
+    @Test
+    void testLoadedMetricsMatchIndividualActivation() {
+        WeeklySchedule individually = new WeeklySchedule();
+        individually.setScheduleForDay(0, strengthWorkout);
+        individually.setScheduleForDay(5, strengthWorkout);
+        Map<String, Double> expectedChest = chest.getGroupMetrics();
+        Map<String, Double> expectedDumbbell = ((ExerciseAssociator) dumbbell).getAggregatedExerciseMetrics();
+        JSONObject json = individually.toJson();
+        individually.deactivateAllMetrics();
+        assertEquals(0.0, chest.getGroupMetrics().get("totalSets"), TEST_PRECISION);
+
+        schedule.fromJson(json, workoutLibrary);
+        assertEquals(expectedChest, chest.getGroupMetrics());
+        assertEquals(expectedDumbbell, ((ExerciseAssociator) dumbbell).getAggregatedExerciseMetrics());
+    }
+}